@@ -0,0 +1,132 @@
+package game.hub.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+import game.hub.controller.model.SuggestionData;
+import game.hub.dao.NamedRelease;
+import game.hub.entity.Developer;
+import game.hub.entity.Game;
+import game.hub.service.NameIndex;
+
+/*
+ * AutocompleteBenchmark
+ * ----------------------
+ * GET /gamehub/autocomplete (best 10 names for a prefix) answered by:
+ * - packed:  NameIndex (AutocompleteIndex's snapshot), names in one sorted
+ *            char[] with a max-weight segment tree over the order
+ * - treemap: the naive index, a TreeMap of lower-cased names; a prefix is
+ *            a subMap, scanned in full to keep the 10 heaviest
+ *
+ * Names and weights are CatalogFixture's games and developers, as the
+ * index gets them from the database (weight = release date, a developer's
+ * latest release). Setup prints the retained size (JOL) of both structures.
+ *
+ * prefix = "g":           every game title ("Game N")
+ *          "game 12":     about 1 in 1000 titles
+ *          "developer 3": about 1 in 10 developers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// JOL needs its agent (self-attach) and record field offsets
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g", "-Djdk.attach.allowAttachSelf", "-XX:+EnableDynamicAgentLoading",
+        "-Djol.magicFieldOffset=true"})
+public class AutocompleteBenchmark {
+
+    private static final int LIMIT = 10;
+
+    @Param({"100000", "1000000"})
+    private int games;
+
+    @Param({"g", "game 12", "developer 3"})
+    private String prefix;
+
+    private NameIndex index;
+    private TreeMap<String, Suggestion> treeMap;
+
+    // A name of the naive index
+    private record Suggestion(String type, int id, String name, long weight) {
+    }
+
+    @Setup
+    public void setUp() {
+        List<NamedRelease> gameNames = new ArrayList<>(games);
+        List<NamedRelease> developerNames = new ArrayList<>();
+        CatalogFixture catalog = new CatalogFixture(games);
+        for (Game game : catalog.games) {
+            gameNames.add(new NamedRelease(game.getGameId(), game.getGameTitle(), game.getGameReleaseDate()));
+        }
+        for (Developer developer : catalog.developers) {
+            LocalDate latest = developer.getGames().stream()
+                    .map(Game::getGameReleaseDate)
+                    .max(Comparator.naturalOrder())
+                    .orElse(null);
+            developerNames.add(new NamedRelease(developer.getDeveloperId(), developer.getDeveloperName(), latest));
+        }
+        catalog = null; // only the names are kept
+
+        index = NameIndex.build(gameNames, developerNames);
+
+        treeMap = new TreeMap<>();
+        put(treeMap, "game", gameNames);
+        put(treeMap, "developer", developerNames);
+
+        System.out.printf("%n%d names: packed retained %.1f MB (arrays %.1f MB), treemap retained %.1f MB%n",
+                index.size(), GraphLayout.parseInstance(index).totalSize() / 1e6, index.memoryBytes() / 1e6,
+                GraphLayout.parseInstance(treeMap).totalSize() / 1e6);
+    }
+
+    @Benchmark
+    public List<SuggestionData> packed() {
+        return index.suggest(prefix, LIMIT);
+    }
+
+    @Benchmark
+    public List<Suggestion> treemap() {
+        String from = prefix.toLowerCase(Locale.ROOT);
+        // min-heap of the LIMIT heaviest names so far
+        PriorityQueue<Suggestion> best = new PriorityQueue<>(Comparator.comparingLong(Suggestion::weight));
+        for (Suggestion suggestion : treeMap.subMap(from, from + Character.MAX_VALUE).values()) {
+            if (best.size() < LIMIT) {
+                best.add(suggestion);
+            } else if (suggestion.weight() > best.peek().weight()) {
+                best.poll();
+                best.add(suggestion);
+            }
+        }
+        List<Suggestion> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingLong(Suggestion::weight).reversed());
+        return result;
+    }
+
+    // Key = lower-cased name plus type and id, as names may repeat
+    private static void put(TreeMap<String, Suggestion> treeMap, String type, List<NamedRelease> names) {
+        for (NamedRelease name : names) {
+            long weight = name.releaseDate() == null ? Long.MIN_VALUE : name.releaseDate().toEpochDay();
+            treeMap.put(name.name().toLowerCase(Locale.ROOT) + '\0' + type + name.id(),
+                    new Suggestion(type, name.id(), name.name(), weight));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package game.hub.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import game.hub.entity.Developer;
+import game.hub.entity.Game;
+import game.hub.entity.Genre;
+
+/*
+ * CatalogFixture
+ * ----------------------
+ * A detached entity graph shaped like the production catalog, built in
+ * memory (no database).
+ *
+ * - 24 genres; every game has 1-8 of them (both sides of game_genre linked)
+ * - one developer per 50 games
+ * - fixed seed, so every fork and run maps the same graph
+ */
+final class CatalogFixture {
+
+    static final int GENRES = 24;
+    static final int GAMES_PER_DEVELOPER = 50;
+
+    final List<Game> games = new ArrayList<>();
+    final List<Genre> genres = new ArrayList<>();
+    final List<Developer> developers = new ArrayList<>();
+
+    CatalogFixture(int gameCount) {
+        Random random = new Random(42);
+
+        for (int g = 0; g < GENRES; g++) {
+            Genre genre = new Genre();
+            genre.setGenreId(g + 1);
+            genre.setGenreName("Genre " + (g + 1));
+            genre.setVersion(0L);
+            genres.add(genre);
+        }
+
+        Developer developer = null;
+        for (int i = 0; i < gameCount; i++) {
+            if (i % GAMES_PER_DEVELOPER == 0) {
+                developer = new Developer();
+                developer.setDeveloperId(developers.size() + 1);
+                developer.setDeveloperName("Developer " + (developers.size() + 1));
+                developer.setDeveloperCountry("US");
+                developer.setVersion(0L);
+                developer.setGames(new HashSet<>());
+                developers.add(developer);
+            }
+
+            Game game = new Game();
+            game.setGameId(i + 1);
+            game.setGameTitle("Game " + (i + 1));
+            game.setGameDescription("A realistic description of game number " + (i + 1)
+                    + ", long enough to look like a store blurb.");
+            game.setGameReleaseDate(LocalDate.of(2000, 1, 1).plusDays(random.nextInt(9000)));
+            game.setVersion(0L);
+            game.setDeveloper(developer);
+            developer.getGames().add(game);
+
+            int genreCount = 1 + random.nextInt(8);
+            while (game.getGenres().size() < genreCount) {
+                Genre genre = genres.get(random.nextInt(GENRES));
+                if (game.getGenres().add(genre)) {
+                    genre.getGames().add(game);
+                }
+            }
+            games.add(game);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package game.hub.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.hub.controller.model.DeveloperData;
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.GenreData;
+
+/*
+ * DtoMappingBenchmark
+ * ----------------------
+ * Entity -> DTO copy constructors, the way GameHubService uses them:
+ * - gameData:      every game with its genres (GET /gamehub/games?expand=all)
+ * - developerData: every developer with games and genres (GET /gamehub/developers?expand=all)
+ * - genreData:     every genre with games and their genres (GET /gamehub/genres?expand=all)
+ *
+ * Run with -prof gc for bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int games;
+
+    private CatalogFixture catalog;
+
+    @Setup
+    public void buildCatalog() {
+        catalog = new CatalogFixture(games);
+    }
+
+    @Benchmark
+    public List<GameData> gameData() {
+        return catalog.games.stream().map(GameData::new).toList();
+    }
+
+    @Benchmark
+    public List<DeveloperData> developerData() {
+        return catalog.developers.stream().map(DeveloperData::new).toList();
+    }
+
+    @Benchmark
+    public List<GenreData> genreData() {
+        return catalog.genres.stream().map(GenreData::new).toList();
+    }
+}
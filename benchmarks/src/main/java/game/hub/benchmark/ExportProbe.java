@@ -0,0 +1,144 @@
+package game.hub.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * ExportProbe
+ * ----------------------
+ * One large GET against a running Game Hub, e.g. the streamed export
+ * against the list endpoint that builds the whole response first:
+ *
+ *   java -cp benchmarks/target/benchmarks.jar game.hub.benchmark.ExportProbe \
+ *        --url=http://localhost:8080 --path=/gamehub/games/export
+ *
+ * Prints the status, time to headers, time to first and last body byte,
+ * bytes and lines read, and the server's heap while the request ran:
+ * - heap used: jvm.memory.used{area=heap}, sampled every --sample-ms
+ *   (includes garbage not yet collected)
+ * - live data: jvm.gc.live.data.size, the old generation after the last
+ *   full GC (what the request actually keeps reachable)
+ * Each is shown before the request and as the maximum during it.
+ */
+public final class ExportProbe {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final String baseUrl;
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private ExportProbe(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "url", "http://localhost:8080", "path", "/gamehub/games/export", "sample-ms", "100"));
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            if (pair.length != 2 || !options.containsKey(pair[0])) {
+                throw new IllegalArgumentException("Unknown option " + arg + ", expected --name=value for "
+                        + options.keySet());
+            }
+            options.put(pair[0], pair[1]);
+        }
+        new ExportProbe(options.get("url")).run(options.get("path"), Long.parseLong(options.get("sample-ms")));
+    }
+
+    private void run(String path, long sampleMillis) throws Exception {
+        long heapBefore = metric("jvm.memory.used", "area:heap");
+        long liveBefore = metric("jvm.gc.live.data.size", null);
+        AtomicLong maxHeap = new AtomicLong(heapBefore);
+        AtomicLong maxLive = new AtomicLong(liveBefore);
+
+        long start = System.nanoTime();
+        long firstByte = -1;
+        long bytes = 0;
+        long lines = 0;
+        int status;
+        long headers;
+        try (ExecutorService sampler = Executors.newSingleThreadExecutor()) {
+            var sampling = sampler.submit(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    maxHeap.accumulateAndGet(metric("jvm.memory.used", "area:heap"), Math::max);
+                    maxLive.accumulateAndGet(metric("jvm.gc.live.data.size", null), Math::max);
+                    Thread.sleep(sampleMillis);
+                }
+                return null;
+            });
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofMinutes(30))
+                    .GET()
+                    .build();
+            HttpResponse<InputStream> response = http.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            headers = System.nanoTime() - start;
+            status = response.statusCode();
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream body = response.body()) {
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    if (firstByte < 0 && read > 0) {
+                        firstByte = System.nanoTime() - start;
+                    }
+                    bytes += read;
+                    for (int i = 0; i < read; i++) {
+                        if (buffer[i] == '\n') {
+                            lines++;
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                System.out.println("Body failed after " + bytes + " bytes: " + e);
+            }
+            sampling.cancel(true);
+        }
+        long total = System.nanoTime() - start;
+
+        System.out.printf("GET %s -> %d%n", path, status);
+        System.out.printf("headers %.0f ms, first byte %.0f ms, last byte %.0f ms%n",
+                headers / 1e6, firstByte / 1e6, total / 1e6);
+        System.out.printf("%d bytes, %d lines%n", bytes, lines);
+        System.out.printf("heap used  before %d MB, max %d MB%n", mb(heapBefore), mb(maxHeap.get()));
+        System.out.printf("live data  before %d MB, max %d MB%n", mb(liveBefore), mb(maxLive.get()));
+    }
+
+    // Sum of a Micrometer meter from /actuator/metrics, -1 if it can't be read
+    private long metric(String name, String tag) {
+        String path = "/actuator/metrics/" + name + (tag == null ? "" : "?tag=" + tag);
+        try {
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(5)).GET().build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return -1;
+            }
+            JsonNode measurements = JSON.readTree(response.body()).path("measurements");
+            return measurements.isEmpty() ? -1 : measurements.get(0).path("value").asLong();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private static long mb(long bytes) {
+        return bytes < 0 ? -1 : bytes / (1024 * 1024);
+    }
+}
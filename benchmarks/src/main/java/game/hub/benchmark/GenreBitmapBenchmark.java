@@ -0,0 +1,197 @@
+package game.hub.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.GenreData;
+import game.hub.entity.Game;
+import game.hub.entity.Genre;
+import game.hub.service.GameChangedEvent;
+import game.hub.service.GenreBitmapIndex;
+
+/*
+ * GenreBitmapBenchmark
+ * ----------------------
+ * GET /gamehub/games/by-genre (count + first page of 50 ids) answered by:
+ * - bitmaps: GenreBitmapIndex.find, AND / OR / ANDNOT of per-genre bitmaps
+ * - sql:     the same question as SQL over game_genre (one EXISTS per
+ *            "all" genre, EXISTS ... IN for "any", NOT EXISTS for "none"),
+ *            a count query plus a page query, as the endpoint needs both
+ *
+ * The SQL side runs on in-memory H2 (MySQL mode) with the keys and index
+ * of the Flyway migrations: primary key (game_id, genre_id) plus
+ * (genre_id, game_id). No network round trip, so it is a lower bound
+ * for MySQL.
+ *
+ * query = all:   all=1,2
+ *         any:   any=3,4,5&none=6
+ *         mixed: all=1&any=2,3&none=4,5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenreBitmapBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"10000", "100000"})
+    private int games;
+
+    @Param({"all", "any", "mixed"})
+    private String query;
+
+    private List<Integer> all;
+    private List<Integer> any;
+    private List<Integer> none;
+
+    private GenreBitmapIndex index;
+
+    private Connection connection;
+    private PreparedStatement countStatement;
+    private PreparedStatement pageStatement;
+
+    @Setup
+    public void setUp() throws SQLException {
+        switch (query) {
+            case "all" -> genres(List.of(1, 2), List.of(), List.of());
+            case "any" -> genres(List.of(), List.of(3, 4, 5), List.of(6));
+            case "mixed" -> genres(List.of(1), List.of(2, 3), List.of(4, 5));
+            default -> throw new IllegalArgumentException("Unknown query " + query);
+        }
+
+        CatalogFixture catalog = new CatalogFixture(games);
+        index = new GenreBitmapIndex();
+        for (Game game : catalog.games) {
+            index.onGameChanged(new GameChangedEvent(game.getGameId(), gameData(game)));
+        }
+
+        // H2 would otherwise hand back the previous result of an unchanged query
+        connection = DriverManager.getConnection(
+                "jdbc:h2:mem:genre_bitmaps;MODE=MySQL;OPTIMIZE_REUSE_RESULTS=FALSE");
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("create table game (game_id integer primary key)");
+            ddl.execute("create table game_genre (game_id integer not null, genre_id integer not null,"
+                    + " primary key (game_id, genre_id))");
+            ddl.execute("create index idx_game_genre_genre on game_genre (genre_id, game_id)");
+        }
+        try (PreparedStatement insertGame = connection.prepareStatement("insert into game values (?)");
+                PreparedStatement insertLink = connection.prepareStatement("insert into game_genre values (?, ?)")) {
+            for (Game game : catalog.games) {
+                insertGame.setInt(1, game.getGameId());
+                insertGame.addBatch();
+                for (Genre genre : game.getGenres()) {
+                    insertLink.setInt(1, game.getGameId());
+                    insertLink.setInt(2, genre.getGenreId());
+                    insertLink.addBatch();
+                }
+            }
+            insertGame.executeBatch();
+            insertLink.executeBatch();
+        }
+        try (Statement analyze = connection.createStatement()) {
+            analyze.execute("analyze");
+        }
+
+        String where = where();
+        countStatement = connection.prepareStatement("select count(*) from game g where " + where);
+        pageStatement = connection.prepareStatement(
+                "select g.game_id from game g where g.game_id > ? and " + where
+                        + " order by g.game_id limit " + (PAGE_SIZE + 1));
+    }
+
+    @TearDown
+    public void closeDatabase() throws SQLException {
+        connection.close(); // drops the in-memory database
+    }
+
+    @Benchmark
+    public GenreBitmapIndex.Match bitmaps() {
+        return index.find(all, any, none, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public GenreBitmapIndex.Match sql() throws SQLException {
+        int count;
+        try (ResultSet rows = countStatement.executeQuery()) {
+            rows.next();
+            count = rows.getInt(1);
+        }
+        List<Integer> page = new ArrayList<>(PAGE_SIZE + 1);
+        pageStatement.setInt(1, 0);
+        try (ResultSet rows = pageStatement.executeQuery()) {
+            while (rows.next()) {
+                page.add(rows.getInt(1));
+            }
+        }
+        boolean hasMore = page.size() > PAGE_SIZE;
+        return new GenreBitmapIndex.Match(count, hasMore ? page.subList(0, PAGE_SIZE) : page, hasMore);
+    }
+
+    private void genres(List<Integer> all, List<Integer> any, List<Integer> none) {
+        this.all = all;
+        this.any = any;
+        this.none = none;
+    }
+
+    // Genre ids are constants of the scenario, so they are inlined
+    private String where() {
+        List<String> conditions = new ArrayList<>();
+        for (Integer genreId : all) {
+            conditions.add("exists (select 1 from game_genre gg where gg.game_id = g.game_id and gg.genre_id = "
+                    + genreId + ")");
+        }
+        if (!any.isEmpty()) {
+            conditions.add("exists (select 1 from game_genre gg where gg.game_id = g.game_id and gg.genre_id in ("
+                    + join(any) + "))");
+        }
+        if (!none.isEmpty()) {
+            conditions.add("not exists (select 1 from game_genre gg where gg.game_id = g.game_id"
+                    + " and gg.genre_id in (" + join(none) + "))");
+        }
+        return String.join(" and ", conditions);
+    }
+
+    private static String join(List<Integer> ids) {
+        return String.join(",", ids.stream().map(String::valueOf).toList());
+    }
+
+    // What the change events carry for a saved game: its id and genre ids
+    private static GameData gameData(Game game) {
+        Set<GenreData> genres = new HashSet<>();
+        for (Genre genre : game.getGenres()) {
+            GenreData genreData = new GenreData();
+            genreData.setGenreId(genre.getGenreId());
+            genres.add(genreData);
+        }
+        GameData gameData = new GameData();
+        gameData.setGameId(game.getGameId());
+        gameData.setGenres(genres);
+        return gameData;
+    }
+}
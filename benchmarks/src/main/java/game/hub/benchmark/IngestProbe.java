@@ -0,0 +1,197 @@
+package game.hub.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * IngestProbe
+ * ----------------------
+ * Inserts the same number of new games into a running Game Hub twice:
+ * one POST /gamehub/game per game, then POST /gamehub/games/batch with
+ * --batch games per request, each by --clients concurrent clients.
+ *
+ *   java -cp benchmarks/target/benchmarks.jar game.hub.benchmark.IngestProbe \
+ *        --url=http://localhost:8080 --games=5000 --clients=8 --batch=500 --warmup=1000
+ *
+ * Prints games/s, errors, and the server's transactions per game
+ * (hibernate.transactions{result=success}, needs generate_statistics).
+ * Hibernate's statement counter leaves out batched INSERTs, so it can't
+ * show the batching itself.
+ * Both endpoints first insert --warmup games that are not measured.
+ * Each game has a developer and two genres sampled from the catalog. The
+ * games are left in the catalog ("Ingest single N" / "Ingest batch N").
+ */
+public final class IngestProbe {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final String baseUrl;
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final List<Integer> developerIds = new ArrayList<>();
+    private final List<Integer> genreIds = new ArrayList<>();
+
+    private IngestProbe(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "url", "http://localhost:8080", "games", "5000", "clients", "8", "batch", "500",
+                "warmup", "1000"));
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            if (pair.length != 2 || !options.containsKey(pair[0])) {
+                throw new IllegalArgumentException("Unknown option " + arg + ", expected --name=value for "
+                        + options.keySet());
+            }
+            options.put(pair[0], pair[1]);
+        }
+        int games = Integer.parseInt(options.get("games"));
+        int clients = Integer.parseInt(options.get("clients"));
+        int batch = Integer.parseInt(options.get("batch"));
+        int warmup = Integer.parseInt(options.get("warmup"));
+
+        IngestProbe probe = new IngestProbe(options.get("url"));
+        probe.sampleCatalog();
+        probe.run("/gamehub/game", "warmup single", 0, warmup, 1, clients);
+        probe.run("/gamehub/games/batch", "warmup batch", 0, warmup, batch, clients);
+
+        System.out.printf("%d games, %d clients%n%n%-22s %9s %9s %7s %17s%n",
+                games, clients, "endpoint", "seconds", "games/s", "errors", "transactions/game");
+        probe.report("POST /game", games, probe.run("/gamehub/game", "single", warmup, games, 1, clients));
+        probe.report("POST /games/batch x" + batch, games,
+                probe.run("/gamehub/games/batch", "batch", warmup, games, batch, clients));
+    }
+
+    private void sampleCatalog() throws IOException, InterruptedException {
+        for (JsonNode developer : page("/gamehub/developers/page?size=100")) {
+            developerIds.add(developer.get("developerId").asInt());
+        }
+        for (JsonNode genre : page("/gamehub/genres/page?size=100")) {
+            genreIds.add(genre.get("genreId").asInt());
+        }
+        if (developerIds.isEmpty() || genreIds.size() < 2) {
+            throw new IllegalStateException("The catalog at " + baseUrl + " needs developers and two genres.");
+        }
+    }
+
+    private JsonNode page(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request(path).GET().build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " answered " + response.statusCode());
+        }
+        return JSON.readTree(response.body()).path("items");
+    }
+
+    // =============================
+    // RUN
+    // =============================
+
+    // Totals of one run
+    private record Result(double seconds, long errors, long transactions) {
+    }
+
+    // games / perRequest requests (single games unwrapped), taken in order by the clients
+    private Result run(String path, String label, int first, int games, int perRequest, int clients)
+            throws InterruptedException {
+        int requests = (games + perRequest - 1) / perRequest;
+        AtomicInteger next = new AtomicInteger();
+        AtomicLong errors = new AtomicLong();
+        long transactionsBefore = transactions();
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                executor.execute(() -> {
+                    for (int r = next.getAndIncrement(); r < requests; r = next.getAndIncrement()) {
+                        int from = first + r * perRequest;
+                        int to = Math.min(from + perRequest, first + games);
+                        if (!send(path, body(label, from, to, perRequest > 1))) {
+                            errors.addAndGet(to - from);
+                        }
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long transactionsAfter = transactions();
+        return new Result(seconds, errors.get(),
+                transactionsBefore < 0 || transactionsAfter < 0 ? -1 : transactionsAfter - transactionsBefore);
+    }
+
+    private void report(String name, int games, Result result) {
+        System.out.printf("%-22s %9.1f %9.1f %7d %17s%n", name, result.seconds(), games / result.seconds(),
+                result.errors(), result.transactions() < 0 ? "n/a"
+                        : String.format("%.3f", (double) result.transactions() / games));
+    }
+
+    private String body(String label, int from, int to, boolean array) {
+        StringBuilder body = new StringBuilder(array ? "[" : "");
+        for (int i = from; i < to; i++) {
+            int genre = genreIds.get(i % genreIds.size());
+            int otherGenre = genreIds.get((i + 1) % genreIds.size());
+            body.append(i == from ? "" : ",").append(String.format(
+                    "{\"gameTitle\":\"Ingest %s %d\",\"gameReleaseDate\":\"20%02d-06-01\",\"developerId\":%d,"
+                            + "\"genres\":[{\"genreId\":%d},{\"genreId\":%d}]}",
+                    label, i, i % 25, developerIds.get(i % developerIds.size()), genre, otherGenre));
+        }
+        return body.append(array ? "]" : "").toString();
+    }
+
+    private boolean send(String path, String json) {
+        HttpRequest post = request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        try {
+            int status = http.send(post, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status >= 200 && status < 300;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // Transactions the server has committed so far, -1 if the meter can't be read
+    private long transactions() {
+        try {
+            HttpRequest get = request("/actuator/metrics/hibernate.transactions?tag=result:success").GET().build();
+            HttpResponse<String> response = http.send(get, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return -1;
+            }
+            JsonNode measurements = JSON.readTree(response.body()).path("measurements");
+            return measurements.isEmpty() ? -1 : measurements.get(0).path("value").asLong();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofMinutes(5));
+    }
+}
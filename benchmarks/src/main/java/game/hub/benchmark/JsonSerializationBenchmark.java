@@ -0,0 +1,78 @@
+package game.hub.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import game.hub.controller.model.DeveloperData;
+import game.hub.controller.model.GameData;
+
+/*
+ * JsonSerializationBenchmark
+ * ----------------------
+ * Jackson serialization of response DTOs, with the ObjectMapper settings
+ * Spring Boot uses (java.time module, ISO dates):
+ * - games / developers:       already mapped DTOs -> JSON bytes
+ * - mapAndSerializeGames:     entities -> DTOs -> JSON, the whole response path
+ *
+ * Run with -prof gc for bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int games;
+
+    private CatalogFixture catalog;
+    private List<GameData> gameData;
+    private List<DeveloperData> developerData;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Setup
+    public void buildCatalog() {
+        catalog = new CatalogFixture(games);
+        gameData = catalog.games.stream().map(GameData::new).toList();
+        developerData = catalog.developers.stream().map(DeveloperData::new).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeGames() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(gameData);
+    }
+
+    @Benchmark
+    public byte[] serializeDevelopers() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(developerData);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeGames() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(catalog.games.stream().map(GameData::new).toList());
+    }
+}
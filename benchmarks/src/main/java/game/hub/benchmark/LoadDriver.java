@@ -0,0 +1,367 @@
+package game.hub.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+ * LoadDriver
+ * ----------------------
+ * Closed-loop HTTP load against a running Game Hub (normally the "loadtest"
+ * profile, see application-loadtest.yaml) with a fixed, weighted mix over
+ * every GameHubController endpoint. Prints throughput and p50/p99/p999
+ * latency per endpoint.
+ *
+ *   java -cp benchmarks/target/benchmarks.jar game.hub.benchmark.LoadDriver \
+ *        --url=http://localhost:8080 --clients=200 --warmup=10 --duration=60 --seed=42
+ *
+ * - Each client is a virtual thread sending one request at a time
+ * - Ids, titles and genres are sampled from the catalog at startup
+ * - Writes update sampled games or create new rows; deletes only remove
+ *   rows the driver itself created
+ * - Requests during warmup are sent but not recorded
+ * - 2xx and 304 count as success, anything else (or an I/O error) as an error
+ */
+public final class LoadDriver {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30); // a timed out request is an error
+
+    private final String baseUrl;
+    private final HttpClient http;
+    private final List<Operation> operations = new ArrayList<>();
+    private final int totalWeight;
+
+    private final List<Integer> gameIds = new ArrayList<>();
+    private final List<Integer> developerIds = new ArrayList<>();
+    private final List<Integer> genreIds = new ArrayList<>();
+    private final List<String> titleWords = new ArrayList<>();
+
+    private volatile boolean recording;
+    private volatile boolean running = true;
+
+    // One endpoint of the mix and its results
+    private static final class Operation {
+        final String name;
+        final int weight;
+        final BiFunction<LoadDriver, Random, HttpRequest> request;
+        final AtomicLong errors = new AtomicLong();
+        String createdIdField; // set for creates: id field of the response, offered to createdIds
+        Queue<Integer> createdIds;
+        private long[] latencies = new long[1 << 16]; // micros
+        private int count;
+
+        Operation(String name, int weight, BiFunction<LoadDriver, Random, HttpRequest> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+
+        synchronized void record(long micros) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = micros;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    private LoadDriver(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        // reads
+        add("GET /game/{id}", 20, (d, r) -> d.get("/gamehub/game/" + d.pick(d.gameIds, r)));
+        add("GET /games/page", 8, (d, r) -> d.get("/gamehub/games/page?size=50&sort="
+                + List.of("gameId", "gameTitle", "gameReleaseDate").get(r.nextInt(3))));
+        add("GET /developer/{id}", 6, (d, r) -> d.get("/gamehub/developer/" + d.pick(d.developerIds, r)));
+        add("GET /genre/{id}", 2, (d, r) -> d.get("/gamehub/genre/" + d.pick(d.genreIds, r)));
+        add("GET /developers/page", 3, (d, r) -> d.get("/gamehub/developers/page?size=20"));
+        add("GET /genres/page", 1, (d, r) -> d.get("/gamehub/genres/page?size=5"));
+        add("GET /games/search", 10, (d, r) -> d.get("/gamehub/games/search?q="
+                + encode(d.pick(d.titleWords, r) + " " + d.pick(d.titleWords, r))));
+        add("GET /autocomplete", 15, (d, r) -> d.get("/gamehub/autocomplete?limit=10&prefix="
+                + encode(d.pick(d.titleWords, r).substring(0, 1 + r.nextInt(3)))));
+        add("GET /games/by-genre", 8, (d, r) -> d.get("/gamehub/games/by-genre?all=" + d.pick(d.genreIds, r)
+                + "&any=" + d.pick(d.genreIds, r) + "," + d.pick(d.genreIds, r) + "&none=" + d.pick(d.genreIds, r)));
+        add("GET /games/released", 8, (d, r) -> {
+            int year = 1990 + r.nextInt(35);
+            return d.get("/gamehub/games/released?size=50&from=" + year + "-01-01&to=" + (year + 1) + "-12-31");
+        });
+        add("GET /cache/stats", 1, (d, r) -> d.get("/gamehub/cache/stats"));
+        // whole-table reads: rare, but the most expensive requests of the API
+        add("GET /games", 1, (d, r) -> d.get("/gamehub/games"));
+        add("GET /developers", 1, (d, r) -> d.get("/gamehub/developers"));
+        add("GET /genres", 1, (d, r) -> d.get("/gamehub/genres"));
+        add("GET /games/export", 1, (d, r) -> d.get("/gamehub/games/export"));
+
+        // writes
+        add("POST /game (update)", 4, (d, r) -> d.post("/gamehub/game", String.format(
+                "{\"gameId\":%d,\"gameTitle\":\"%s %s\",\"gameReleaseDate\":\"20%02d-06-01\"}",
+                d.pick(d.gameIds, r), d.pick(d.titleWords, r), d.pick(d.titleWords, r), r.nextInt(25))));
+        add("POST /games/batch", 1, (d, r) -> {
+            StringBuilder body = new StringBuilder("[");
+            for (int i = 0; i < 10; i++) {
+                body.append(i == 0 ? "" : ",").append(String.format(
+                        "{\"gameTitle\":\"Load %s %d\",\"developerId\":%d,\"genres\":[{\"genreId\":%d}]}",
+                        d.pick(d.titleWords, r), r.nextInt(1_000_000), d.pick(d.developerIds, r),
+                        d.pick(d.genreIds, r)));
+            }
+            return d.post("/gamehub/games/batch", body.append("]").toString());
+        });
+        add("PUT /developer/{id}", 1, (d, r) -> {
+            int developerId = d.pick(d.developerIds, r);
+            return d.request("/gamehub/developer/" + developerId)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(
+                            "{\"developerName\":\"Load Developer " + developerId + "\",\"developerCountry\":\"US\"}"))
+                    .build();
+        });
+        addCreateAndDelete("POST /game (new)", "DELETE /game/{id}", "gameId", "/gamehub/game/",
+                (d, r) -> d.post("/gamehub/game", String.format(
+                        "{\"gameTitle\":\"Load %s %d\",\"developerId\":%d}",
+                        d.pick(d.titleWords, r), r.nextInt(1_000_000), d.pick(d.developerIds, r))));
+        addCreateAndDelete("POST /developer (new)", "DELETE /developer/{id}", "developerId", "/gamehub/developer/",
+                (d, r) -> d.post("/gamehub/developer", "{\"developerName\":\"Load Developer "
+                        + r.nextInt(1_000_000) + "\",\"developerCountry\":\"US\"}"));
+        addCreateAndDelete("POST /genre (new)", "DELETE /genre/{id}", "genreId", "/gamehub/genre/",
+                (d, r) -> d.post("/gamehub/genre", "{\"genreName\":\"Load Genre " + r.nextInt(1_000_000) + "\"}"));
+
+        totalWeight = operations.stream().mapToInt(operation -> operation.weight).sum();
+    }
+
+    private Operation add(String name, int weight, BiFunction<LoadDriver, Random, HttpRequest> request) {
+        Operation operation = new Operation(name, weight, request);
+        operations.add(operation);
+        return operation;
+    }
+
+    // A create whose new ids feed the matching delete (deletes only ever remove what the driver created)
+    private void addCreateAndDelete(String createName, String deleteName, String idField, String deletePath,
+            BiFunction<LoadDriver, Random, HttpRequest> create) {
+        Queue<Integer> createdIds = new ConcurrentLinkedQueue<>();
+        Operation creating = add(createName, 1, create);
+        creating.createdIdField = idField;
+        creating.createdIds = createdIds;
+        add(deleteName, 1, (d, r) -> {
+            Integer id = createdIds.poll();
+            return id == null ? null : d.request(deletePath + id).DELETE().build();
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+                "url", "http://localhost:8080", "clients", "200", "warmup", "10", "duration", "60", "seed", "42"));
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            if (pair.length != 2 || !options.containsKey(pair[0])) {
+                throw new IllegalArgumentException("Unknown option " + arg + ", expected --name=value for "
+                        + options.keySet());
+            }
+            options.put(pair[0], pair[1]);
+        }
+
+        LoadDriver driver = new LoadDriver(options.get("url"));
+        driver.sampleCatalog();
+        driver.run(Integer.parseInt(options.get("clients")), Integer.parseInt(options.get("warmup")),
+                Integer.parseInt(options.get("duration")), Long.parseLong(options.get("seed")));
+    }
+
+    // =============================
+    // CATALOG SAMPLE
+    // =============================
+
+    private void sampleCatalog() throws IOException, InterruptedException {
+        for (JsonNode game : page("/gamehub/games/page?size=500")) {
+            gameIds.add(game.get("gameId").asInt());
+            for (String word : game.path("gameTitle").asText().split("\\W+")) {
+                if (word.length() > 2 && !word.chars().allMatch(Character::isDigit) && !titleWords.contains(word)) {
+                    titleWords.add(word);
+                }
+            }
+        }
+        for (JsonNode developer : page("/gamehub/developers/page?size=500")) {
+            developerIds.add(developer.get("developerId").asInt());
+        }
+        for (JsonNode genre : page("/gamehub/genres/page?size=100")) {
+            genreIds.add(genre.get("genreId").asInt());
+        }
+        if (gameIds.isEmpty() || developerIds.isEmpty() || genreIds.isEmpty()) {
+            throw new IllegalStateException("The catalog at " + baseUrl
+                    + " needs games, developers and genres (start it with the loadtest profile).");
+        }
+        System.out.printf("Sampled %d games, %d developers, %d genres, %d title words%n",
+                gameIds.size(), developerIds.size(), genreIds.size(), titleWords.size());
+    }
+
+    private JsonNode page(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(get(path), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " answered " + response.statusCode());
+        }
+        return JSON.readTree(response.body()).path("items");
+    }
+
+    // =============================
+    // RUN
+    // =============================
+
+    private void run(int clients, int warmupSeconds, int durationSeconds, long seed) throws InterruptedException {
+        System.out.printf("%d clients, %d s warmup, %d s measured%n", clients, warmupSeconds, durationSeconds);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                Random random = new Random(seed + c);
+                executor.execute(() -> client(random));
+            }
+            Thread.sleep(warmupSeconds * 1000L);
+            recording = true;
+            long start = System.nanoTime();
+            Thread.sleep(durationSeconds * 1000L);
+            recording = false;
+            double seconds = (System.nanoTime() - start) / 1e9;
+            running = false;
+            report(seconds);
+        }
+    }
+
+    private void client(Random random) {
+        while (running) {
+            Operation operation = choose(random);
+            HttpRequest request = operation.request.apply(this, random);
+            if (request == null) {
+                continue; // e.g. a delete with nothing created yet
+            }
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                if (operation.createdIdField == null) {
+                    int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    ok = (status >= 200 && status < 300) || status == 304;
+                } else {
+                    HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                    ok = response.statusCode() >= 200 && response.statusCode() < 300;
+                    if (ok) {
+                        operation.createdIds.offer(JSON.readTree(response.body()).get(operation.createdIdField).asInt());
+                    }
+                }
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (recording) {
+                operation.record((System.nanoTime() - start) / 1000);
+                if (!ok) {
+                    operation.errors.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private Operation choose(Random random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight;
+            if (ticket < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    private void report(double seconds) {
+        System.out.printf("%n%-24s %9s %9s %7s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        long total = 0;
+        long errors = 0;
+        List<Long> all = new ArrayList<>();
+        for (Operation operation : operations) {
+            long[] latencies = operation.sorted();
+            total += latencies.length;
+            errors += operation.errors.get();
+            for (long latency : latencies) {
+                all.add(latency);
+            }
+            printRow(operation.name, latencies, operation.errors.get(), seconds);
+        }
+        long[] merged = all.stream().mapToLong(Long::longValue).sorted().toArray();
+        printRow("ALL", merged, errors, seconds);
+        System.out.printf("%n%d requests in %.1f s%n", total, seconds);
+    }
+
+    private static void printRow(String name, long[] sortedMicros, long errors, double seconds) {
+        System.out.printf("%-24s %9d %9.1f %7d %9.2f %9.2f %9.2f %9.2f%n", name, sortedMicros.length,
+                sortedMicros.length / seconds, errors, percentile(sortedMicros, 0.50),
+                percentile(sortedMicros, 0.99), percentile(sortedMicros, 0.999),
+                sortedMicros.length == 0 ? 0 : sortedMicros[sortedMicros.length - 1] / 1000.0);
+    }
+
+    private static double percentile(long[] sortedMicros, double quantile) {
+        if (sortedMicros.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sortedMicros.length) - 1;
+        return sortedMicros[Math.max(index, 0)] / 1000.0;
+    }
+
+    // =============================
+    // REQUEST HELPERS
+    // =============================
+
+    private <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,119 @@
+package game.hub.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.hub.service.SearchIndex;
+
+/*
+ * SearchBenchmark
+ * ----------------------
+ * GET /gamehub/games/search: SearchIndex.search (BM25 over the OR of the
+ * terms, best 10) over a generated catalog of `games` games.
+ *
+ * - Words come from a VOCABULARY-word list with Zipf frequencies (like
+ *   natural text); titles are 2-5 words, descriptions 15-40 words
+ * - query = title:  the first two words of an indexed title (what users type)
+ *           rare:   two words ranked past 2,000 (0.015-0.15% of docs each)
+ *           common: two of the 20 most frequent words (up to 95% of docs), the
+ *                   worst case: near-stopwords only, so scoring stops at the
+ *                   SearchIndex budget
+ * - SampleTime, so the report includes p50 / p99 / p999
+ * - QUERIES queries per kind, cycled, so no single query stays in cache
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SearchBenchmark {
+
+    private static final int LIMIT = 10;
+    private static final int VOCABULARY = 20_000;
+    private static final int QUERIES = 256;
+
+    @Param({"100000", "1000000"})
+    private int games;
+
+    @Param({"title", "rare", "common"})
+    private String query;
+
+    private SearchIndex index;
+    private List<String>[] queries;
+    private int next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void buildIndex() {
+        Random random = new Random(42);
+        double[] cumulative = new double[VOCABULARY]; // Zipf, s = 1
+        double total = 0;
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            total += 1.0 / (rank + 1);
+            cumulative[rank] = total;
+        }
+
+        index = new SearchIndex();
+        String[] sampledTitles = new String[QUERIES]; // every stride-th title
+        int stride = games / QUERIES;
+        for (int gameId = 1; gameId <= games; gameId++) {
+            String title = text(random, cumulative, 2 + random.nextInt(4));
+            index.upsert(gameId, title, text(random, cumulative, 15 + random.nextInt(26)));
+            if (gameId % stride == 0 && gameId / stride <= QUERIES) {
+                sampledTitles[gameId / stride - 1] = title;
+            }
+        }
+
+        queries = new List[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            queries[q] = switch (query) {
+                case "title" -> SearchIndex.tokenize(sampledTitles[q]).stream().distinct().limit(2).toList();
+                case "rare" -> List.of(word(2_000 + random.nextInt(VOCABULARY - 2_000)),
+                        word(2_000 + random.nextInt(VOCABULARY - 2_000)));
+                case "common" -> List.of(word(random.nextInt(10)), word(10 + random.nextInt(10)));
+                default -> throw new IllegalArgumentException("Unknown query kind " + query);
+            };
+        }
+    }
+
+    @Benchmark
+    public List<Integer> search() {
+        List<String> terms = queries[next];
+        next = (next + 1) % QUERIES;
+        return index.search(terms, LIMIT);
+    }
+
+    private static String text(Random random, double[] cumulative, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[VOCABULARY - 1]);
+            text.append(w == 0 ? "" : " ").append(word(rank < 0 ? -rank - 1 : rank));
+        }
+        return text.toString();
+    }
+
+    // The word of a frequency rank (0 = most frequent), letters only
+    private static String word(int rank) {
+        StringBuilder word = new StringBuilder();
+        do {
+            word.append((char) ('a' + rank % 26));
+            rank /= 26;
+        } while (rank > 0);
+        return word.append("word").toString();
+    }
+}
@@ -0,0 +1,88 @@
+package game.hub.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import game.hub.entity.Game;
+import game.hub.entity.Genre;
+import game.hub.service.SimilarGames;
+
+/*
+ * SimilarGamesBenchmark
+ * ----------------------
+ * The "more like this" index behind GET /gamehub/game/{gameId}/similar:
+ * - rebuild: every game's top 20 neighbors from scratch, on a pool of
+ *            `parallelism` threads (rebuild time vs cores)
+ * - put:     one saved game, the incremental update after a write
+ *            (alternates between two genre sets so every call changes it)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimilarGamesBenchmark {
+
+    private static final int NEIGHBORS = 20;
+
+    @Param({"10000", "50000"})
+    private int games;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private SimilarGames similarGames;
+    private ForkJoinPool pool;
+
+    private Game changed;
+    private boolean toggle;
+
+    @Setup
+    public void buildIndex() {
+        CatalogFixture catalog = new CatalogFixture(games);
+        similarGames = new SimilarGames(NEIGHBORS);
+        for (Game game : catalog.games) {
+            similarGames.load(game.getGameId(), game.getDeveloper().getDeveloperId(), genreIds(game));
+        }
+        pool = new ForkJoinPool(parallelism);
+        similarGames.rebuild(pool);
+        changed = catalog.games.get(games / 2);
+    }
+
+    @TearDown
+    public void shutdownPool() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public int rebuild() {
+        similarGames.rebuild(pool);
+        return similarGames.size();
+    }
+
+    @Benchmark
+    public int put() {
+        toggle = !toggle;
+        List<Integer> genreIds = toggle ? List.of(1, 2, 3) : genreIds(changed);
+        return similarGames.put(changed.getGameId(), changed.getDeveloper().getDeveloperId(), genreIds);
+    }
+
+    private static List<Integer> genreIds(Game game) {
+        return game.getGenres().stream().map(Genre::getGenreId).toList();
+    }
+}
@@ -0,0 +1,106 @@
+package game.hub.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.PageData;
+
+/*
+ * WireFormatBenchmark
+ * ----------------------
+ * The response formats of WireFormatConfig on one page of games with
+ * their genres (GET /gamehub/games/page?expand=all):
+ * - encode: PageData<GameData> -> bytes
+ * - decode: bytes -> PageData<GameData>
+ *
+ * Payload sizes are printed once per trial, e.g.
+ *   java -jar benchmarks/target/benchmarks.jar WireFormat -p games=100
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    private String format;
+
+    @Param({"1", "100", "10000"})
+    private int games;
+
+    private PageData<GameData> page;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] payload;
+
+    @Setup
+    public void buildPage() throws IOException {
+        CatalogFixture catalog = new CatalogFixture(games);
+        page = new PageData<>(catalog.games.stream().map(GameData::new).toList(), "next-page-cursor");
+
+        ObjectMapper mapper = switch (format) {
+            case "json" -> configure(JsonMapper.builder());
+            case "cbor" -> configure(CBORMapper.builder());
+            case "smile" -> configure(SmileMapper.builder());
+            case "protobuf" -> configure(ProtobufMapper.builder());
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        JavaType pageType = mapper.getTypeFactory().constructParametricType(PageData.class, GameData.class);
+        writer = mapper.writerFor(pageType);
+        reader = mapper.readerFor(pageType);
+        if (mapper instanceof ProtobufMapper protobufMapper) {
+            ProtobufSchema schema = protobufMapper.generateSchemaFor(pageType);
+            writer = writer.with(schema);
+            reader = reader.with(schema);
+        }
+
+        payload = writer.writeValueAsBytes(page);
+        System.out.printf("%n%s, %d games: %,d bytes%n", format, games, payload.length);
+    }
+
+    // Spring Boot's settings for every Jackson mapper (java.time module, ISO dates)
+    private static ObjectMapper configure(MapperBuilder<?, ?> builder) {
+        return builder
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public PageData<GameData> decode() throws IOException {
+        return reader.readValue(payload);
+    }
+}
@@ -0,0 +1,126 @@
+package game.hub.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/*
+ * AdmissionControlledTransactionManager
+ * --------------------------------------
+ * JpaTransactionManager that lets at most "slots" transactions run at once.
+ *
+ * - slots + the other pools' slots = connection pool size, so a running
+ *   transaction never waits for a connection while holding a thread (with
+ *   virtual threads there can be thousands of requests in flight)
+ * - Further transactions queue (fairly) for up to queueTimeout, then fail
+ *   with DatabaseBusyException (503 + Retry-After) instead of piling up
+ * - Only new physical transactions take a slot; joining an existing
+ *   transaction is free
+ * - The slot is given back right after commit / rollback, when Hibernate
+ *   has returned the connection to the pool (connection handling mode
+ *   ..._RELEASE_AFTER_TRANSACTION, see application.yaml), not after the
+ *   after-commit listeners and the EntityManager cleanup have run
+ * - Each transaction gives its slot back exactly once: cleanup only
+ *   releases what commit / rollback didn't (e.g. a failed begin)
+ */
+public class AdmissionControlledTransactionManager extends JpaTransactionManager {
+
+    private final String pool;
+    private final Semaphore slots;
+    private final int slotCount;
+    private final Duration queueTimeout;
+    private final Duration retryAfter;
+
+    // Transactions holding a slot (transaction objects compare by identity)
+    private final Map<Object, Boolean> admitted = new ConcurrentHashMap<>();
+
+    public AdmissionControlledTransactionManager(EntityManagerFactory entityManagerFactory, String pool,
+            int slotCount, Duration queueTimeout, Duration retryAfter) {
+        super(entityManagerFactory);
+        this.pool = pool;
+        this.slots = new Semaphore(slotCount, true);
+        this.slotCount = slotCount;
+        this.queueTimeout = queueTimeout;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        acquireSlot();
+        admitted.put(transaction, Boolean.TRUE);
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) {
+            releaseSlot(transaction); // no commit / rollback for a transaction that never started
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        try {
+            super.doCommit(status);
+        } finally {
+            releaseSlot(status.getTransaction()); // a failed commit is rolled back by Hibernate already
+        }
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+        try {
+            super.doRollback(status);
+        } finally {
+            releaseSlot(status.getTransaction());
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            releaseSlot(transaction); // no-op after commit / rollback
+        }
+    }
+
+    private void acquireSlot() {
+        try {
+            if (!slots.tryAcquire(queueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new DatabaseBusyException("All " + slotCount + " " + pool + " database slots stayed busy for "
+                        + queueTimeout.toMillis() + " ms.", retryAfter);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBusyException("Interrupted while waiting for a " + pool + " database slot.", retryAfter);
+        }
+    }
+
+    private void releaseSlot(Object transaction) {
+        if (admitted.remove(transaction) != null) {
+            slots.release();
+        }
+    }
+
+    // Name of the slot pool, e.g. "request" (metrics tag, messages)
+    public String getPool() {
+        return pool;
+    }
+
+    // Transactions currently waiting for a slot (approximate)
+    public int getQueueLength() {
+        return slots.getQueueLength();
+    }
+
+    // Slots not in use right now
+    public int getAvailableSlots() {
+        return slots.availablePermits();
+    }
+}
@@ -0,0 +1,108 @@
+package game.hub.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/*
+ * DatabaseAdmissionConfig
+ * ----------------------
+ * Replaces Spring Boot's JpaTransactionManager with the admission
+ * controlled one (see AdmissionControlledTransactionManager).
+ *
+ * - Web requests run on virtual threads (spring.threads.virtual.enabled),
+ *   so request concurrency is no longer capped by Tomcat's thread pool;
+ *   the cap on database work is the number of slots here
+ * - Three slot pools that together use the whole Hikari pool:
+ *   - transactionManager (primary): every @Transactional / TransactionTemplate,
+ *     pool size - export slots - background slots
+ *   - exportTransactionManager: long streaming reads (GET /gamehub/games/export),
+ *     gamehub.db.admission.export-slots; a few exports running for minutes
+ *     can't take the slots of the short requests, and the other way round
+ *   - backgroundTransactionManager: work of the app's own threads (stats
+ *     reconciliation, index rebuilds, catalog snapshot, write-behind
+ *     writer, imports), gamehub.db.admission.background-slots; they queue
+ *     longer (background-queue-timeout) instead of failing with
+ *     DatabaseBusyException, and a burst of requests can't starve them
+ */
+@Configuration
+public class DatabaseAdmissionConfig {
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    @Value("${gamehub.db.admission.export-slots:2}")
+    private int exportSlots;
+
+    @Value("${gamehub.db.admission.background-slots:2}")
+    private int backgroundSlots;
+
+    @Value("${gamehub.db.admission.queue-timeout:2s}")
+    private Duration queueTimeout;
+
+    @Value("${gamehub.db.admission.background-queue-timeout:1m}")
+    private Duration backgroundQueueTimeout;
+
+    @Value("${gamehub.db.admission.retry-after:1s}")
+    private Duration retryAfter;
+
+    @Bean
+    @Primary
+    public AdmissionControlledTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        if (exportSlots + backgroundSlots >= poolSize) {
+            throw new IllegalStateException("gamehub.db.admission.export-slots (" + exportSlots
+                    + ") + background-slots (" + backgroundSlots + ") must be smaller than the connection pool ("
+                    + poolSize + ")");
+        }
+        AdmissionControlledTransactionManager transactionManager = new AdmissionControlledTransactionManager(
+                entityManagerFactory, "request", poolSize - exportSlots - backgroundSlots, queueTimeout, retryAfter);
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    public AdmissionControlledTransactionManager exportTransactionManager(EntityManagerFactory entityManagerFactory,
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        AdmissionControlledTransactionManager transactionManager = new AdmissionControlledTransactionManager(
+                entityManagerFactory, "export", exportSlots, queueTimeout, retryAfter);
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    public AdmissionControlledTransactionManager backgroundTransactionManager(
+            EntityManagerFactory entityManagerFactory,
+            ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        AdmissionControlledTransactionManager transactionManager = new AdmissionControlledTransactionManager(
+                entityManagerFactory, "background", backgroundSlots, backgroundQueueTimeout, retryAfter);
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+
+    // Admission queues as gauges (tag pool), next to Hikari's own hikaricp.connections.* meters
+    @Bean
+    public MeterBinder databaseAdmissionMetrics(ObjectProvider<AdmissionControlledTransactionManager> transactionManagers) {
+        return registry -> transactionManagers.orderedStream().forEach(transactionManager -> {
+            Gauge.builder("gamehub.db.admission.queued", transactionManager,
+                    AdmissionControlledTransactionManager::getQueueLength)
+                    .description("Transactions waiting for a database slot")
+                    .tag("pool", transactionManager.getPool())
+                    .register(registry);
+            Gauge.builder("gamehub.db.admission.available", transactionManager,
+                    AdmissionControlledTransactionManager::getAvailableSlots)
+                    .description("Database slots not in use")
+                    .tag("pool", transactionManager.getPool())
+                    .register(registry);
+        });
+    }
+}
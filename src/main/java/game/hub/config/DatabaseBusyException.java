@@ -0,0 +1,26 @@
+package game.hub.config;
+
+import java.time.Duration;
+
+import org.springframework.transaction.CannotCreateTransactionException;
+
+/*
+ * DatabaseBusyException
+ * ----------------------
+ * Thrown when a transaction could not get a database slot in time
+ * (see AdmissionControlledTransactionManager). Answered with 503 and a
+ * Retry-After header by GlobalErrorHandler.
+ */
+public class DatabaseBusyException extends CannotCreateTransactionException {
+
+    private final Duration retryAfter;
+
+    public DatabaseBusyException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,80 @@
+package game.hub.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Properties;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/*
+ * HibernateCacheConfig
+ * ----------------------
+ * Hibernate second-level cache for reference data.
+ *
+ * - Genre and Developer rows (and the Game.genres collection) change a
+ *   few times a day but are read on every response
+ * - Only collections of cached entities are cached: a cached collection
+ *   holds ids, and elements that aren't cached are then loaded one query
+ *   each (Developer.games is not cached for that reason)
+ * - Backed by Caffeine through JCache, all in-process
+ * - Every region is bounded by entry count and expires entries after a
+ *   fixed time, so a row changed outside this application is re-read
+ *   eventually
+ * - Statistics are enabled per cache (see CacheStatsService)
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    // Region names used in the @Cache annotations on the entities
+    public static final String GENRE_REGION = "genre";
+    public static final String DEVELOPER_REGION = "developer";
+    public static final String GAME_GENRES_REGION = "game.genres";
+
+    public static final List<String> REGIONS =
+            List.of(GENRE_REGION, DEVELOPER_REGION, GAME_GENRES_REGION);
+
+    @Value("${gamehub.cache.second-level.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${gamehub.cache.second-level.time-to-live:10m}")
+    private Duration timeToLive;
+
+    /*
+     * Our own JCache CacheManager, so the regions are created with the size
+     * and time limits above instead of the provider's unbounded defaults.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("gamehub-hibernate"), getClass().getClassLoader(), new Properties());
+
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    // Hand the CacheManager to Hibernate
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
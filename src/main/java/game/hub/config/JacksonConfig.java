@@ -0,0 +1,33 @@
+package game.hub.config;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import game.hub.controller.model.DeveloperData;
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.GenreData;
+import game.hub.controller.model.ResponseShape;
+
+/*
+ * JacksonConfig
+ * ----------------------
+ * Customizes Spring's ObjectMapper for ?fields= (see ResponseShape).
+ *
+ * - Binds the response DTOs to ResponseShape.FILTER_ID through a mix-in,
+ *   so the DTO classes themselves carry no Jackson filter annotation
+ * - Default filter: write every field (responses without ?fields, the
+ *   export stream, anything serialized outside a GET endpoint)
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldSelectionCustomizer() {
+        return builder -> builder
+                .mixIn(GameData.class, ResponseShape.Filtered.class)
+                .mixIn(DeveloperData.class, ResponseShape.Filtered.class)
+                .mixIn(GenreData.class, ResponseShape.Filtered.class)
+                .filters(ResponseShape.ALL_FIELDS);
+    }
+}
@@ -0,0 +1,41 @@
+package game.hub.config;
+
+import java.util.List;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * MetricsConfig
+ * ----------------------
+ * Micrometer wiring; everything is scraped from /actuator/prometheus.
+ *
+ * - @Timed methods (GameHubService) -> gamehub.service timers
+ * - RequestQueryCounter hooked into Hibernate -> per-request SQL and
+ *   entity counts (RequestMetricsFilter)
+ * - Histograms per meter are configured in application.yaml
+ *   (management.metrics.distribution)
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer requestQueryCounterCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, RequestQueryCounter.INSTANCE);
+            properties.put("hibernate.integrator_provider",
+                    (IntegratorProvider) () -> List.of(RequestQueryCounter.INSTANCE));
+        };
+    }
+}
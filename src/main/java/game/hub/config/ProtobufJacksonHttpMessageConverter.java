@@ -0,0 +1,178 @@
+package game.hub.config;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schemagen.ProtobufSchemaGenerator;
+
+import game.hub.controller.model.PageData;
+
+/*
+ * ProtobufJacksonHttpMessageConverter
+ * ----------------------
+ * Reads and writes the DTOs of game.hub.controller.model as Protobuf
+ * (application/x-protobuf), with Jackson's protobuf backend instead of
+ * generated classes.
+ *
+ * - The schema of each root type is generated from the DTO classes and
+ *   cached; GET /gamehub/schema/protobuf?type= prints it as .proto text
+ * - Field numbers follow the declaration order of the DTO fields, so new
+ *   fields must be added at the end of a class
+ * - Protobuf has no top-level arrays: a List<T> body is sent as
+ *   message { repeated T items = 1; } (the same layout as PageData)
+ * - ?fields= filters apply as for JSON; left-out fields are just absent
+ *
+ * Other bodies (e.g. the Map messages of DELETE and errors) aren't
+ * writable, so clients should also accept application/json.
+ */
+public class ProtobufJacksonHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    public static final MediaType PROTOBUF = MediaType.parseMediaType("application/x-protobuf");
+
+    private static final String MODEL_PACKAGE = PageData.class.getPackageName();
+
+    // Root message of a List<T> body
+    public record Items<T>(List<T> items) {
+    }
+
+    // Element type of an empty list: encodes to the same (empty) bytes as any other
+    private record Empty() {
+    }
+
+    private final Map<JavaType, ProtobufSchema> schemas = new ConcurrentHashMap<>();
+
+    public ProtobufJacksonHttpMessageConverter(ObjectMapper protobufMapper) {
+        super(protobufMapper, PROTOBUF, MediaType.parseMediaType("application/protobuf"));
+    }
+
+    public ProtobufSchema schemaFor(JavaType type) {
+        return schemas.computeIfAbsent(type, this::generateSchema);
+    }
+
+    private ProtobufSchema generateSchema(JavaType type) {
+        try {
+            ProtobufSchemaGenerator generator = new ProtobufSchemaGenerator();
+            defaultObjectMapper.acceptJsonFormatVisitor(type, generator);
+            return generator.getGeneratedSchema();
+        } catch (JsonMappingException e) {
+            throw new IllegalStateException("No protobuf schema for " + type, e);
+        }
+    }
+
+    // =============================
+    // WHICH TYPES
+    // =============================
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return isModelType(getJavaType(type, contextClass)) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        // GET endpoints return their DTOs wrapped for ?fields= (see GameHubController)
+        if (clazz == MappingJacksonValue.class) {
+            return true;
+        }
+        return isModelType(type != null ? getJavaType(type, null) : TypeFactory.defaultInstance().constructType(clazz));
+    }
+
+    private static boolean isModelType(JavaType type) {
+        if (type.isCollectionLikeType()) {
+            type = type.getContentType();
+        }
+        return type.getRawClass().getPackageName().equals(MODEL_PACKAGE);
+    }
+
+    // =============================
+    // WRITE
+    // =============================
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Object value = object;
+        FilterProvider filters = null;
+        if (object instanceof MappingJacksonValue mappingJacksonValue) {
+            value = mappingJacksonValue.getValue();
+            filters = mappingJacksonValue.getFilters();
+        }
+        if (value instanceof Collection<?> collection) {
+            value = new Items<>(List.copyOf(collection));
+        }
+
+        JavaType rootType = rootType(value);
+        if (!isModelType(rootType) && rootType.getRawClass() != Items.class) {
+            throw new HttpMessageNotWritableException("No protobuf schema for " + rootType);
+        }
+        ObjectWriter writer = defaultObjectMapper.writerFor(rootType).with(schemaFor(rootType));
+        if (filters != null) {
+            writer = writer.with(filters);
+        }
+        writer.writeValue(outputMessage.getBody(), value);
+    }
+
+    // Generic roots get their element type from the first element (erased at runtime)
+    private JavaType rootType(Object value) {
+        TypeFactory types = defaultObjectMapper.getTypeFactory();
+        if (value instanceof Items<?> items) {
+            return types.constructParametricType(Items.class, elementClass(items.items()));
+        }
+        if (value instanceof PageData<?> page) {
+            return types.constructParametricType(PageData.class, elementClass(page.getItems()));
+        }
+        return types.constructType(value.getClass());
+    }
+
+    private static Class<?> elementClass(List<?> items) {
+        return items == null || items.isEmpty() ? Empty.class : items.get(0).getClass();
+    }
+
+    // =============================
+    // READ
+    // =============================
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        JavaType javaType = getJavaType(type, contextClass);
+        try {
+            if (!javaType.isCollectionLikeType()) {
+                return defaultObjectMapper.readerFor(javaType).with(schemaFor(javaType))
+                        .readValue(inputMessage.getBody());
+            }
+            // List<T> bodies arrive as Items<T>
+            JavaType itemsType = defaultObjectMapper.getTypeFactory()
+                    .constructParametricType(Items.class, javaType.getContentType());
+            Items<?> items = defaultObjectMapper.readerFor(itemsType).with(schemaFor(itemsType))
+                    .readValue(inputMessage.getBody());
+            return items.items() == null ? List.of() : items.items();
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("Invalid protobuf body: " + e.getOriginalMessage(), e,
+                    inputMessage);
+        }
+    }
+}
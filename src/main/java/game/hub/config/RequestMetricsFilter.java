@@ -0,0 +1,71 @@
+package game.hub.config;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * RequestMetricsFilter
+ * ----------------------
+ * Records SQL statements and loaded entities per request, tagged with the
+ * endpoint (method + URI pattern, e.g. GET /gamehub/game/{gameId}).
+ *
+ * - gamehub.request.sql.statements / gamehub.request.entities.loaded
+ * - A request over gamehub.metrics.sql-warn-threshold statements logs a
+ *   warning naming the endpoint, so N+1 regressions show up in the logs
+ * - Streamed bodies (GET /gamehub/games/export) run their SQL after this
+ *   filter has returned and are not counted here
+ */
+@Component
+@Slf4j
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${gamehub.metrics.sql-warn-threshold:20}")
+    private long sqlWarnThreshold;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestQueryCounter.Counts counts = RequestQueryCounter.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+            summary("gamehub.request.sql.statements", "SQL statements per request", request, uri)
+                    .record(counts.statements());
+            summary("gamehub.request.entities.loaded", "Entities loaded per request", request, uri)
+                    .record(counts.entities());
+
+            if (counts.statements() > sqlWarnThreshold) {
+                log.warn("{} {} ran {} SQL statements (threshold {}), loading {} entities - possible N+1",
+                        request.getMethod(), uri, counts.statements(), sqlWarnThreshold, counts.entities());
+            }
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, HttpServletRequest request, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry);
+    }
+}
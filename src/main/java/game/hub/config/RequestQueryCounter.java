@@ -0,0 +1,78 @@
+package game.hub.config;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/*
+ * RequestQueryCounter
+ * ----------------------
+ * Counts SQL statements and loaded entities on the current thread between
+ * start() and stop() (one web request, see RequestMetricsFilter).
+ *
+ * - statements: StatementInspector, called once per SQL statement prepared
+ * - entities:   POST_LOAD listener, once per entity loaded into a
+ *               persistence context (second-level cache hits included)
+ *
+ * Work outside a request (startup, background rebuilds) isn't counted.
+ * Hooked into Hibernate by MetricsConfig.
+ */
+public final class RequestQueryCounter implements StatementInspector, PostLoadEventListener, Integrator {
+
+    public static final RequestQueryCounter INSTANCE = new RequestQueryCounter();
+
+    // [0] = statements, [1] = entities; null when the thread isn't counting
+    private static final ThreadLocal<long[]> COUNTS = new ThreadLocal<>();
+
+    public record Counts(long statements, long entities) {
+    }
+
+    private RequestQueryCounter() {
+    }
+
+    public static void start() {
+        COUNTS.set(new long[2]);
+    }
+
+    public static Counts stop() {
+        long[] counts = COUNTS.get();
+        COUNTS.remove();
+        return counts == null ? new Counts(0, 0) : new Counts(counts[0], counts[1]);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long[] counts = COUNTS.get();
+        if (counts != null) {
+            counts[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        long[] counts = COUNTS.get();
+        if (counts != null) {
+            counts[1]++;
+        }
+    }
+
+    // Registers the POST_LOAD listener when the SessionFactory is built
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+            SessionFactoryImplementor sessionFactory) {
+        sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class)
+                .appendListeners(EventType.POST_LOAD, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
@@ -0,0 +1,67 @@
+package game.hub.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/*
+ * WireFormatConfig
+ * ----------------------
+ * Binary encodings of the same DTOs, picked by the Accept (and, for
+ * request bodies, Content-Type) header:
+ *
+ *   application/json               default, unchanged
+ *   application/cbor               CBOR (RFC 8949), schemaless
+ *   application/x-jackson-smile    Smile, schemaless (back-references
+ *                                  for repeated names and strings)
+ *   application/x-protobuf         Protobuf, schema generated from the
+ *                                  DTO classes (ProtobufJacksonHttpMessageConverter)
+ *
+ * - Every mapper comes from Spring Boot's Jackson2ObjectMapperBuilder, so
+ *   the binary formats share the JSON settings: ISO dates, the ?fields=
+ *   filter mix-ins (JacksonConfig)
+ * - The converters are appended after the JSON converter, so a request
+ *   without an Accept header (or with * / *) still gets JSON. Spring MVC's
+ *   own CBOR/Smile converters (plain mappers) are replaced, and the
+ *   protobuf bean, which Spring Boot puts in front of the defaults, is
+ *   moved to the end.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilders; // a new builder per call
+
+    public WireFormatConfig(ObjectProvider<Jackson2ObjectMapperBuilder> mapperBuilders) {
+        this.mapperBuilders = mapperBuilders;
+    }
+
+    @Bean
+    public ProtobufJacksonHttpMessageConverter protobufHttpMessageConverter() {
+        return new ProtobufJacksonHttpMessageConverter(
+                mapperBuilders.getObject().factory(new ProtobufFactory()).build());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        ProtobufJacksonHttpMessageConverter protobuf = protobufHttpMessageConverter();
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter
+                || converter instanceof ProtobufJacksonHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                mapperBuilders.getObject().factory(new CBORFactory()).build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                mapperBuilders.getObject().factory(new SmileFactory()).build()));
+        converters.add(protobuf);
+    }
+}
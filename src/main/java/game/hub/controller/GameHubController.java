@@ -1,17 +1,50 @@
 package game.hub.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
 
 import lombok.extern.slf4j.Slf4j;
+import game.hub.config.ProtobufJacksonHttpMessageConverter;
+import game.hub.controller.model.CacheStatsData;
+import game.hub.controller.model.DeletionData;
 import game.hub.controller.model.DeveloperData;
+import game.hub.controller.model.Expansion;
 import game.hub.controller.model.GameData;
 import game.hub.controller.model.GenreData;
+import game.hub.controller.model.GenreMatchData;
+import game.hub.controller.model.ImportErrorData;
+import game.hub.controller.model.ImportJobData;
+import game.hub.controller.model.ImportJobData.Format;
+import game.hub.controller.model.PageData;
+import game.hub.controller.model.ResponseShape;
+import game.hub.controller.model.SimilarGameData;
+import game.hub.controller.model.StatsData;
+import game.hub.controller.model.SuggestionData;
+import game.hub.controller.model.WriteStatusData;
+import game.hub.service.CacheStatsService;
 import game.hub.service.GameHubService;
+import game.hub.service.GameImportService;
+import game.hub.service.WriteBehindQueue;
 
 /*
  * GameHubController
@@ -24,15 +57,36 @@ import game.hub.service.GameHubService;
  * - Call the Service layer to handle business logic
  * - Return DTOs to the client
  * - Log requests for debugging
+ *
+ * GET endpoints returning games, developers or genres also take
+ * ?fields=&expand=&depth= (see ResponseShape): by default only the
+ * object's own fields are returned, expand=all gives the full graph.
  */
 @RestController // Marks this class as a REST controller
 @RequestMapping("/gamehub") // Base URL for all endpoints
 @Slf4j // Lombok annotation to provide a logger named 'log'
 public class GameHubController {
 
+    private static final String NDJSON = "application/x-ndjson"; // newline-delimited JSON
+
     @Autowired
     private GameHubService gameHubService; // Inject the service layer
 
+    @Autowired
+    private CacheStatsService cacheStatsService; // Cache hit/miss counters
+
+    @Autowired
+    private ObjectMapper objectMapper; // Spring's JSON mapper, used for streamed responses
+
+    @Autowired
+    private WriteBehindQueue writeBehindQueue; // ?async=true saves
+
+    @Autowired
+    private GameImportService gameImportService; // bulk imports from CSV/JSON files
+
+    @Autowired
+    private ProtobufJacksonHttpMessageConverter protobufConverter; // application/x-protobuf (see WireFormatConfig)
+
     // =============================
     // DEVELOPER ENDPOINTS
     // =============================
@@ -51,6 +105,18 @@ public class GameHubController {
         return gameHubService.saveDeveloper(developerData);
     }
 
+    /*
+     * POST /gamehub/developer?async=true
+     * -----------------------------------
+     * Queues the save instead of waiting for it (see WriteBehindQueue)
+     * Returns 202 Accepted with a tracking id; 429 when the queue is full
+     */
+    @PostMapping(value = "/developer", params = "async=true")
+    public ResponseEntity<WriteStatusData> saveDeveloperAsync(@RequestBody DeveloperData developerData) {
+        log.info("Queueing developer save: {}", developerData);
+        return accepted(writeBehindQueue.submitDeveloper(developerData));
+    }
+
     /*
      * PUT /gamehub/developer/{developerId}
      * -------------------------------------
@@ -65,39 +131,86 @@ public class GameHubController {
         return gameHubService.saveDeveloper(developerData);
     }
 
+    /*
+     * PUT /gamehub/developer/{developerId}?async=true
+     * ------------------------------------------------
+     * Queued update; a later update of the same developer that arrives
+     * before this one is written replaces it
+     */
+    @PutMapping(value = "/developer/{developerId}", params = "async=true")
+    public ResponseEntity<WriteStatusData> updateDeveloperAsync(
+            @PathVariable Integer developerId,
+            @RequestBody DeveloperData developerData) {
+        log.info("Queueing developer update with ID={}", developerId);
+        developerData.setDeveloperId(developerId); // ensure ID is set
+        return accepted(writeBehindQueue.submitDeveloper(developerData));
+    }
+
     /*
      * GET /gamehub/developer/{developerId}
      * -------------------------------------
      * Retrieves a single developer by ID
+     * Answers 304 Not Modified when If-None-Match matches the current ETag
      */
     @GetMapping("/developer/{developerId}")
-    public DeveloperData getDeveloperById(@PathVariable Integer developerId) {
-        log.info("Retrieving developer with ID={}", developerId);
-        return gameHubService.getDeveloperById(developerId);
+    public MappingJacksonValue getDeveloperById(@PathVariable Integer developerId, ResponseShape shape,
+            WebRequest request) {
+        Expansion expansion = shape.expansion();
+        FilterProvider filters = shape.filters();
+        log.info("Retrieving developer with ID={} expand={}", developerId, expansion);
+        if (notModified(request, gameHubService.getDeveloperETag(developerId, expansion))) {
+            return null; // 304, nothing loaded or serialized
+        }
+        return withFields(gameHubService.getDeveloperById(developerId, expansion), filters);
     }
 
     /*
      * GET /gamehub/developers
      * -------------------------
      * Retrieves a list of all developers
+     * Answers 304 Not Modified when If-None-Match matches the current ETag
      */
     @GetMapping("/developers")
-    public List<DeveloperData> getAllDevelopers() {
-        log.info("Retrieving all developers");
-        return gameHubService.getAllDevelopers();
+    public MappingJacksonValue getAllDevelopers(ResponseShape shape, WebRequest request) {
+        Expansion expansion = shape.expansion();
+        FilterProvider filters = shape.filters();
+        log.info("Retrieving all developers expand={}", expansion);
+        if (notModified(request, gameHubService.getAllDevelopersETag(expansion))) {
+            return null;
+        }
+        return withFields(gameHubService.getAllDevelopers(expansion), filters);
+    }
+
+    /*
+     * GET /gamehub/developers/page?size=&cursor=
+     * -------------------------------------------
+     * Retrieves one page of developers ordered by ID
+     * Pass nextCursor from the response as ?cursor= to get the next page
+     */
+    @GetMapping("/developers/page")
+    public MappingJacksonValue getDeveloperPage(
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor,
+            ResponseShape shape) {
+        Expansion expansion = shape.expansion();
+        FilterProvider filters = shape.filters();
+        log.info("Retrieving developer page size={} cursor={} expand={}", size, cursor, expansion);
+        return withFields(gameHubService.getDeveloperPage(size, cursor, expansion), filters);
     }
 
     /*
      * DELETE /gamehub/developer/{developerId}
      * ----------------------------------------
-     * Deletes a developer by ID
-     * Returns a JSON message confirming deletion
+     * Deletes a developer by ID, with its games
+     * Returns a JSON message confirming deletion and the rows deleted
      */
     @DeleteMapping("/developer/{developerId}")
-    public Map<String, String> deleteDeveloper(@PathVariable Integer developerId) {
+    public DeletionData deleteDeveloper(@PathVariable Integer developerId) {
         log.info("Deleting developer with ID={}", developerId);
-        gameHubService.deleteDeveloperById(developerId);
-        return Map.of("message", "Developer with ID=" + developerId + " deleted successfully.");
+        DeletionData deletion = gameHubService.deleteDeveloperById(developerId);
+        log.info("Deleted developer with ID={}: {} games, {} genre links", developerId,
+                deletion.getGames(), deletion.getGenreLinks());
+        return deletion;
     }
 
     // =============================
@@ -116,26 +229,202 @@ public class GameHubController {
         return gameHubService.saveGame(gameData);
     }
 
+    /*
+     * POST /gamehub/game?async=true
+     * ------------------------------
+     * Queues the save instead of waiting for it (see WriteBehindQueue)
+     * Returns 202 Accepted with a tracking id; 400 for a body that can
+     * never be saved, 429 when the queue is full
+     */
+    @PostMapping(value = "/game", params = "async=true")
+    public ResponseEntity<WriteStatusData> saveGameAsync(@RequestBody GameData gameData) {
+        log.info("Queueing game save: {}", gameData);
+        return accepted(writeBehindQueue.submitGame(gameData));
+    }
+
+    /*
+     * POST /gamehub/games/batch
+     * --------------------------
+     * Save or update many games in one call
+     * Accepts a JSON array of GameData, inserted in chunked JDBC batches
+     * Returns the saved games in request order; 404 and nothing saved when
+     * an id in the batch doesn't exist; a failure after some chunks were
+     * saved lists savedGameIds and firstUnsavedIndex
+     */
+    @PostMapping("/games/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<GameData> saveGames(@RequestBody List<GameData> games) {
+        log.info("Saving batch of {} games", games.size());
+        return gameHubService.saveGames(games);
+    }
+
     /*
      * GET /gamehub/game/{gameId}
      * ----------------------------
      * Retrieve a single game by ID
+     * Answers 304 Not Modified when If-None-Match matches the current ETag
      */
     @GetMapping("/game/{gameId}")
-    public GameData getGameById(@PathVariable Integer gameId) {
-        log.info("Retrieving game with ID={}", gameId);
-        return gameHubService.getGameById(gameId);
+    public MappingJacksonValue getGameById(@PathVariable Integer gameId, ResponseShape shape, WebRequest request) {
+        Expansion expansion = shape.expansion();
+        FilterProvider filters = shape.filters();
+        log.info("Retrieving game with ID={} expand={}", gameId, expansion);
+        if (notModified(request, gameHubService.getGameETag(gameId, expansion))) {
+            return null; // 304, nothing loaded or serialized
+        }
+        return withFields(gameHubService.getGameById(gameId, expansion), filters);
     }
 
     /*
      * GET /gamehub/games
      * -------------------
      * Retrieve all games
+     * Answers 304 Not Modified when If-None-Match matches the current ETag
      */
     @GetMapping("/games")
-    public List<GameData> getAllGames() {
-        log.info("Retrieving all games");
-        return gameHubService.getAllGames();
+    public MappingJacksonValue getAllGames(ResponseShape shape, WebRequest request) {
+        Expansion expansion = shape.expansion();
+        FilterProvider filters = shape.filters();
+        log.info("Retrieving all games expand={}", expansion);
+        if (notModified(request, gameHubService.getAllGamesETag(expansion))) {
+            return null;
+        }
+        return withFields(gameHubService.getAllGames(expansion), filters);
+    }
+
+    /*
+     * GET /gamehub/games/page?size=&cursor=&sort=
+     * --------------------------------------------
+     * Retrieve one page of games
+     * sort = gameId (default), gameTitle or gameReleaseDate
+     * Pass nextCursor from the response as ?cursor= to get the next page
+     */
+    @GetMapping("/games/page")
+    public MappingJacksonValue getGamePage(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor,
+            ResponseShape shape) {
+        Expansion expansion = shape.expansion();
+        FilterProvider filters = shape.filters();
+        log.info("Retrieving game page sort={} size={} cursor={} expand={}", sort, size, cursor, expansion);
+        return withFields(gameHubService.getGamePage(sort, size, cursor, expansion), filters);
+    }
+
+    /*
+     * GET /gamehub/games/released?from=&to=&size=&cursor=
+     * -----------------------------------------------------
+     * Games released between from and to (yyyy-MM-dd, inclusive, both
+     * optional), newest first
+     * Pass nextCursor from the response as ?cursor= to get the next page
+     */
+    @GetMapping("/games/released")
+    public MappingJacksonValue getGamesReleased(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor,
+            ResponseShape shape) {
+        Expansion expansion = shape.expansion();
+        FilterProvider filters = shape.filters();
+        log.info("Retrieving games released from={} to={} size={} cursor={} expand={}",
+                from, to, size, cursor, expansion);
+        return withFields(gameHubService.getGamesReleased(from, to, size, cursor, expansion), filters);
+    }
+
+    /*
+     * GET /gamehub/game/{gameId}/similar?k=
+     * --------------------------------------
+     * The k games most like this one (shared genres, same developer),
+     * best first; k defaults to 10 (max gamehub.similar.neighbors)
+     */
+    @GetMapping("/game/{gameId}/similar")
+    public MappingJacksonValue getSimilarGames(
+            @PathVariable Integer gameId,
+            @RequestParam(required = false) Integer k,
+            ResponseShape shape) {
+        Expansion expansion = shape.expansion();
+        FilterProvider filters = shape.filters();
+        log.info("Retrieving games similar to ID={} k={} expand={}", gameId, k, expansion);
+        return withFields(gameHubService.getSimilarGames(gameId, k, expansion), filters);
+    }
+
+    /*
+     * GET /gamehub/games/search?q=&limit=
+     * ------------------------------------
+     * Full-text search over game title and description, best match first
+     * limit defaults to 10 (max 100)
+     */
+    @GetMapping("/games/search")
+    public MappingJacksonValue searchGames(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit,
+            ResponseShape shape) {
+        Expansion expansion = shape.expansion();
+        FilterProvider filters = shape.filters();
+        log.info("Searching games q={} limit={} expand={}", q, limit, expansion);
+        return withFields(gameHubService.searchGames(q, limit, expansion), filters);
+    }
+
+    /*
+     * GET /gamehub/games/by-genre?all=&any=&none=&size=&cursor=
+     * ----------------------------------------------------------
+     * Ids of games having every genre in all, at least one genre in any
+     * and no genre in none (comma-separated genre ids, e.g. all=1,2&none=3)
+     * count = total number of matches; pass nextCursor as ?cursor= for more ids
+     */
+    @GetMapping("/games/by-genre")
+    public GenreMatchData findGamesByGenres(
+            @RequestParam(required = false) List<Integer> all,
+            @RequestParam(required = false) List<Integer> any,
+            @RequestParam(required = false) List<Integer> none,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor) {
+        log.info("Finding games by genre all={} any={} none={} size={} cursor={}", all, any, none, size, cursor);
+        return gameHubService.findGamesByGenres(all, any, none, size, cursor);
+    }
+
+    /*
+     * GET /gamehub/autocomplete?prefix=&limit=
+     * -----------------------------------------
+     * Type-ahead: game titles and developer names starting with prefix
+     * (case-insensitive), most recent releases first
+     * limit defaults to 10 (max 50)
+     */
+    @GetMapping("/autocomplete")
+    public List<SuggestionData> autocomplete(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false) Integer limit) {
+        log.debug("Autocomplete prefix={} limit={}", prefix, limit); // called per keystroke
+        return gameHubService.autocomplete(prefix, limit);
+    }
+
+    /*
+     * GET /gamehub/games/export
+     * --------------------------
+     * Streams the full catalog as newline-delimited JSON (one GameData per line)
+     * - Written straight to the response while rows are read from the database
+     * - Nothing is collected into a List, so memory use doesn't grow with the catalog
+     */
+    @GetMapping(value = "/games/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportGames(ResponseShape shape) {
+        Expansion expansion = shape.expansion();
+        ObjectWriter writer = objectMapper.writer(shape.filters());
+        log.info("Exporting all games expand={}", expansion);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.setRootValueSeparator(null); // lines are separated by '\n' below
+                gameHubService.exportGames(expansion, gameData -> {
+                    try {
+                        writer.writeValue(generator, gameData);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 
     /*
@@ -171,33 +460,272 @@ public class GameHubController {
      * GET /gamehub/genre/{genreId}
      * ----------------------------
      * Retrieve a genre by ID
+     * Answers 304 Not Modified when If-None-Match matches the current ETag
      */
     @GetMapping("/genre/{genreId}")
-    public GenreData getGenreById(@PathVariable Integer genreId) {
-        log.info("Retrieving genre with ID={}", genreId);
-        return gameHubService.getGenreById(genreId);
+    public MappingJacksonValue getGenreById(@PathVariable Integer genreId, ResponseShape shape, WebRequest request) {
+        Expansion expansion = shape.expansion();
+        FilterProvider filters = shape.filters();
+        log.info("Retrieving genre with ID={} expand={}", genreId, expansion);
+        if (notModified(request, gameHubService.getGenreETag(genreId, expansion))) {
+            return null; // 304, nothing loaded or serialized
+        }
+        return withFields(gameHubService.getGenreById(genreId, expansion), filters);
     }
 
     /*
      * GET /gamehub/genres
      * --------------------
      * Retrieve all genres
+     * Answers 304 Not Modified when If-None-Match matches the current ETag
      */
     @GetMapping("/genres")
-    public List<GenreData> getAllGenres() {
-        log.info("Retrieving all genres");
-        return gameHubService.getAllGenres();
+    public MappingJacksonValue getAllGenres(ResponseShape shape, WebRequest request) {
+        Expansion expansion = shape.expansion();
+        FilterProvider filters = shape.filters();
+        log.info("Retrieving all genres expand={}", expansion);
+        if (notModified(request, gameHubService.getAllGenresETag(expansion))) {
+            return null;
+        }
+        return withFields(gameHubService.getAllGenres(expansion), filters);
+    }
+
+    /*
+     * GET /gamehub/genres/page?size=&cursor=
+     * ---------------------------------------
+     * Retrieve one page of genres ordered by ID
+     * Pass nextCursor from the response as ?cursor= to get the next page
+     */
+    @GetMapping("/genres/page")
+    public MappingJacksonValue getGenrePage(
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String cursor,
+            ResponseShape shape) {
+        Expansion expansion = shape.expansion();
+        FilterProvider filters = shape.filters();
+        log.info("Retrieving genre page size={} cursor={} expand={}", size, cursor, expansion);
+        return withFields(gameHubService.getGenrePage(size, cursor, expansion), filters);
     }
 
     /*
      * DELETE /gamehub/genre/{genreId}
      * --------------------------------
-     * Deletes a genre by ID
+     * Deletes a genre by ID (its games stay, without the genre)
+     * Returns a JSON message confirming deletion and the rows deleted
      */
     @DeleteMapping("/genre/{genreId}")
-    public Map<String, String> deleteGenre(@PathVariable Integer genreId) {
+    public DeletionData deleteGenre(@PathVariable Integer genreId) {
         log.info("Deleting genre with ID={}", genreId);
-        gameHubService.deleteGenreById(genreId);
-        return Map.of("message", "Genre with ID=" + genreId + " deleted successfully.");
+        DeletionData deletion = gameHubService.deleteGenreById(genreId);
+        log.info("Deleted genre with ID={}: {} genre links", genreId, deletion.getGenreLinks());
+        return deletion;
+    }
+
+    // =============================
+    // CACHE ENDPOINTS
+    // =============================
+
+    /*
+     * GET /gamehub/cache/stats
+     * -------------------------
+     * Hit/miss/eviction counters of every in-process cache
+     */
+    @GetMapping("/cache/stats")
+    public List<CacheStatsData> getCacheStats() {
+        log.info("Retrieving cache statistics");
+        return cacheStatsService.getCacheStats();
+    }
+
+    // =============================
+    // STATISTICS ENDPOINTS
+    // =============================
+
+    /*
+     * GET /gamehub/stats?top=
+     * ------------------------
+     * Games per genre, per developer and per release year, plus the "top"
+     * developers with the most games (default 10); read from counters,
+     * no table scan
+     */
+    @GetMapping("/stats")
+    public StatsData getStats(@RequestParam(required = false) Integer top) {
+        log.info("Retrieving catalog statistics top={}", top);
+        return gameHubService.getStats(top);
+    }
+
+    // =============================
+    // ASYNCHRONOUS WRITE ENDPOINTS
+    // =============================
+
+    /*
+     * GET /gamehub/writes/{trackingId}
+     * ---------------------------------
+     * Status of a ?async=true save: QUEUED, WRITTEN (with the saved id),
+     * FAILED (with the reason), COALESCED or INTERRUPTED; 404 once
+     * status-retention has passed
+     */
+    @GetMapping("/writes/{trackingId}")
+    public WriteStatusData getWriteStatus(@PathVariable String trackingId) {
+        log.info("Retrieving write status of {}", trackingId);
+        return writeBehindQueue.status(trackingId);
+    }
+
+    // =============================
+    // IMPORT ENDPOINTS
+    // =============================
+
+    /*
+     * POST /gamehub/imports?name=
+     * ----------------------------
+     * Bulk import of games with their developers and genres (by name, see
+     * GameImportData) from the request body: text/csv, application/json
+     * (an array) or application/x-ndjson. The body is stored, then
+     * imported in the background; name labels the job
+     * Returns 202 with the job, Location: /gamehub/imports/{jobId}
+     */
+    @PostMapping(value = "/imports", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE, NDJSON})
+    public ResponseEntity<ImportJobData> importUpload(
+            @RequestParam(required = false) String name,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        Format format = contentType.isCompatibleWith(MediaType.parseMediaType("text/csv")) ? Format.CSV : Format.JSON;
+        log.info("Importing uploaded {} file {}", format, name);
+        return accepted(gameImportService.importUpload(name, format, body));
+    }
+
+    /*
+     * POST /gamehub/imports?path=&format=
+     * ------------------------------------
+     * Same, for a file already on the server: path is relative to
+     * gamehub.import.directory; format (csv or json) defaults to the
+     * file extension
+     */
+    @PostMapping(value = "/imports", params = "path")
+    public ResponseEntity<ImportJobData> importLocalFile(
+            @RequestParam String path,
+            @RequestParam(required = false) String format) {
+        log.info("Importing local file {}", path);
+        return accepted(gameImportService.importLocalFile(path, format == null ? null
+                : GameImportService.formatOf("." + format)));
+    }
+
+    /*
+     * GET /gamehub/imports/{jobId}
+     * -----------------------------
+     * Status and progress of an import: rows committed, games imported,
+     * rows failed, developers/genres created, percent of the file read
+     */
+    @GetMapping("/imports/{jobId}")
+    public ImportJobData getImport(@PathVariable Integer jobId) {
+        log.info("Retrieving import {}", jobId);
+        return gameImportService.status(jobId);
+    }
+
+    /*
+     * GET /gamehub/imports/{jobId}/errors?after=&limit=
+     * --------------------------------------------------
+     * Rows that were not imported and why, in file order; after = the last
+     * rowIndex of the previous page, limit defaults to 100 (max 1000)
+     */
+    @GetMapping("/imports/{jobId}/errors")
+    public List<ImportErrorData> getImportErrors(
+            @PathVariable Integer jobId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        log.info("Retrieving errors of import {} after={} limit={}", jobId, after, limit);
+        return gameImportService.errors(jobId, after, limit);
+    }
+
+    /*
+     * POST /gamehub/imports/{jobId}/resume
+     * -------------------------------------
+     * Continues a FAILED or INTERRUPTED import after its last committed
+     * chunk; returns 202 like the import itself
+     */
+    @PostMapping("/imports/{jobId}/resume")
+    public ResponseEntity<ImportJobData> resumeImport(@PathVariable Integer jobId) {
+        log.info("Resuming import {}", jobId);
+        return accepted(gameImportService.resume(jobId));
+    }
+
+    // =============================
+    // WIRE FORMAT ENDPOINTS
+    // =============================
+
+    /*
+     * GET /gamehub/schema/protobuf?type=
+     * -----------------------------------
+     * The .proto schema of application/x-protobuf bodies, for clients
+     * that generate their own classes
+     * type: a DTO name, or PageData<Dto> / List<Dto>, e.g. PageData<GameData>
+     */
+    @GetMapping(value = "/schema/protobuf", produces = MediaType.TEXT_PLAIN_VALUE)
+    public String getProtobufSchema(@RequestParam String type) {
+        log.info("Retrieving protobuf schema of {}", type);
+        return protobufConverter.schemaFor(protobufRootType(type)).getSource().toString();
+    }
+
+    // =============================
+    // HELPERS
+    // =============================
+
+    // Conditional GET; responses without an ETag (see GameHubService) are always sent
+    private static boolean notModified(WebRequest request, String etag) {
+        return etag != null && request.checkNotModified(etag);
+    }
+
+    // 202 pointing at GET /gamehub/writes/{trackingId}
+    private static ResponseEntity<WriteStatusData> accepted(WriteStatusData status) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/gamehub/writes/" + status.getTrackingId()))
+                .body(status);
+    }
+
+    // 202 pointing at GET /gamehub/imports/{jobId}
+    private static ResponseEntity<ImportJobData> accepted(ImportJobData job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/gamehub/imports/" + job.getJobId()))
+                .body(job);
+    }
+
+    // Body written with the ?fields= filters of the request
+    private static MappingJacksonValue withFields(Object body, FilterProvider filters) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(filters);
+        return value;
+    }
+
+    // "GameData", "PageData<GameData>" or "List<GameData>" as the root type of a protobuf body
+    private JavaType protobufRootType(String type) {
+        String name = type.replace(" ", "");
+        Class<?> container = null;
+        if (name.endsWith(">")) {
+            int open = name.indexOf('<');
+            container = switch (name.substring(0, Math.max(open, 0))) {
+                case "PageData" -> PageData.class;
+                case "List" -> ProtobufJacksonHttpMessageConverter.Items.class;
+                default -> throw new IllegalArgumentException(
+                        "Unknown type " + type + ", expected PageData<...> or List<...>.");
+            };
+            name = name.substring(open + 1, name.length() - 1);
+        }
+        Class<?> dto = switch (name) {
+            case "GameData" -> GameData.class;
+            case "DeveloperData" -> DeveloperData.class;
+            case "GenreData" -> GenreData.class;
+            case "GenreMatchData" -> GenreMatchData.class;
+            case "SuggestionData" -> SuggestionData.class;
+            case "CacheStatsData" -> CacheStatsData.class;
+            case "StatsData" -> StatsData.class;
+            case "SimilarGameData" -> SimilarGameData.class;
+            case "WriteStatusData" -> WriteStatusData.class;
+            case "ImportJobData" -> ImportJobData.class;
+            case "ImportErrorData" -> ImportErrorData.class;
+            default -> throw new IllegalArgumentException(
+                    "Unknown type " + name + ", expected a DTO name like GameData.");
+        };
+        return container == null
+                ? objectMapper.constructType(dto)
+                : objectMapper.getTypeFactory().constructParametricType(container, dto);
     }
-}
\ No newline at end of file
+}
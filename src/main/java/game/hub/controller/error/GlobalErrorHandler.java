@@ -4,11 +4,17 @@ package game.hub.controller.error;
 import java.util.Map;
 import java.util.NoSuchElementException;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import game.hub.config.DatabaseBusyException;
+import game.hub.service.BatchSaveException;
+import game.hub.service.WriteQueueFullException;
 import lombok.extern.slf4j.Slf4j;
 
 /*
@@ -19,6 +25,8 @@ import lombok.extern.slf4j.Slf4j;
  * - Catches exceptions thrown from any controller.
  * - Returns a clean JSON error message instead of a full stack trace.
  * - Improves user experience by sending clear and consistent HTTP responses.
+ * - Error bodies are always JSON, whatever the request's Accept header
+ *   (e.g. application/x-protobuf has no schema for them, see WireFormatConfig).
  */
 @RestControllerAdvice // 🔹 Applies globally to all controllers in GameHub
 @Slf4j                // 🔹 Lombok provides a "log" object for logging
@@ -35,15 +43,110 @@ public class GlobalErrorHandler {
      * - Returns a JSON response containing the error message
      */
     @ExceptionHandler(NoSuchElementException.class) // 🔹 Handles "not found" exceptions
-    @ResponseStatus(HttpStatus.NOT_FOUND)           // 🔹 Sends a 404 response code
-    public Map<String, String> handleNoSuchElementException(NoSuchElementException ex) {
+    public ResponseEntity<Map<String, String>> handleNoSuchElementException(NoSuchElementException ex) {
 
         // Log the missing entity (for debugging)
         log.error("Entity not found: {}", ex.getMessage());
 
         // Return a minimal JSON message, e.g.:
         // { "message": "Developer with ID=5 was not found." }
-        return Map.of("message", ex.getMessage());
+        return message(HttpStatus.NOT_FOUND, ex.getMessage()); // 🔹 Sends a 404 response code
+    }
+
+    /*
+     * Handles IllegalArgumentException
+     * --------------------------------
+     * Thrown when a client sends an invalid request parameter
+     * — for example, a bad page cursor or an unsupported sort.
+     *
+     * - Responds with HTTP 400 (Bad Request)
+     * - Returns a JSON response containing the error message
+     */
+    @ExceptionHandler(IllegalArgumentException.class) // 🔹 Handles "bad request" exceptions
+    public ResponseEntity<Map<String, String>> handleIllegalArgumentException(IllegalArgumentException ex) {
+        log.error("Bad request: {}", ex.getMessage());
+        return message(HttpStatus.BAD_REQUEST, ex.getMessage()); // 🔹 Sends a 400 response code
+    }
+
+    /*
+     * Handles DataIntegrityViolationException
+     * --------------------------------
+     * Thrown when a write breaks a database constraint
+     * — for example, a genre name that is already taken (uk_genre_name).
+     *
+     * - Responds with HTTP 409 (Conflict)
+     * - Returns a JSON message without the SQL details
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class) // 🔹 Handles constraint violations
+    public ResponseEntity<Map<String, String>> handleDataIntegrityViolationException(
+            DataIntegrityViolationException ex) {
+        log.error("Constraint violation: {}", ex.getMostSpecificCause().getMessage());
+        return message(HttpStatus.CONFLICT, // 🔹 Sends a 409 response code
+                "The change conflicts with existing data, e.g. a genre name that is already taken.");
+    }
+
+    /*
+     * Handles DatabaseBusyException
+     * --------------------------------
+     * Thrown when every database slot stayed busy for the whole queue
+     * timeout (see AdmissionControlledTransactionManager).
+     *
+     * - Responds with HTTP 503 (Service Unavailable) and a Retry-After header
+     * - Sheds the request quickly instead of letting latency grow without bound
+     */
+    @ExceptionHandler(DatabaseBusyException.class) // 🔹 Handles "overloaded" exceptions
+    public ResponseEntity<Map<String, String>> handleDatabaseBusyException(DatabaseBusyException ex) {
+        log.warn("Database busy: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE) // 🔹 Sends a 503 response code
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                // explicit: a failed streaming export has already preset application/x-ndjson
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("message", "The server is busy. Please try again shortly."));
+    }
+
+    /*
+     * Handles WriteQueueFullException
+     * --------------------------------
+     * Thrown when an asynchronous save (?async=true) finds the write-behind
+     * queue full (see WriteBehindQueue).
+     *
+     * - Responds with HTTP 429 (Too Many Requests) and a Retry-After header
+     * - Nothing was queued: the client sends the same request again later
+     */
+    @ExceptionHandler(WriteQueueFullException.class) // 🔹 Handles "queue full" exceptions
+    public ResponseEntity<Map<String, String>> handleWriteQueueFullException(WriteQueueFullException ex) {
+        log.warn("Write queue full: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS) // 🔹 Sends a 429 response code
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("message", ex.getMessage()));
+    }
+
+    /*
+     * Handles BatchSaveException
+     * --------------------------------
+     * Thrown when a chunk of POST /gamehub/games/batch fails after earlier
+     * chunks were committed (see GameHubService.saveGames).
+     *
+     * - Responds with the status the cause would get on its own
+     *   (404, 400, 409, else 500)
+     * - Lists the saved game ids and the index of the first unsaved game,
+     *   so a retry resends only the rest
+     */
+    @ExceptionHandler(BatchSaveException.class) // 🔹 Handles partly saved batches
+    public ResponseEntity<Map<String, Object>> handleBatchSaveException(BatchSaveException ex) {
+        HttpStatus status = switch (ex.getCause()) {
+            case NoSuchElementException cause -> HttpStatus.NOT_FOUND;
+            case IllegalArgumentException cause -> HttpStatus.BAD_REQUEST;
+            case DataIntegrityViolationException cause -> HttpStatus.CONFLICT;
+            default -> HttpStatus.INTERNAL_SERVER_ERROR;
+        };
+        log.error("Batch partly saved: {}", ex.getMessage(), ex.getCause());
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("message", ex.getMessage(),
+                        "savedGameIds", ex.getSavedGameIds(),
+                        "firstUnsavedIndex", ex.getFirstUnsavedIndex()));
     }
 
     /*
@@ -56,13 +159,20 @@ public class GlobalErrorHandler {
      * - Returns a user-friendly JSON error message
      */
     @ExceptionHandler(Exception.class) // 🔹 Catches all remaining exceptions
-    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR) // 🔹 Sends a 500 response
-    public Map<String, String> handleGenericException(Exception ex) {
+    public ResponseEntity<Map<String, String>> handleGenericException(Exception ex) {
 
         //Log the full exception details for debugging
         log.error("Unexpected error occurred", ex);
 
         //Return a safe, generic message (don’t leak internal details)
-        return Map.of("message", "An unexpected error occurred. Please try again later.");
+        return message(HttpStatus.INTERNAL_SERVER_ERROR, // 🔹 Sends a 500 response
+                "An unexpected error occurred. Please try again later.");
+    }
+
+    // { "message": ... } as JSON, even when the client only accepts a binary format
+    private static ResponseEntity<Map<String, String>> message(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("message", message));
     }
 }
\ No newline at end of file
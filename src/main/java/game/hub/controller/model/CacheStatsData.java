@@ -0,0 +1,24 @@
+/*
+DTO - Data Transfer Object:
+    - Hit/miss/eviction counters of one in-process cache.
+    - Returned by GET /gamehub/cache/stats to help size the caches.
+*/
+package game.hub.controller.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsData {
+
+    private String cache;
+    private long hits;
+    private long misses;
+    private long puts;
+    private long evictions;
+    private long size;        // current number of entries (estimate)
+    private double hitRate;   // hits / (hits + misses), 0 when unused
+}
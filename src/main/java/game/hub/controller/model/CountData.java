@@ -0,0 +1,24 @@
+/*
+DTO - Data Transfer Object:
+    - Number of games in one group of GET /gamehub/stats.
+    - id   = genreId, developerId or release year
+    - name = genre or developer name (absent for years)
+*/
+package game.hub.controller.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CountData {
+
+    private Integer id;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String name;
+    private long games;
+}
@@ -0,0 +1,23 @@
+/*
+DTO - Data Transfer Object:
+    - Result of DELETE /gamehub/developer/{id} and /gamehub/genre/{id}.
+    - message = what was deleted
+    - the counts = rows deleted per table (game_genre rows as genreLinks)
+*/
+package game.hub.controller.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeletionData {
+
+    private String message;
+    private int developers;
+    private int genres;
+    private int games;
+    private int genreLinks;
+}
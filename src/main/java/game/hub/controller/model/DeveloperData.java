@@ -10,6 +10,8 @@ package game.hub.controller.model;
 import java.util.HashSet;
 import java.util.Set;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import game.hub.entity.Developer;
 import game.hub.entity.Game;
 import lombok.Data;
@@ -23,22 +25,32 @@ public class DeveloperData {
     private String developerName;
     private String developerCountry;
 
-    // A Developer can have many Games
+    // A Developer can have many Games (null = not expanded, left out of the JSON)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private Set<GameData> games;
 
-    // Constructor: builds DeveloperData from Developer entity
+    // Constructor: builds DeveloperData from Developer entity, with its games and their genres
     public DeveloperData(Developer developer) {
+        this(developer, Expansion.ALL, 0);
+    }
+
+    // Builds DeveloperData with just the associations "expansion" asks for at this level
+    public DeveloperData(Developer developer, Expansion expansion, int level) {
         this.developerId = developer.getDeveloperId();
         this.developerName = developer.getDeveloperName();
         this.developerCountry = developer.getDeveloperCountry();
 
+        if (!expansion.follows(Expansion.GAMES, level)) {
+            return;
+        }
+
         // Initialize the games set
         this.games = new HashSet<>();
 
         // Convert each Game entity into a GameData DTO
         if (developer.getGames() != null) {
             for (Game game : developer.getGames()) {
-                this.games.add(new GameData(game));
+                this.games.add(new GameData(game, expansion, level + 1));
             }
         }
     }
@@ -0,0 +1,100 @@
+package game.hub.controller.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * Expansion
+ * ----------------------
+ * Which associations a response DTO embeds (?expand=&depth= on the GET
+ * endpoints). levels.get(0) is followed from the requested object,
+ * levels.get(1) from the objects embedded by level 0, and so on.
+ *
+ * - NONE (the default): no associations, just the object's own fields
+ * - expand=games,genres,developer&depth=n: follow the listed associations
+ *   wherever they occur, up to n levels deep (depth defaults to 1)
+ * - expand=all: the graph these endpoints returned before ?expand existed
+ *     game      -> genres
+ *     developer -> games -> genres
+ *     genre     -> games -> genres
+ *
+ * An association that isn't expanded is neither loaded nor built as a DTO,
+ * and is left out of the JSON.
+ */
+public record Expansion(List<Set<String>> levels) {
+
+    public static final String GAMES = "games";
+    public static final String GENRES = "genres";
+    public static final String DEVELOPER = "developer";
+
+    public static final int MAX_DEPTH = 3;
+
+    public static final Expansion NONE = new Expansion(List.of());
+    public static final Expansion ALL = new Expansion(List.of(Set.of(GAMES, GENRES), Set.of(GENRES)));
+
+    private static final Set<String> ASSOCIATIONS = Set.of(GAMES, GENRES, DEVELOPER);
+
+    public Expansion {
+        levels = List.copyOf(levels);
+    }
+
+    public static Expansion parse(String expand, Integer depth) {
+        if (expand == null || expand.isBlank()) {
+            if (depth != null) {
+                throw new IllegalArgumentException("depth needs expand, e.g. expand=games&depth=2.");
+            }
+            return NONE;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : expand.split(",")) {
+            names.add(name.trim());
+        }
+        if (names.contains("all")) {
+            if (names.size() > 1 || depth != null) {
+                throw new IllegalArgumentException("expand=all can't be combined with other names or depth.");
+            }
+            return ALL;
+        }
+        for (String name : names) {
+            if (!ASSOCIATIONS.contains(name)) {
+                throw new IllegalArgumentException(
+                        "Unknown expand " + name + ", expected games, genres, developer or all.");
+            }
+        }
+        int levelCount = depth == null ? 1 : depth;
+        if (levelCount < 1 || levelCount > MAX_DEPTH) {
+            throw new IllegalArgumentException("depth must be between 1 and " + MAX_DEPTH + ".");
+        }
+        return new Expansion(Collections.nCopies(levelCount, Set.copyOf(names)));
+    }
+
+    // Whether the DTO at nesting level "level" (0 = the requested object) embeds "association"
+    public boolean follows(String association, int level) {
+        return level < levels.size() && levels.get(level).contains(association);
+    }
+
+    // Expands nothing that "other" doesn't expand as well
+    public boolean isWithin(Expansion other) {
+        for (int level = 0; level < levels.size(); level++) {
+            for (String association : levels.get(level)) {
+                if (!other.follows(association, level)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Readable form for logs, e.g. "games,genres/genres"
+    @Override
+    public String toString() {
+        List<String> parts = new ArrayList<>();
+        for (Set<String> level : levels) {
+            parts.add(String.join(",", level.stream().sorted().toList()));
+        }
+        return String.join("/", parts);
+    }
+}
@@ -6,9 +6,11 @@ DTO - Data Transfer Object:
 */
 package game.hub.controller.model;
 
+import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import game.hub.entity.Game;
 import game.hub.entity.Genre;
@@ -22,23 +24,45 @@ public class GameData {
     private Integer gameId;
     private String gameTitle;
     private String gameDescription;
-    private Date gameReleaseDate;
+    private LocalDate gameReleaseDate; // JSON: "yyyy-MM-dd"
+    private Integer developerId; // null = no developer (on save: keep the current one)
 
-    // A game can have multiple genres
+    // A game can have multiple genres (null = not expanded, left out of the JSON)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private Set<GenreData> genres;
 
-    // Constructor: builds GameData from Game entity
+    // The developer itself, only with ?expand=developer
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private DeveloperData developer;
+
+    // Constructor: builds GameData from Game entity, with its genres
     public GameData(Game game) {
+        this(game, Expansion.ALL, 0);
+    }
+
+    /*
+     * Builds GameData with just the associations "expansion" asks for at
+     * this level; the others are never touched, so never lazy-loaded.
+     */
+    public GameData(Game game, Expansion expansion, int level) {
         this.gameId = game.getGameId();
         this.gameTitle = game.getGameTitle();
         this.gameDescription = game.getGameDescription();
         this.gameReleaseDate = game.getGameReleaseDate();
+        // only the id: reading it from the lazy developer proxy doesn't load the developer
+        this.developerId = game.getDeveloper() == null ? null : game.getDeveloper().getDeveloperId();
+
+        if (expansion.follows(Expansion.DEVELOPER, level) && game.getDeveloper() != null) {
+            this.developer = new DeveloperData(game.getDeveloper(), expansion, level + 1);
+        }
 
-        this.genres = new HashSet<>();
+        if (expansion.follows(Expansion.GENRES, level)) {
+            this.genres = new HashSet<>();
 
-        if (game.getGenres() != null) {
-            for (Genre genre : game.getGenres()) {
-                this.genres.add(new GenreData(genre));
+            if (game.getGenres() != null) {
+                for (Genre genre : game.getGenres()) {
+                    this.genres.add(new GenreData(genre, expansion, level + 1));
+                }
             }
         }
     }
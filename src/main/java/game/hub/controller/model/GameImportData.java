@@ -0,0 +1,35 @@
+/*
+DTO - Data Transfer Object:
+    - One row of a bulk import file (POST /gamehub/imports): a game with
+      its developer and genres by name instead of by id.
+    - JSON: an array of these objects, or one object per line (NDJSON)
+    - CSV:  a header row naming the columns (any order, unknown columns
+            are ignored); genres separated by "|", e.g. RPG|Co-op
+    - developerName / genres = matched case-insensitively against the
+      existing developers and genres; unknown names are created
+      (developerCountry is only used for a developer created this way)
+    - gameReleaseDate = yyyy-MM-dd
+    Everything is read as text, so a bad value fails its row only.
+*/
+package game.hub.controller.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@JsonPropertyOrder({"gameTitle", "gameDescription", "gameReleaseDate", "developerName", "developerCountry",
+        "genres"})
+public class GameImportData {
+
+    private String gameTitle;
+    private String gameDescription;
+    private String gameReleaseDate;
+    private String developerName;
+    private String developerCountry;
+    private List<String> genres;
+}
@@ -11,6 +11,8 @@ import java.util.HashSet;
 
 import java.util.Set;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import game.hub.entity.Genre;
 import game.hub.entity.Game;
 import lombok.Data;
@@ -23,22 +25,34 @@ public class GenreData {
     private Integer genreId;
     private String genreName;
 
-    // A genre can have multiple games
+    // A genre can have multiple games (null = not expanded, left out of the JSON)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private Set<GameData> games;
 
-    // Constructor: builds GenreData from Genre entity
+    // Constructor: builds GenreData from Genre entity, with its games and their genres
     public GenreData(Genre genre) {
+        this(genre, Expansion.ALL, 0);
+    }
+
+    /*
+     * Builds GenreData with just the associations "expansion" asks for at
+     * this level. Genre -> Game -> Genre -> ... ends where the expansion
+     * ends, so the nesting is always finite.
+     */
+    public GenreData(Genre genre, Expansion expansion, int level) {
         this.genreId = genre.getGenreId();
         this.genreName = genre.getGenreName();
 
+        if (!expansion.follows(Expansion.GAMES, level)) {
+            return;
+        }
+
         this.games = new HashSet<>();
 
         if (genre.getGames() != null) {
             for (Game game : genre.getGames()) {
-                this.games.add(new GameData(game));
+                this.games.add(new GameData(game, expansion, level + 1));
             }
         }
     }
 }
-
-
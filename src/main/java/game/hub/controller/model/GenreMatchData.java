@@ -0,0 +1,25 @@
+/*
+DTO - Data Transfer Object:
+    - Result of a genre query (all / any / none of some genres).
+    - count      = number of matching games in total
+    - gameIds    = matching game ids on this page (ascending)
+    - nextCursor = opaque token to pass back as ?cursor= for the next page,
+                   null when this is the last page
+*/
+package game.hub.controller.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GenreMatchData {
+
+    private int count;
+    private List<Integer> gameIds;
+    private String nextCursor;
+}
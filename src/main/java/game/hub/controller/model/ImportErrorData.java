@@ -0,0 +1,25 @@
+/*
+DTO - Data Transfer Object:
+    - A row of an import file that was not imported
+      (GET /gamehub/imports/{jobId}/errors).
+    - rowIndex = 1-based row of the file, header not counted
+*/
+package game.hub.controller.model;
+
+import game.hub.entity.ImportError;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportErrorData {
+
+    private long rowIndex;
+    private String message;
+
+    public ImportErrorData(ImportError error) {
+        this(error.getRowIndex(), error.getMessage());
+    }
+}
@@ -0,0 +1,69 @@
+/*
+DTO - Data Transfer Object:
+    - State and progress of a bulk import, returned with the 202 of
+      POST /gamehub/imports and by GET /gamehub/imports/{jobId}.
+    - status        = QUEUED, RUNNING, COMPLETED, FAILED (see message), or
+                      INTERRUPTED (the server stopped); FAILED and
+                      INTERRUPTED jobs can be resumed
+    - rowsCommitted = rows of the file done so far (imported or failed),
+                      all in committed chunks: a resume continues after them
+    - progress      = percent of the file read, as of the last chunk
+*/
+package game.hub.controller.model;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import game.hub.entity.ImportJob;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportJobData {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, INTERRUPTED
+    }
+
+    public enum Format {
+        CSV, JSON
+    }
+
+    private Integer jobId;
+    private String fileName;
+    private Format format;
+    private Status status;
+    private long rowsCommitted;
+    private long gamesImported;
+    private long rowsFailed;
+    private int developersCreated;
+    private int genresCreated;
+    private long bytesRead;
+    private long bytesTotal;
+    private double progress;
+    private String message;
+    private Instant createdAt;
+    private Instant updatedAt;
+
+    public ImportJobData(ImportJob job) {
+        this.jobId = job.getJobId();
+        this.fileName = job.getFileName();
+        this.format = Format.valueOf(job.getFormat());
+        this.status = Status.valueOf(job.getStatus());
+        this.rowsCommitted = job.getRowsCommitted();
+        this.gamesImported = job.getGamesImported();
+        this.rowsFailed = job.getRowsFailed();
+        this.developersCreated = job.getDevelopersCreated();
+        this.genresCreated = job.getGenresCreated();
+        this.bytesRead = job.getBytesRead();
+        this.bytesTotal = job.getBytesTotal();
+        this.progress = job.getBytesTotal() == 0 ? 0
+                : Math.round(1000.0 * job.getBytesRead() / job.getBytesTotal()) / 10.0;
+        this.message = job.getMessage();
+        this.createdAt = job.getCreatedAt();
+        this.updatedAt = job.getUpdatedAt();
+    }
+}
@@ -0,0 +1,23 @@
+/*
+DTO - Data Transfer Object:
+    - One page of a keyset-paginated list endpoint.
+    - items      = the DTOs on this page (in sort order)
+    - nextCursor = opaque token to pass back as ?cursor= for the next page,
+                   null when this is the last page
+*/
+package game.hub.controller.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageData<T> {
+
+    private List<T> items;
+    private String nextCursor;
+}
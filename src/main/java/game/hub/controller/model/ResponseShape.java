@@ -0,0 +1,66 @@
+package game.hub.controller.model;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/*
+ * ResponseShape
+ * ----------------------
+ * The ?fields=&expand=&depth= query parameters of the GET endpoints.
+ *
+ * - expand / depth: which associations are loaded and embedded (Expansion)
+ * - fields: comma-separated fields to keep, e.g. fields=gameTitle,genreName
+ *   (names are unique across GameData, DeveloperData and GenreData, so one
+ *   list covers every nesting level). Ids and expanded associations are
+ *   always kept. Applied while writing the JSON, the DTOs stay untouched.
+ *
+ * Spring binds the parameters into this record (no annotation needed).
+ */
+public record ResponseShape(String fields, String expand, Integer depth) {
+
+    // Filter id the DTO classes are bound to (see JacksonConfig)
+    public static final String FILTER_ID = "fields";
+
+    // No ?fields: write every field
+    public static final FilterProvider ALL_FIELDS = new SimpleFilterProvider()
+            .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+
+    private static final Set<String> ALWAYS_KEPT = Set.of(
+            "gameId", "developerId", "genreId",
+            Expansion.GAMES, Expansion.GENRES, Expansion.DEVELOPER);
+
+    private static final Set<String> SELECTABLE = Set.of(
+            "gameTitle", "gameDescription", "gameReleaseDate",
+            "developerName", "developerCountry",
+            "genreName");
+
+    // Mix-in that puts FILTER_ID on the DTO classes
+    @JsonFilter(FILTER_ID)
+    public interface Filtered {
+    }
+
+    public Expansion expansion() {
+        return Expansion.parse(expand, depth);
+    }
+
+    // Jackson filters for the requested fields (throws IllegalArgumentException for unknown names)
+    public FilterProvider filters() {
+        if (fields == null || fields.isBlank()) {
+            return ALL_FIELDS;
+        }
+        Set<String> kept = new HashSet<>(ALWAYS_KEPT);
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (!SELECTABLE.contains(name) && !ALWAYS_KEPT.contains(name)) {
+                throw new IllegalArgumentException("Unknown field " + name + ", expected one of " + SELECTABLE + ".");
+            }
+            kept.add(name);
+        }
+        return new SimpleFilterProvider().addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(kept));
+    }
+}
@@ -0,0 +1,20 @@
+/*
+DTO - Data Transfer Object:
+    - One neighbor of GET /gamehub/game/{gameId}/similar, best first.
+    - score = genre overlap (Jaccard, 0..1) plus 0.25 for the same developer
+    - game  = the similar game, shaped by ?fields=&expand= like other game reads
+*/
+package game.hub.controller.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarGameData {
+
+    private float score;
+    private GameData game;
+}
@@ -0,0 +1,31 @@
+/*
+DTO - Data Transfer Object:
+    - Catalog statistics, returned by GET /gamehub/stats.
+    - Served from counters kept current on every save and delete
+      (CatalogStatistics), not computed from the tables per request.
+    - gamesPerGenre / gamesPerDeveloper: ordered by id
+    - gamesPerReleaseYear: ordered by year, undated games are not counted
+    - topDevelopers: most games first
+    - reconciledAt: last time the counters were checked against the database
+*/
+package game.hub.controller.model;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatsData {
+
+    private long totalGames;
+    private List<CountData> gamesPerGenre;
+    private List<CountData> gamesPerDeveloper;
+    private List<CountData> gamesPerReleaseYear;
+    private List<CountData> topDevelopers;
+    private Instant reconciledAt;
+}
@@ -0,0 +1,22 @@
+/*
+DTO - Data Transfer Object:
+    - One type-ahead suggestion from GET /gamehub/autocomplete.
+    - type  = "game" or "developer"
+    - id    = gameId or developerId
+    - label = the game title / developer name to show
+*/
+package game.hub.controller.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionData {
+
+    private String type;
+    private Integer id;
+    private String label;
+}
@@ -0,0 +1,40 @@
+/*
+DTO - Data Transfer Object:
+    - Outcome of one asynchronous save (?async=true on POST /gamehub/game,
+      POST/PUT /gamehub/developer), returned with the 202 and by
+      GET /gamehub/writes/{trackingId}.
+    - status  = QUEUED, WRITTEN, FAILED, COALESCED (replaced by a later
+                update of the same id before it was written) or INTERRUPTED
+                (the server stopped before it was written)
+    - id      = id of the saved game/developer once WRITTEN
+    - message = why it FAILED or was INTERRUPTED, or which write it was
+                COALESCED into
+*/
+package game.hub.controller.model;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WriteStatusData {
+
+    public enum Status {
+        QUEUED, WRITTEN, FAILED, COALESCED, INTERRUPTED
+    }
+
+    private String trackingId;
+    private String entity;        // "game" or "developer"
+    private Status status;
+    private Integer id;
+    private String message;
+    private Instant acceptedAt;
+    private Instant completedAt;  // null while QUEUED
+}
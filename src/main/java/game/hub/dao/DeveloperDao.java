@@ -1,14 +1,104 @@
 package game.hub.dao;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import game.hub.entity.Developer;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 /*
  * 🔹 DeveloperDao
  * ----------------------
  * DAO for Developer entity.
  * Provides CRUD operations like save(), findById(), findAll(), delete(), etc.
+ *
+ * Fetch plans (picked by GameHubService from the requested Expansion):
+ * - plain findById / findAll / findAllById: just the developer rows
+ * - WithGames: developer -> games in one SQL statement
+ * - WithGamesAndGenres: developer -> games -> genres in one SQL statement
+ * Anything deeper is lazy-loaded in batches (default_batch_fetch_size).
  */
 public interface DeveloperDao extends JpaRepository<Developer, Integer> {
-    // Add custom queries if needed
-}
\ No newline at end of file
+
+    // Single developer with games
+    @EntityGraph(attributePaths = "games")
+    Optional<Developer> findWithGamesByDeveloperId(Integer developerId);
+
+    // Single developer with games and their genres
+    @EntityGraph(attributePaths = {"games", "games.genres"})
+    Optional<Developer> findWithGamesAndGenresByDeveloperId(Integer developerId);
+
+    // All developers with games
+    @EntityGraph(attributePaths = "games")
+    List<Developer> findAllWithGamesBy();
+
+    // All developers with games and their genres
+    @EntityGraph(attributePaths = {"games", "games.genres"})
+    List<Developer> findAllWithGamesAndGenresBy();
+
+    // Versions (ETag) of one developer, its games (first) and their genres (second), see GameDao
+    @Query("select new game.hub.dao.VersionRow(d.version, g.gameId, g.version, ge.genreId, ge.version)"
+            + " from Developer d left join d.games g left join g.genres ge"
+            + " where d.developerId = :developerId")
+    List<VersionRow> findVersionRows(@Param("developerId") Integer developerId);
+
+    // Version stamp (ETag) of the whole developer table
+    @Query("select new game.hub.dao.VersionStamp(count(d), cast(coalesce(max(d.developerId), 0) as Long),"
+            + " coalesce(sum(d.version), 0),"
+            + " coalesce((select c.changes from TableChange c where c.tableName = 'developer'), 0)) from Developer d")
+    VersionStamp findTableVersionStamp();
+
+    // Developers with games for one page of ids
+    @EntityGraph(attributePaths = "games")
+    List<Developer> findWithGamesByDeveloperIdIn(Collection<Integer> developerIds);
+
+    // Developers with games and their genres for one page of ids
+    @EntityGraph(attributePaths = {"games", "games.genres"})
+    List<Developer> findWithGamesAndGenresByDeveloperIdIn(Collection<Integer> developerIds);
+
+    // Which of these ids exist (see GameDao.findExistingIds)
+    @Query("select d.developerId from Developer d where d.developerId in :developerIds")
+    List<Integer> findExistingIds(@Param("developerIds") Collection<Integer> developerIds);
+
+    // Keyset paging: next ids after the cursor (see GameDao)
+    @Query("select d.developerId from Developer d where d.developerId > :afterId"
+            + " order by d.developerId")
+    List<Integer> findDeveloperIdPage(@Param("afterId") Integer afterId, Limit limit);
+
+    // Id, name and latest game release of every named developer (builds the autocomplete index)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new game.hub.dao.NamedRelease(d.developerId, d.developerName, max(g.gameReleaseDate))"
+            + " from Developer d left join d.games g where d.developerName is not null"
+            + " group by d.developerId, d.developerName")
+    Stream<NamedRelease> streamAllNames();
+
+    // Id and name of every developer (reconciles the statistics)
+    @Query("select new game.hub.dao.EntityName(d.developerId, d.developerName) from Developer d")
+    List<EntityName> findAllNames();
+
+    /*
+     * Bulk delete (GameHubService.deleteDeveloperById)
+     * - findLockedByDeveloperId: SELECT ... FOR UPDATE, so no game can be
+     *   added to the developer until the delete commits
+     * - bulkDeleteById: the developer row only; its games go first (GameDao)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Developer> findLockedByDeveloperId(Integer developerId);
+
+    @Modifying
+    @Query("delete from Developer d where d.developerId = :developerId")
+    int bulkDeleteById(@Param("developerId") Integer developerId);
+}
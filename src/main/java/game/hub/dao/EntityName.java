@@ -0,0 +1,10 @@
+package game.hub.dao;
+
+/*
+ * EntityName
+ * ----------------------
+ * Id and display name of a developer or genre
+ * (see DeveloperDao.findAllNames / GenreDao.findAllNames).
+ */
+public record EntityName(Integer id, String name) {
+}
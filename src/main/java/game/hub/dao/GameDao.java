@@ -1,14 +1,193 @@
 package game.hub.dao;
 
+import java.util.Collection;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import game.hub.entity.Game;
+import jakarta.persistence.QueryHint;
 
 /*
  * 🔹 GameDao
  * ----------------------
  * DAO for Game entity.
  * Provides CRUD operations like save(), findById(), findAll(), delete(), etc.
+ *
+ * Fetch plans (picked by GameHubService from the requested Expansion):
+ * - plain findById / findAll / findAllById / streamAll: just the game rows
+ * - WithGenres: the genres in the same SQL statement (one query instead of 1 + N)
+ * Anything deeper, and the developer, is lazy-loaded in batches
+ * (default_batch_fetch_size).
  */
 public interface GameDao extends JpaRepository<Game, Integer> {
-    // Add custom queries if needed
+
+    // Single game with its genres
+    @EntityGraph(attributePaths = "genres")
+    Optional<Game> findWithGenresByGameId(Integer gameId);
+
+    // All games with their genres
+    @EntityGraph(attributePaths = "genres")
+    List<Game> findAllWithGenresBy();
+
+    /*
+     * Every game with its genres, read through a JDBC cursor
+     * - fetch size 500: the driver pulls rows in chunks instead of the whole
+     *   result set (MySQL needs useCursorFetch=true on the JDBC url for this)
+     * - read only: Hibernate keeps no dirty-checking snapshot per entity
+     * - ordered by id so each game's genre rows arrive together
+     * The caller must close the stream and stay inside a transaction.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select g from Game g left join fetch g.genres order by g.gameId")
+    Stream<Game> streamAllWithGenres();
+
+    // Every game without its genres, read the same way
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select g from Game g order by g.gameId")
+    Stream<Game> streamAll();
+
+    /*
+     * Versions (ETags)
+     * ----------------------
+     * - one game: the game, its developer (first) and its genres (second),
+     *   one row per genre (no rows when the game doesn't exist)
+     * - whole table: count, max id and version sum of every game row
+     */
+    @Query("select new game.hub.dao.VersionRow(g.version, d.developerId, d.version, ge.genreId, ge.version)"
+            + " from Game g left join g.developer d left join g.genres ge where g.gameId = :gameId")
+    List<VersionRow> findVersionRows(@Param("gameId") Integer gameId);
+
+    @Query("select new game.hub.dao.VersionStamp(count(g), cast(coalesce(max(g.gameId), 0) as Long),"
+            + " coalesce(sum(g.version), 0),"
+            + " coalesce((select c.changes from TableChange c where c.tableName = 'game'), 0)) from Game g")
+    VersionStamp findTableVersionStamp();
+
+    // Id, title and description of every game (builds the search index)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new game.hub.dao.GameText(g.gameId, g.gameTitle, g.gameDescription) from Game g")
+    Stream<GameText> streamAllText();
+
+    // Every game with each of its genres (builds the genre bitmaps)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new game.hub.dao.GameGenreLink(g.gameId, ge.genreId) from Game g left join g.genres ge")
+    Stream<GameGenreLink> streamAllGenreLinks();
+
+    // Id, title and release date of every titled game (builds the autocomplete index)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new game.hub.dao.NamedRelease(g.gameId, g.gameTitle, g.gameReleaseDate) from Game g"
+            + " where g.gameTitle is not null")
+    Stream<NamedRelease> streamAllTitles();
+
+    // Id and release date of every dated game (builds the release-date index)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new game.hub.dao.GameRelease(g.gameId, g.gameReleaseDate) from Game g"
+            + " where g.gameReleaseDate is not null")
+    Stream<GameRelease> streamAllReleaseDates();
+
+    // Every game with its developer, release date and each of its genres (reconciles the statistics)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new game.hub.dao.GameStatsRow(g.gameId, d.developerId, g.gameReleaseDate, ge.genreId)"
+            + " from Game g left join g.developer d left join g.genres ge order by g.gameId")
+    Stream<GameStatsRow> streamAllStatsRows();
+
+    // Every game with its own fields and each of its genres (writes the catalog snapshot)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new game.hub.dao.GameSnapshotRow(g.gameId, g.gameTitle, g.gameDescription, g.gameReleaseDate,"
+            + " d.developerId, ge.genreId)"
+            + " from Game g left join g.developer d left join g.genres ge order by g.gameId")
+    Stream<GameSnapshotRow> streamAllSnapshotRows();
+
+    // Which of these ids exist (checks a batch save before anything is written)
+    @Query("select g.gameId from Game g where g.gameId in :gameIds")
+    List<Integer> findExistingIds(@Param("gameIds") Collection<Integer> gameIds);
+
+    // Games with their genres for one page of ids (order is not preserved)
+    @EntityGraph(attributePaths = "genres")
+    List<Game> findWithGenresByGameIdIn(Collection<Integer> gameIds);
+
+    /*
+     * Keyset paging
+     * -------------
+     * A page is read in two steps: these queries pick the next ids after the
+     * cursor (no joins, so the database can stop after "limit" rows), then
+     * findWithGenresByGameIdIn loads the graph for just those ids. Paging a
+     * collection join fetch directly would make Hibernate page in memory.
+     *
+     * title/date sorts: NULLs sort first (MySQL default), so a null cursor
+     * value means "still inside the NULL block".
+     */
+    @Query("select g.gameId from Game g where g.gameId > :afterId order by g.gameId")
+    List<Integer> findGameIdPage(@Param("afterId") Integer afterId, Limit limit);
+
+    @Query("select g.gameId from Game g"
+            + " where (:title is null and ((g.gameTitle is null and g.gameId > :afterId)"
+            + "        or g.gameTitle is not null))"
+            + " or g.gameTitle > :title"
+            + " or (g.gameTitle = :title and g.gameId > :afterId)"
+            + " order by g.gameTitle, g.gameId")
+    List<Integer> findGameIdPageByTitle(@Param("title") String title,
+            @Param("afterId") Integer afterId, Limit limit);
+
+    @Query("select g.gameId from Game g"
+            + " where (:releaseDate is null and ((g.gameReleaseDate is null and g.gameId > :afterId)"
+            + "        or g.gameReleaseDate is not null))"
+            + " or g.gameReleaseDate > :releaseDate"
+            + " or (g.gameReleaseDate = :releaseDate and g.gameId > :afterId)"
+            + " order by g.gameReleaseDate, g.gameId")
+    List<Integer> findGameIdPageByReleaseDate(@Param("releaseDate") LocalDate releaseDate,
+            @Param("afterId") Integer afterId, Limit limit);
+
+    /*
+     * Bulk deletes (GameHubService.deleteDeveloperById / deleteGenreById)
+     * -------------------------------------------------------------------
+     * One statement per table instead of loading every game and deleting it
+     * row by row. game_genre has no entity, so its rows go with native SQL;
+     * the native.spaces hint tells Hibernate which table it touches, so only
+     * the Game.genres cache region is invalidated (without it: every region).
+     * Bulk JPQL statements invalidate their own regions.
+     * (A bulk JPQL delete of Game/Genre also clears game_genre by itself;
+     * deleting the links first is what gives us their count, and that
+     * extra statement then finds nothing.)
+     */
+    @Query("select g.gameId from Game g where g.developer.developerId = :developerId")
+    List<Integer> findIdsByDeveloperId(@Param("developerId") Integer developerId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "game_genre"))
+    @Query(value = "delete from game_genre where game_id in"
+            + " (select game_id from game where developer_id = :developerId)", nativeQuery = true)
+    int bulkDeleteGenreLinksByDeveloperId(@Param("developerId") Integer developerId);
+
+    @Modifying
+    @Query("delete from Game g where g.developer.developerId = :developerId")
+    int bulkDeleteByDeveloperId(@Param("developerId") Integer developerId);
+
+    // Game owns game_genre: losing a genre is an update of the game (version, ETag)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "game"))
+    @Query(value = "update game set version = version + 1 where game_id in"
+            + " (select game_id from game_genre where genre_id = :genreId)", nativeQuery = true)
+    int bulkIncrementVersionByGenreId(@Param("genreId") Integer genreId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "game_genre"))
+    @Query(value = "delete from game_genre where genre_id = :genreId", nativeQuery = true)
+    int bulkDeleteGenreLinksByGenreId(@Param("genreId") Integer genreId);
 }
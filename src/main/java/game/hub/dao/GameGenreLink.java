@@ -0,0 +1,11 @@
+package game.hub.dao;
+
+/*
+ * GameGenreLink
+ * ----------------------
+ * One game_genre row (see GameDao.streamAllGenreLinks).
+ * genreId is null for a game without genres, so every game shows up at
+ * least once.
+ */
+public record GameGenreLink(Integer gameId, Integer genreId) {
+}
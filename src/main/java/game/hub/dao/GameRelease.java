@@ -0,0 +1,11 @@
+package game.hub.dao;
+
+import java.time.LocalDate;
+
+/*
+ * GameRelease
+ * ----------------------
+ * Id and release date of one game (see GameDao.streamAllReleaseDates).
+ */
+public record GameRelease(Integer gameId, LocalDate releaseDate) {
+}
@@ -0,0 +1,14 @@
+package game.hub.dao;
+
+import java.time.LocalDate;
+
+/*
+ * GameSnapshotRow
+ * ----------------------
+ * One game_genre row with the game's own fields (see
+ * GameDao.streamAllSnapshotRows). genreId is null for a game without
+ * genres, so every game shows up at least once.
+ */
+public record GameSnapshotRow(Integer gameId, String title, String description, LocalDate releaseDate,
+        Integer developerId, Integer genreId) {
+}
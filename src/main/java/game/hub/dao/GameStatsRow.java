@@ -0,0 +1,14 @@
+package game.hub.dao;
+
+import java.time.LocalDate;
+
+/*
+ * GameStatsRow
+ * ----------------------
+ * One game_genre row with the game's developer and release date (see
+ * GameDao.streamAllStatsRows). genreId is null for a game without genres,
+ * so every game shows up at least once; developerId and releaseDate may
+ * be null.
+ */
+public record GameStatsRow(Integer gameId, Integer developerId, LocalDate releaseDate, Integer genreId) {
+}
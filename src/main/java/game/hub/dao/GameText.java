@@ -0,0 +1,11 @@
+package game.hub.dao;
+
+/*
+ * GameText
+ * ----------------------
+ * The searchable text of one game (see GameDao.streamAllText).
+ * A plain projection: Hibernate doesn't manage it, so streaming millions
+ * of these doesn't fill the persistence context.
+ */
+public record GameText(Integer gameId, String gameTitle, String gameDescription) {
+}
@@ -1,14 +1,98 @@
 package game.hub.dao;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import game.hub.entity.Genre;
+import jakarta.persistence.LockModeType;
 
 /*
  * 🔹 GenreDao
  * ----------------------
  * DAO for Genre entity.
  * Provides CRUD operations like save(), findById(), findAll(), delete(), etc.
+ *
+ * Fetch plans (picked by GameHubService from the requested Expansion):
+ * - plain findById / findAll / findAllById: just the genre rows
+ * - WithGames: genre -> games in one SQL statement
+ * - WithGamesAndGenres: genre -> games -> genres in one SQL statement
+ * Anything deeper is lazy-loaded in batches (default_batch_fetch_size).
  */
 public interface GenreDao extends JpaRepository<Genre, Integer> {
-    // Add custom queries if needed
-}
\ No newline at end of file
+
+    /*
+     * Genre -> games -> genres points back at Genre, and Hibernate stops
+     * entity graphs at a circular path (the inner genres would then be
+     * batch-loaded separately). Explicit join fetches are always honored.
+     */
+
+    // Single genre with games
+    @Query("select ge from Genre ge left join fetch ge.games where ge.genreId = :genreId")
+    Optional<Genre> findWithGamesByGenreId(@Param("genreId") Integer genreId);
+
+    // Single genre with games and their genres
+    @Query("select ge from Genre ge left join fetch ge.games g left join fetch g.genres"
+            + " where ge.genreId = :genreId")
+    Optional<Genre> findWithGamesAndGenresByGenreId(@Param("genreId") Integer genreId);
+
+    // All genres with games
+    @Query("select ge from Genre ge left join fetch ge.games")
+    List<Genre> findAllWithGamesBy();
+
+    // All genres with games and their genres
+    @Query("select ge from Genre ge left join fetch ge.games g left join fetch g.genres")
+    List<Genre> findAllWithGamesAndGenresBy();
+
+    // Versions (ETag) of one genre, its games (first) and their genres (second), see GameDao
+    @Query("select new game.hub.dao.VersionRow(ge.version, g.gameId, g.version, ge2.genreId, ge2.version)"
+            + " from Genre ge left join ge.games g left join g.genres ge2"
+            + " where ge.genreId = :genreId")
+    List<VersionRow> findVersionRows(@Param("genreId") Integer genreId);
+
+    // Version stamp (ETag) of the whole genre table
+    @Query("select new game.hub.dao.VersionStamp(count(ge), cast(coalesce(max(ge.genreId), 0) as Long),"
+            + " coalesce(sum(ge.version), 0),"
+            + " coalesce((select c.changes from TableChange c where c.tableName = 'genre'), 0)) from Genre ge")
+    VersionStamp findTableVersionStamp();
+
+    // Genres with games for one page of ids
+    @Query("select ge from Genre ge left join fetch ge.games where ge.genreId in :genreIds")
+    List<Genre> findWithGamesByGenreIdIn(@Param("genreIds") Collection<Integer> genreIds);
+
+    // Genres with games and their genres for one page of ids
+    @Query("select ge from Genre ge left join fetch ge.games g left join fetch g.genres"
+            + " where ge.genreId in :genreIds")
+    List<Genre> findWithGamesAndGenresByGenreIdIn(@Param("genreIds") Collection<Integer> genreIds);
+
+    // Which of these ids exist (see GameDao.findExistingIds)
+    @Query("select ge.genreId from Genre ge where ge.genreId in :genreIds")
+    List<Integer> findExistingIds(@Param("genreIds") Collection<Integer> genreIds);
+
+    // Keyset paging: next ids after the cursor (see GameDao)
+    @Query("select ge.genreId from Genre ge where ge.genreId > :afterId order by ge.genreId")
+    List<Integer> findGenreIdPage(@Param("afterId") Integer afterId, Limit limit);
+
+    // Id and name of every genre (reconciles the statistics)
+    @Query("select new game.hub.dao.EntityName(ge.genreId, ge.genreName) from Genre ge")
+    List<EntityName> findAllNames();
+
+    /*
+     * Bulk delete (GameHubService.deleteGenreById)
+     * - findLockedByGenreId: SELECT ... FOR UPDATE, so no game can join the
+     *   genre until the delete commits
+     * - bulkDeleteById: the genre row only; its game_genre rows go first (GameDao)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Genre> findLockedByGenreId(Integer genreId);
+
+    @Modifying
+    @Query("delete from Genre ge where ge.genreId = :genreId")
+    int bulkDeleteById(@Param("genreId") Integer genreId);
+}
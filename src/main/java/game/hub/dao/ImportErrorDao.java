@@ -0,0 +1,20 @@
+package game.hub.dao;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import game.hub.entity.ImportError;
+
+/*
+ * 🔹 ImportErrorDao
+ * ----------------------
+ * DAO for ImportError entity (rows an import could not write).
+ * Provides CRUD operations like save(), findById(), findAll(), delete(), etc.
+ */
+public interface ImportErrorDao extends JpaRepository<ImportError, ImportError.Key> {
+
+    // Keyset paging: the next errors of a job after a row number, in file order
+    List<ImportError> findByJobIdAndRowIndexGreaterThanOrderByRowIndex(Integer jobId, Long afterRowIndex,
+            Limit limit);
+}
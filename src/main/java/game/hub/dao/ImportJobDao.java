@@ -0,0 +1,19 @@
+package game.hub.dao;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import game.hub.entity.ImportJob;
+
+/*
+ * 🔹 ImportJobDao
+ * ----------------------
+ * DAO for ImportJob entity (bulk imports, see GameImportService).
+ * Provides CRUD operations like save(), findById(), findAll(), delete(), etc.
+ */
+public interface ImportJobDao extends JpaRepository<ImportJob, Integer> {
+
+    // Jobs in any of the given states (e.g. the ones a restart left unfinished)
+    List<ImportJob> findByStatusIn(Collection<String> statuses);
+}
@@ -0,0 +1,13 @@
+package game.hub.dao;
+
+import java.time.LocalDate;
+
+/*
+ * NamedRelease
+ * ----------------------
+ * Id, display name and release date of a game, or of a developer's latest
+ * game (see GameDao.streamAllTitles / DeveloperDao.streamAllNames).
+ * Feeds the autocomplete index; releaseDate may be null.
+ */
+public record NamedRelease(Integer id, String name, LocalDate releaseDate) {
+}
@@ -0,0 +1,23 @@
+package game.hub.dao;
+
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import game.hub.entity.TableChange;
+
+/*
+ * 🔹 TableChangeDao
+ * ----------------------
+ * DAO for TableChange entity (modification counters, see TableChangeCounter).
+ * Provides CRUD operations like save(), findById(), findAll(), delete(), etc.
+ */
+public interface TableChangeDao extends JpaRepository<TableChange, String> {
+
+    // One statement for all tables: the rows are locked in primary key order, so writers can't deadlock
+    @Modifying
+    @Query("update TableChange c set c.changes = c.changes + 1 where c.tableName in :tableNames")
+    int increment(@Param("tableNames") Collection<String> tableNames);
+}
@@ -0,0 +1,13 @@
+package game.hub.dao;
+
+/*
+ * VersionRow
+ * ----------------------
+ * One joined row of a by-id version query (ETags): the @Version of the
+ * requested entity and of up to two entities its DTO embeds, e.g. for a
+ * developer: the developer, one of its games and one genre of that game.
+ * firstId/secondId and their versions are null where the left join found
+ * nothing. No entities or DTOs are built.
+ */
+public record VersionRow(Long version, Integer firstId, Long firstVersion, Integer secondId, Long secondVersion) {
+}
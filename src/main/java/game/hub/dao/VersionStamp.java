@@ -0,0 +1,21 @@
+package game.hub.dao;
+
+/*
+ * VersionStamp
+ * ----------------------
+ * Cheap fingerprint of a whole table, read with one aggregate query
+ * (no entities or DTOs are built). Used for the list ETags; by-id ETags
+ * hash the individual versions instead (see VersionRow, ETagService).
+ *
+ * - rows       = number of (joined) rows
+ * - maxId      = highest id among them, changes when a row is replaced by a new one
+ * - versionSum = sum of their @Version columns, grows on every update
+ * - changes    = the table's modification counter (TableChange), grows with
+ *   every committed transaction that wrote to it
+ *
+ * The first three can't see every change: a delete plus an insert can
+ * leave them as they were (ids are handed out in blocks, so a new row
+ * can get a lower id than one already committed). changes always moves.
+ */
+public record VersionStamp(long rows, long maxId, long versionSum, long changes) {
+}
@@ -3,11 +3,18 @@ package game.hub.entity;
 import java.util.Set;
 
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import game.hub.config.HibernateCacheConfig;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -16,14 +23,20 @@ import lombok.ToString;
             //contains all the fields, ids, and relationships like the database objects
 			//Hibernate - Java framework that helps you interact with a relational database using Java objects instead of writing SQL
 @Data // Lombok generates getters and Setters
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.DEVELOPER_REGION) // Second-level cache (see HibernateCacheConfig)
 public class Developer {
 	
 	//Annotations: developerId auto increment
 	@Id //marks this field as the primary key.
-	@GeneratedValue//tells JPA/Hibernate to automatically generate a value when you save a new entity.
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "developer_seq")//tells JPA/Hibernate to automatically generate a value when you save a new entity.
+	@SequenceGenerator(name = "developer_seq", sequenceName = "developer_seq", allocationSize = 50)//pooled ids, same as Game
 	private Integer developerId;
 	private String  developerName;
 	private String  developerCountry;
+	
+	@EqualsAndHashCode.Exclude
+	@Version // incremented on every update, used for optimistic locking and ETags (see Game)
+	private Long    version;
 		
 	/*
 	  - @OneToMany -  One Developer → Many Games
@@ -41,6 +54,7 @@ public class Developer {
 	 */
     @EqualsAndHashCode.Exclude
     @ToString.Exclude
+    // Not in the second-level cache: Game isn't cached, so cached game ids would be loaded back one query per game
     @OneToMany(mappedBy = "developer", cascade = CascadeType.ALL, orphanRemoval = true) 
     private Set<Game> games;
 	
@@ -5,10 +5,17 @@ import java.util.HashSet;
 import java.util.Set;
 
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import game.hub.config.HibernateCacheConfig;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -17,12 +24,18 @@ import lombok.ToString;
 //contains all the fields, ids, and relationships like the database objects
 //Hibernate - Java framework that helps you interact with a relational database using Java objects instead of writing SQL
 @Data // Lombok generates getters and Setters
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.GENRE_REGION) // Second-level cache: genres are reference data, read far more than written
 public class Genre {
 	//Annotations: genreId auto increment
 	@Id //marks this field as the primary key.
-	@GeneratedValue//tells JPA/Hibernate to automatically generate a value when you save a new entity.
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "genre_seq")//tells JPA/Hibernate to automatically generate a value when you save a new entity.
+	@SequenceGenerator(name = "genre_seq", sequenceName = "genre_seq", allocationSize = 50)//pooled ids, same as Game
 	private Integer genreId;
 	private String genreName;
+	
+	@EqualsAndHashCode.Exclude
+	@Version // incremented on every update, used for optimistic locking and ETags (see Game)
+	private Long version;
 
 	
 	/*
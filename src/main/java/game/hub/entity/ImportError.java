@@ -0,0 +1,42 @@
+package game.hub.entity;
+
+import java.io.Serializable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * ImportError
+ * ----------------------
+ * A row of an import file that was not imported, and why
+ * (GET /gamehub/imports/{jobId}/errors). Written with the chunk the row
+ * belongs to.
+ */
+@Entity
+@IdClass(ImportError.Key.class) // primary key (job_id, row_index)
+@Data // Lombok generates getters and Setters
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportError {
+
+	@Id
+	private Integer jobId;
+	@Id
+	private Long    rowIndex; // 1-based row of the file (header not counted)
+
+	@Column(length = 1024)
+	private String  message;
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Key implements Serializable {
+		private Integer jobId;
+		private Long    rowIndex;
+	}
+}
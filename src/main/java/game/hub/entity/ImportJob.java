@@ -0,0 +1,49 @@
+package game.hub.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import lombok.Data;
+
+/*
+ * ImportJob
+ * ----------------------
+ * One bulk import (POST /gamehub/imports, see GameImportService).
+ * Updated in the same transaction as every chunk it writes, so
+ * rowsCommitted is where a resumed import continues; it seeks to
+ * resumeOffset and skips any rows up to rowsCommitted from there.
+ */
+@Entity
+@Data // Lombok generates getters and Setters
+public class ImportJob {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_job_seq")
+	@SequenceGenerator(name = "import_job_seq", sequenceName = "import_job_seq", allocationSize = 1)//few rows, no need to pool ids
+	private Integer jobId;
+	private String  fileName; // as uploaded, or the local path as given
+	@Column(length = 1024)
+	private String  path;     // the file that is read (uploads are spooled to disk first)
+	private String  format;   // ImportJobData.Format
+	private String  status;   // ImportJobData.Status
+
+	private long    rowsCommitted;     // rows of the file handled by committed chunks
+	private long    gamesImported;
+	private long    rowsFailed;
+	private int     developersCreated;
+	private int     genresCreated;
+	private long    bytesRead;         // as of the last committed chunk
+	private long    bytesTotal;
+	private long    resumeOffset;      // byte offset in the file just after row resumeRow,
+	private long    resumeRow;         // where a resumed import starts reading (0 / 0 = from the start)
+
+	@Column(length = 1024)
+	private String  message;  // why the job FAILED or was INTERRUPTED
+	private Instant createdAt;
+	private Instant updatedAt;
+}
@@ -0,0 +1,21 @@
+package game.hub.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Data;
+
+/*
+ * TableChange
+ * ----------------------
+ * Modification counter of one catalog table (developer, game, genre).
+ * Every transaction that writes to the table adds 1 just before it
+ * commits (see TableChangeCounter); the list ETags include it.
+ */
+@Entity
+@Data // Lombok generates getters and Setters
+public class TableChange {
+
+	@Id
+	private String  tableName; // "developer", "game" or "genre"
+	private long    changes;
+}
@@ -0,0 +1,161 @@
+package game.hub.loadtest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import game.hub.controller.model.DeveloperData;
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.GenreData;
+import game.hub.service.GameHubService;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * LoadTestDataGenerator
+ * ----------------------
+ * Seeds a synthetic catalog on startup of the "loadtest" profile, through
+ * GameHubService (same code path as the REST API, events and indexes included).
+ *
+ * - Deterministic: the same gamehub.loadtest.* settings give the same catalog
+ * - Skewed like a real store: a few genres and developers are far more
+ *   common than the rest (Zipf, s = 1)
+ * - Every game gets a developer, 1-4 genres, a two-word title and a release
+ *   date between 1990 and 2025
+ * Runs before ApplicationReadyEvent, so the in-memory indexes are built
+ * from the finished catalog.
+ */
+@Component
+@Profile("loadtest")
+@Slf4j
+public class LoadTestDataGenerator implements ApplicationRunner {
+
+    private static final String[] GENRE_NAMES = {"Action", "Adventure", "RPG", "Strategy", "Shooter",
+            "Puzzle", "Platformer", "Simulation", "Racing", "Sports", "Horror", "Roguelike", "Co-op",
+            "Fighting", "Survival", "Sandbox", "Stealth", "Rhythm", "Card", "Tactics", "MMO",
+            "Metroidvania", "Visual Novel", "Open World"};
+
+    private static final String[] TITLE_WORDS = {"Shadow", "Star", "Iron", "Crystal", "Dragon", "Neon",
+            "Lost", "Eternal", "Broken", "Silent", "Crimson", "Frozen", "Wild", "Hollow", "Golden",
+            "Quest", "Legends", "Empire", "Frontier", "Chronicles", "Odyssey", "Tactics", "Rising",
+            "Protocol", "Saga", "Kingdom", "Horizon", "Dungeon", "Arena", "Requiem"};
+
+    private static final String[] COUNTRIES = {"US", "JP", "GB", "DE", "FR", "CA", "KR", "SE", "PL", "FI"};
+
+    private static final LocalDate FIRST_RELEASE = LocalDate.of(1990, 1, 1);
+    private static final int RELEASE_DAYS = 35 * 365;
+    private static final int CHUNK_SIZE = 1000;
+
+    @Autowired
+    private GameHubService gameHubService;
+
+    @Value("${gamehub.loadtest.seed:42}")
+    private long seed;
+
+    @Value("${gamehub.loadtest.developers:200}")
+    private int developerCount;
+
+    @Value("${gamehub.loadtest.genres:24}")
+    private int genreCount;
+
+    @Value("${gamehub.loadtest.games:20000}")
+    private int gameCount;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.currentTimeMillis();
+        Random random = new Random(seed);
+
+        List<Integer> genreIds = new ArrayList<>(genreCount);
+        for (int i = 0; i < genreCount; i++) {
+            GenreData genre = new GenreData();
+            genre.setGenreName(GENRE_NAMES[i % GENRE_NAMES.length]
+                    + (i < GENRE_NAMES.length ? "" : " " + (i / GENRE_NAMES.length + 1)));
+            genreIds.add(gameHubService.saveGenre(genre).getGenreId());
+        }
+
+        List<Integer> developerIds = new ArrayList<>(developerCount);
+        for (int i = 0; i < developerCount; i++) {
+            DeveloperData developer = new DeveloperData();
+            developer.setDeveloperName(word(random) + " " + word(random) + " Studios " + (i + 1));
+            developer.setDeveloperCountry(COUNTRIES[random.nextInt(COUNTRIES.length)]);
+            developerIds.add(gameHubService.saveDeveloper(developer).getDeveloperId());
+        }
+
+        Zipf genrePick = new Zipf(genreCount);
+        Zipf developerPick = new Zipf(developerCount);
+        List<GameData> chunk = new ArrayList<>(CHUNK_SIZE);
+        for (int i = 0; i < gameCount; i++) {
+            GameData game = new GameData();
+            game.setGameTitle(word(random) + " " + word(random) + " " + (i + 1));
+            game.setGameDescription("A " + word(random).toLowerCase() + " game about "
+                    + word(random).toLowerCase() + " and " + word(random).toLowerCase() + ".");
+            game.setGameReleaseDate(FIRST_RELEASE.plusDays(random.nextInt(RELEASE_DAYS)));
+            game.setDeveloperId(developerIds.get(developerPick.next(random)));
+
+            int wanted = Math.min(1 + random.nextInt(4), genreCount);
+            Set<GenreData> genres = new HashSet<>();
+            Set<Integer> picked = new HashSet<>();
+            while (picked.size() < wanted) {
+                Integer genreId = genreIds.get(genrePick.next(random));
+                if (picked.add(genreId)) {
+                    GenreData genre = new GenreData();
+                    genre.setGenreId(genreId);
+                    genres.add(genre);
+                }
+            }
+            game.setGenres(genres);
+
+            chunk.add(game);
+            if (chunk.size() == CHUNK_SIZE || i == gameCount - 1) {
+                gameHubService.saveGames(chunk);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+
+        log.info("Load test catalog generated: {} developers, {} genres, {} games (seed {}) in {} ms",
+                developerCount, genreCount, gameCount, seed, System.currentTimeMillis() - start);
+    }
+
+    private static String word(Random random) {
+        return TITLE_WORDS[random.nextInt(TITLE_WORDS.length)];
+    }
+
+    // Zipf(s = 1) over ranks 0..n-1: rank k is picked with weight 1 / (k + 1)
+    private static final class Zipf {
+        private final double[] cumulative;
+
+        Zipf(int n) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += 1.0 / (k + 1);
+                cumulative[k] = sum;
+            }
+        }
+
+        int next(Random random) {
+            double target = random.nextDouble() * cumulative[cumulative.length - 1];
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package game.hub.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import game.hub.controller.model.SuggestionData;
+import game.hub.dao.DeveloperDao;
+import game.hub.dao.GameDao;
+import game.hub.dao.NamedRelease;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * AutocompleteIndex
+ * ----------------------
+ * Type-ahead over game titles and developer names (GET /gamehub/autocomplete).
+ *
+ * - The names live in an immutable NameIndex (packed arrays and a
+ *   max-weight segment tree, see there); recent names come first
+ * - A change event doesn't reload anything: the changed name goes into a
+ *   small delta NameIndex laid over the big one (which hides its old
+ *   entry), so lookups see it at once
+ * - One background thread merges the delta, i.e. rebuilds the big index
+ *   from the database, MERGE_INTERVAL_MS after the first change, or as
+ *   soon as the delta holds MAX_DELTA_NAMES names
+ * - Every snapshot (big index, hidden keys, delta) is swapped in with a
+ *   single volatile write, so lookups never wait
+ * - A developer's weight (its latest release) follows its games at the
+ *   next merge
+ */
+@Component
+@Slf4j
+public class AutocompleteIndex {
+
+    // Changes are served from the delta this long before a full rebuild folds them in
+    private static final long MERGE_INTERVAL_MS = 60_000;
+    private static final int MAX_DELTA_NAMES = 1000;
+    private static final long RETRY_DELAY_MS = 1000;
+
+    @Autowired
+    private GameDao gameDao;
+
+    @Autowired
+    private DeveloperDao developerDao;
+
+    @Autowired
+    @Qualifier("backgroundTransactionManager")
+    private PlatformTransactionManager transactionManager; // background slots, see DatabaseAdmissionConfig
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private static final NameIndex EMPTY = NameIndex.build(List.of(), List.of());
+
+    // What lookups read: base without the hidden keys, plus delta
+    private record Snapshot(NameIndex base, Set<Long> hidden, NameIndex delta) {
+    }
+
+    private volatile Snapshot snapshot = new Snapshot(EMPTY, Set.of(), EMPTY);
+
+    // Guarded by "this": names changed since base was read (null = deleted), by NameIndex key
+    private Map<Long, NamedRelease> changed = new HashMap<>();
+    private Map<Long, NamedRelease> changedDuringRebuild; // non-null while a rebuild reads the database
+    private ScheduledFuture<?> merge;
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "autocomplete-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    void initReadOnlyTransaction() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    // =============================
+    // REBUILD
+    // =============================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuilder.execute(this::rebuild);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameChanged(GameChangedEvent event) {
+        NamedRelease game = event.deleted() ? null
+                : new NamedRelease(event.gameId(), event.game().getGameTitle(), event.game().getGameReleaseDate());
+        change(Collections.singletonMap(NameIndex.gameKey(event.gameId()), game)); // null = deleted
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        Map<Long, NamedRelease> changes = new HashMap<>();
+        long key = NameIndex.developerKey(event.developerId());
+        if (event.deleted()) {
+            changes.put(key, null);
+            event.deletedGameIds().forEach(gameId -> changes.put(NameIndex.gameKey(gameId), null));
+        } else {
+            // a rename keeps the weight the developer already has
+            changes.put(key, new NamedRelease(event.developerId(), event.developerName(), releaseDateOf(key)));
+        }
+        change(changes);
+    }
+
+    private synchronized LocalDate releaseDateOf(long key) {
+        if (changed.containsKey(key)) {
+            NamedRelease release = changed.get(key);
+            return release == null ? null : release.releaseDate();
+        }
+        return snapshot.base().releaseDateOf(key);
+    }
+
+    private synchronized void change(Map<Long, NamedRelease> changes) {
+        changed.putAll(changes);
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.putAll(changes);
+        }
+        snapshot = withDelta(snapshot.base(), changed);
+        scheduleMerge();
+    }
+
+    private static Snapshot withDelta(NameIndex base, Map<Long, NamedRelease> changed) {
+        List<NamedRelease> games = new ArrayList<>();
+        List<NamedRelease> developers = new ArrayList<>();
+        changed.forEach((key, release) -> {
+            if (release != null) {
+                (key == NameIndex.gameKey(release.id()) ? games : developers).add(release);
+            }
+        });
+        return new Snapshot(base, Set.copyOf(changed.keySet()), NameIndex.build(games, developers));
+    }
+
+    // Caller holds the monitor
+    private void scheduleMerge() {
+        long delay = changed.size() >= MAX_DELTA_NAMES ? 0 : MERGE_INTERVAL_MS;
+        if (merge == null || (merge.getDelay(TimeUnit.MILLISECONDS) > delay && merge.cancel(false))) {
+            merge = rebuilder.schedule(this::rebuild, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    void rebuild() {
+        synchronized (this) {
+            merge = null; // changes from now on schedule the next merge
+            changedDuringRebuild = new HashMap<>();
+        }
+        long start = System.currentTimeMillis();
+        try {
+            NameIndex fresh = readOnlyTransaction.execute(status -> {
+                List<NamedRelease> games;
+                try (Stream<NamedRelease> stream = gameDao.streamAllTitles()) {
+                    games = stream.toList();
+                }
+                try (Stream<NamedRelease> stream = developerDao.streamAllNames()) {
+                    return NameIndex.build(games, stream.toList());
+                }
+            });
+            synchronized (this) {
+                // changes the database read may have missed stay in the delta
+                changed = changedDuringRebuild;
+                changedDuringRebuild = null;
+                snapshot = withDelta(fresh, changed);
+                if (!changed.isEmpty()) {
+                    scheduleMerge();
+                }
+            }
+            log.info("Autocomplete index built: {} names, ~{} KB in {} ms",
+                    fresh.size(), fresh.memoryBytes() / 1024, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Autocomplete rebuild failed, keeping the previous index and retrying", e);
+            synchronized (this) {
+                changedDuringRebuild = null;
+                if (merge == null) {
+                    merge = rebuilder.schedule(this::rebuild, RETRY_DELAY_MS, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+
+    // =============================
+    // LOOKUP
+    // =============================
+
+    // Best "limit" names starting with prefix (case-insensitive), highest weight first
+    public List<SuggestionData> suggest(String prefix, int limit) {
+        Snapshot current = snapshot;
+        if (current.hidden().isEmpty()) {
+            return current.base().suggest(prefix, limit);
+        }
+        return NameIndex.suggest(current.base(), current.hidden(), current.delta(), prefix, limit);
+    }
+}
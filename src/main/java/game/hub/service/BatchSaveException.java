@@ -0,0 +1,34 @@
+package game.hub.service;
+
+import java.util.List;
+
+/*
+ * BatchSaveException
+ * ----------------------
+ * Thrown by GameHubService.saveGames when a chunk fails after earlier
+ * chunks were committed. Carries what is already saved, so the client
+ * resends only the games from firstUnsavedIndex on (answered with the
+ * status of the cause and both fields by GlobalErrorHandler).
+ * - savedGameIds = ids of the committed games, in request order
+ * - firstUnsavedIndex = request index of the first game of the failed chunk
+ */
+public class BatchSaveException extends RuntimeException {
+
+    private final List<Integer> savedGameIds;
+    private final int firstUnsavedIndex;
+
+    public BatchSaveException(List<Integer> savedGameIds, int firstUnsavedIndex, RuntimeException cause) {
+        super("Games " + firstUnsavedIndex + " and after were not saved; the " + savedGameIds.size()
+                + " games before them were.", cause);
+        this.savedGameIds = savedGameIds;
+        this.firstUnsavedIndex = firstUnsavedIndex;
+    }
+
+    public List<Integer> getSavedGameIds() {
+        return savedGameIds;
+    }
+
+    public int getFirstUnsavedIndex() {
+        return firstUnsavedIndex;
+    }
+}
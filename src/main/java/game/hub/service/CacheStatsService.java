@@ -0,0 +1,71 @@
+package game.hub.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import game.hub.config.HibernateCacheConfig;
+import game.hub.controller.model.CacheStatsData;
+
+/*
+ * CacheStatsService
+ * ----------------------
+ * Collects hit/miss/eviction counters of the in-process caches.
+ *
+ * - Second-level cache regions: read from the standard JCache statistics
+ *   MXBean that every region registers (statistics are enabled in
+ *   HibernateCacheConfig)
+ * - DTO caches: Caffeine's own statistics (see DtoCache)
+ */
+@Service
+public class CacheStatsService {
+
+    @Autowired
+    private CacheManager hibernateCacheManager;
+
+    @Autowired
+    private DtoCache dtoCache;
+
+    public List<CacheStatsData> getCacheStats() {
+        List<CacheStatsData> stats = new ArrayList<>();
+        for (String region : HibernateCacheConfig.REGIONS) {
+            stats.add(secondLevelCacheStats(region));
+        }
+        stats.addAll(dtoCache.getStats());
+        return stats;
+    }
+
+    private CacheStatsData secondLevelCacheStats(String region) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        Cache<Object, Object> cache = hibernateCacheManager.getCache(region);
+        long size = cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+
+        try {
+            ObjectName name = new ObjectName("javax.cache:type=CacheStatistics"
+                    + ",CacheManager=" + hibernateCacheManager.getURI()
+                    + ",Cache=" + region);
+            long hits = (Long) server.getAttribute(name, "CacheHits");
+            long misses = (Long) server.getAttribute(name, "CacheMisses");
+            return new CacheStatsData("second-level:" + region, hits, misses,
+                    (Long) server.getAttribute(name, "CachePuts"),
+                    (Long) server.getAttribute(name, "CacheEvictions"),
+                    size, hitRate(hits, misses));
+        } catch (JMException e) {
+            throw new IllegalStateException("Statistics for cache " + region + " are not available", e);
+        }
+    }
+
+    static double hitRate(long hits, long misses) {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
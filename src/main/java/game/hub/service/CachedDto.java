@@ -0,0 +1,10 @@
+package game.hub.service;
+
+/*
+ * CachedDto
+ * ----------------------
+ * A DtoCache entry: the finished DTO plus the ETag it was loaded with,
+ * so a cached response can answer a conditional GET without a query.
+ */
+public record CachedDto<T>(T data, String etag) {
+}
@@ -0,0 +1,438 @@
+package game.hub.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import game.hub.controller.model.DeveloperData;
+import game.hub.controller.model.Expansion;
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.GenreData;
+import game.hub.dao.EntityName;
+import game.hub.dao.GameSnapshotRow;
+import game.hub.entity.Developer;
+
+/*
+ * CatalogSnapshot
+ * ----------------------
+ * The whole catalog in one binary file, read through a memory mapping:
+ * a read node maps the file and answers by-id and list reads from it
+ * without loading entities or keeping the catalog on the heap. Only the
+ * DTOs of one response are built, field by field, straight from the
+ * mapped pages (see CatalogSnapshotService).
+ *
+ * Layout (big-endian, format 1):
+ *
+ *   header    magic "GHSNAP" + format, createdAt (epoch ms), gameCount,
+ *             linkCount, developerCount, genreCount, offset of the strings
+ *   games     id[] (ascending), title[], description[], releaseDay[]
+ *             (epoch day), developerId[], genreStart[gameCount + 1],
+ *             genreLink[linkCount] (genre index; game i has the links
+ *             genreStart[i] .. genreStart[i + 1] - 1)
+ *   developers id[] (ascending), name[], country[]
+ *   genres    id[] (ascending), name[]
+ *   strings   [int byte length][UTF-8 bytes] ...; columns hold offsets
+ *
+ * - Every column is a fixed-width int array, so a lookup is a binary
+ *   search over the id column plus one read per field
+ * - NULL (Integer.MIN_VALUE) marks a missing release day or developer,
+ *   -1 a missing string
+ * - A file is never changed once written: a new snapshot is written next
+ *   to it and moved over it, so a mapping stays valid while in use
+ * - One mapping holds at most 2 GB
+ *
+ * Only absolute reads are made on the shared buffer, so concurrent
+ * requests don't interfere.
+ */
+public final class CatalogSnapshot {
+
+    private static final long MAGIC = 0x4748534E41500001L; // "GHSNAP", format 1
+    private static final int HEADER_BYTES = 40;
+    private static final int NULL = Integer.MIN_VALUE;
+    private static final int NO_STRING = -1;
+
+    private final ByteBuffer buffer;
+    private final long createdAt;
+    private final int gameCount;
+    private final int developerCount;
+    private final int genreCount;
+
+    // start of each column in the file
+    private final int gameIds;
+    private final int gameTitles;
+    private final int gameDescriptions;
+    private final int gameReleaseDays;
+    private final int gameDevelopers;
+    private final int gameGenreStarts;
+    private final int gameGenreLinks;
+    private final int developerIds;
+    private final int developerNames;
+    private final int developerCountries;
+    private final int genreIds;
+    private final int genreNames;
+    private final int strings;
+
+    private CatalogSnapshot(ByteBuffer buffer) {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getLong(0) != MAGIC) {
+            throw new IllegalStateException("Not a catalog snapshot of format 1.");
+        }
+        this.buffer = buffer;
+        this.createdAt = buffer.getLong(8);
+        this.gameCount = buffer.getInt(16);
+        int linkCount = buffer.getInt(20);
+        this.developerCount = buffer.getInt(24);
+        this.genreCount = buffer.getInt(28);
+        this.strings = (int) buffer.getLong(32);
+
+        int at = HEADER_BYTES;
+        gameIds = at;
+        gameTitles = at += 4 * gameCount;
+        gameDescriptions = at += 4 * gameCount;
+        gameReleaseDays = at += 4 * gameCount;
+        gameDevelopers = at += 4 * gameCount;
+        gameGenreStarts = at += 4 * gameCount;
+        gameGenreLinks = at += 4 * (gameCount + 1);
+        developerIds = at += 4 * linkCount;
+        developerNames = at += 4 * developerCount;
+        developerCountries = at += 4 * developerCount;
+        genreIds = at += 4 * developerCount;
+        genreNames = at += 4 * genreCount;
+        at += 4 * genreCount;
+        if (at != strings || strings > buffer.capacity()) {
+            throw new IllegalStateException("Corrupt catalog snapshot: columns end at " + at
+                    + ", strings start at " + strings + ".");
+        }
+    }
+
+    // Maps the file read-only; the mapping outlives the channel
+    public static CatalogSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Catalog snapshot " + path + " is larger than 2 GB.");
+            }
+            return new CatalogSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public long createdAt() {
+        return createdAt;
+    }
+
+    public int gameCount() {
+        return gameCount;
+    }
+
+    /*
+     * Whether game(...) can answer this expansion (else the database has to):
+     * a game's genres and developer are in the snapshot, their games are not.
+     * Games are the only association a genre or developer DTO follows.
+     */
+    public static boolean coversGame(Expansion expansion) {
+        return !expansion.follows(Expansion.GAMES, 1);
+    }
+
+    // Whether developer/genre reads can answer this expansion: without their games
+    public static boolean coversOwnFields(Expansion expansion) {
+        return !expansion.follows(Expansion.GAMES, 0);
+    }
+
+    // Weak ETag of anything read from this snapshot: it only changes with the snapshot
+    public String etag(String resource) {
+        return "W/\"snapshot-" + createdAt + "-" + resource + "\"";
+    }
+
+    // =============================
+    // READ
+    // =============================
+
+    // null = no such game
+    public GameData game(int gameId, Expansion expansion) {
+        int index = find(gameIds, gameCount, gameId);
+        if (index < 0) {
+            return null;
+        }
+        GameData game = new GameData();
+        game.setGameId(gameId);
+        game.setGameTitle(string(intAt(gameTitles, index)));
+        game.setGameDescription(string(intAt(gameDescriptions, index)));
+        int releaseDay = intAt(gameReleaseDays, index);
+        game.setGameReleaseDate(releaseDay == NULL ? null : LocalDate.ofEpochDay(releaseDay));
+        int developerId = intAt(gameDevelopers, index);
+        if (developerId != NULL) {
+            game.setDeveloperId(developerId);
+            if (expansion.follows(Expansion.DEVELOPER, 0)) {
+                game.setDeveloper(developer(developerId));
+            }
+        }
+        if (expansion.follows(Expansion.GENRES, 0)) {
+            Set<GenreData> genres = new HashSet<>();
+            int end = intAt(gameGenreStarts, index + 1);
+            for (int link = intAt(gameGenreStarts, index); link < end; link++) {
+                genres.add(genreAt(intAt(gameGenreLinks, link)));
+            }
+            game.setGenres(genres);
+        }
+        return game;
+    }
+
+    // null = no such developer
+    public DeveloperData developer(int developerId) {
+        int index = find(developerIds, developerCount, developerId);
+        return index < 0 ? null : developerAt(index);
+    }
+
+    public List<DeveloperData> developers() {
+        List<DeveloperData> developers = new ArrayList<>(developerCount);
+        for (int index = 0; index < developerCount; index++) {
+            developers.add(developerAt(index));
+        }
+        return developers;
+    }
+
+    // null = no such genre
+    public GenreData genre(int genreId) {
+        int index = find(genreIds, genreCount, genreId);
+        return index < 0 ? null : genreAt(index);
+    }
+
+    public List<GenreData> genres() {
+        List<GenreData> genres = new ArrayList<>(genreCount);
+        for (int index = 0; index < genreCount; index++) {
+            genres.add(genreAt(index));
+        }
+        return genres;
+    }
+
+    private DeveloperData developerAt(int index) {
+        DeveloperData developer = new DeveloperData();
+        developer.setDeveloperId(intAt(developerIds, index));
+        developer.setDeveloperName(string(intAt(developerNames, index)));
+        developer.setDeveloperCountry(string(intAt(developerCountries, index)));
+        return developer;
+    }
+
+    private GenreData genreAt(int index) {
+        GenreData genre = new GenreData();
+        genre.setGenreId(intAt(genreIds, index));
+        genre.setGenreName(string(intAt(genreNames, index)));
+        return genre;
+    }
+
+    // Binary search over an ascending id column; -1 = not found
+    private int find(int column, int count, int id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int value = intAt(column, middle);
+            if (value < id) {
+                low = middle + 1;
+            } else if (value > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private int intAt(int column, int index) {
+        return buffer.getInt(column + 4 * index);
+    }
+
+    private String string(int offset) {
+        if (offset == NO_STRING) {
+            return null;
+        }
+        int at = strings + offset;
+        byte[] bytes = new byte[buffer.getInt(at)];
+        buffer.get(at + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // =============================
+    // WRITE
+    // =============================
+
+    /*
+     * Writes a snapshot of the given rows to "path" (rows ordered by game id,
+     * one per genre, as GameDao.streamAllSnapshotRows returns them).
+     * Strings are streamed to a side file while the games are read, so only
+     * the int columns are held in memory. The finished file replaces "path"
+     * with an atomic move. Returns the size of the file in bytes.
+     */
+    public static long write(Path path, List<Developer> developerList, List<EntityName> genreList,
+            Stream<GameSnapshotRow> rows) throws IOException {
+        Path stringsFile = path.resolveSibling(path.getFileName() + ".strings.tmp");
+        Path snapshotFile = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            IntColumn[] columns;
+            long stringBytes;
+            try (StringTable stringTable = new StringTable(stringsFile)) {
+                columns = writeColumns(developerList, genreList, rows, stringTable);
+                stringBytes = stringTable.size;
+            }
+
+            int gameCount = columns[0].size;
+            int linkCount = columns[6].size;
+            int developerCount = columns[7].size;
+            int genreCount = columns[10].size;
+            long stringsAt = HEADER_BYTES;
+            for (IntColumn column : columns) {
+                stringsAt += 4L * column.size;
+            }
+            if (stringsAt + stringBytes > Integer.MAX_VALUE) {
+                throw new IOException("Catalog snapshot would be larger than 2 GB.");
+            }
+
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(snapshotFile), 1 << 16))) {
+                out.writeLong(MAGIC);
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(gameCount);
+                out.writeInt(linkCount);
+                out.writeInt(developerCount);
+                out.writeInt(genreCount);
+                out.writeLong(stringsAt);
+                for (IntColumn column : columns) {
+                    column.writeTo(out);
+                }
+                Files.copy(stringsFile, out);
+            }
+            Files.move(snapshotFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return stringsAt + stringBytes;
+        } finally {
+            Files.deleteIfExists(stringsFile);
+            Files.deleteIfExists(snapshotFile);
+        }
+    }
+
+    // The columns in file order: 7 game columns, 3 developer columns, 2 genre columns
+    private static IntColumn[] writeColumns(List<Developer> developerList, List<EntityName> genreList,
+            Stream<GameSnapshotRow> rows, StringTable stringTable) throws IOException {
+        IntColumn developerIds = new IntColumn();
+        IntColumn developerNames = new IntColumn();
+        IntColumn developerCountries = new IntColumn();
+        List<Developer> sortedDevelopers = new ArrayList<>(developerList);
+        sortedDevelopers.sort(Comparator.comparing(Developer::getDeveloperId));
+        for (Developer developer : sortedDevelopers) {
+            developerIds.add(developer.getDeveloperId());
+            developerNames.add(stringTable.add(developer.getDeveloperName()));
+            developerCountries.add(stringTable.add(developer.getDeveloperCountry()));
+        }
+
+        IntColumn genreIds = new IntColumn();
+        IntColumn genreNames = new IntColumn();
+        List<EntityName> sortedGenres = new ArrayList<>(genreList);
+        sortedGenres.sort(Comparator.comparing(EntityName::id));
+        for (EntityName genre : sortedGenres) {
+            genreIds.add(genre.id());
+            genreNames.add(stringTable.add(genre.name()));
+        }
+        int[] genreIdArray = genreIds.toArray();
+
+        IntColumn gameIds = new IntColumn();
+        IntColumn titles = new IntColumn();
+        IntColumn descriptions = new IntColumn();
+        IntColumn releaseDays = new IntColumn();
+        IntColumn developers = new IntColumn();
+        IntColumn genreStarts = new IntColumn();
+        IntColumn genreLinks = new IntColumn();
+        Integer currentGameId = null;
+        Iterator<GameSnapshotRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            GameSnapshotRow row = iterator.next();
+            if (!row.gameId().equals(currentGameId)) {
+                currentGameId = row.gameId();
+                gameIds.add(row.gameId());
+                titles.add(stringTable.add(row.title()));
+                descriptions.add(stringTable.add(row.description()));
+                releaseDays.add(row.releaseDate() == null ? NULL : Math.toIntExact(row.releaseDate().toEpochDay()));
+                developers.add(row.developerId() == null ? NULL : row.developerId());
+                genreStarts.add(genreLinks.size);
+            }
+            if (row.genreId() != null) {
+                int genreIndex = Arrays.binarySearch(genreIdArray, row.genreId());
+                if (genreIndex >= 0) {
+                    genreLinks.add(genreIndex);
+                }
+            }
+        }
+        genreStarts.add(genreLinks.size);
+
+        return new IntColumn[] {
+            gameIds, titles, descriptions, releaseDays, developers, genreStarts, genreLinks,
+            developerIds, developerNames, developerCountries,
+            genreIds, genreNames
+        };
+    }
+
+    // Growable int array
+    private static final class IntColumn {
+        int[] values = new int[1024];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            for (int i = 0; i < size; i++) {
+                out.writeInt(values[i]);
+            }
+        }
+    }
+
+    // Strings appended to a side file; add() returns the string's offset
+    private static final class StringTable implements AutoCloseable {
+        final DataOutputStream out;
+        long size;
+
+        StringTable(Path file) throws IOException {
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        }
+
+        int add(String value) throws IOException {
+            if (value == null) {
+                return NO_STRING;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            long offset = size;
+            if (offset > Integer.MAX_VALUE) {
+                throw new IOException("Catalog snapshot strings are larger than 2 GB.");
+            }
+            out.writeInt(bytes.length);
+            out.write(bytes);
+            size += 4 + bytes.length;
+            return (int) offset;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package game.hub.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import game.hub.dao.DeveloperDao;
+import game.hub.dao.GameDao;
+import game.hub.dao.GameSnapshotRow;
+import game.hub.dao.GenreDao;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * CatalogSnapshotService
+ * ----------------------
+ * Writes or serves the catalog snapshot (CatalogSnapshot), depending on
+ * gamehub.snapshot.mode:
+ *
+ *   off    (default) nothing
+ *   write  the writer node: every write-interval the catalog is read with
+ *          one streaming query and written to gamehub.snapshot.path
+ *   read   a read-only node: the file is mapped at startup, before the
+ *          first request, and re-mapped when a newer one appears (checked
+ *          every reload-interval). GameHubService answers the reads the
+ *          snapshot covers from it (see serving())
+ *
+ * - Reads served from a snapshot are as old as the snapshot (at most
+ *   write-interval plus the time to ship the file), so "read" is only for
+ *   nodes that take no writes
+ * - A missing or unreadable file leaves the node on the database
+ * - gamehub.snapshot.age: seconds since the current snapshot was written
+ */
+@Component
+@Slf4j
+public class CatalogSnapshotService {
+
+    private static final String WRITE = "write";
+    private static final String READ = "read";
+
+    @Autowired
+    private GameDao gameDao;
+
+    @Autowired
+    private DeveloperDao developerDao;
+
+    @Autowired
+    private GenreDao genreDao;
+
+    @Autowired
+    @Qualifier("backgroundTransactionManager")
+    private PlatformTransactionManager transactionManager; // background slots, see DatabaseAdmissionConfig
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${gamehub.snapshot.mode:off}")
+    private String mode;
+
+    @Value("${gamehub.snapshot.path:catalog.snapshot}")
+    private Path path;
+
+    @Value("${gamehub.snapshot.write-interval:10m}")
+    private Duration writeInterval;
+
+    @Value("${gamehub.snapshot.reload-interval:30s}")
+    private Duration reloadInterval;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private volatile CatalogSnapshot snapshot; // read mode only
+    private volatile FileTime mappedFileTime;
+    private volatile long lastWrittenAt; // write mode: createdAt of the last written file
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    void start() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        if (READ.equals(mode)) {
+            reload(); // serve from the first request on
+        } else if (!WRITE.equals(mode) && !"off".equals(mode)) {
+            throw new IllegalArgumentException("gamehub.snapshot.mode must be off, write or read, not " + mode + ".");
+        }
+        Gauge.builder("gamehub.snapshot.age", this, CatalogSnapshotService::ageSeconds)
+                .description("Seconds since the catalog snapshot in use (read) or last written (write) was made")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (WRITE.equals(mode)) {
+            scheduler.scheduleWithFixedDelay(this::write, 0, writeInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } else if (READ.equals(mode)) {
+            scheduler.scheduleWithFixedDelay(this::reload, reloadInterval.toMillis(), reloadInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    // The snapshot to answer reads from, or null to use the database
+    public CatalogSnapshot serving() {
+        return snapshot;
+    }
+
+    private double ageSeconds() {
+        CatalogSnapshot current = snapshot;
+        long createdAt = current != null ? current.createdAt() : lastWrittenAt;
+        return createdAt == 0 ? Double.NaN : (System.currentTimeMillis() - createdAt) / 1000.0;
+    }
+
+    // =============================
+    // WRITE
+    // =============================
+
+    private void write() {
+        long start = System.currentTimeMillis();
+        try {
+            long bytes = readOnlyTransaction.execute(status -> {
+                try (Stream<GameSnapshotRow> rows = gameDao.streamAllSnapshotRows()) {
+                    return CatalogSnapshot.write(path, developerDao.findAll(), genreDao.findAllNames(), rows);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            lastWrittenAt = start;
+            log.info("Catalog snapshot written to {}: {} bytes in {} ms", path, bytes,
+                    System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Catalog snapshot could not be written to {}", path, e);
+        }
+    }
+
+    // =============================
+    // READ
+    // =============================
+
+    private void reload() {
+        try {
+            FileTime fileTime = Files.getLastModifiedTime(path);
+            if (fileTime.equals(mappedFileTime)) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            CatalogSnapshot fresh = CatalogSnapshot.open(path);
+            snapshot = fresh;
+            mappedFileTime = fileTime;
+            log.info("Catalog snapshot {} mapped: {} games in {} ms", path, fresh.gameCount(),
+                    System.currentTimeMillis() - start);
+        } catch (NoSuchFileException e) {
+            if (snapshot == null) {
+                log.warn("No catalog snapshot at {} yet, reads go to the database", path);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Catalog snapshot {} could not be mapped, keeping the current one", path, e);
+        }
+    }
+}
@@ -0,0 +1,480 @@
+package game.hub.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import game.hub.controller.model.CountData;
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.GenreData;
+import game.hub.controller.model.StatsData;
+import game.hub.dao.DeveloperDao;
+import game.hub.dao.EntityName;
+import game.hub.dao.GameDao;
+import game.hub.dao.GameStatsRow;
+import game.hub.dao.GenreDao;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * CatalogStatistics
+ * ----------------------
+ * Games per genre, per developer and per release year, kept as counters
+ * (GET /gamehub/stats). A request reads the counters; it never scans the
+ * game table.
+ *
+ * - The counts are striped counters (LongAdder), one per genre, developer
+ *   and release year: a change adds to the counters of one game, a request
+ *   sums them. No locks, no copies of the counts (see Counters)
+ * - Each game remembers what it is counted under (developer, year,
+ *   genres); a change event moves the game's counts from the old facts to
+ *   the new ones. The per-game swap is atomic (ConcurrentHashMap.compute),
+ *   so two updates of one game can't both subtract the same old facts
+ * - Change events arrive after commit, like for the other indexes
+ * - Reconciliation: every gamehub.stats.reconcile-interval the counters are
+ *   rebuilt from the database in the background and swapped in. Changes
+ *   seen meanwhile still update the live counters, and are also queued on
+ *   the new ones (ReplayLog) and replayed onto them after the load, in
+ *   arrival order. Closing the log ends the replay: later changes are
+ *   applied to the new counters directly, so nothing waits for the swap.
+ *   Corrected drift is logged.
+ */
+@Component
+@Slf4j
+public class CatalogStatistics {
+
+    @Autowired
+    private GameDao gameDao;
+
+    @Autowired
+    private DeveloperDao developerDao;
+
+    @Autowired
+    private GenreDao genreDao;
+
+    @Autowired
+    @Qualifier("backgroundTransactionManager")
+    private PlatformTransactionManager transactionManager; // background slots, see DatabaseAdmissionConfig
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @Value("${gamehub.stats.reconcile-interval:5m}")
+    private Duration reconcileInterval;
+
+    private volatile Counters counters = new Counters();
+    private volatile Instant reconciledAt;
+
+    // Counters being rebuilt from the database, null when no reconciliation is running
+    private volatile Counters reconciling;
+
+    private final ScheduledExecutorService reconciler = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "stats-reconcile");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // What one game is counted under; releaseYear and developerId may be null
+    private record GameFacts(Integer developerId, Integer releaseYear, List<Integer> genreIds) {
+
+        static GameFacts of(GameData game) {
+            List<Integer> genreIds = game.getGenres() == null ? List.of()
+                    : game.getGenres().stream().map(GenreData::getGenreId).toList();
+            Integer releaseYear = game.getGameReleaseDate() == null ? null : game.getGameReleaseDate().getYear();
+            return new GameFacts(game.getDeveloperId(), releaseYear, genreIds);
+        }
+
+        GameFacts withoutGenre(Integer genreId) {
+            if (!genreIds.contains(genreId)) {
+                return this;
+            }
+            List<Integer> remaining = new ArrayList<>(genreIds);
+            remaining.remove(genreId);
+            return new GameFacts(developerId, releaseYear, List.copyOf(remaining));
+        }
+    }
+
+    @PostConstruct
+    void initReadOnlyTransaction() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        reconciler.shutdownNow();
+    }
+
+    // =============================
+    // UPDATE
+    // =============================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameChanged(GameChangedEvent event) {
+        if (event.deleted()) {
+            apply(counters -> counters.removeGame(event.gameId()));
+        } else {
+            GameFacts facts = GameFacts.of(event.game());
+            apply(counters -> counters.putGame(event.gameId(), facts));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        if (event.deleted()) {
+            apply(counters -> {
+                event.deletedGameIds().forEach(counters::removeGame);
+                counters.removeDeveloper(event.developerId());
+            });
+        } else {
+            apply(counters -> counters.putDeveloper(event.developerId(), event.developerName()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGenreChanged(GenreChangedEvent event) {
+        if (event.deleted()) {
+            // the genre's games lose it too, as their game_genre rows are gone
+            apply(counters -> counters.removeGenre(event.genreId()));
+        } else {
+            apply(counters -> counters.putGenre(event.genreId(), event.genreName()));
+        }
+    }
+
+    /*
+     * Applies a change to the live counters and, during a reconciliation,
+     * to the rebuilt ones: queued while their replay log is open, directly
+     * once it is closed. "reconciling" is read before "counters", so a
+     * change that misses both the log and the new counters was committed
+     * before the rebuild started loading, and the load sees it.
+     */
+    private void apply(Consumer<Counters> change) {
+        Counters rebuilt = reconciling;
+        Counters live = counters;
+        change.accept(live);
+        if (rebuilt != null && rebuilt != live && !rebuilt.pending.add(change)) {
+            change.accept(rebuilt);
+        }
+    }
+
+    // =============================
+    // RECONCILE
+    // =============================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reconciler.scheduleWithFixedDelay(this::reconcile, 0, reconcileInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Returns the number of drifted counters corrected (0 when the reconciliation failed)
+    int reconcile() {
+        long start = System.currentTimeMillis();
+        Counters fresh = new Counters();
+        reconciling = fresh;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> load(fresh));
+        } catch (RuntimeException e) {
+            reconciling = null; // changes queued on "fresh" are dropped with it
+            log.error("Statistics reconciliation failed, keeping the current counters", e);
+            return 0;
+        }
+
+        // replay until the log can be closed with nothing left in it
+        do {
+            fresh.pending.replay(fresh);
+        } while (!fresh.pending.close());
+
+        // the first run starts from empty counters, there is nothing to correct yet
+        int corrected = reconciledAt == null ? 0 : fresh.differences(counters);
+        counters = fresh;
+        reconciling = null;
+        reconciledAt = Instant.now();
+        log.info("Statistics reconciled: {} games, {} drifted counters corrected in {} ms",
+                fresh.totalGames.sum(), corrected, System.currentTimeMillis() - start);
+        return corrected;
+    }
+
+    private void load(Counters fresh) {
+        fresh.putDevelopers(developerDao.findAllNames());
+        fresh.putGenres(genreDao.findAllNames());
+        // rows arrive ordered by game id, one per genre
+        try (Stream<GameStatsRow> rows = gameDao.streamAllStatsRows()) {
+            GameStatsRow game = null; // first row of the current game
+            List<Integer> genreIds = new ArrayList<>();
+            Iterator<GameStatsRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                GameStatsRow row = iterator.next();
+                if (game != null && !game.gameId().equals(row.gameId())) {
+                    fresh.putGame(game.gameId(), factsOf(game, genreIds));
+                    genreIds.clear();
+                    game = null;
+                }
+                if (game == null) {
+                    game = row;
+                }
+                if (row.genreId() != null) {
+                    genreIds.add(row.genreId());
+                }
+            }
+            if (game != null) {
+                fresh.putGame(game.gameId(), factsOf(game, genreIds));
+            }
+        }
+    }
+
+    private static GameFacts factsOf(GameStatsRow row, List<Integer> genreIds) {
+        Integer releaseYear = row.releaseDate() == null ? null : row.releaseDate().getYear();
+        return new GameFacts(row.developerId(), releaseYear, List.copyOf(genreIds));
+    }
+
+    // =============================
+    // QUERY
+    // =============================
+
+    // Current counts; topDevelopers = the "top" developers with the most games
+    public StatsData snapshot(int top) {
+        Counters current = counters;
+        List<CountData> perDeveloper = counts(current.gamesByDeveloper, current.developerNames.get());
+        List<CountData> topDevelopers = perDeveloper.stream()
+                .sorted(Comparator.comparingLong(CountData::getGames).reversed()
+                        .thenComparing(CountData::getId))
+                .limit(top)
+                .toList();
+        List<CountData> perYear = counts(current.gamesByReleaseYear, Map.of()).stream()
+                .filter(count -> count.getGames() > 0)
+                .toList();
+        return new StatsData(current.totalGames.sum(), counts(current.gamesByGenre, current.genreNames.get()),
+                perDeveloper, perYear, topDevelopers, reconciledAt);
+    }
+
+    private static List<CountData> counts(Map<Integer, LongAdder> counts, Map<Integer, String> names) {
+        return counts.entrySet().stream()
+                .map(entry -> new CountData(entry.getKey(), names.get(entry.getKey()), entry.getValue().sum()))
+                .sorted(Comparator.comparing(CountData::getId))
+                .toList();
+    }
+
+    // =============================
+    // COUNTERS
+    // =============================
+
+    /*
+     * Counters
+     * ----------------------
+     * One generation of counters: the counts, the facts behind them and the
+     * changes to replay onto them.
+     *
+     * - One LongAdder per genre, developer and release year, in a
+     *   ConcurrentHashMap per dimension: a game change adds to the few
+     *   counters of its facts, whatever the size of the catalog, and
+     *   concurrent writers don't contend on a shared reference
+     * - The names change only with a developer or genre, so they stay
+     *   immutable maps swapped in whole (copy-on-write)
+     * - A request sums the counters one by one, so a change running
+     *   meanwhile may show up in some counts and not yet in others
+     */
+    private static final class Counters {
+        final LongAdder totalGames = new LongAdder();
+        final Map<Integer, LongAdder> gamesByGenre = new ConcurrentHashMap<>();
+        final Map<Integer, LongAdder> gamesByDeveloper = new ConcurrentHashMap<>();
+        final Map<Integer, LongAdder> gamesByReleaseYear = new ConcurrentHashMap<>();
+        final AtomicReference<Map<Integer, String>> genreNames = new AtomicReference<>(Map.of());
+        final AtomicReference<Map<Integer, String>> developerNames = new AtomicReference<>(Map.of());
+        final Map<Integer, GameFacts> factsByGameId = new ConcurrentHashMap<>();
+        final ReplayLog pending = new ReplayLog();
+
+        // The counts move inside compute, so the deltas of one game are applied in order
+        void putGame(Integer gameId, GameFacts facts) {
+            factsByGameId.compute(gameId, (id, before) -> {
+                count(before, -1);
+                count(facts, 1);
+                return facts;
+            });
+        }
+
+        void removeGame(Integer gameId) {
+            factsByGameId.computeIfPresent(gameId, (id, before) -> {
+                count(before, -1);
+                return null;
+            });
+        }
+
+        private void count(GameFacts facts, int delta) {
+            if (facts == null) {
+                return;
+            }
+            totalGames.add(delta);
+            add(gamesByDeveloper, facts.developerId(), delta);
+            add(gamesByReleaseYear, facts.releaseYear(), delta);
+            for (Integer genreId : facts.genreIds()) {
+                add(gamesByGenre, genreId, delta);
+            }
+        }
+
+        // A decrement never creates a counter (its genre or developer may be gone)
+        private static void add(Map<Integer, LongAdder> counts, Integer key, int delta) {
+            if (key == null) {
+                return;
+            }
+            LongAdder count = delta > 0 ? counts.computeIfAbsent(key, id -> new LongAdder()) : counts.get(key);
+            if (count != null) {
+                count.add(delta);
+            }
+        }
+
+        // Developers and genres are listed even without games
+        void putDeveloper(Integer developerId, String name) {
+            gamesByDeveloper.computeIfAbsent(developerId, id -> new LongAdder());
+            developerNames.updateAndGet(names -> named(names, Collections.singletonMap(developerId, name)));
+        }
+
+        // Every developer at once, so the names are copied once (reconciliation)
+        void putDevelopers(List<EntityName> developers) {
+            developers.forEach(developer -> gamesByDeveloper.computeIfAbsent(developer.id(), id -> new LongAdder()));
+            developerNames.updateAndGet(names -> named(names, namesOf(developers)));
+        }
+
+        void removeDeveloper(Integer developerId) {
+            gamesByDeveloper.remove(developerId);
+            developerNames.updateAndGet(names -> without(names, developerId));
+        }
+
+        void putGenre(Integer genreId, String name) {
+            gamesByGenre.computeIfAbsent(genreId, id -> new LongAdder());
+            genreNames.updateAndGet(names -> named(names, Collections.singletonMap(genreId, name)));
+        }
+
+        void putGenres(List<EntityName> genres) {
+            genres.forEach(genre -> gamesByGenre.computeIfAbsent(genre.id(), id -> new LongAdder()));
+            genreNames.updateAndGet(names -> named(names, namesOf(genres)));
+        }
+
+        // The counter goes first, so stripping the facts below moves no counts
+        void removeGenre(Integer genreId) {
+            gamesByGenre.remove(genreId);
+            genreNames.updateAndGet(names -> without(names, genreId));
+            factsByGameId.replaceAll((id, facts) -> facts.withoutGenre(genreId));
+        }
+
+        private static Map<Integer, String> namesOf(List<EntityName> entities) {
+            Map<Integer, String> names = new HashMap<>();
+            entities.forEach(entity -> names.put(entity.id(), entity.name()));
+            return names;
+        }
+
+        private static Map<Integer, String> named(Map<Integer, String> names, Map<Integer, String> added) {
+            Map<Integer, String> copy = new HashMap<>(names);
+            added.forEach((id, name) -> {
+                if (name == null) {
+                    copy.remove(id);
+                } else {
+                    copy.put(id, name);
+                }
+            });
+            return Collections.unmodifiableMap(copy);
+        }
+
+        private static Map<Integer, String> without(Map<Integer, String> names, Integer id) {
+            if (!names.containsKey(id)) {
+                return names;
+            }
+            Map<Integer, String> copy = new HashMap<>(names);
+            copy.remove(id);
+            return Collections.unmodifiableMap(copy);
+        }
+
+        // Number of counters whose value differs from "other"
+        int differences(Counters other) {
+            int differences = totalGames.sum() == other.totalGames.sum() ? 0 : 1;
+            differences += differences(gamesByGenre, other.gamesByGenre);
+            differences += differences(gamesByDeveloper, other.gamesByDeveloper);
+            differences += differences(gamesByReleaseYear, other.gamesByReleaseYear);
+            return differences;
+        }
+
+        private static int differences(Map<Integer, LongAdder> mine, Map<Integer, LongAdder> theirs) {
+            int differences = 0;
+            for (Map.Entry<Integer, LongAdder> entry : mine.entrySet()) {
+                LongAdder other = theirs.get(entry.getKey());
+                if (entry.getValue().sum() != (other == null ? 0 : other.sum())) {
+                    differences++;
+                }
+            }
+            for (Map.Entry<Integer, LongAdder> entry : theirs.entrySet()) {
+                if (!mine.containsKey(entry.getKey()) && entry.getValue().sum() != 0) {
+                    differences++;
+                }
+            }
+            return differences;
+        }
+    }
+
+    /*
+     * ReplayLog
+     * ----------------------
+     * Lock-free queue of changes (a Treiber stack, replayed oldest first)
+     * that can be closed: add fails once closed, so the caller applies its
+     * change directly instead. Closing only succeeds when the log is empty,
+     * so every added change is replayed exactly once.
+     */
+    private static final class ReplayLog {
+
+        private record Node(Consumer<Counters> change, Node next) {
+        }
+
+        private static final Node CLOSED = new Node(null, null);
+
+        private final AtomicReference<Node> head = new AtomicReference<>();
+
+        boolean add(Consumer<Counters> change) {
+            while (true) {
+                Node current = head.get();
+                if (current == CLOSED) {
+                    return false;
+                }
+                if (head.compareAndSet(current, new Node(change, current))) {
+                    return true;
+                }
+            }
+        }
+
+        // Takes every queued change and applies it, oldest first
+        void replay(Counters counters) {
+            Node taken = head.getAndUpdate(current -> current == CLOSED ? CLOSED : null);
+            List<Consumer<Counters>> changes = new ArrayList<>();
+            for (Node node = taken; node != null && node != CLOSED; node = node.next()) {
+                changes.add(node.change());
+            }
+            Collections.reverse(changes);
+            changes.forEach(change -> change.accept(counters));
+        }
+
+        boolean close() {
+            return head.compareAndSet(null, CLOSED);
+        }
+    }
+}
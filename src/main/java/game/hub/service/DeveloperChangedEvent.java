@@ -0,0 +1,16 @@
+package game.hub.service;
+
+import java.util.Set;
+
+/*
+ * DeveloperChangedEvent
+ * ----------------------
+ * Published by GameHubService when a developer is created, updated or
+ * deleted (delivered after commit, see GameChangedEvent).
+ * - developerName = the name as saved, null when the developer was deleted
+ * - deletedGameIds = games removed along with a deleted developer
+ *   (Developer.games cascades), empty otherwise
+ */
+public record DeveloperChangedEvent(Integer developerId, String developerName, boolean deleted,
+        Set<Integer> deletedGameIds) {
+}
@@ -0,0 +1,123 @@
+package game.hub.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import game.hub.controller.model.DeveloperData;
+import game.hub.controller.model.Expansion;
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.GenreData;
+import game.hub.entity.Developer;
+import game.hub.entity.Game;
+import game.hub.entity.Genre;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/*
+ * DtoAssembler
+ * ----------------------
+ * Builds GameData / DeveloperData / GenreData from loaded entities and
+ * times it (gamehub.dto.build, tag type = DTO class).
+ *
+ * - One timing per call: a single DTO, or a whole list
+ * - Without an Expansion the DTO gets its full graph (Expansion.ALL), as
+ *   save responses and change events need
+ * - Includes any lazy loading the DTO constructors trigger, which is
+ *   exactly what makes a build slow
+ * - Developers whose games get embedded below a list are initialized
+ *   before the build: one read from the second-level cache only joins the
+ *   games batch (default_batch_fetch_size) once it is initialized, so
+ *   building DTO by DTO would load each developer's games on its own
+ */
+@Component
+public class DtoAssembler {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer gameTimer;
+    private Timer developerTimer;
+    private Timer genreTimer;
+
+    @PostConstruct
+    void initTimers() {
+        gameTimer = timer("GameData");
+        developerTimer = timer("DeveloperData");
+        genreTimer = timer("GenreData");
+    }
+
+    private Timer timer(String type) {
+        return Timer.builder("gamehub.dto.build")
+                .description("Time to build response DTOs from entities")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    public GameData game(Game game) {
+        return game(game, Expansion.ALL);
+    }
+
+    public GameData game(Game game, Expansion expansion) {
+        return gameTimer.record(() -> new GameData(game, expansion, 0));
+    }
+
+    public List<GameData> games(List<Game> games) {
+        return games(games, Expansion.ALL);
+    }
+
+    public List<GameData> games(List<Game> games, Expansion expansion) {
+        return gameTimer.record(() -> {
+            initializeDevelopers(games, expansion, 0);
+            return games.stream().map(game -> new GameData(game, expansion, 0)).toList();
+        });
+    }
+
+    public DeveloperData developer(Developer developer) {
+        return developer(developer, Expansion.ALL);
+    }
+
+    public DeveloperData developer(Developer developer, Expansion expansion) {
+        return developerTimer.record(() -> new DeveloperData(developer, expansion, 0));
+    }
+
+    public List<DeveloperData> developers(List<Developer> developers, Expansion expansion) {
+        return developerTimer.record(() -> developers.stream()
+                .map(developer -> new DeveloperData(developer, expansion, 0)).toList());
+    }
+
+    public GenreData genre(Genre genre) {
+        return genre(genre, Expansion.ALL);
+    }
+
+    public GenreData genre(Genre genre, Expansion expansion) {
+        return genreTimer.record(() -> {
+            initializeDevelopers(genre.getGames(), expansion, 1);
+            return new GenreData(genre, expansion, 0);
+        });
+    }
+
+    public List<GenreData> genres(List<Genre> genres, Expansion expansion) {
+        return genreTimer.record(() -> {
+            for (Genre genre : genres) {
+                initializeDevelopers(genre.getGames(), expansion, 1);
+            }
+            return genres.stream().map(genre -> new GenreData(genre, expansion, 0)).toList();
+        });
+    }
+
+    // Developers of games at nesting level "level", when their games are embedded one level down
+    private static void initializeDevelopers(Collection<Game> games, Expansion expansion, int level) {
+        if (games == null || !expansion.follows(Expansion.DEVELOPER, level)
+                || !expansion.follows(Expansion.GAMES, level + 1)) {
+            return;
+        }
+        for (Game game : games) {
+            Hibernate.initialize(game.getDeveloper());
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package game.hub.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import game.hub.controller.model.CacheStatsData;
+import game.hub.controller.model.DeveloperData;
+import game.hub.controller.model.Expansion;
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.GenreData;
+
+/*
+ * DtoCache
+ * ----------------------
+ * Read-through cache of finished by-id responses (GameData, DeveloperData,
+ * GenreData) and their ETags, so a repeat read needs no transaction, no
+ * entity graph and no DTO copy.
+ *
+ * - Keyed by id and Expansion: each ?expand shape is its own entry, and
+ *   evicting an id drops all of them
+ * - Bounded and concurrent (Caffeine); each cache records hit/miss stats
+ * - Entries are evicted after the matching save/delete commits, including
+ *   entries that embed the changed entity. Each entry is indexed under
+ *   every game, genre and developer its DTO tree contains (Dependents), so
+ *   a change touches only the entries that embed it:
+ *     game      -> entries embedding the game, plus the game lists of its
+ *                  new developer and genres (it may have just joined them)
+ *     genre     -> entries embedding the genre
+ *     developer -> entries embedding the developer, plus the games deleted
+ *                  with it
+ * - A time-to-live is kept as a backstop for changes made outside this app
+ * - A miss is loaded by the calling thread outside the cache's locks; other
+ *   callers for the same id wait for that load (see getOrLoad); both are
+ *   counted in gamehub.singleflight.loads (name = dto:game etc.)
+ *
+ * Cached DTOs are shared between requests and must not be modified.
+ */
+@Component
+public class DtoCache {
+
+    // One response: the id plus the associations it embeds
+    public record Key(Integer id, Expansion expansion) {
+    }
+
+    private final AsyncCache<Key, Entry<CachedDto<GameData>>> asyncGames;
+    private final AsyncCache<Key, Entry<CachedDto<DeveloperData>>> asyncDevelopers;
+    private final AsyncCache<Key, Entry<CachedDto<GenreData>>> asyncGenres;
+
+    // blocking views of the above
+    private final Cache<Key, Entry<CachedDto<GameData>>> games;
+    private final Cache<Key, Entry<CachedDto<DeveloperData>>> developers;
+    private final Cache<Key, Entry<CachedDto<GenreData>>> genres;
+
+    // entity id -> cached entries whose DTO tree contains it
+    private final Dependents byGame = new Dependents();
+    private final Dependents byGenre = new Dependents();
+    private final Dependents byDeveloper = new Dependents();
+    // entity id -> cached entries that list its games (a game joining it changes them)
+    private final Dependents byDeveloperGames = new Dependents();
+    private final Dependents byGenreGames = new Dependents();
+
+    // Every Expansion a key was created with (a few dozen at most, see Expansion.MAX_DEPTH)
+    private final Set<Expansion> expansions = ConcurrentHashMap.newKeySet();
+
+    // Incremented before each eviction; a load that saw it change may be stale
+    private final AtomicLong changes = new AtomicLong();
+
+    @Autowired
+    private SingleFlight singleFlight; // executed/coalesced load counters
+
+    public DtoCache(
+            @Value("${gamehub.cache.dto.max-entries:10000}") long maxEntries,
+            @Value("${gamehub.cache.dto.time-to-live:10m}") Duration timeToLive) {
+        this.asyncGames = newCache(maxEntries, timeToLive);
+        this.asyncDevelopers = newCache(maxEntries, timeToLive);
+        this.asyncGenres = newCache(maxEntries, timeToLive);
+        this.games = asyncGames.synchronous();
+        this.developers = asyncDevelopers.synchronous();
+        this.genres = asyncGenres.synchronous();
+    }
+
+    private static <V> AsyncCache<Key, Entry<V>> newCache(long maxEntries, Duration timeToLive) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                // size and time evictions too: drop the entry from the indexes
+                .<Key, Entry<V>>removalListener((key, entry, cause) -> {
+                    if (entry != null) {
+                        entry.unregister();
+                    }
+                })
+                .buildAsync();
+    }
+
+    public CachedDto<GameData> getGameIfPresent(Integer gameId, Expansion expansion) {
+        return dto(games.getIfPresent(new Key(gameId, expansion)));
+    }
+
+    public CachedDto<DeveloperData> getDeveloperIfPresent(Integer developerId, Expansion expansion) {
+        return dto(developers.getIfPresent(new Key(developerId, expansion)));
+    }
+
+    public CachedDto<GenreData> getGenreIfPresent(Integer genreId, Expansion expansion) {
+        return dto(genres.getIfPresent(new Key(genreId, expansion)));
+    }
+
+    private static <V> V dto(Entry<V> entry) {
+        return entry == null ? null : entry.dto;
+    }
+
+    public CachedDto<GameData> getGame(Integer gameId, Expansion expansion,
+            Function<Integer, CachedDto<GameData>> loader) {
+        return getOrLoad("dto:game", asyncGames, new Key(gameId, expansion), loader,
+                (entry, dto) -> indexGame(entry, dto.data()));
+    }
+
+    public CachedDto<DeveloperData> getDeveloper(Integer developerId, Expansion expansion,
+            Function<Integer, CachedDto<DeveloperData>> loader) {
+        return getOrLoad("dto:developer", asyncDevelopers, new Key(developerId, expansion), loader,
+                (entry, dto) -> indexDeveloper(entry, dto.data()));
+    }
+
+    public CachedDto<GenreData> getGenre(Integer genreId, Expansion expansion,
+            Function<Integer, CachedDto<GenreData>> loader) {
+        return getOrLoad("dto:genre", asyncGenres, new Key(genreId, expansion), loader,
+                (entry, dto) -> indexGenre(entry, dto.data()));
+    }
+
+    /*
+     * A synchronous Cache.get() runs the loader inside ConcurrentHashMap.compute,
+     * i.e. under a monitor. On a virtual thread that pins the carrier for the
+     * whole transaction, and with a handful of carriers a few concurrent misses
+     * deadlock on Hibernate's second-level cache locks. Instead, an empty
+     * future is installed and the caller that installed it loads outside the
+     * map. Evicting the id meanwhile drops the future, so a stale load is
+     * never published.
+     *
+     * An entry is indexed only once loaded, so an eviction by dependency
+     * can't find a load in flight. Instead, a load that saw any change
+     * happen while it ran (changes moved) removes its own entry again; the
+     * caller still gets the value it loaded.
+     *
+     * A failed load completes the future with null (Caffeine drops the entry
+     * without logging it) and the waiting callers retry on their own thread,
+     * so each of them sees the loader's exception itself.
+     */
+    private <V> V getOrLoad(String name, AsyncCache<Key, Entry<V>> cache, Key key, Function<Integer, V> loader,
+            BiConsumer<Entry<V>, V> index) {
+        expansions.add(key.expansion());
+        while (true) {
+            CompletableFuture<Entry<V>> mine = new CompletableFuture<>();
+            CompletableFuture<Entry<V>> future = cache.get(key, (k, executor) -> mine);
+            if (future != mine) {
+                if (!future.isDone()) {
+                    singleFlight.recordLoad(name, true);
+                }
+                Entry<V> entry = future.join();
+                if (entry != null) {
+                    return entry.dto;
+                }
+                continue;
+            }
+            singleFlight.recordLoad(name, false);
+            long changesBefore = changes.get();
+            V value;
+            try {
+                value = loader.apply(key.id());
+            } catch (RuntimeException | Error e) {
+                mine.complete(null);
+                throw e;
+            }
+            Entry<V> entry = new Entry<>(cache.synchronous().asMap(), key, value);
+            mine.complete(entry);
+            index.accept(entry, value);
+            if (changes.get() != changesBefore) {
+                entry.evict();
+            }
+            return value;
+        }
+    }
+
+    // =============================
+    // DEPENDENCY INDEX
+    // =============================
+
+    // A cached DTO plus the index registrations to undo when it leaves the cache
+    private static final class Entry<V> {
+
+        private record Registration(Dependents dependents, Integer id) {
+        }
+
+        private final Map<Key, ?> map;
+        private final Key key;
+        private final V dto;
+        private final List<Registration> registrations = new ArrayList<>();
+
+        Entry(Map<Key, ?> map, Key key, V dto) {
+            this.map = map;
+            this.key = key;
+            this.dto = dto;
+        }
+
+        // Only called by the loading thread, before the entry can be evicted by dependency
+        void dependOn(Dependents dependents, Integer id) {
+            if (id != null) {
+                dependents.add(id, this);
+                registrations.add(new Registration(dependents, id));
+            }
+        }
+
+        // Removes this entry (not a newer one for the same key) from the cache and the indexes
+        void evict() {
+            map.remove(key, this);
+            unregister();
+        }
+
+        void unregister() {
+            for (Registration registration : registrations) {
+                registration.dependents().remove(registration.id(), this);
+            }
+        }
+    }
+
+    private static final class Dependents {
+
+        private final Map<Integer, Set<Entry<?>>> entries = new ConcurrentHashMap<>();
+
+        void add(Integer id, Entry<?> entry) {
+            entries.compute(id, (k, set) -> {
+                Set<Entry<?>> result = set == null ? ConcurrentHashMap.newKeySet() : set;
+                result.add(entry);
+                return result;
+            });
+        }
+
+        void remove(Integer id, Entry<?> entry) {
+            entries.computeIfPresent(id, (k, set) -> {
+                set.remove(entry);
+                return set.isEmpty() ? null : set;
+            });
+        }
+
+        void evict(Integer id) {
+            Set<Entry<?>> set = entries.remove(id);
+            if (set != null) {
+                set.forEach(Entry::evict);
+            }
+        }
+    }
+
+    private void indexGame(Entry<?> entry, GameData game) {
+        if (game == null) {
+            return;
+        }
+        entry.dependOn(byGame, game.getGameId());
+        if (game.getGenres() != null) {
+            game.getGenres().forEach(genre -> indexGenre(entry, genre));
+        }
+        indexDeveloper(entry, game.getDeveloper());
+    }
+
+    private void indexDeveloper(Entry<?> entry, DeveloperData developer) {
+        if (developer == null) {
+            return;
+        }
+        entry.dependOn(byDeveloper, developer.getDeveloperId());
+        if (developer.getGames() != null) {
+            entry.dependOn(byDeveloperGames, developer.getDeveloperId());
+            developer.getGames().forEach(game -> indexGame(entry, game));
+        }
+    }
+
+    private void indexGenre(Entry<?> entry, GenreData genre) {
+        if (genre == null) {
+            return;
+        }
+        entry.dependOn(byGenre, genre.getGenreId());
+        if (genre.getGames() != null) {
+            entry.dependOn(byGenreGames, genre.getGenreId());
+            genre.getGames().forEach(game -> indexGame(entry, game));
+        }
+    }
+
+    // =============================
+    // INVALIDATION (after commit)
+    // =============================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameChanged(GameChangedEvent event) {
+        changes.incrementAndGet();
+        evictGame(event.gameId());
+        // the game may have just joined a developer or genres that didn't list it yet
+        GameData game = event.game();
+        if (game != null) {
+            if (game.getDeveloperId() != null) {
+                byDeveloperGames.evict(game.getDeveloperId());
+            }
+            if (game.getGenres() != null) {
+                game.getGenres().forEach(genre -> byGenreGames.evict(genre.getGenreId()));
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGenreChanged(GenreChangedEvent event) {
+        changes.incrementAndGet();
+        evictLoads(genres, event.genreId());
+        byGenre.evict(event.genreId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        changes.incrementAndGet();
+        evictLoads(developers, event.developerId());
+        byDeveloper.evict(event.developerId());
+        event.deletedGameIds().forEach(this::evictGame);
+    }
+
+    private void evictGame(Integer gameId) {
+        evictLoads(games, gameId);
+        byGame.evict(gameId);
+    }
+
+    // Every shape of the id, including loads still in flight (not indexed yet)
+    private void evictLoads(Cache<Key, ?> cache, Integer id) {
+        for (Expansion expansion : expansions) {
+            cache.asMap().keySet().remove(new Key(id, expansion));
+        }
+    }
+
+    // =============================
+    // STATISTICS
+    // =============================
+
+    public List<CacheStatsData> getStats() {
+        return List.of(
+                toStats("dto:game", games),
+                toStats("dto:developer", developers),
+                toStats("dto:genre", genres));
+    }
+
+    private static CacheStatsData toStats(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        // Caffeine reports a hit rate of 1.0 for an unused cache, report 0 like the other caches
+        return new CacheStatsData(name, stats.hitCount(), stats.missCount(), stats.loadSuccessCount(),
+                stats.evictionCount(), cache.estimatedSize(),
+                CacheStatsService.hitRate(stats.hitCount(), stats.missCount()));
+    }
+}
@@ -0,0 +1,142 @@
+package game.hub.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import game.hub.dao.DeveloperDao;
+import game.hub.dao.GameDao;
+import game.hub.dao.GenreDao;
+import game.hub.dao.VersionRow;
+import game.hub.dao.VersionStamp;
+
+/*
+ * ETagService
+ * ----------------------
+ * Builds ETags for the GET endpoints from @Version columns only.
+ * Each ETag is one query, so a conditional GET can be answered with 304
+ * without loading entities or building DTOs.
+ *
+ * - by id: the entity's own version plus a hash of the (id, version) of
+ *   every row embedded in its DTO (see VersionRow), e.g. a game's
+ *   developer and genres: renaming a genre changes the game's ETag.
+ *   The hash is a wrapping sum of mixed (level, owner id, id, version)
+ *   entries, so it doesn't depend on row order, but unlike a sum of
+ *   versions two different sets of versions don't cancel out
+ * - lists: row count, max id, version sum and modification counter of
+ *   every table in the DTOs (see VersionStamp); the counter moves with
+ *   every committed write, so a delete plus an insert can't leave the
+ *   ETag as it was
+ *
+ * ETags are weak: the same data may be sent in different encodings.
+ */
+@Service
+public class ETagService {
+
+    @Autowired
+    private GameDao gameDao;
+
+    @Autowired
+    private DeveloperDao developerDao;
+
+    @Autowired
+    private GenreDao genreDao;
+
+    @Transactional(readOnly = true)
+    public String gameETag(Integer gameId) {
+        return etag("game", existing(gameDao.findVersionRows(gameId),
+                "Game with ID=" + gameId + " was not found."));
+    }
+
+    @Transactional(readOnly = true)
+    public String developerETag(Integer developerId) {
+        return etag("developer", existing(developerDao.findVersionRows(developerId),
+                "Developer with ID=" + developerId + " was not found."));
+    }
+
+    @Transactional(readOnly = true)
+    public String genreETag(Integer genreId) {
+        return etag("genre", existing(genreDao.findVersionRows(genreId),
+                "Genre with ID=" + genreId + " was not found."));
+    }
+
+    // GET /gamehub/games: games with their genres
+    @Transactional(readOnly = true)
+    public String gamesETag() {
+        return etag("games", gameDao.findTableVersionStamp(), genreDao.findTableVersionStamp());
+    }
+
+    // GET /gamehub/developers: developers, their games and the games' genres
+    @Transactional(readOnly = true)
+    public String developersETag() {
+        return etag("developers", developerDao.findTableVersionStamp(),
+                gameDao.findTableVersionStamp(), genreDao.findTableVersionStamp());
+    }
+
+    // GET /gamehub/genres: genres, their games and the games' genres
+    @Transactional(readOnly = true)
+    public String genresETag() {
+        return etag("genres", genreDao.findTableVersionStamp(), gameDao.findTableVersionStamp());
+    }
+
+    // No version rows means the entity doesn't exist (404)
+    private static List<VersionRow> existing(List<VersionRow> rows, String notFoundMessage) {
+        if (rows.isEmpty()) {
+            throw new NoSuchElementException(notFoundMessage);
+        }
+        return rows;
+    }
+
+    // e.g. W/"game-7-3f2a9c01d4e8b576"
+    private static String etag(String resource, List<VersionRow> rows) {
+        // the joins repeat the first entity once per second one: count each entry once
+        Set<Entry> entries = new HashSet<>();
+        for (VersionRow row : rows) {
+            if (row.firstId() != null) {
+                entries.add(new Entry(1, 0, row.firstId(), row.firstVersion()));
+            }
+            if (row.secondId() != null) {
+                entries.add(new Entry(2, row.firstId(), row.secondId(), row.secondVersion()));
+            }
+        }
+        long hash = 0;
+        for (Entry entry : entries) {
+            hash += entry.mix();
+        }
+        return "W/\"" + resource + "-" + rows.get(0).version() + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    // One embedded row; ownerId = the first entity it hangs off (its link is part of the DTO too)
+    private record Entry(int level, long ownerId, long id, Long version) {
+
+        long mix() {
+            long h = mix64(level * 0x9E3779B97F4A7C15L + ownerId);
+            h = mix64(h + id);
+            return mix64(h + (version == null ? 0 : version));
+        }
+
+        // SplitMix64 finalizer: every input bit affects every output bit
+        private static long mix64(long z) {
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+
+    // e.g. W/"games-120.3456.987.41-12.2011.30.7"
+    private static String etag(String resource, VersionStamp... stamps) {
+        StringBuilder etag = new StringBuilder("W/\"").append(resource);
+        for (VersionStamp stamp : stamps) {
+            etag.append('-').append(stamp.rows())
+                .append('.').append(stamp.maxId())
+                .append('.').append(stamp.versionSum())
+                .append('.').append(stamp.changes());
+        }
+        return etag.append('"').toString();
+    }
+}
@@ -0,0 +1,20 @@
+package game.hub.service;
+
+import game.hub.controller.model.GameData;
+
+/*
+ * GameChangedEvent
+ * ----------------------
+ * Published by GameHubService when a game is created, updated or deleted.
+ * Listeners use @TransactionalEventListener, so they only run once the
+ * change is committed.
+ *
+ * - game = the game as saved (what getGameById would return),
+ *          null when the game was deleted
+ */
+public record GameChangedEvent(Integer gameId, GameData game) {
+
+    public boolean deleted() {
+        return game == null;
+    }
+}
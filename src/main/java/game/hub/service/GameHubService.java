@@ -8,26 +8,78 @@
  */
 package game.hub.service;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import game.hub.controller.model.DeletionData;
 import game.hub.controller.model.DeveloperData;
+import game.hub.controller.model.Expansion;
 import game.hub.controller.model.GameData;
 import game.hub.controller.model.GenreData;
+import game.hub.controller.model.GenreMatchData;
+import game.hub.controller.model.PageData;
+import game.hub.controller.model.SimilarGameData;
+import game.hub.controller.model.StatsData;
+import game.hub.controller.model.SuggestionData;
 import game.hub.dao.DeveloperDao;
 import game.hub.dao.GameDao;
 import game.hub.dao.GenreDao;
 import game.hub.entity.Developer;
 import game.hub.entity.Game;
 import game.hub.entity.Genre;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service
+@Timed("gamehub.service") // latency per public method (tags: class, method)
 public class GameHubService {
 
+    // Games per transaction in saveGames (a multiple of hibernate.jdbc.batch_size)
+    private static final int BATCH_CHUNK_SIZE = 500;
+
+    // Cursor sort name of getGamesReleased (newest first, not interchangeable with GameSort)
+    private static final String RELEASED_SORT = "released";
+
+    // Results returned by searchGames
+    private static final int DEFAULT_SEARCH_LIMIT = 10;
+    private static final int MAX_SEARCH_LIMIT = 100;
+
+    // Neighbors returned by getSimilarGames (at most gamehub.similar.neighbors)
+    private static final int DEFAULT_SIMILAR_GAMES = 10;
+
+    // Suggestions returned by autocomplete
+    private static final int DEFAULT_SUGGESTION_LIMIT = 10;
+    private static final int MAX_SUGGESTION_LIMIT = 50;
+
+    // Developers in the topDevelopers list of getStats
+    private static final int DEFAULT_TOP_DEVELOPERS = 10;
+    private static final int MAX_TOP_DEVELOPERS = 100;
+
     @Autowired
     private DeveloperDao developerDao;
 
@@ -37,6 +89,56 @@ public class GameHubService {
     @Autowired
     private GenreDao genreDao;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate; // for work split over several transactions
+
+    private TransactionTemplate readOnlyTransaction; // for cache loaders and coalesced reads (see @PostConstruct)
+
+    @Autowired
+    private DtoAssembler dtoAssembler; // builds (and times) the response DTOs
+
+    @Autowired
+    private DtoCache dtoCache; // finished by-id responses
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshots; // mapped catalog file on read nodes
+
+    @Autowired
+    private SingleFlight singleFlight; // concurrent identical list/page reads share one load
+
+    @Autowired
+    private ETagService etagService; // version-based ETags for conditional GETs
+
+    @Autowired
+    private GameSearchIndex gameSearchIndex; // in-memory full-text index over title/description
+
+    @Autowired
+    private GenreBitmapIndex genreBitmapIndex; // per-genre bitmaps of game ids
+
+    @Autowired
+    private AutocompleteIndex autocompleteIndex; // type-ahead over game titles and developer names
+
+    @Autowired
+    private ReleaseDateIndex releaseDateIndex; // sorted (release day, gameId) keys
+
+    @Autowired
+    private SimilarGamesIndex similarGamesIndex; // precomputed "more like this" neighbors
+
+    @Autowired
+    private CatalogStatistics catalogStatistics; // games per genre / developer / year counters
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // change events, delivered after commit
+
+    @PostConstruct
+    void initReadOnlyTransaction() {
+        readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransaction.setReadOnly(true);
+    }
+
     // =============================
     // DEVELOPER METHODS
     // =============================
@@ -47,25 +149,121 @@ public class GameHubService {
         Developer developer = findOrCreateDeveloper(developerData.getDeveloperId());
         copyDeveloperFields(developer, developerData);
         Developer savedDeveloper = developerDao.save(developer);
-        return new DeveloperData(savedDeveloper);
+        eventPublisher.publishEvent(
+                new DeveloperChangedEvent(savedDeveloper.getDeveloperId(),
+                        savedDeveloper.getDeveloperName(), false, Set.of()));
+        return dtoAssembler.developer(savedDeveloper);
     }
 
-    // Retrieve single developer by ID
-    @Transactional(readOnly = true)
-    public DeveloperData getDeveloperById(Integer developerId) {
-        Developer developer = developerDao.findById(developerId)
-                .orElseThrow(() -> new NoSuchElementException(
-                        "Developer with ID=" + developerId + " was not found."
-                ));
-        return new DeveloperData(developer);
+    // Retrieve single developer by ID (cached, only a miss opens a transaction)
+    public DeveloperData getDeveloperById(Integer developerId, Expansion expansion) {
+        CatalogSnapshot snapshot = snapshotCovering(expansion, CatalogSnapshot::coversOwnFields);
+        if (snapshot != null) {
+            return existing(snapshot.developer(developerId), "Developer", developerId);
+        }
+        if (!hasVersionStamp(expansion)) {
+            return singleFlight.execute("developer", Arrays.asList(developerId, expansion), () ->
+                    readOnlyTransaction.execute(status ->
+                            dtoAssembler.developer(loadDeveloper(developerId, expansion), expansion)));
+        }
+        return cachedDeveloper(developerId, expansion).data();
+    }
+
+    // ETag of getDeveloperById (null = none for this expansion); no query when the developer is cached
+    public String getDeveloperETag(Integer developerId, Expansion expansion) {
+        CatalogSnapshot snapshot = snapshotCovering(expansion, CatalogSnapshot::coversOwnFields);
+        if (snapshot != null) {
+            return snapshot.etag("developer-" + developerId); // a missing id still gets its 404 from the read
+        }
+        if (!hasVersionStamp(expansion)) {
+            return null;
+        }
+        CachedDto<DeveloperData> cached = dtoCache.getDeveloperIfPresent(developerId, expansion);
+        return cached != null ? cached.etag() : etagService.developerETag(developerId);
+    }
+
+    public String getAllDevelopersETag(Expansion expansion) {
+        CatalogSnapshot snapshot = snapshotCovering(expansion, CatalogSnapshot::coversOwnFields);
+        if (snapshot != null) {
+            return snapshot.etag("developers");
+        }
+        return hasVersionStamp(expansion) ? etagService.developersETag() : null;
+    }
+
+    private CachedDto<DeveloperData> cachedDeveloper(Integer developerId, Expansion expansion) {
+        return dtoCache.getDeveloper(developerId, expansion, id -> readOnlyTransaction.execute(status ->
+                new CachedDto<>(dtoAssembler.developer(loadDeveloper(id, expansion), expansion),
+                        etagService.developerETag(id))));
+    }
+
+    // Developer with just the associations the expansion embeds (see DeveloperDao)
+    private Developer loadDeveloper(Integer developerId, Expansion expansion) {
+        Optional<Developer> developer;
+        if (!expansion.follows(Expansion.GAMES, 0)) {
+            developer = developerDao.findById(developerId);
+        } else if (expansion.follows(Expansion.GENRES, 1)) {
+            developer = developerDao.findWithGamesAndGenresByDeveloperId(developerId);
+        } else {
+            developer = developerDao.findWithGamesByDeveloperId(developerId);
+        }
+        return developer.orElseThrow(() -> new NoSuchElementException(
+                "Developer with ID=" + developerId + " was not found."
+        ));
     }
 
     // Retrieve all developers
-    @Transactional(readOnly = true)
-    public List<DeveloperData> getAllDevelopers() {
-        return developerDao.findAll().stream()
-                .map(DeveloperData::new)
-                .toList();
+    public List<DeveloperData> getAllDevelopers(Expansion expansion) {
+        CatalogSnapshot snapshot = snapshotCovering(expansion, CatalogSnapshot::coversOwnFields);
+        if (snapshot != null) {
+            return snapshot.developers();
+        }
+        return singleFlight.execute("developers", Arrays.asList(expansion),
+                () -> readOnlyTransaction.execute(status -> readAllDevelopers(expansion)));
+    }
+
+    private List<DeveloperData> readAllDevelopers(Expansion expansion) {
+        List<Developer> developers;
+        if (!expansion.follows(Expansion.GAMES, 0)) {
+            developers = developerDao.findAll();
+        } else if (expansion.follows(Expansion.GENRES, 1)) {
+            developers = developerDao.findAllWithGamesAndGenresBy();
+        } else {
+            developers = developerDao.findAllWithGamesBy();
+        }
+        return dtoAssembler.developers(developers, expansion);
+    }
+
+    // Retrieve one page of developers ordered by id (keyset pagination)
+    public PageData<DeveloperData> getDeveloperPage(Integer size, String cursor, Expansion expansion) {
+        return singleFlight.execute("developers.page", Arrays.asList(size, cursor, expansion),
+                () -> readOnlyTransaction.execute(status -> readDeveloperPage(size, cursor, expansion)));
+    }
+
+    private PageData<DeveloperData> readDeveloperPage(Integer size, String cursor, Expansion expansion) {
+        int pageSize = PageCursor.checkSize(size);
+        PageCursor after = PageCursor.decode(cursor, "developerId");
+
+        // Read one extra id to find out whether there is a next page
+        List<Integer> ids = developerDao.findDeveloperIdPage(after.id(), Limit.of(pageSize + 1));
+        List<Integer> pageIds = ids.subList(0, Math.min(ids.size(), pageSize));
+        List<Developer> developers = inIdOrder(
+                loadDevelopers(pageIds, expansion), pageIds, Developer::getDeveloperId);
+
+        String nextCursor = null;
+        if (ids.size() > pageSize && !developers.isEmpty()) {
+            Developer last = developers.get(developers.size() - 1);
+            nextCursor = new PageCursor(after.sort(), last.getDeveloperId(), null).encode();
+        }
+        return new PageData<>(dtoAssembler.developers(developers, expansion), nextCursor);
+    }
+
+    private List<Developer> loadDevelopers(Collection<Integer> developerIds, Expansion expansion) {
+        if (!expansion.follows(Expansion.GAMES, 0)) {
+            return developerDao.findAllById(developerIds);
+        }
+        return expansion.follows(Expansion.GENRES, 1)
+                ? developerDao.findWithGamesAndGenresByDeveloperIdIn(developerIds)
+                : developerDao.findWithGamesByDeveloperIdIn(developerIds);
     }
 
     // Helper: find existing or create new developer
@@ -95,23 +293,370 @@ public class GameHubService {
         Game game = findOrCreateGame(gameData.getGameId());
         copyGameFields(game, gameData);
         Game savedGame = gameDao.save(game);
-        return new GameData(savedGame);
+        GameData savedGameData = dtoAssembler.game(savedGame);
+        eventPublisher.publishEvent(new GameChangedEvent(savedGame.getGameId(), savedGameData));
+        return savedGameData;
     }
 
-    @Transactional(readOnly = true)
-    public GameData getGameById(Integer gameId) {
-        Game game = gameDao.findById(gameId)
-                .orElseThrow(() -> new NoSuchElementException(
-                        "Game with ID=" + gameId + " was not found."
-                ));
-        return new GameData(game);
+    // Cached, only a miss opens a transaction
+    public GameData getGameById(Integer gameId, Expansion expansion) {
+        CatalogSnapshot snapshot = snapshotCovering(expansion, CatalogSnapshot::coversGame);
+        if (snapshot != null) {
+            return existing(snapshot.game(gameId, expansion), "Game", gameId);
+        }
+        if (!hasVersionStamp(expansion)) {
+            return singleFlight.execute("game", Arrays.asList(gameId, expansion), () ->
+                    readOnlyTransaction.execute(status ->
+                            dtoAssembler.game(loadGame(gameId, expansion), expansion)));
+        }
+        return cachedGame(gameId, expansion).data();
+    }
+
+    // ETag of getGameById (null = none for this expansion); no query when the game is cached
+    public String getGameETag(Integer gameId, Expansion expansion) {
+        CatalogSnapshot snapshot = snapshotCovering(expansion, CatalogSnapshot::coversGame);
+        if (snapshot != null) {
+            return snapshot.etag("game-" + gameId); // a missing id still gets its 404 from the read
+        }
+        if (!hasVersionStamp(expansion)) {
+            return null;
+        }
+        CachedDto<GameData> cached = dtoCache.getGameIfPresent(gameId, expansion);
+        return cached != null ? cached.etag() : etagService.gameETag(gameId);
+    }
+
+    public String getAllGamesETag(Expansion expansion) {
+        return hasVersionStamp(expansion) ? etagService.gamesETag() : null;
+    }
+
+    private CachedDto<GameData> cachedGame(Integer gameId, Expansion expansion) {
+        return dtoCache.getGame(gameId, expansion, id -> readOnlyTransaction.execute(status ->
+                new CachedDto<>(dtoAssembler.game(loadGame(id, expansion), expansion), etagService.gameETag(id))));
+    }
+
+    // Game with its genres only when the expansion embeds them (see GameDao)
+    private Game loadGame(Integer gameId, Expansion expansion) {
+        Optional<Game> game = expansion.follows(Expansion.GENRES, 0)
+                ? gameDao.findWithGenresByGameId(gameId)
+                : gameDao.findById(gameId);
+        return game.orElseThrow(() -> new NoSuchElementException(
+                "Game with ID=" + gameId + " was not found."
+        ));
+    }
+
+    private List<Game> loadGames(Collection<Integer> gameIds, Expansion expansion) {
+        return expansion.follows(Expansion.GENRES, 0)
+                ? gameDao.findWithGenresByGameIdIn(gameIds)
+                : gameDao.findAllById(gameIds);
+    }
+
+    public List<GameData> getAllGames(Expansion expansion) {
+        return singleFlight.execute("games", Arrays.asList(expansion),
+                () -> readOnlyTransaction.execute(status -> readAllGames(expansion)));
+    }
+
+    private List<GameData> readAllGames(Expansion expansion) {
+        List<Game> games = expansion.follows(Expansion.GENRES, 0) ? gameDao.findAllWithGenresBy() : gameDao.findAll();
+        return dtoAssembler.games(games, expansion);
+    }
+
+    /*
+     * Retrieve one page of games (keyset pagination)
+     * -----------------------------------------------
+     * - sort   = gameId (default), gameTitle or gameReleaseDate
+     * - cursor = nextCursor of the previous page (null = first page)
+     * Only ever loads pageSize + 1 ids and pageSize game graphs, however big
+     * the table is.
+     */
+    public PageData<GameData> getGamePage(String sort, Integer size, String cursor, Expansion expansion) {
+        return singleFlight.execute("games.page", Arrays.asList(sort, size, cursor, expansion),
+                () -> readOnlyTransaction.execute(status -> readGamePage(sort, size, cursor, expansion)));
+    }
+
+    private PageData<GameData> readGamePage(String sort, Integer size, String cursor, Expansion expansion) {
+        GameSort gameSort = GameSort.fromParam(sort);
+        int pageSize = PageCursor.checkSize(size);
+        PageCursor after = PageCursor.decode(cursor, gameSort.getParam());
+
+        // Read one extra id to find out whether there is a next page
+        Limit limit = Limit.of(pageSize + 1);
+        List<Integer> ids = switch (gameSort) {
+            case ID -> gameDao.findGameIdPage(after.id(), limit);
+            case TITLE -> gameDao.findGameIdPageByTitle(after.value(), after.id(), limit);
+            case RELEASE_DATE -> gameDao.findGameIdPageByReleaseDate(
+                    after.value() == null ? null : LocalDate.ofEpochDay(Long.parseLong(after.value())),
+                    after.id(), limit);
+        };
+        List<Integer> pageIds = ids.subList(0, Math.min(ids.size(), pageSize));
+        List<Game> games = inIdOrder(loadGames(pageIds, expansion), pageIds, Game::getGameId);
+
+        String nextCursor = null;
+        if (ids.size() > pageSize && !games.isEmpty()) {
+            Game last = games.get(games.size() - 1);
+            String value = switch (gameSort) {
+                case ID -> null;
+                case TITLE -> last.getGameTitle();
+                case RELEASE_DATE -> last.getGameReleaseDate() == null
+                        ? null : String.valueOf(last.getGameReleaseDate().toEpochDay());
+            };
+            nextCursor = new PageCursor(after.sort(), last.getGameId(), value).encode();
+        }
+        return new PageData<>(dtoAssembler.games(games, expansion), nextCursor);
+    }
+
+    /*
+     * Games released between two dates, newest first (keyset pagination)
+     * --------------------------------------------------------------------
+     * - from / to = "yyyy-MM-dd", inclusive, either may be left out
+     * - the range scan runs on ReleaseDateIndex; only the page is loaded
+     */
+    public PageData<GameData> getGamesReleased(String from, String to, Integer size, String cursor,
+            Expansion expansion) {
+        return singleFlight.execute("games.released", Arrays.asList(from, to, size, cursor, expansion),
+                () -> readOnlyTransaction.execute(status -> readGamesReleased(from, to, size, cursor, expansion)));
+    }
+
+    private PageData<GameData> readGamesReleased(String from, String to, Integer size, String cursor,
+            Expansion expansion) {
+        LocalDate fromDate = parseDate("from", from);
+        LocalDate toDate = parseDate("to", to);
+        if (fromDate != null && toDate != null && fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("from must not be after to.");
+        }
+        int pageSize = PageCursor.checkSize(size);
+        PageCursor after = PageCursor.decode(cursor, RELEASED_SORT);
+        long beforeKey = after.value() == null
+                ? Long.MAX_VALUE : ReleaseDateIndex.key(Long.parseLong(after.value()), after.id());
+
+        ReleaseDateIndex.Page page = releaseDateIndex.newestFirst(fromDate, toDate, beforeKey, pageSize);
+        List<Game> games = inIdOrder(loadGames(page.gameIds(), expansion), page.gameIds(), Game::getGameId);
+
+        String nextCursor = null;
+        if (page.hasMore()) {
+            nextCursor = new PageCursor(RELEASED_SORT, ReleaseDateIndex.gameIdOf(page.lastKey()),
+                    String.valueOf(ReleaseDateIndex.epochDayOf(page.lastKey()))).encode();
+        }
+        return new PageData<>(dtoAssembler.games(games, expansion), nextCursor);
+    }
+
+    private static LocalDate parseDate(String name, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " must be a date like 2024-12-31, not " + value + ".");
+        }
     }
 
-    @Transactional(readOnly = true)
-    public List<GameData> getAllGames() {
-        return gameDao.findAll().stream()
-                .map(GameData::new)
+    /*
+     * Full-text search over game title and description
+     * -------------------------------------------------
+     * - ranking comes from GameSearchIndex (memory only, no LIKE scan)
+     * - only the top "limit" games are loaded, in one query, best match first
+     */
+    public List<GameData> searchGames(String query, Integer limit, Expansion expansion) {
+        return singleFlight.execute("games.search", Arrays.asList(query, limit, expansion),
+                () -> readOnlyTransaction.execute(status -> readSearchResults(query, limit, expansion)));
+    }
+
+    private List<GameData> readSearchResults(String query, Integer limit, Expansion expansion) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query q must not be blank");
+        }
+        int topK = limit == null ? DEFAULT_SEARCH_LIMIT : limit;
+        if (topK < 1 || topK > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("Search limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+
+        List<Integer> ids = gameSearchIndex.search(query, topK);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return dtoAssembler.games(inIdOrder(loadGames(ids, expansion), ids, Game::getGameId), expansion);
+    }
+
+    /*
+     * Games most like one game (GET /gamehub/game/{gameId}/similar)
+     * --------------------------------------------------------------
+     * - neighbors and scores are precomputed by SimilarGamesIndex
+     * - only the k games are loaded, in one query, best match first
+     */
+    public List<SimilarGameData> getSimilarGames(Integer gameId, Integer k, Expansion expansion) {
+        int maxK = similarGamesIndex.maxNeighbors();
+        int topK = k == null ? Math.min(DEFAULT_SIMILAR_GAMES, maxK) : k;
+        if (topK < 1 || topK > maxK) {
+            throw new IllegalArgumentException("k must be between 1 and " + maxK);
+        }
+        List<SimilarGames.Neighbor> neighbors = similarGamesIndex.neighbors(gameId, topK);
+        if (neighbors.isEmpty()) {
+            return List.of();
+        }
+        List<Integer> ids = neighbors.stream().map(SimilarGames.Neighbor::gameId).toList();
+        Map<Integer, GameData> games = readOnlyTransaction.execute(status -> dtoAssembler
+                .games(loadGames(ids, expansion), expansion).stream()
+                .collect(Collectors.toMap(GameData::getGameId, Function.identity())));
+        List<SimilarGameData> similar = new ArrayList<>(neighbors.size());
+        for (SimilarGames.Neighbor neighbor : neighbors) {
+            GameData game = games.get(neighbor.gameId());
+            if (game != null) { // deleted since the neighbors were computed
+                similar.add(new SimilarGameData(neighbor.score(), game));
+            }
+        }
+        return similar;
+    }
+
+    /*
+     * Game ids by genre: all of "all", at least one of "any", none of "none"
+     * -----------------------------------------------------------------------
+     * - answered from GenreBitmapIndex, no database access
+     * - ids ascending, paged with the same cursor tokens as getGamePage
+     */
+    public GenreMatchData findGamesByGenres(List<Integer> all, List<Integer> any, List<Integer> none,
+            Integer size, String cursor) {
+        all = all == null ? List.of() : all;
+        any = any == null ? List.of() : any;
+        none = none == null ? List.of() : none;
+        if (all.isEmpty() && any.isEmpty() && none.isEmpty()) {
+            throw new IllegalArgumentException("At least one of all, any or none is required.");
+        }
+        int pageSize = PageCursor.checkSize(size);
+        PageCursor after = PageCursor.decode(cursor, GameSort.ID.getParam());
+
+        GenreBitmapIndex.Match match = genreBitmapIndex.find(all, any, none, after.id(), pageSize);
+        String nextCursor = null;
+        if (match.hasMore()) {
+            int lastId = match.gameIds().get(match.gameIds().size() - 1);
+            nextCursor = new PageCursor(after.sort(), lastId, null).encode();
+        }
+        return new GenreMatchData(match.count(), match.gameIds(), nextCursor);
+    }
+
+    /*
+     * Streams every game to the consumer, one at a time
+     * --------------------------------------------------
+     * - rows come from a JDBC cursor, never a List of the whole table
+     *   (genres joined in only when the expansion embeds them)
+     * - each game is detached once it has been handed off, so the
+     *   persistence context doesn't grow with the table (genres are shared
+     *   reference data and stay managed)
+     * Heap use is therefore flat no matter how many games there are.
+     * Runs on the export slots (DatabaseAdmissionConfig), not the request ones.
+     */
+    @Transactional(transactionManager = "exportTransactionManager", readOnly = true)
+    public void exportGames(Expansion expansion, Consumer<GameData> consumer) {
+        try (Stream<Game> games = expansion.follows(Expansion.GENRES, 0)
+                ? gameDao.streamAllWithGenres() : gameDao.streamAll()) {
+            games.forEach(game -> {
+                consumer.accept(dtoAssembler.game(game, expansion));
+                entityManager.detach(game);
+            });
+        }
+    }
+
+    /*
+     * Bulk save (POST /gamehub/games/batch)
+     * --------------------------------------
+     * - Works through the list in chunks of BATCH_CHUNK_SIZE, one transaction per chunk
+     * - Existing games of a chunk are loaded with one "id in (...)" query
+     * - New games get pooled sequence ids, so Hibernate can send the INSERTs as
+     *   JDBC batches (hibernate.jdbc.batch_size) on flush
+     * - The persistence context is cleared after each chunk to keep memory flat
+     * - The whole list is checked first (checkGames): a game, developer or
+     *   genre id that doesn't exist fails the request before any chunk is
+     *   written
+     * A chunk that still fails (a constraint, a row deleted meanwhile) rolls
+     * back on its own; the chunks before it stay committed and are reported
+     * with the failure (BatchSaveException), so the client knows what to resend.
+     */
+    public List<GameData> saveGames(List<GameData> gameDataList) {
+        readOnlyTransaction.executeWithoutResult(status -> checkGames(gameDataList));
+        List<GameData> savedGames = new ArrayList<>(gameDataList.size());
+
+        for (int from = 0; from < gameDataList.size(); from += BATCH_CHUNK_SIZE) {
+            List<GameData> chunk = gameDataList.subList(
+                    from, Math.min(from + BATCH_CHUNK_SIZE, gameDataList.size()));
+            try {
+                savedGames.addAll(transactionTemplate.execute(status -> saveGameChunk(chunk)));
+            } catch (RuntimeException e) {
+                if (savedGames.isEmpty()) {
+                    throw e;
+                }
+                throw new BatchSaveException(savedGames.stream().map(GameData::getGameId).toList(), from, e);
+            }
+        }
+        return savedGames;
+    }
+
+    // Every referenced id must exist; looked up BATCH_CHUNK_SIZE ids per query
+    private void checkGames(List<GameData> gameDataList) {
+        Set<Integer> gameIds = new HashSet<>();
+        Set<Integer> developerIds = new HashSet<>();
+        Set<Integer> genreIds = new HashSet<>();
+        for (GameData gameData : gameDataList) {
+            validateGame(gameData);
+            if (gameData.getGameId() != null) {
+                gameIds.add(gameData.getGameId());
+            }
+            if (gameData.getDeveloperId() != null) {
+                developerIds.add(gameData.getDeveloperId());
+            }
+            if (gameData.getGenres() != null) {
+                gameData.getGenres().forEach(genreData -> genreIds.add(genreData.getGenreId()));
+            }
+        }
+        checkExist("Game", gameIds, gameDao::findExistingIds);
+        checkExist("Developer", developerIds, developerDao::findExistingIds);
+        checkExist("Genre", genreIds, genreDao::findExistingIds);
+    }
+
+    private static void checkExist(String entity, Set<Integer> ids,
+            Function<List<Integer>, List<Integer>> findExisting) {
+        List<Integer> all = new ArrayList<>(ids);
+        Set<Integer> missing = new HashSet<>(ids);
+        for (int from = 0; from < all.size(); from += BATCH_CHUNK_SIZE) {
+            findExisting.apply(all.subList(from, Math.min(from + BATCH_CHUNK_SIZE, all.size())))
+                    .forEach(missing::remove);
+        }
+        if (!missing.isEmpty()) {
+            throw new NoSuchElementException(entity + " with ID=" + missing.stream().sorted().limit(10)
+                    .map(String::valueOf).collect(Collectors.joining(", "))
+                    + (missing.size() > 10 ? " and " + (missing.size() - 10) + " more" : "")
+                    + " was not found. No game of the batch was saved.");
+        }
+    }
+
+    private List<GameData> saveGameChunk(List<GameData> chunk) {
+        List<Integer> existingIds = chunk.stream()
+                .map(GameData::getGameId)
+                .filter(Objects::nonNull)
                 .toList();
+        Map<Integer, Game> existingGames = new HashMap<>();
+        for (Game game : gameDao.findAllById(existingIds)) {
+            existingGames.put(game.getGameId(), game);
+        }
+
+        List<Game> games = new ArrayList<>(chunk.size());
+        for (GameData gameData : chunk) {
+            Integer gameId = gameData.getGameId();
+            Game game = gameId == null ? new Game() : existingGames.get(gameId);
+            if (game == null) {
+                throw new NoSuchElementException("Game with ID=" + gameId + " was not found.");
+            }
+            copyGameFields(game, gameData);
+            games.add(game);
+        }
+
+        // send the batched INSERT/UPDATE statements; through the repository, so a
+        // constraint violation arrives as DataIntegrityViolationException
+        gameDao.saveAllAndFlush(games);
+        List<GameData> savedChunk = dtoAssembler.games(games);
+        for (GameData savedGameData : savedChunk) {
+            eventPublisher.publishEvent(new GameChangedEvent(savedGameData.getGameId(), savedGameData));
+        }
+        entityManager.clear();
+        return savedChunk;
     }
 
     @Transactional
@@ -121,6 +666,7 @@ public class GameHubService {
                         "Game with ID=" + gameId + " was not found."
                 ));
         gameDao.delete(game);
+        eventPublisher.publishEvent(new GameChangedEvent(gameId, null));
     }
 
     private Game findOrCreateGame(Integer gameId) {
@@ -131,11 +677,62 @@ public class GameHubService {
                 ));
     }
 
+    // Checks that need no database; also run before a game is queued (WriteBehindQueue)
+    public void validateGame(GameData gameData) {
+        if (gameData.getGenres() != null
+                && gameData.getGenres().stream().anyMatch(genreData -> genreData.getGenreId() == null)) {
+            throw new IllegalArgumentException("Genres of a game must be given by genreId.");
+        }
+    }
+
     private void copyGameFields(Game game, GameData gameData) {
+        validateGame(gameData);
         game.setGameTitle(gameData.getGameTitle());
         game.setGameDescription(gameData.getGameDescription());
         game.setGameReleaseDate(gameData.getGameReleaseDate());
-        // developer and genres can be handled here if needed
+        // developer: link an existing developer by id (null = keep the current one)
+        if (gameData.getDeveloperId() != null) {
+            game.setDeveloper(findOrCreateDeveloper(gameData.getDeveloperId()));
+        }
+
+        // genres: link existing genres by id (null = leave the genres as they are)
+        if (gameData.getGenres() != null) {
+            Set<Genre> genres = new HashSet<>();
+            for (GenreData genreData : gameData.getGenres()) {
+                genres.add(findOrCreateGenre(genreData.getGenreId()));
+            }
+            game.getGenres().retainAll(genres);
+            game.getGenres().addAll(genres);
+        }
+    }
+
+    // =============================
+    // AUTOCOMPLETE
+    // =============================
+
+    // Game titles and developer names starting with prefix, most recent first (memory only)
+    public List<SuggestionData> autocomplete(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Autocomplete prefix must not be blank");
+        }
+        int topK = limit == null ? DEFAULT_SUGGESTION_LIMIT : limit;
+        if (topK < 1 || topK > MAX_SUGGESTION_LIMIT) {
+            throw new IllegalArgumentException("Autocomplete limit must be between 1 and " + MAX_SUGGESTION_LIMIT);
+        }
+        return autocompleteIndex.suggest(prefix, topK);
+    }
+
+    // =============================
+    // STATISTICS
+    // =============================
+
+    // Games per genre, developer and release year (memory only, see CatalogStatistics)
+    public StatsData getStats(Integer top) {
+        int topDevelopers = top == null ? DEFAULT_TOP_DEVELOPERS : top;
+        if (topDevelopers < 1 || topDevelopers > MAX_TOP_DEVELOPERS) {
+            throw new IllegalArgumentException("Stats top must be between 1 and " + MAX_TOP_DEVELOPERS);
+        }
+        return catalogStatistics.snapshot(topDevelopers);
     }
 
     // =============================
@@ -147,32 +744,140 @@ public class GameHubService {
         Genre genre = findOrCreateGenre(genreData.getGenreId());
         copyGenreFields(genre, genreData);
         Genre savedGenre = genreDao.save(genre);
-        return new GenreData(savedGenre);
+        eventPublisher.publishEvent(
+                new GenreChangedEvent(savedGenre.getGenreId(), savedGenre.getGenreName(), false));
+        return dtoAssembler.genre(savedGenre);
     }
 
-    @Transactional(readOnly = true)
-    public GenreData getGenreById(Integer genreId) {
-        Genre genre = genreDao.findById(genreId)
-                .orElseThrow(() -> new NoSuchElementException(
-                        "Genre with ID=" + genreId + " was not found."
-                ));
-        return new GenreData(genre);
+    // Cached, only a miss opens a transaction
+    public GenreData getGenreById(Integer genreId, Expansion expansion) {
+        CatalogSnapshot snapshot = snapshotCovering(expansion, CatalogSnapshot::coversOwnFields);
+        if (snapshot != null) {
+            return existing(snapshot.genre(genreId), "Genre", genreId);
+        }
+        if (!hasVersionStamp(expansion)) {
+            return singleFlight.execute("genre", Arrays.asList(genreId, expansion), () ->
+                    readOnlyTransaction.execute(status ->
+                            dtoAssembler.genre(loadGenre(genreId, expansion), expansion)));
+        }
+        return cachedGenre(genreId, expansion).data();
     }
 
-    @Transactional(readOnly = true)
-    public List<GenreData> getAllGenres() {
-        return genreDao.findAll().stream()
-                .map(GenreData::new)
-                .toList();
+    // ETag of getGenreById (null = none for this expansion); no query when the genre is cached
+    public String getGenreETag(Integer genreId, Expansion expansion) {
+        CatalogSnapshot snapshot = snapshotCovering(expansion, CatalogSnapshot::coversOwnFields);
+        if (snapshot != null) {
+            return snapshot.etag("genre-" + genreId); // a missing id still gets its 404 from the read
+        }
+        if (!hasVersionStamp(expansion)) {
+            return null;
+        }
+        CachedDto<GenreData> cached = dtoCache.getGenreIfPresent(genreId, expansion);
+        return cached != null ? cached.etag() : etagService.genreETag(genreId);
+    }
+
+    public String getAllGenresETag(Expansion expansion) {
+        CatalogSnapshot snapshot = snapshotCovering(expansion, CatalogSnapshot::coversOwnFields);
+        if (snapshot != null) {
+            return snapshot.etag("genres");
+        }
+        return hasVersionStamp(expansion) ? etagService.genresETag() : null;
+    }
+
+    private CachedDto<GenreData> cachedGenre(Integer genreId, Expansion expansion) {
+        return dtoCache.getGenre(genreId, expansion, id -> readOnlyTransaction.execute(status ->
+                new CachedDto<>(dtoAssembler.genre(loadGenre(id, expansion), expansion), etagService.genreETag(id))));
     }
 
+    // Genre with just the associations the expansion embeds (see GenreDao)
+    private Genre loadGenre(Integer genreId, Expansion expansion) {
+        Optional<Genre> genre;
+        if (!expansion.follows(Expansion.GAMES, 0)) {
+            genre = genreDao.findById(genreId);
+        } else if (expansion.follows(Expansion.GENRES, 1)) {
+            genre = genreDao.findWithGamesAndGenresByGenreId(genreId);
+        } else {
+            genre = genreDao.findWithGamesByGenreId(genreId);
+        }
+        return genre.orElseThrow(() -> new NoSuchElementException(
+                "Genre with ID=" + genreId + " was not found."
+        ));
+    }
+
+    public List<GenreData> getAllGenres(Expansion expansion) {
+        CatalogSnapshot snapshot = snapshotCovering(expansion, CatalogSnapshot::coversOwnFields);
+        if (snapshot != null) {
+            return snapshot.genres();
+        }
+        return singleFlight.execute("genres", Arrays.asList(expansion),
+                () -> readOnlyTransaction.execute(status -> readAllGenres(expansion)));
+    }
+
+    private List<GenreData> readAllGenres(Expansion expansion) {
+        List<Genre> genres;
+        if (!expansion.follows(Expansion.GAMES, 0)) {
+            genres = genreDao.findAll();
+        } else if (expansion.follows(Expansion.GENRES, 1)) {
+            genres = genreDao.findAllWithGamesAndGenresBy();
+        } else {
+            genres = genreDao.findAllWithGamesBy();
+        }
+        return dtoAssembler.genres(genres, expansion);
+    }
+
+    // Retrieve one page of genres ordered by id (keyset pagination)
+    public PageData<GenreData> getGenrePage(Integer size, String cursor, Expansion expansion) {
+        return singleFlight.execute("genres.page", Arrays.asList(size, cursor, expansion),
+                () -> readOnlyTransaction.execute(status -> readGenrePage(size, cursor, expansion)));
+    }
+
+    private PageData<GenreData> readGenrePage(Integer size, String cursor, Expansion expansion) {
+        int pageSize = PageCursor.checkSize(size);
+        PageCursor after = PageCursor.decode(cursor, "genreId");
+
+        // Read one extra id to find out whether there is a next page
+        List<Integer> ids = genreDao.findGenreIdPage(after.id(), Limit.of(pageSize + 1));
+        List<Integer> pageIds = ids.subList(0, Math.min(ids.size(), pageSize));
+        List<Genre> genres = inIdOrder(loadGenres(pageIds, expansion), pageIds, Genre::getGenreId);
+
+        String nextCursor = null;
+        if (ids.size() > pageSize && !genres.isEmpty()) {
+            Genre last = genres.get(genres.size() - 1);
+            nextCursor = new PageCursor(after.sort(), last.getGenreId(), null).encode();
+        }
+        return new PageData<>(dtoAssembler.genres(genres, expansion), nextCursor);
+    }
+
+    private List<Genre> loadGenres(Collection<Integer> genreIds, Expansion expansion) {
+        if (!expansion.follows(Expansion.GAMES, 0)) {
+            return genreDao.findAllById(genreIds);
+        }
+        return expansion.follows(Expansion.GENRES, 1)
+                ? genreDao.findWithGamesAndGenresByGenreIdIn(genreIds)
+                : genreDao.findWithGamesByGenreIdIn(genreIds);
+    }
+
+    /*
+     * Deletes a Genre by ID
+     * ---------------------
+     * Three bulk statements instead of loading the genre's games:
+     * - bump the version of every game in the genre (Game owns game_genre,
+     *   so losing a genre is an update of the game: optimistic locking, ETags)
+     * - delete the genre's game_genre rows
+     * - delete the genre
+     * The genre row is locked first, so no game joins it meanwhile.
+     */
     @Transactional
-    public void deleteGenreById(Integer genreId) {
-        Genre genre = genreDao.findById(genreId)
+    public DeletionData deleteGenreById(Integer genreId) {
+        genreDao.findLockedByGenreId(genreId)
                 .orElseThrow(() -> new NoSuchElementException(
                         "Genre with ID=" + genreId + " was not found."
                 ));
-        genreDao.delete(genre);
+        gameDao.bulkIncrementVersionByGenreId(genreId);
+        int genreLinks = gameDao.bulkDeleteGenreLinksByGenreId(genreId);
+        int genres = genreDao.bulkDeleteById(genreId);
+        eventPublisher.publishEvent(new GenreChangedEvent(genreId, null, true));
+        return new DeletionData("Genre with ID=" + genreId + " deleted successfully.", 0, genres, 0, genreLinks);
     }
 
     private Genre findOrCreateGenre(Integer genreId) {
@@ -190,17 +895,67 @@ public class GameHubService {
     /*
      * Deletes a Developer by ID
      * -------------------------
-     * - Calls the DeveloperDao to fetch the entity by ID
-     * - Throws NoSuchElementException if not found
-     * - Deletes the developer from the database
-     * - Cascading will handle any associated Games if cascade is configured
+     * Developer.games cascades (CascadeType.ALL, orphanRemoval), but letting
+     * Hibernate do it loads every game and deletes it row by row. Instead,
+     * in one transaction:
+     * - lock the developer row (no game can be added to it meanwhile) and
+     *   read the ids of its games, for the change event
+     * - delete the games' game_genre rows, then the games, then the
+     *   developer: one bulk statement each
+     * - Publishes the deleted game ids so caches and indexes drop them too
      */
     @Transactional
-    public void deleteDeveloperById(Integer developerId) {
-        Developer developer = developerDao.findById(developerId)
+    public DeletionData deleteDeveloperById(Integer developerId) {
+        developerDao.findLockedByDeveloperId(developerId)
             .orElseThrow(() -> new NoSuchElementException(
                 "Developer with ID=" + developerId + " was not found."
             ));
-        developerDao.delete(developer);
+        Set<Integer> gameIds = Set.copyOf(gameDao.findIdsByDeveloperId(developerId));
+        int genreLinks = gameDao.bulkDeleteGenreLinksByDeveloperId(developerId);
+        int games = gameDao.bulkDeleteByDeveloperId(developerId);
+        int developers = developerDao.bulkDeleteById(developerId);
+        eventPublisher.publishEvent(new DeveloperChangedEvent(developerId, null, true, gameIds));
+        return new DeletionData("Developer with ID=" + developerId + " deleted successfully.",
+                developers, 0, games, genreLinks);
+    }
+
+    /*
+     * ETags and DtoCache entries come from version stamps (ETagService) that
+     * cover the Expansion.ALL graph; a response embedding more (the
+     * developer, or deeper levels) gets neither.
+     */
+    // The mapped catalog snapshot, when this node serves from one and it holds what "expansion" embeds
+    private CatalogSnapshot snapshotCovering(Expansion expansion, Predicate<Expansion> covers) {
+        CatalogSnapshot snapshot = catalogSnapshots.serving();
+        return snapshot != null && covers.test(expansion) ? snapshot : null;
+    }
+
+    // Helper: a by-id read from the snapshot, 404 like the database reads when missing
+    private static <T> T existing(T data, String entity, Integer id) {
+        if (data == null) {
+            throw new NoSuchElementException(entity + " with ID=" + id + " was not found.");
+        }
+        return data;
+    }
+
+    private static boolean hasVersionStamp(Expansion expansion) {
+        return expansion.isWithin(Expansion.ALL);
+    }
+
+    // Helper: put entities loaded by "id in (...)" back into page order
+    private static <E> List<E> inIdOrder(List<E> entities, List<Integer> ids, Function<E, Integer> idOf) {
+        Map<Integer, E> byId = new HashMap<>();
+        for (E entity : entities) {
+            byId.put(idOf.apply(entity), entity);
+        }
+
+        List<E> ordered = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            E entity = byId.get(id);
+            if (entity != null) { // may have been deleted between the two queries
+                ordered.add(entity);
+            }
+        }
+        return ordered;
     }
 }
\ No newline at end of file
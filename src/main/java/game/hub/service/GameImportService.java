@@ -0,0 +1,936 @@
+package game.hub.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import game.hub.config.DatabaseBusyException;
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.GameImportData;
+import game.hub.controller.model.ImportErrorData;
+import game.hub.controller.model.ImportJobData;
+import game.hub.controller.model.ImportJobData.Format;
+import game.hub.controller.model.ImportJobData.Status;
+import game.hub.dao.DeveloperDao;
+import game.hub.dao.EntityName;
+import game.hub.dao.GameDao;
+import game.hub.dao.GenreDao;
+import game.hub.dao.ImportErrorDao;
+import game.hub.dao.ImportJobDao;
+import game.hub.entity.Developer;
+import game.hub.entity.Game;
+import game.hub.entity.Genre;
+import game.hub.entity.ImportError;
+import game.hub.entity.ImportJob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * GameImportService
+ * ----------------------
+ * Bulk import of games with their developers and genres from CSV or JSON
+ * files (POST /gamehub/imports, rows as in GameImportData).
+ *
+ * - Streaming: the file is parsed one row at a time (Jackson
+ *   MappingIterator); an upload is copied to gamehub.import.directory
+ *   first, so it can be read again on resume
+ * - Files are read as UTF-8. A resume seeks to the byte offset after the
+ *   last committed chunk instead of parsing the rows before it again
+ *   (see ImportSource)
+ * - Developers and genres are matched by name against in-memory lookups,
+ *   loaded once per run (case-insensitive, like the genre name constraint
+ *   under MySQL's default collation); unknown names are created
+ * - Rows are written chunk-size per transaction: JDBC-batched inserts with
+ *   pooled ids (as in saveGames), the usual change events after commit,
+ *   and the persistence context cleared after every chunk
+ * - The same transaction stores the chunk's failed rows (ImportError, the
+ *   first max-errors of a job) and moves ImportJob.rowsCommitted and
+ *   resumeOffset, so resume() continues exactly after the last committed
+ *   chunk
+ * - A bad row (no title, bad date, too long, wrong JSON shape) fails on its
+ *   own. A chunk ending in a row the parser couldn't read is committed
+ *   without a resume offset, so a long run of such rows doesn't pile up.
+ *   A chunk the database rejects is retried row by row, like the
+ *   write-behind queue; DatabaseBusyException waits and retries the chunk
+ * - Jobs run one at a time on the "game-import" thread, on the background
+ *   database slots. Jobs a restart left unfinished are marked INTERRUPTED;
+ *   resume them explicitly
+ *
+ * Heap use depends on chunk-size and the number of distinct developer and
+ * genre names, not on the size of the file. Importing a file twice
+ * imports its games twice.
+ */
+@Component
+@Slf4j
+public class GameImportService {
+
+    private static final int MAX_TEXT = 255;      // varchar(255) columns
+    private static final int MAX_MESSAGE = 1024;  // import_job.message, import_error.message
+
+    private static final int DEFAULT_ERROR_LIMIT = 100;
+    private static final int MAX_ERROR_LIMIT = 1000;
+
+    @Autowired
+    private GameDao gameDao;
+
+    @Autowired
+    private DeveloperDao developerDao;
+
+    @Autowired
+    private GenreDao genreDao;
+
+    @Autowired
+    private ImportJobDao importJobDao;
+
+    @Autowired
+    private ImportErrorDao importErrorDao;
+
+    @Autowired
+    private DtoAssembler dtoAssembler;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate; // requests: start, resume, status
+
+    @Autowired
+    @Qualifier("backgroundTransactionManager")
+    private PlatformTransactionManager backgroundTransactionManager; // the job thread, see DatabaseAdmissionConfig
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${gamehub.import.directory:imports}")
+    private Path directory;
+
+    @Value("${gamehub.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${gamehub.import.max-errors:10000}")
+    private int maxErrors;
+
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate jobTransaction;
+    private TransactionTemplate jobReadOnlyTransaction;
+    private ObjectReader jsonReader;
+    private ObjectReader csvReader;
+    private Counter importedRows;
+    private Counter failedRows;
+
+    private final ExecutorService importer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "game-import");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // One row of the file: its 1-based number and data, or why it couldn't be read
+    private record Row(long index, GameImportData data, String error) {
+    }
+
+    @PostConstruct
+    void init() {
+        directory = directory.toAbsolutePath().normalize();
+        readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransaction.setReadOnly(true);
+        jobTransaction = new TransactionTemplate(backgroundTransactionManager);
+        jobReadOnlyTransaction = new TransactionTemplate(backgroundTransactionManager);
+        jobReadOnlyTransaction.setReadOnly(true);
+
+        // a top-level array or one object after another (NDJSON); "genres": "RPG" is a list of one
+        jsonReader = objectMapper.readerFor(GameImportData.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .with(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+        // header row with the column names, in any order
+        CsvMapper csvMapper = CsvMapper.builder()
+                .enable(CsvParser.Feature.SKIP_EMPTY_LINES, CsvParser.Feature.TRIM_SPACES)
+                .build();
+        CsvSchema schema = csvMapper.schemaFor(GameImportData.class)
+                .withHeader()
+                .withColumnReordering(true)
+                .withArrayElementSeparator("|");
+        csvReader = csvMapper.readerFor(GameImportData.class)
+                .with(schema)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        importedRows = rowCounter("imported");
+        failedRows = rowCounter("failed");
+    }
+
+    private Counter rowCounter(String outcome) {
+        return Counter.builder("gamehub.import.rows")
+                .description("Rows of bulk import files, imported or failed")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        importer.shutdownNow(); // the running job stops after its current chunk, INTERRUPTED
+        importer.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    // Jobs that were queued or running when the server stopped can't still be
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        jobTransaction.executeWithoutResult(status -> {
+            for (ImportJob job : importJobDao.findByStatusIn(List.of(Status.QUEUED.name(), Status.RUNNING.name()))) {
+                job.setStatus(Status.INTERRUPTED.name());
+                job.setMessage("The server stopped during the import; resume it to continue.");
+                job.setUpdatedAt(Instant.now());
+            }
+        });
+    }
+
+    // =============================
+    // START, RESUME, STATUS
+    // =============================
+
+    // Stores the uploaded file, then imports it in the background
+    public ImportJobData importUpload(String fileName, Format format, InputStream body) {
+        Path uploads = directory.resolve("uploads");
+        Path spooled = null;
+        try {
+            Files.createDirectories(uploads);
+            spooled = Files.createTempFile(uploads, "import-", "." + format.name().toLowerCase(Locale.ROOT));
+            Files.copy(body, spooled, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteQuietly(spooled);
+            throw new UncheckedIOException("The uploaded file could not be stored.", e);
+        }
+        return start(fileName != null ? fileName : spooled.getFileName().toString(), spooled, format);
+    }
+
+    // Imports a file from gamehub.import.directory in the background (format null = from the extension)
+    public ImportJobData importLocalFile(String path, Format format) {
+        Path file = directory.resolve(path).normalize();
+        if (!file.startsWith(directory)) {
+            throw new IllegalArgumentException("Import path must be inside the import directory.");
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new NoSuchElementException("Import file " + path + " was not found.");
+        }
+        return start(path, file, format != null ? format : formatOf(path));
+    }
+
+    // CSV for *.csv, JSON for *.json, *.ndjson and *.jsonl
+    public static Format formatOf(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return Format.CSV;
+        }
+        if (name.endsWith(".json") || name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return Format.JSON;
+        }
+        throw new IllegalArgumentException("Import format must be csv or json (from ?format= or the file name).");
+    }
+
+    private ImportJobData start(String fileName, Path file, Format format) {
+        ImportJob job = new ImportJob();
+        job.setFileName(truncate(fileName, MAX_TEXT));
+        job.setPath(file.toString());
+        job.setFormat(format.name());
+        job.setStatus(Status.QUEUED.name());
+        try {
+            job.setBytesTotal(Files.size(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("The import file could not be read.", e);
+        }
+        job.setCreatedAt(Instant.now());
+        job.setUpdatedAt(job.getCreatedAt());
+        ImportJob saved = transactionTemplate.execute(status -> importJobDao.save(job));
+        importer.execute(() -> run(saved.getJobId()));
+        log.info("Import {} of {} ({}, {} bytes) queued", saved.getJobId(), fileName, format, saved.getBytesTotal());
+        return new ImportJobData(saved);
+    }
+
+    // Continues a FAILED or INTERRUPTED job after its last committed chunk
+    public ImportJobData resume(Integer jobId) {
+        ImportJob job = transactionTemplate.execute(status -> {
+            ImportJob found = findJob(jobId);
+            if (!found.getStatus().equals(Status.FAILED.name())
+                    && !found.getStatus().equals(Status.INTERRUPTED.name())) {
+                throw new IllegalArgumentException(
+                        "Only FAILED or INTERRUPTED imports can be resumed, import " + jobId + " is "
+                                + found.getStatus() + ".");
+            }
+            found.setStatus(Status.QUEUED.name());
+            found.setMessage(null);
+            found.setUpdatedAt(Instant.now());
+            return found;
+        });
+        importer.execute(() -> run(jobId));
+        log.info("Import {} resumed after row {}", jobId, job.getRowsCommitted());
+        return new ImportJobData(job);
+    }
+
+    public ImportJobData status(Integer jobId) {
+        return readOnlyTransaction.execute(status -> new ImportJobData(findJob(jobId)));
+    }
+
+    // Failed rows after row "after" (keyset paging), in file order
+    public List<ImportErrorData> errors(Integer jobId, Long after, Integer limit) {
+        int size = limit == null ? DEFAULT_ERROR_LIMIT : limit;
+        if (size < 1 || size > MAX_ERROR_LIMIT) {
+            throw new IllegalArgumentException("Import errors limit must be between 1 and " + MAX_ERROR_LIMIT);
+        }
+        return readOnlyTransaction.execute(status -> {
+            findJob(jobId);
+            return importErrorDao.findByJobIdAndRowIndexGreaterThanOrderByRowIndex(jobId,
+                    after == null ? 0L : after, Limit.of(size))
+                    .stream().map(ImportErrorData::new).toList();
+        });
+    }
+
+    private ImportJob findJob(Integer jobId) {
+        return importJobDao.findById(jobId)
+                .orElseThrow(() -> new NoSuchElementException("Import with ID=" + jobId + " was not found."));
+    }
+
+    // =============================
+    // READ THE FILE
+    // =============================
+
+    private void run(Integer jobId) {
+        long start = System.currentTimeMillis();
+        ImportJob job;
+        try {
+            job = jobTransaction.execute(status -> {
+                ImportJob found = findJob(jobId);
+                found.setStatus(Status.RUNNING.name());
+                found.setUpdatedAt(Instant.now());
+                return found;
+            });
+        } catch (RuntimeException e) {
+            log.error("Import {} could not be started", jobId, e);
+            return;
+        }
+
+        long rowIndex = job.getResumeRow();
+        ImportSource in = null;
+        try {
+            Lookups lookups = jobReadOnlyTransaction.execute(status -> new Lookups(
+                    developerDao.findAllNames(), genreDao.findAllNames()));
+            Format format = Format.valueOf(job.getFormat());
+            in = ImportSource.open(Path.of(job.getPath()), format, job.getResumeOffset());
+            ObjectReader reader = format == Format.CSV ? csvReader : jsonReader;
+            try (MappingIterator<GameImportData> rows = reader.readValues(in)) {
+                List<Row> chunk = new ArrayList<>(chunkSize);
+                while (true) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedException();
+                    }
+                    GameImportData data = null;
+                    String error = null;
+                    try {
+                        if (!rows.hasNextValue()) {
+                            break;
+                        }
+                        data = rows.nextValue();
+                    } catch (JsonMappingException e) {
+                        error = "Row has the wrong shape: " + e.getOriginalMessage(); // the reader skips past it
+                    }
+                    rowIndex++;
+                    if (rowIndex <= job.getRowsCommitted()) {
+                        continue; // committed before a resume
+                    }
+                    chunk.add(new Row(rowIndex, data, error));
+                    if (chunk.size() >= chunkSize) {
+                        // after a row that couldn't be read the parser may stop anywhere inside it, so
+                        // that is no offset to resume from: the chunk moves rowsCommitted only, and a
+                        // resume parses again from the last offset and skips up to rowsCommitted
+                        long end = in.fileOffset(rows.getParser()); // also drops the chars read before
+                        writeChunk(jobId, chunk, lookups, error == null ? end : null);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    writeChunk(jobId, chunk, lookups, in.fileOffset(rows.getParser()));
+                }
+            }
+            ImportJob done = finish(jobId, Status.COMPLETED, null);
+            if (Path.of(job.getPath()).startsWith(directory.resolve("uploads"))) {
+                deleteQuietly(Path.of(job.getPath())); // nothing left to resume
+            }
+            log.info("Import {} completed: {} games imported, {} rows failed, {} developers and {} genres created"
+                    + " in {} ms", jobId, done.getGamesImported(), done.getRowsFailed(), done.getDevelopersCreated(),
+                    done.getGenresCreated(), System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            finish(jobId, Status.INTERRUPTED, "The server stopped during the import; resume it to continue.");
+        } catch (JsonProcessingException e) {
+            finish(jobId, Status.FAILED, "Row " + (rowIndex + 1) + " could not be parsed: " + e.getOriginalMessage());
+        } catch (IOException e) {
+            finish(jobId, Thread.currentThread().isInterrupted() ? Status.INTERRUPTED : Status.FAILED,
+                    "The import file could not be read: " + e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Import {} failed", jobId, e);
+            finish(jobId, Status.FAILED, "The import failed: " + rootMessage(e));
+        } finally {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    log.debug("Import {} file could not be closed", jobId, e);
+                }
+            }
+        }
+    }
+
+    private ImportJob finish(Integer jobId, Status outcome, String message) {
+        if (outcome != Status.COMPLETED) {
+            log.warn("Import {} {}: {}", jobId, outcome, message);
+        }
+        try {
+            return jobTransaction.execute(status -> {
+                ImportJob job = findJob(jobId);
+                job.setStatus(outcome.name());
+                job.setMessage(truncate(message, MAX_MESSAGE));
+                if (outcome == Status.COMPLETED) {
+                    job.setBytesRead(job.getBytesTotal());
+                }
+                job.setUpdatedAt(Instant.now());
+                return job;
+            });
+        } catch (RuntimeException e) {
+            log.error("Import {} could not be marked {}", jobId, outcome, e);
+            return null;
+        }
+    }
+
+    // =============================
+    // WRITE A CHUNK
+    // =============================
+
+    // end = file offset just after the last row, null = not known (all but the last row of a chunk)
+    private void writeChunk(Integer jobId, List<Row> rows, Lookups lookups, Long end)
+            throws InterruptedException {
+        try {
+            commitWhenNotBusy(jobId, rows, lookups, end, null);
+        } catch (RuntimeException e) {
+            if (rows.size() > 1) {
+                log.warn("Import {} chunk of rows {}-{} failed ({}), writing one by one", jobId, rows.get(0).index(),
+                        rows.get(rows.size() - 1).index(), rootMessage(e));
+                Row last = rows.get(rows.size() - 1);
+                for (Row row : rows) {
+                    writeChunk(jobId, List.of(row), lookups, row == last ? end : null);
+                }
+            } else {
+                commitWhenNotBusy(jobId, rows, lookups, end, rootMessage(e)); // record it as failed
+            }
+        }
+    }
+
+    private void commitWhenNotBusy(Integer jobId, List<Row> rows, Lookups lookups, Long end, String failure)
+            throws InterruptedException {
+        while (true) {
+            try {
+                commit(jobId, rows, lookups, end, failure);
+                return;
+            } catch (DatabaseBusyException e) {
+                Thread.sleep(e.getRetryAfter().toMillis());
+            }
+        }
+    }
+
+    /*
+     * One transaction: the chunk's games (with any new developers and
+     * genres), its failed rows and the job's progress. "failure" fails
+     * every row of the chunk with that message instead.
+     */
+    private void commit(Integer jobId, List<Row> rows, Lookups lookups, Long end, String failure) {
+        lookups.discard(); // names staged by a rolled back attempt
+        int[] failed = new int[1];
+        try {
+            jobTransaction.executeWithoutResult(status -> {
+                ImportJob job = findJob(jobId);
+                if (failure == null) {
+                    lookups.load(rows);
+                }
+
+                List<Game> games = new ArrayList<>(rows.size());
+                for (Row row : rows) {
+                    String problem = failure != null ? failure : row.error() != null ? row.error() : validate(row.data());
+                    if (problem == null) {
+                        games.add(game(row.data(), lookups));
+                        continue;
+                    }
+                    if (job.getRowsFailed() + failed[0] < maxErrors) {
+                        // persist, not saveAll: with a composite id Spring Data would merge (SELECT) each one
+                        entityManager.persist(new ImportError(jobId, row.index(), truncate(problem, MAX_MESSAGE)));
+                    }
+                    failed[0]++;
+                }
+
+                gameDao.saveAll(games);
+                job.setRowsCommitted(rows.get(rows.size() - 1).index());
+                job.setGamesImported(job.getGamesImported() + games.size());
+                job.setRowsFailed(job.getRowsFailed() + failed[0]);
+                job.setDevelopersCreated(job.getDevelopersCreated() + lookups.developers.created.size());
+                job.setGenresCreated(job.getGenresCreated() + lookups.genres.created.size());
+                if (end != null) {
+                    job.setResumeOffset(end);
+                    job.setResumeRow(job.getRowsCommitted());
+                    job.setBytesRead(Math.min(end, job.getBytesTotal()));
+                }
+                job.setUpdatedAt(Instant.now());
+                entityManager.flush(); // send the batched INSERT statements
+
+                // after commit, in this order: the indexes learn new names before the games using them
+                for (Genre genre : lookups.genres.created.values()) {
+                    eventPublisher.publishEvent(new GenreChangedEvent(genre.getGenreId(), genre.getGenreName(), false));
+                }
+                for (Developer developer : lookups.developers.created.values()) {
+                    eventPublisher.publishEvent(new DeveloperChangedEvent(developer.getDeveloperId(),
+                            developer.getDeveloperName(), false, Set.of()));
+                }
+                for (GameData gameData : dtoAssembler.games(games)) {
+                    eventPublisher.publishEvent(new GameChangedEvent(gameData.getGameId(), gameData));
+                }
+                entityManager.clear();
+            });
+        } catch (RuntimeException e) {
+            lookups.discard();
+            throw e;
+        }
+        lookups.keep();
+        importedRows.increment(rows.size() - failed[0]);
+        failedRows.increment(failed[0]);
+    }
+
+    private Game game(GameImportData data, Lookups lookups) {
+        Game game = new Game();
+        game.setGameTitle(data.getGameTitle().trim());
+        game.setGameDescription(trimToNull(data.getGameDescription()));
+        String releaseDate = trimToNull(data.getGameReleaseDate());
+        game.setGameReleaseDate(releaseDate == null ? null : LocalDate.parse(releaseDate));
+
+        String developerName = trimToNull(data.getDeveloperName());
+        if (developerName != null) {
+            game.setDeveloper(lookups.developers.resolve(developerName, name -> {
+                Developer developer = new Developer();
+                developer.setDeveloperName(name);
+                developer.setDeveloperCountry(trimToNull(data.getDeveloperCountry()));
+                return developer;
+            }));
+        }
+        if (data.getGenres() != null) {
+            for (String genreName : data.getGenres()) {
+                game.getGenres().add(lookups.genres.resolve(genreName.trim(), name -> {
+                    Genre genre = new Genre();
+                    genre.setGenreName(name);
+                    return genre;
+                }));
+            }
+        }
+        return game;
+    }
+
+    // Why a row can't be imported, or null
+    private static String validate(GameImportData data) {
+        if (data == null) {
+            return "Row is empty.";
+        }
+        if (trimToNull(data.getGameTitle()) == null) {
+            return "gameTitle is required.";
+        }
+        String tooLong = tooLong("gameTitle", data.getGameTitle());
+        tooLong = tooLong != null ? tooLong : tooLong("gameDescription", data.getGameDescription());
+        tooLong = tooLong != null ? tooLong : tooLong("developerName", data.getDeveloperName());
+        tooLong = tooLong != null ? tooLong : tooLong("developerCountry", data.getDeveloperCountry());
+        if (tooLong != null) {
+            return tooLong;
+        }
+        String releaseDate = trimToNull(data.getGameReleaseDate());
+        if (releaseDate != null) {
+            try {
+                LocalDate.parse(releaseDate);
+            } catch (DateTimeParseException e) {
+                return "gameReleaseDate must be yyyy-MM-dd, not \"" + truncate(releaseDate, 40) + "\".";
+            }
+        }
+        if (data.getGenres() != null) {
+            for (String genreName : data.getGenres()) {
+                if (trimToNull(genreName) == null) {
+                    return "Genre names must not be blank.";
+                }
+                if (tooLong("genre name", genreName) != null) {
+                    return tooLong("genre name", genreName);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String tooLong(String field, String value) {
+        return value != null && value.trim().length() > MAX_TEXT
+                ? field + " is longer than " + MAX_TEXT + " characters." : null;
+    }
+
+    // =============================
+    // NAME LOOKUPS
+    // =============================
+
+    private final class Lookups {
+        final NameLookup<Developer> developers;
+        final NameLookup<Genre> genres;
+
+        Lookups(List<EntityName> developerNames, List<EntityName> genreNames) {
+            developers = new NameLookup<>(Developer.class, developerNames, developerDao::findAllById,
+                    Developer::getDeveloperId);
+            genres = new NameLookup<>(Genre.class, genreNames, genreDao::findAllById, Genre::getGenreId);
+        }
+
+        // Loads the chunk's existing developers and genres: two queries instead of one per row
+        void load(List<Row> rows) {
+            Set<String> developerNames = new HashSet<>();
+            Set<String> genreNames = new HashSet<>();
+            for (Row row : rows) {
+                if (row.data() != null) {
+                    developerNames.add(row.data().getDeveloperName());
+                    if (row.data().getGenres() != null) {
+                        genreNames.addAll(row.data().getGenres());
+                    }
+                }
+            }
+            developers.load(developerNames);
+            genres.load(genreNames);
+        }
+
+        void keep() {
+            developers.keep();
+            genres.keep();
+        }
+
+        void discard() {
+            developers.discard();
+            genres.discard();
+        }
+    }
+
+    /*
+     * Name (trimmed, lower case) -> id of one entity type. Entities created
+     * by a chunk are staged in "created" and only become lookups once the
+     * chunk committed (keep); a rollback forgets them (discard).
+     */
+    private final class NameLookup<E> {
+        final Class<E> type;
+        final Function<List<Integer>, List<E>> findAllById;
+        final Function<E, Integer> idOf;
+        final Map<String, Integer> ids = new HashMap<>();
+        final Map<String, E> created = new LinkedHashMap<>(); // this chunk's new entities by name key
+
+        NameLookup(Class<E> type, List<EntityName> names, Function<List<Integer>, List<E>> findAllById,
+                Function<E, Integer> idOf) {
+            this.type = type;
+            this.findAllById = findAllById;
+            this.idOf = idOf;
+            names.stream()
+                    .filter(name -> name.name() != null)
+                    .sorted(Comparator.comparing(EntityName::id)) // duplicate names: the oldest wins
+                    .forEach(name -> ids.putIfAbsent(key(name.name()), name.id()));
+        }
+
+        // Makes the entities of the known names managed; names whose row is gone are forgotten
+        void load(Set<String> names) {
+            Map<Integer, String> keysById = new HashMap<>();
+            for (String name : names) {
+                Integer id = trimToNull(name) == null ? null : ids.get(key(name));
+                if (id != null) {
+                    keysById.put(id, key(name));
+                }
+            }
+            if (keysById.isEmpty()) {
+                return;
+            }
+            for (E entity : findAllById.apply(new ArrayList<>(keysById.keySet()))) {
+                keysById.remove(idOf.apply(entity));
+            }
+            keysById.values().forEach(ids::remove); // deleted since the lookup was loaded: created again
+        }
+
+        // The entity for a name: loaded by load() (no query), or created and persisted
+        E resolve(String name, Function<String, E> create) {
+            Integer id = ids.get(key(name));
+            if (id != null) {
+                return entityManager.getReference(type, id);
+            }
+            return created.computeIfAbsent(key(name), key -> {
+                E entity = create.apply(name);
+                entityManager.persist(entity); // takes a pooled id, INSERT on flush
+                return entity;
+            });
+        }
+
+        void keep() {
+            created.forEach((key, entity) -> ids.put(key, idOf.apply(entity)));
+            created.clear();
+        }
+
+        void discard() {
+            created.clear();
+        }
+    }
+
+    private static String key(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // =============================
+    // HELPERS
+    // =============================
+
+    /*
+     * ImportSource
+     * ----------------------
+     * The file as the parser reads it, from a byte offset just after a row
+     * (0 = the start). A parser can't start in the middle of a file, so
+     * what it needs is put in front:
+     * - CSV:  the header line
+     * - JSON: "[" in place of the "," before the next element of a
+     *         top-level array (NDJSON needs nothing)
+     *
+     * The parsers report char offsets only (CSV always does; JSON from a
+     * Reader), so the UTF-8 bytes of the chars read are counted here and
+     * fileOffset maps the parser's position back to a byte offset. Chars
+     * read ahead of that position are kept until the next call.
+     */
+    private static final class ImportSource extends Reader {
+
+        private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+        // One read of the parser: where it started, and the chars
+        private record Segment(long charStart, long byteStart, char[] chars) {
+        }
+
+        private final Reader in;
+        private final long origin; // file offset of the first byte decoded (less the prefix)
+        private final Deque<Segment> segments = new ArrayDeque<>();
+        private long chars;
+        private long bytes;
+
+        private ImportSource(InputStream in, long origin) {
+            // malformed bytes fail the import: a replacement char would throw the offsets off
+            this.in = new InputStreamReader(in, StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT));
+            this.origin = origin;
+        }
+
+        static ImportSource open(Path file, Format format, long offset) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                byte[] prefix = new byte[0];
+                long position = offset;
+                if (offset == 0) {
+                    position = startsWith(channel, 0, BOM) ? BOM.length : 0;
+                } else if (format == Format.CSV) {
+                    prefix = headerLine(channel);
+                } else {
+                    long next = skipWhitespace(channel, offset);
+                    int b = byteAt(channel, next);
+                    if (b == ',') {
+                        prefix = new byte[] {'['};
+                        position = next + 1;
+                    } else if (b == ']') {
+                        prefix = new byte[] {'['};
+                    }
+                }
+                channel.position(position);
+                InputStream rest = Channels.newInputStream(channel);
+                return new ImportSource(new SequenceInputStream(new ByteArrayInputStream(prefix), rest),
+                        position - prefix.length);
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            int n = in.read(buffer, offset, length);
+            if (n > 0) {
+                segments.addLast(new Segment(chars, bytes, Arrays.copyOfRange(buffer, offset, offset + n)));
+                chars += n;
+                bytes += utf8Length(buffer, offset, n);
+            }
+            return n;
+        }
+
+        // File offset of the parser's position (just after the row it returned last)
+        long fileOffset(JsonParser parser) {
+            long charOffset = parser.currentLocation().getCharOffset();
+            while (!segments.isEmpty()
+                    && segments.peekFirst().charStart() + segments.peekFirst().chars().length <= charOffset) {
+                segments.removeFirst();
+            }
+            Segment segment = segments.peekFirst();
+            long byteOffset = segment == null ? bytes
+                    : segment.byteStart() + utf8Length(segment.chars(), 0, (int) (charOffset - segment.charStart()));
+            return origin + byteOffset;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private static int utf8Length(char[] buffer, int offset, int length) {
+            int n = 0;
+            for (int i = offset; i < offset + length; i++) {
+                char c = buffer[i];
+                if (c < 0x80) {
+                    n += 1;
+                } else if (c < 0x800) {
+                    n += 2;
+                } else if (Character.isHighSurrogate(c)) {
+                    n += 4; // the low surrogate that follows adds nothing
+                } else if (!Character.isLowSurrogate(c)) {
+                    n += 3;
+                }
+            }
+            return n;
+        }
+
+        // The first non-blank line, with its line break; a quoted line break doesn't end it
+        private static byte[] headerLine(FileChannel channel) throws IOException {
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            boolean quoted = false;
+            boolean blank = true;
+            long position = startsWith(channel, 0, BOM) ? BOM.length : 0;
+            for (int b; (b = byteAt(channel, position)) >= 0; position++) {
+                header.write(b);
+                if (b == '"') {
+                    quoted = !quoted;
+                } else if (b == '\n' && !quoted && !blank) {
+                    return header.toByteArray();
+                } else if (!isWhitespace(b)) {
+                    blank = false;
+                }
+            }
+            header.write('\n');
+            return header.toByteArray();
+        }
+
+        private static long skipWhitespace(FileChannel channel, long position) throws IOException {
+            int b;
+            while ((b = byteAt(channel, position)) >= 0 && isWhitespace(b)) {
+                position++;
+            }
+            return position;
+        }
+
+        // JSON whitespace (also all a blank CSV line can hold)
+        private static boolean isWhitespace(int b) {
+            return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+        }
+
+        private static boolean startsWith(FileChannel channel, long position, byte[] bytes) throws IOException {
+            for (int i = 0; i < bytes.length; i++) {
+                if (byteAt(channel, position + i) != (bytes[i] & 0xFF)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // One byte (-1 at the end); only used for the few bytes around the offset and the header
+        private static int byteAt(FileChannel channel, long position) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            return channel.read(buffer, position) == 1 ? buffer.get(0) & 0xFF : -1;
+        }
+    }
+
+    private static String trimToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static String truncate(String value, int length) {
+        return value == null || value.length() <= length ? value : value.substring(0, length - 3) + "...";
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", file, e);
+        }
+    }
+}
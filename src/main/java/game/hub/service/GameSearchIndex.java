@@ -0,0 +1,120 @@
+package game.hub.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import game.hub.controller.model.GameData;
+import game.hub.dao.GameDao;
+import game.hub.dao.GameText;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * GameSearchIndex
+ * ----------------------
+ * In-memory inverted index over Game.gameTitle and Game.gameDescription,
+ * behind GET /gamehub/games/search (no LIKE '%x%' scans on MySQL).
+ *
+ * - The postings and BM25 ranking live in SearchIndex (see there); this
+ *   component owns it and guards it with a read/write lock.
+ * - Built at startup from GameDao, then kept current from the change events
+ *   (after commit).
+ */
+@Component
+@Slf4j
+public class GameSearchIndex {
+
+    @Autowired
+    private GameDao gameDao;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private SearchIndex index = new SearchIndex();
+
+    // Changes seen while a rebuild is running, replayed onto the new index
+    private List<Consumer<SearchIndex>> changesDuringRebuild;
+
+    // =============================
+    // BUILD AND UPDATE
+    // =============================
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        SearchIndex fresh = new SearchIndex();
+        try (Stream<GameText> texts = gameDao.streamAllText()) {
+            texts.forEach(text -> fresh.upsert(text.gameId(), text.gameTitle(), text.gameDescription()));
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild.forEach(change -> change.accept(fresh));
+                changesDuringRebuild = null;
+                index = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Search index built: {} games, {} terms in {} ms",
+                fresh.liveDocs(), fresh.termCount(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameChanged(GameChangedEvent event) {
+        GameData game = event.game();
+        if (event.deleted()) {
+            apply(index -> index.remove(event.gameId()));
+        } else {
+            apply(index -> index.upsert(game.getGameId(), game.getGameTitle(), game.getGameDescription()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        if (!event.deletedGameIds().isEmpty()) {
+            apply(index -> event.deletedGameIds().forEach(index::remove));
+        }
+    }
+
+    private void apply(Consumer<SearchIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // =============================
+    // SEARCH
+    // =============================
+
+    // Ids of the best matching games, best first
+    public List<Integer> search(String query, int limit) {
+        List<String> terms = SearchIndex.tokenize(query).stream().distinct().toList();
+        lock.readLock().lock();
+        try {
+            return index.search(terms, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
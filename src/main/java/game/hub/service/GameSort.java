@@ -0,0 +1,37 @@
+package game.hub.service;
+
+/*
+ * GameSort
+ * ----------------------
+ * Orderings supported by the paginated game list (?sort=).
+ * Every ordering ends with gameId so the keyset is unique.
+ */
+public enum GameSort {
+    ID("gameId"),
+    TITLE("gameTitle"),
+    RELEASE_DATE("gameReleaseDate");
+
+    private final String param;
+
+    GameSort(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    // Parse the ?sort= request parameter (null = sort by id)
+    public static GameSort fromParam(String param) {
+        if (param == null || param.isBlank()) {
+            return ID;
+        }
+        for (GameSort sort : values()) {
+            if (sort.param.equals(param)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + param
+                + " (use gameId, gameTitle or gameReleaseDate).");
+    }
+}
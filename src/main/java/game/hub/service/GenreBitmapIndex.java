@@ -0,0 +1,253 @@
+package game.hub.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.GenreData;
+import game.hub.dao.GameDao;
+import game.hub.dao.GameGenreLink;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * GenreBitmapIndex
+ * ----------------------
+ * One compressed bitmap (RoaringBitmap) of game ids per genre, plus one of
+ * all game ids, answering "all of / any of / none of these genres" without
+ * multi-way joins over game_genre.
+ *
+ * - Built at startup from GameDao.streamAllGenreLinks
+ * - Kept current from the change events (after commit); changes seen while
+ *   a rebuild is running are replayed onto the new bitmaps
+ * - Ids are primitive ints inside the bitmaps. Each game's genre ids are
+ *   also kept (one int[] per game), so a changed game is taken out of its
+ *   old genres only, not out of every genre
+ * - A query starts from its smallest included bitmap (see find)
+ */
+@Component
+@Slf4j
+public class GenreBitmapIndex {
+
+    @Autowired
+    private GameDao gameDao;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Bitmaps bitmaps = new Bitmaps();
+
+    // Changes seen while a rebuild is running, replayed onto the new bitmaps
+    private List<Consumer<Bitmaps>> changesDuringRebuild;
+
+    // Matching game ids, one page at a time
+    public record Match(int count, List<Integer> gameIds, boolean hasMore) {
+    }
+
+    // =============================
+    // BUILD AND UPDATE
+    // =============================
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Bitmaps fresh = new Bitmaps();
+        try (Stream<GameGenreLink> links = gameDao.streamAllGenreLinks()) {
+            links.forEach(link -> fresh.add(link.gameId(), link.genreId()));
+            fresh.optimize();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild.forEach(change -> change.accept(fresh));
+                changesDuringRebuild = null;
+                bitmaps = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Genre bitmaps built: {} games, {} genres in {} ms",
+                fresh.allGames.getCardinality(), fresh.byGenre.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameChanged(GameChangedEvent event) {
+        GameData game = event.game();
+        if (event.deleted()) {
+            apply(bitmaps -> bitmaps.remove(event.gameId()));
+        } else {
+            List<Integer> genreIds = game.getGenres() == null ? List.of()
+                    : game.getGenres().stream().map(GenreData::getGenreId).toList();
+            apply(bitmaps -> bitmaps.replace(event.gameId(), genreIds));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGenreChanged(GenreChangedEvent event) {
+        if (event.deleted()) {
+            apply(bitmaps -> bitmaps.removeGenre(event.genreId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        if (!event.deletedGameIds().isEmpty()) {
+            apply(bitmaps -> event.deletedGameIds().forEach(bitmaps::remove));
+        }
+    }
+
+    private void apply(Consumer<Bitmaps> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(bitmaps);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // =============================
+    // QUERY
+    // =============================
+
+    /*
+     * Games having every genre in "all", at least one genre in "any" and
+     * no genre in "none" (empty lists don't restrict). Returns the total
+     * count and up to pageSize ids greater than afterId, ascending.
+     *
+     * Every genre bitmap is a subset of allGames, so the result starts from
+     * the smallest included set ("all" genres, the union of "any") instead
+     * of a copy of allGames; each AND after it can only shrink it. Without
+     * an included set, allGames is read as is (ANDNOT makes a new bitmap).
+     */
+    public Match find(Collection<Integer> all, Collection<Integer> any, Collection<Integer> none,
+            int afterId, int pageSize) {
+        lock.readLock().lock();
+        try {
+            List<RoaringBitmap> included = new ArrayList<>(all.size() + 1);
+            for (Integer genreId : all) {
+                included.add(bitmaps.get(genreId));
+            }
+            if (!any.isEmpty()) {
+                included.add(RoaringBitmap.or(any.stream().map(bitmaps::get).iterator()));
+            }
+            included.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+
+            // Shared with the index (not modified) until the first AND / ANDNOT copies it
+            RoaringBitmap result = included.isEmpty() ? bitmaps.allGames : included.get(0);
+            if (included.size() > 1) {
+                result = RoaringBitmap.and(result, included.get(1));
+                for (int i = 2; i < included.size() && !result.isEmpty(); i++) {
+                    result.and(included.get(i));
+                }
+            }
+            if (!none.isEmpty() && !result.isEmpty()) {
+                result = RoaringBitmap.andNot(result, RoaringBitmap.or(none.stream().map(bitmaps::get).iterator()));
+            }
+
+            List<Integer> page = new ArrayList<>(pageSize);
+            PeekableIntIterator ids = result.getIntIterator();
+            ids.advanceIfNeeded(afterId + 1);
+            while (ids.hasNext() && page.size() < pageSize) {
+                page.add(ids.next());
+            }
+            return new Match(result.getCardinality(), page, ids.hasNext());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // =============================
+    // BITMAP DATA
+    // =============================
+
+    // All bitmap state; guarded by the lock of the enclosing component
+    private static final class Bitmaps {
+        private static final RoaringBitmap EMPTY = new RoaringBitmap();
+        private static final int[] NO_GENRES = new int[0];
+
+        final RoaringBitmap allGames = new RoaringBitmap();
+        final Map<Integer, RoaringBitmap> byGenre = new HashMap<>();
+        // The genres each game is in, to take it out of them again
+        final Map<Integer, int[]> genresByGame = new HashMap<>();
+
+        // Unknown genres simply have no games (never modify the result)
+        RoaringBitmap get(Integer genreId) {
+            return byGenre.getOrDefault(genreId, EMPTY);
+        }
+
+        void add(int gameId, Integer genreId) {
+            allGames.add(gameId);
+            if (genreId != null) {
+                byGenre.computeIfAbsent(genreId, id -> new RoaringBitmap()).add(gameId);
+                genresByGame.merge(gameId, new int[] { genreId }, Bitmaps::concat);
+            }
+        }
+
+        void replace(int gameId, List<Integer> genreIds) {
+            remove(gameId);
+            allGames.add(gameId);
+            genreIds.forEach(genreId -> add(gameId, genreId));
+        }
+
+        void remove(int gameId) {
+            allGames.remove(gameId);
+            for (int genreId : genresByGame.getOrDefault(gameId, NO_GENRES)) {
+                RoaringBitmap games = byGenre.get(genreId);
+                if (games != null) {
+                    games.remove(gameId);
+                }
+            }
+            genresByGame.remove(gameId);
+        }
+
+        void removeGenre(Integer genreId) {
+            RoaringBitmap games = byGenre.remove(genreId);
+            if (games != null) {
+                games.forEach((int gameId) -> genresByGame.computeIfPresent(gameId,
+                        (id, genreIds) -> without(genreIds, genreId)));
+            }
+        }
+
+        // Switch dense ranges to run containers after a bulk load
+        void optimize() {
+            allGames.runOptimize();
+            byGenre.values().forEach(RoaringBitmap::runOptimize);
+        }
+
+        private static int[] concat(int[] genreIds, int[] more) {
+            int[] result = Arrays.copyOf(genreIds, genreIds.length + more.length);
+            System.arraycopy(more, 0, result, genreIds.length, more.length);
+            return result;
+        }
+
+        // null (no genres left) removes the game's entry
+        private static int[] without(int[] genreIds, int genreId) {
+            int[] result = Arrays.stream(genreIds).filter(id -> id != genreId).toArray();
+            return result.length == 0 ? null : result;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package game.hub.service;
+
+/*
+ * GenreChangedEvent
+ * ----------------------
+ * Published by GameHubService when a genre is created, updated or deleted
+ * (delivered after commit, see GameChangedEvent).
+ * - genreName = the name as saved, null when the genre was deleted
+ */
+public record GenreChangedEvent(Integer genreId, String genreName, boolean deleted) {
+}
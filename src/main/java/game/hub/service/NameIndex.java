@@ -0,0 +1,265 @@
+package game.hub.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import game.hub.controller.model.SuggestionData;
+import game.hub.dao.NamedRelease;
+
+/*
+ * NameIndex
+ * ----------------------
+ * Immutable prefix index over game titles and developer names, the
+ * snapshot behind AutocompleteIndex.
+ *
+ * - Every name packed into one char[], sorted case-insensitively, with
+ *   ids and weights in parallel primitive arrays
+ * - A prefix is a contiguous range of that order (two binary searches);
+ *   a max-weight segment tree over the range hands out the best "limit"
+ *   names without looking at the rest of the range
+ * - A second, small NameIndex can be laid over a big one (see
+ *   suggest(base, hidden, delta, ...)): AutocompleteIndex keeps recent
+ *   changes that way between full rebuilds
+ *
+ * Safe to share between threads once built.
+ */
+public final class NameIndex {
+
+    private static final byte GAME = 0;
+    private static final byte DEVELOPER = 1;
+
+    private final char[] text;    // all names, back to back, in sorted order
+    private final int[] offsets;  // name i = text[offsets[i] .. offsets[i + 1])
+    private final int[] ids;
+    private final byte[] types;
+    private final long[] weights;
+    private final int[] best;     // segment tree: best[node] = index with the highest weight below node
+    private final long[] byKey;   // key << 31 | index, sorted: finds a name by type and id
+
+    private NameIndex(List<Entry> sorted) {
+        int n = sorted.size();
+        offsets = new int[n + 1];
+        ids = new int[n];
+        types = new byte[n];
+        weights = new long[n];
+        for (int i = 0; i < n; i++) {
+            Entry entry = sorted.get(i);
+            offsets[i + 1] = offsets[i] + entry.name().length();
+            ids[i] = entry.id();
+            types[i] = entry.type();
+            weights[i] = entry.weight();
+        }
+        text = new char[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            String name = sorted.get(i).name();
+            name.getChars(0, name.length(), text, offsets[i]);
+        }
+
+        best = new int[2 * n];
+        for (int i = 0; i < n; i++) {
+            best[n + i] = i;
+        }
+        for (int node = n - 1; node > 0; node--) {
+            best[node] = heavier(best[2 * node], best[2 * node + 1]);
+        }
+
+        byKey = new long[n];
+        for (int i = 0; i < n; i++) {
+            byKey[i] = key(types[i], ids[i]) << 31 | i;
+        }
+        Arrays.sort(byKey);
+    }
+
+    // Weight = release date (games) or latest game release (developers)
+    public static NameIndex build(List<NamedRelease> games, List<NamedRelease> developers) {
+        List<Entry> sorted = new ArrayList<>(games.size() + developers.size());
+        games.forEach(game -> sorted.add(new Entry(GAME, game)));
+        developers.forEach(developer -> sorted.add(new Entry(DEVELOPER, developer)));
+        sorted.sort((a, b) -> compareFolded(a.name(), b.name()));
+        return new NameIndex(sorted);
+    }
+
+    // Identifies a name across indexes (see suggest(base, hidden, delta, ...))
+    static long gameKey(int gameId) {
+        return key(GAME, gameId);
+    }
+
+    static long developerKey(int developerId) {
+        return key(DEVELOPER, developerId);
+    }
+
+    private static long key(byte type, int id) {
+        return (long) type << 31 | id;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    // Bytes held by the arrays
+    public long memoryBytes() {
+        return 2L * text.length + 4L * offsets.length + 4L * ids.length + types.length
+                + 8L * weights.length + 4L * best.length + 8L * byKey.length;
+    }
+
+    // Release date behind the weight of the name with this key; null = no date or no such name
+    LocalDate releaseDateOf(long key) {
+        int at = Arrays.binarySearch(byKey, key << 31);
+        at = at >= 0 ? at : -at - 1;
+        if (at == byKey.length || byKey[at] >>> 31 != key) {
+            return null;
+        }
+        long weight = weights[(int) (byKey[at] & Integer.MAX_VALUE)];
+        return weight == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(weight);
+    }
+
+    // Best "limit" names starting with prefix (case-insensitive), highest weight first
+    public List<SuggestionData> suggest(String prefix, int limit) {
+        int[] top = top(prefix, limit, Set.of());
+        List<SuggestionData> suggestions = new ArrayList<>(top.length);
+        for (int index : top) {
+            suggestions.add(suggestion(index));
+        }
+        return suggestions;
+    }
+
+    /*
+     * Best "limit" names of base and delta together, leaving out the names
+     * of base whose key is in hidden (changed or deleted since base was
+     * built); on equal weights base comes first
+     */
+    static List<SuggestionData> suggest(NameIndex base, Set<Long> hidden, NameIndex delta, String prefix,
+            int limit) {
+        int[] fromBase = base.top(prefix, limit, hidden);
+        int[] fromDelta = delta.top(prefix, limit, Set.of());
+        List<SuggestionData> suggestions = new ArrayList<>(Math.min(limit, fromBase.length + fromDelta.length));
+        int i = 0;
+        int j = 0;
+        while (suggestions.size() < limit && (i < fromBase.length || j < fromDelta.length)) {
+            if (j == fromDelta.length
+                    || (i < fromBase.length && base.weights[fromBase[i]] >= delta.weights[fromDelta[j]])) {
+                suggestions.add(base.suggestion(fromBase[i++]));
+            } else {
+                suggestions.add(delta.suggestion(fromDelta[j++]));
+            }
+        }
+        return suggestions;
+    }
+
+    // Indexes of the best "limit" names starting with prefix and not in hidden, highest weight first
+    private int[] top(String prefix, int limit, Set<Long> hidden) {
+        int from = firstMatch(prefix, false);
+        int to = firstMatch(prefix, true);
+        int[] top = new int[Math.max(Math.min(limit, to - from), 0)];
+        if (top.length == 0) {
+            return top;
+        }
+
+        // Ranges ordered by their heaviest name; take the best, split around it
+        PriorityQueue<int[]> ranges = new PriorityQueue<>(
+                Comparator.comparingLong((int[] range) -> weights[range[2]]).reversed());
+        ranges.add(new int[] {from, to, heaviest(from, to)});
+        int count = 0;
+        while (!ranges.isEmpty() && count < limit) {
+            int[] range = ranges.poll();
+            int index = range[2];
+            if (hidden.isEmpty() || !hidden.contains(key(types[index], ids[index]))) {
+                top[count++] = index;
+            }
+            if (range[0] < index) {
+                ranges.add(new int[] {range[0], index, heaviest(range[0], index)});
+            }
+            if (index + 1 < range[1]) {
+                ranges.add(new int[] {index + 1, range[1], heaviest(index + 1, range[1])});
+            }
+        }
+        return count == top.length ? top : Arrays.copyOf(top, count);
+    }
+
+    private SuggestionData suggestion(int index) {
+        return new SuggestionData(types[index] == GAME ? "game" : "developer",
+                ids[index], new String(text, offsets[index], offsets[index + 1] - offsets[index]));
+    }
+
+    /*
+     * First name that starts with prefix (after = false), or first name
+     * sorted after every name starting with prefix (after = true)
+     */
+    private int firstMatch(String prefix, boolean after) {
+        int low = 0;
+        int high = ids.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int cmp = comparePrefix(mid, prefix);
+            if (cmp < 0 || (after && cmp == 0)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Compares name i cut to the prefix length against prefix (0 = name starts with prefix)
+    private int comparePrefix(int i, String prefix) {
+        int start = offsets[i];
+        int length = offsets[i + 1] - start;
+        for (int k = 0; k < prefix.length(); k++) {
+            if (k == length) {
+                return -1; // name is a shorter prefix of prefix
+            }
+            int diff = fold(text[start + k]) - fold(prefix.charAt(k));
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return 0;
+    }
+
+    // Index with the highest weight in [from, to)
+    private int heaviest(int from, int to) {
+        int n = ids.length;
+        int result = from;
+        for (int low = from + n, high = to + n; low < high; low >>= 1, high >>= 1) {
+            if ((low & 1) == 1) {
+                result = heavier(result, best[low++]);
+            }
+            if ((high & 1) == 1) {
+                result = heavier(result, best[--high]);
+            }
+        }
+        return result;
+    }
+
+    private int heavier(int a, int b) {
+        return weights[b] > weights[a] ? b : a;
+    }
+
+    // Case-insensitive char comparison used for sorting and searching
+    private static int fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static int compareFolded(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            int diff = fold(a.charAt(i)) - fold(b.charAt(i));
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return a.length() - b.length();
+    }
+
+    private record Entry(byte type, int id, String name, long weight) {
+        Entry(byte type, NamedRelease release) {
+            this(type, release.id(), release.name(),
+                    release.releaseDate() == null ? Long.MIN_VALUE : release.releaseDate().toEpochDay());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package game.hub.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+ * PageCursor
+ * ----------------------
+ * Keyset (cursor) position of the last row on a page.
+ *
+ * - sort  = which ordering the cursor belongs to (cursors can't be mixed)
+ * - id    = primary key of the last row (tie breaker, always unique)
+ * - value = sort column value of the last row (null for id-only sorts
+ *           or when the column itself was null)
+ *
+ * The client only ever sees the Base64 token, so the format can change
+ * without breaking anybody.
+ */
+record PageCursor(String sort, int id, String value) {
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+
+    // Position before the first row (ids start at 1)
+    static PageCursor first(String sort) {
+        return new PageCursor(sort, 0, null);
+    }
+
+    // Decode a token from ?cursor=, or start at the first row if there is none
+    static PageCursor decode(String token, String sort) {
+        if (token == null || token.isBlank()) {
+            return first(sort);
+        }
+
+        String[] parts;
+        int id;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8)
+                    .split("\\|", 3);
+            id = Integer.parseInt(parts[1]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+
+        if (!parts[0].equals(sort)) {
+            throw new IllegalArgumentException(
+                    "Cursor was issued for sort=" + parts[0] + ", not sort=" + sort + ".");
+        }
+        return new PageCursor(parts[0], id, parts.length == 3 ? parts[2] : null);
+    }
+
+    String encode() {
+        String raw = sort + "|" + id + (value == null ? "" : "|" + value);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Validate ?size= (null = default)
+    static int checkSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    "Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        return size;
+    }
+}
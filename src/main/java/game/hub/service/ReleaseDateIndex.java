@@ -0,0 +1,216 @@
+package game.hub.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import game.hub.dao.GameDao;
+import game.hub.dao.GameRelease;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * ReleaseDateIndex
+ * ----------------------
+ * All dated games as one sorted long[] of keys (epochDay << 32 | gameId),
+ * behind GET /gamehub/games/released.
+ *
+ * - A date range is a contiguous slice found with two binary searches;
+ *   newest first is just walking the slice backwards
+ * - Keys are unique (gameId breaks ties within a day), so a key is also a
+ *   keyset cursor position
+ * - Built at startup from GameDao, then kept current from the change
+ *   events (after commit); an update is one remove and one insert
+ *   (System.arraycopy) into the same array
+ * - Games without a release date are not in the index
+ */
+@Component
+@Slf4j
+public class ReleaseDateIndex {
+
+    @Autowired
+    private GameDao gameDao;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Keys keys = new Keys();
+
+    // Changes seen while a rebuild is running, replayed onto the new keys
+    private List<Consumer<Keys>> changesDuringRebuild;
+
+    // One page of game ids, newest first; lastKey = key of the last id (the cursor)
+    public record Page(List<Integer> gameIds, long lastKey, boolean hasMore) {
+    }
+
+    static long key(long epochDay, int gameId) {
+        return epochDay << 32 | (gameId & 0xFFFFFFFFL);
+    }
+
+    static long epochDayOf(long key) {
+        return key >> 32;
+    }
+
+    static int gameIdOf(long key) {
+        return (int) key;
+    }
+
+    // =============================
+    // BUILD AND UPDATE
+    // =============================
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Keys fresh = new Keys();
+        try (Stream<GameRelease> releases = gameDao.streamAllReleaseDates()) {
+            releases.forEach(release -> fresh.append(release.gameId(), release.releaseDate()));
+            fresh.sort();
+        } finally {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild.forEach(change -> change.accept(fresh));
+                changesDuringRebuild = null;
+                keys = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Release date index built: {} games in {} ms", fresh.size, System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameChanged(GameChangedEvent event) {
+        if (event.deleted()) {
+            apply(keys -> keys.remove(event.gameId()));
+        } else {
+            LocalDate releaseDate = event.game().getGameReleaseDate();
+            apply(keys -> keys.put(event.gameId(), releaseDate));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        if (!event.deletedGameIds().isEmpty()) {
+            apply(keys -> event.deletedGameIds().forEach(keys::remove));
+        }
+    }
+
+    private void apply(Consumer<Keys> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(keys);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // =============================
+    // QUERY
+    // =============================
+
+    /*
+     * Games released from..to (inclusive, null = open end), newest first,
+     * starting below beforeKey (Long.MAX_VALUE = first page)
+     */
+    public Page newestFirst(LocalDate from, LocalDate to, long beforeKey, int pageSize) {
+        long lowKey = from == null ? Long.MIN_VALUE : key(from.toEpochDay(), 0);
+        long highKey = to == null ? Long.MAX_VALUE : key(to.toEpochDay() + 1, 0);
+
+        lock.readLock().lock();
+        try {
+            int low = keys.lowerBound(lowKey);
+            int high = keys.lowerBound(Math.min(highKey, beforeKey));
+
+            List<Integer> gameIds = new ArrayList<>(Math.min(pageSize, Math.max(high - low, 0)));
+            int i = high - 1;
+            for (; i >= low && gameIds.size() < pageSize; i--) {
+                gameIds.add(gameIdOf(keys.sorted[i]));
+            }
+            long lastKey = gameIds.isEmpty() ? beforeKey : keys.sorted[i + 1];
+            return new Page(gameIds, lastKey, i >= low);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // =============================
+    // INDEX DATA
+    // =============================
+
+    // All index state; guarded by the lock of the enclosing component
+    private static final class Keys {
+        long[] sorted = new long[1024];
+        int size;
+        final Map<Integer, Long> keyByGameId = new HashMap<>(); // to find the old key on update
+
+        // Bulk load: append unsorted, then sort() once
+        void append(int gameId, LocalDate releaseDate) {
+            long key = key(releaseDate.toEpochDay(), gameId);
+            ensureCapacity();
+            sorted[size++] = key;
+            keyByGameId.put(gameId, key);
+        }
+
+        void sort() {
+            Arrays.sort(sorted, 0, size);
+        }
+
+        void put(int gameId, LocalDate releaseDate) {
+            remove(gameId);
+            if (releaseDate == null) {
+                return;
+            }
+            long key = key(releaseDate.toEpochDay(), gameId);
+            int at = lowerBound(key);
+            ensureCapacity();
+            System.arraycopy(sorted, at, sorted, at + 1, size - at);
+            sorted[at] = key;
+            size++;
+            keyByGameId.put(gameId, key);
+        }
+
+        void remove(int gameId) {
+            Long key = keyByGameId.remove(gameId);
+            if (key == null) {
+                return;
+            }
+            int at = lowerBound(key);
+            System.arraycopy(sorted, at + 1, sorted, at, size - at - 1);
+            size--;
+        }
+
+        // First position whose key is >= key
+        int lowerBound(long key) {
+            int at = Arrays.binarySearch(sorted, 0, size, key);
+            return at >= 0 ? at : -at - 1;
+        }
+
+        private void ensureCapacity() {
+            if (size == sorted.length) {
+                sorted = Arrays.copyOf(sorted, size * 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,501 @@
+package game.hub.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+
+/*
+ * SearchIndex
+ * ----------------------
+ * Inverted index over game titles and descriptions with BM25 ranking, the
+ * data behind GameSearchIndex.
+ *
+ * - Text is lower-cased and split on anything that isn't a letter or digit.
+ *   Title terms count twice, so a title match beats a description match.
+ * - Every indexed game gets a dense doc number. Each term keeps a postings
+ *   list of (doc, term frequency) in plain int arrays, sorted by doc.
+ * - A query ORs its terms and ranks with BM25. The postings lists are merged
+ *   by doc number and only the best "limit" docs are kept in a small heap.
+ * - Block-max MaxScore pruning: every list knows the best score it can add
+ *   (overall and per block of BLOCK postings). Once the heap is full, lists
+ *   that together can't beat its weakest hit are only probed for docs found
+ *   in the others, and whole blocks that can't beat it are skipped. Results
+ *   are the same as scoring every doc; common terms just cost far less.
+ * - Near-stopwords (terms in more than NEAR_STOPWORD_SHARE of the docs)
+ *   first only add to docs found by the other terms. Docs matching nothing
+ *   but near-stopwords come second, and only while they can still beat the
+ *   top hits; at most NEAR_STOPWORD_BUDGET of them are scored, so a query
+ *   of stopwords alone stops early with the best of those instead of
+ *   walking most of the catalog.
+ * - An update gives the game a new doc number; the old one is marked dead and
+ *   skipped. Dead docs are compacted away once they outnumber live ones.
+ *
+ * Not thread-safe: GameSearchIndex guards it.
+ */
+public final class SearchIndex {
+
+    // BM25 parameters (the usual defaults)
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final int TITLE_WEIGHT = 2;
+    private static final int DEAD = -1;
+    private static final int MIN_DEAD_BEFORE_COMPACT = 1024;
+
+    // Postings per score-bound block
+    private static final int BLOCK = 64;
+    // Bounds are raised by this factor so float rounding never prunes a doc that would rank
+    private static final float BOUND_SLACK = 1.0001f;
+
+    // A term in more than this share of the live docs is near a stopword (see search)
+    private static final double NEAR_STOPWORD_SHARE = 0.05;
+    // Most docs scored for near-stopwords alone, per query
+    private static final int NEAR_STOPWORD_BUDGET = 10_000;
+
+    private final int nearStopwordBudget;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Integer, Integer> docByGameId = new HashMap<>();
+    private int[] gameIds = new int[1024]; // doc -> gameId, DEAD once replaced or deleted
+    private int[] lengths = new int[1024]; // doc -> number of (weighted) terms
+    private int docCount;
+    private int liveDocs;
+    private long liveLength;
+
+    public SearchIndex() {
+        this(NEAR_STOPWORD_BUDGET);
+    }
+
+    SearchIndex(int nearStopwordBudget) {
+        this.nearStopwordBudget = nearStopwordBudget;
+    }
+
+    public int liveDocs() {
+        return liveDocs;
+    }
+
+    public int termCount() {
+        return postings.size();
+    }
+
+    // =============================
+    // UPDATE
+    // =============================
+
+    // Indexes the game's text, replacing what was indexed for it before
+    public void upsert(Integer gameId, String title, String description) {
+        remove(gameId);
+
+        Map<String, Integer> freqs = new HashMap<>();
+        int length = addTerms(freqs, title, TITLE_WEIGHT) + addTerms(freqs, description, 1);
+        if (freqs.isEmpty()) {
+            return; // nothing searchable
+        }
+
+        if (docCount == gameIds.length) {
+            gameIds = Arrays.copyOf(gameIds, docCount * 2);
+            lengths = Arrays.copyOf(lengths, docCount * 2);
+        }
+        int doc = docCount++;
+        gameIds[doc] = gameId;
+        lengths[doc] = length;
+        docByGameId.put(gameId, doc);
+        liveDocs++;
+        liveLength += length;
+        float avgLength = (float) liveLength / liveDocs;
+        freqs.forEach((term, freq) ->
+                postings.computeIfAbsent(term, t -> new Postings()).add(doc, freq, length, avgLength));
+    }
+
+    private static int addTerms(Map<String, Integer> freqs, String text, int weight) {
+        List<String> terms = tokenize(text);
+        for (String term : terms) {
+            freqs.merge(term, weight, Integer::sum);
+        }
+        return terms.size() * weight;
+    }
+
+    public void remove(Integer gameId) {
+        Integer doc = docByGameId.remove(gameId);
+        if (doc == null) {
+            return;
+        }
+        gameIds[doc] = DEAD;
+        liveDocs--;
+        liveLength -= lengths[doc];
+
+        int deadDocs = docCount - liveDocs;
+        if (deadDocs > Math.max(MIN_DEAD_BEFORE_COMPACT, liveDocs)) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        int[] newDoc = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (gameIds[doc] == DEAD) {
+                newDoc[doc] = DEAD;
+                continue;
+            }
+            newDoc[doc] = next;
+            gameIds[next] = gameIds[doc];
+            lengths[next] = lengths[doc];
+            docByGameId.put(gameIds[next], next);
+            next++;
+        }
+        docCount = next;
+        float avgLength = liveDocs == 0 ? 1 : (float) liveLength / liveDocs;
+        postings.values().removeIf(list -> list.remap(newDoc, lengths, avgLength) == 0);
+    }
+
+    // =============================
+    // SEARCH
+    // =============================
+
+    /*
+     * Ids of the best "limit" games for the OR of the (distinct, tokenized)
+     * terms, best first. BM25; document frequencies still count dead docs
+     * until the next compaction, which only nudges the idf. Exact, except
+     * that at most nearStopwordBudget docs matching near-stopwords alone
+     * are scored (the first ones in doc order).
+     */
+    public List<Integer> search(List<String> terms, int limit) {
+        List<Postings> found = new ArrayList<>();
+        List<Float> foundIdfs = new ArrayList<>();
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list != null) {
+                int df = Math.min(list.size, liveDocs);
+                found.add(list);
+                foundIdfs.add((float) Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5)));
+            }
+        }
+        if (found.isEmpty() || liveDocs == 0) {
+            return List.of();
+        }
+
+        int n = found.size();
+        Postings[] lists = found.toArray(new Postings[n]);
+        float[] idfs = new float[n];
+        boolean[] nearStopword = new boolean[n];
+        List<Postings> rareLists = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            idfs[i] = foundIdfs.get(i);
+            nearStopword[i] = lists[i].size > liveDocs * NEAR_STOPWORD_SHARE;
+            if (!nearStopword[i]) {
+                rareLists.add(lists[i]);
+            }
+        }
+        int common = n - rareLists.size();
+        float avgLength = (float) liveLength / liveDocs;
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit, Comparator.comparingDouble(Hit::score));
+
+        // 1: docs with a rarer term; near-stopwords only add to them
+        if (common < n) {
+            collect(lists, idfs, nearStopword, new Postings[0], avgLength, best, limit, Integer.MAX_VALUE);
+        }
+        // 2: docs with nothing but near-stopwords, while they can still make the top and the budget lasts
+        if (common > 0) {
+            Postings[] commonLists = new Postings[common];
+            float[] commonIdfs = new float[common];
+            float commonBound = 0;
+            for (int i = 0, c = 0; i < n; i++) {
+                if (nearStopword[i]) {
+                    commonLists[c] = lists[i];
+                    commonIdfs[c++] = idfs[i];
+                    commonBound += lists[i].maxScore(idfs[i], avgLength);
+                }
+            }
+            if (commonBound > threshold(best, limit)) {
+                collect(commonLists, commonIdfs, new boolean[common], rareLists.toArray(new Postings[0]),
+                        avgLength, best, limit, nearStopwordBudget);
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble((Hit hit) -> hit.score()).reversed());
+        return hits.stream().map(Hit::gameId).toList();
+    }
+
+    // Score to beat once the heap is full
+    private static float threshold(PriorityQueue<Hit> best, int limit) {
+        return best.size() < limit ? Float.NEGATIVE_INFINITY : best.peek().score();
+    }
+
+    /*
+     * Adds the best docs of the OR of lists to "best", scoring at most
+     * "budget" docs:
+     * - lists[i] with probeOnly[i] only add to docs found in the others
+     * - docs found in any of "skip" are left out (already collected)
+     */
+    private void collect(Postings[] lists, float[] idfs, boolean[] probeOnly, Postings[] skip, float avgLength,
+            PriorityQueue<Hit> best, int limit, int budget) {
+        int n = lists.length;
+
+        // Lists by the most they can add to a score, lowest first (probe-only lists before the others);
+        // bounds[k] = most order[0..k] add together
+        float[] maxScores = new float[n];
+        for (int i = 0; i < n; i++) {
+            maxScores[i] = lists[i].maxScore(idfs[i], avgLength);
+        }
+        int[] order = IntStream.range(0, n).boxed()
+                .sorted(Comparator.comparing((Integer i) -> !probeOnly[i])
+                        .thenComparingDouble(i -> maxScores[i]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        float[] bounds = new float[n];
+        for (int k = 0; k < n; k++) {
+            bounds[k] = (k == 0 ? 0 : bounds[k - 1]) + maxScores[order[k]];
+        }
+
+        int[] cursors = new int[n];
+        int[] skipCursors = new int[skip.length];
+        float[] contributions = new float[n];
+        float threshold = threshold(best, limit);
+        int firstEssential = 0; // order[0 .. firstEssential) are probe-only or can't beat the threshold alone
+        while (firstEssential < n && probeOnly[order[firstEssential]]) {
+            firstEssential++;
+        }
+        while (firstEssential < n && bounds[firstEssential] <= threshold) {
+            firstEssential++;
+        }
+        int scored = 0;
+
+        while (firstEssential < n) {
+            // Next doc in an essential list
+            int doc = Integer.MAX_VALUE;
+            for (int k = firstEssential; k < n; k++) {
+                int i = order[k];
+                if (cursors[i] < lists[i].size) {
+                    doc = Math.min(doc, lists[i].docs[cursors[i]]);
+                }
+            }
+            if (doc == Integer.MAX_VALUE) {
+                break;
+            }
+
+            // Bound for every doc from here to the next block boundary of any list
+            int blockEnd = Integer.MAX_VALUE;
+            float blockBound = 0;
+            for (int k = 0; k < n; k++) {
+                int i = order[k];
+                Postings list = lists[i];
+                if (k < firstEssential) {
+                    cursors[i] = list.seek(cursors[i], doc);
+                }
+                if (cursors[i] < list.size) {
+                    int block = cursors[i] / BLOCK;
+                    blockBound += list.blockMaxScore(block, idfs[i], avgLength);
+                    int nextBlock = (block + 1) * BLOCK;
+                    if (nextBlock < list.size) {
+                        blockEnd = Math.min(blockEnd, list.docs[nextBlock]);
+                    }
+                }
+            }
+            if (blockBound <= threshold) {
+                if (blockEnd == Integer.MAX_VALUE) {
+                    break; // every list ends in these blocks
+                }
+                for (int k = firstEssential; k < n; k++) {
+                    cursors[order[k]] = lists[order[k]].seek(cursors[order[k]], blockEnd);
+                }
+                continue;
+            }
+
+            // Score the doc: essential lists first, then the others while they can still lift it
+            Arrays.fill(contributions, 0);
+            float partial = 0;
+            for (int k = firstEssential; k < n; k++) {
+                int i = order[k];
+                Postings list = lists[i];
+                if (cursors[i] < list.size && list.docs[cursors[i]] == doc) {
+                    contributions[i] = termScore(idfs[i], list.freqs[cursors[i]++], lengths[doc], avgLength);
+                    partial += contributions[i];
+                }
+            }
+            if (gameIds[doc] == DEAD || contains(skip, skipCursors, doc)) {
+                continue;
+            }
+            if (scored++ == budget) {
+                break;
+            }
+            boolean pruned = false;
+            for (int k = firstEssential - 1; k >= 0 && !pruned; k--) {
+                if (partial + bounds[k] <= threshold) {
+                    pruned = true;
+                } else {
+                    int i = order[k];
+                    Postings list = lists[i];
+                    cursors[i] = list.seek(cursors[i], doc);
+                    if (cursors[i] < list.size && list.docs[cursors[i]] == doc) {
+                        contributions[i] = termScore(idfs[i], list.freqs[cursors[i]], lengths[doc], avgLength);
+                        partial += contributions[i];
+                    }
+                }
+            }
+            if (pruned) {
+                continue;
+            }
+
+            float score = 0;
+            for (int i = 0; i < n; i++) {
+                score += contributions[i]; // query order, so scores don't depend on the pruning
+            }
+            if (best.size() < limit) {
+                best.add(new Hit(gameIds[doc], score));
+            } else if (score > best.peek().score()) {
+                best.poll();
+                best.add(new Hit(gameIds[doc], score));
+            }
+            if (best.size() == limit && best.peek().score() > threshold) {
+                threshold = best.peek().score();
+                while (firstEssential < n && bounds[firstEssential] <= threshold) {
+                    firstEssential++;
+                }
+            }
+        }
+    }
+
+    // Whether doc is in any of the lists; docs must be asked for in increasing order
+    private static boolean contains(Postings[] lists, int[] cursors, int doc) {
+        for (int i = 0; i < lists.length; i++) {
+            cursors[i] = lists[i].seek(cursors[i], doc);
+            if (cursors[i] < lists[i].size && lists[i].docs[cursors[i]] == doc) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // BM25 score of a term found freq times in a doc of this length
+    private static float termScore(float idf, int freq, int length, float avgLength) {
+        float norm = K1 * (1 - B + B * length / avgLength);
+        return idf * freq * (K1 + 1) / (freq + norm);
+    }
+
+    // Lower-cased runs of letters/digits
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean inToken = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (inToken && start < 0) {
+                start = i;
+            } else if (!inToken && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // =============================
+    // INDEX DATA
+    // =============================
+
+    private record Hit(int gameId, float score) {
+    }
+
+    /*
+     * Docs containing one term, in doc order, with score bounds (dead docs included):
+     * - the whole list: highest freq and shortest doc (each scores higher)
+     * - per BLOCK postings: the best score without idf, at the average length of
+     *   the time. A longer average only raises a score, by at most the ratio of
+     *   the averages, so the bound is scaled by that; a shorter one lowers it.
+     */
+    private static final class Postings {
+        int[] docs = new int[2];
+        int[] freqs = new int[2];
+        int size;
+        int maxFreq;
+        int minLength = Integer.MAX_VALUE;
+        float[] blockMaxScores = new float[1];
+        float[] blockMinAvgLengths = new float[1];
+
+        void add(int doc, int freq, int length, float avgLength) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            bound(size, freq, length, avgLength);
+            size++;
+        }
+
+        // Widens the bounds for the posting at this position
+        private void bound(int position, int freq, int length, float avgLength) {
+            int block = position / BLOCK;
+            if (block == blockMaxScores.length) {
+                blockMaxScores = Arrays.copyOf(blockMaxScores, block * 2);
+                blockMinAvgLengths = Arrays.copyOf(blockMinAvgLengths, block * 2);
+            }
+            float score = termScore(1, freq, length, avgLength);
+            boolean first = position % BLOCK == 0;
+            blockMaxScores[block] = first ? score : Math.max(blockMaxScores[block], score);
+            blockMinAvgLengths[block] = first ? avgLength : Math.min(blockMinAvgLengths[block], avgLength);
+            maxFreq = Math.max(maxFreq, freq);
+            minLength = Math.min(minLength, length);
+        }
+
+        // Most this term adds to any doc's score
+        float maxScore(float idf, float avgLength) {
+            return termScore(idf, maxFreq, minLength, avgLength) * BOUND_SLACK;
+        }
+
+        // Most this term adds to the score of a doc in this block
+        float blockMaxScore(int block, float idf, float avgLength) {
+            float drift = Math.max(1, avgLength / blockMinAvgLengths[block]);
+            return idf * Math.min(K1 + 1, blockMaxScores[block] * drift) * BOUND_SLACK;
+        }
+
+        // First position at or after from whose doc is at least target (galloping, then binary search)
+        int seek(int from, int target) {
+            int low = from;
+            int high = from;
+            for (int step = 1; high < size && docs[high] < target; step <<= 1) {
+                low = high + 1;
+                high += step;
+            }
+            high = Math.min(high, size);
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (docs[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // Renumber docs after compaction, dropping dead ones and tightening the bounds; returns the new size
+        int remap(int[] newDoc, int[] lengths, float avgLength) {
+            int kept = 0;
+            maxFreq = 0;
+            minLength = Integer.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                int doc = newDoc[docs[i]];
+                if (doc != DEAD) {
+                    docs[kept] = doc;
+                    freqs[kept] = freqs[i];
+                    bound(kept, freqs[i], lengths[doc], avgLength);
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+}
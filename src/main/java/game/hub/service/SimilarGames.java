@@ -0,0 +1,509 @@
+package game.hub.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ * SimilarGames
+ * ----------------------
+ * Top-K "more like this" neighbors of every game, precomputed.
+ *
+ *   score(a, b) = Jaccard(genres of a, genres of b)
+ *                 + DEVELOPER_BONUS when a and b have the same developer
+ *
+ * - Genre sets are primitive bitsets (long[] over a dense genre index),
+ *   so a Jaccard score is a few AND/OR + bitCount operations
+ * - Games with the same genre set share a group (signature): the score
+ *   between two groups is computed once, and a group's ranking of the
+ *   other groups is shared by all its games. Real catalogs have far fewer
+ *   distinct genre sets than games
+ * - rebuild() ranks the groups, then picks each game's neighbors, both
+ *   as parallel streams on the given ForkJoinPool
+ * - put()/remove() update incrementally: only the changed game and the
+ *   games that listed it are recomputed in full; every other game that
+ *   shares a genre or the developer just checks whether the changed game
+ *   now beats its K-th neighbor
+ * - Ties are broken by game id, so results are deterministic
+ *
+ * Not thread-safe: SimilarGamesIndex guards it.
+ */
+public final class SimilarGames {
+
+    public static final double DEVELOPER_BONUS = 0.25;
+
+    private static final int[] NO_IDS = new int[0];
+    private static final float[] NO_SCORES = new float[0];
+
+    // One precomputed neighbor
+    public record Neighbor(int gameId, float score) {
+    }
+
+    private final int k;
+
+    private final Map<Integer, Game> games = new HashMap<>();
+    private final Map<Integer, Integer> genreIndex = new HashMap<>(); // genre id -> bit
+    private final Map<Signature, Group> groups = new HashMap<>();
+    private final Map<Integer, Set<Group>> groupsByBit = new HashMap<>();
+    private final Map<Integer, Set<Integer>> gamesByDeveloper = new HashMap<>();
+
+    private static final class Game {
+        final int gameId;
+        final Integer developerId;
+        final Group group;
+        int[] neighborIds = NO_IDS;      // best first
+        float[] neighborScores = NO_SCORES;
+
+        Game(int gameId, Integer developerId, Group group) {
+            this.gameId = gameId;
+            this.developerId = developerId;
+            this.group = group;
+        }
+    }
+
+    // Genre bitset with value equality
+    private record Signature(long[] bits) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Signature signature && Arrays.equals(bits, signature.bits);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(bits);
+        }
+    }
+
+    // Games sharing one genre set, ascending ids
+    private static final class Group {
+        final long[] bits;
+        final TreeSet<Integer> gameIds = new TreeSet<>();
+
+        Group(long[] bits) {
+            this.bits = bits;
+        }
+
+        int firstGameId() {
+            return gameIds.first();
+        }
+    }
+
+    // A group as seen from another group
+    private record RankedGroup(Group group, float score) {
+    }
+
+    // Groups with one score while ranking
+    private static final class Tier {
+        final List<Group> groups = new ArrayList<>();
+        int games;
+    }
+
+    // Candidate while picking neighbors: worst first in the heap
+    private record Candidate(int gameId, float score) {
+    }
+
+    private static final Comparator<RankedGroup> BEST_GROUP_FIRST = Comparator
+            .comparingDouble((RankedGroup ranked) -> -ranked.score())
+            .thenComparingInt(ranked -> ranked.group().firstGameId());
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator
+            .comparingDouble((Candidate candidate) -> -candidate.score())
+            .thenComparingInt(Candidate::gameId);
+
+    public SimilarGames(int k) {
+        this.k = k;
+    }
+
+    public int size() {
+        return games.size();
+    }
+
+    public boolean contains(int gameId) {
+        return games.containsKey(gameId);
+    }
+
+    // Up to "limit" (at most K) neighbors, best first; null = unknown game
+    public List<Neighbor> neighbors(int gameId, int limit) {
+        Game game = games.get(gameId);
+        if (game == null) {
+            return null;
+        }
+        int count = Math.min(limit, game.neighborIds.length);
+        List<Neighbor> neighbors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            neighbors.add(new Neighbor(game.neighborIds[i], game.neighborScores[i]));
+        }
+        return neighbors;
+    }
+
+    // =============================
+    // BULK LOAD
+    // =============================
+
+    // Adds a game without computing any neighbors (call rebuild() after loading)
+    public void load(int gameId, Integer developerId, Collection<Integer> genreIds) {
+        insert(gameId, developerId, genreIds);
+    }
+
+    // Computes every game's neighbors from scratch
+    public void rebuild(ForkJoinPool pool) {
+        pool.submit(() -> {
+            Map<Group, List<RankedGroup>> rankings = new IdentityHashMap<>();
+            List<Group> allGroups = new ArrayList<>(groups.values());
+            List<List<RankedGroup>> ranked = allGroups.parallelStream()
+                    .map(group -> rank(group, needed(group)))
+                    .toList();
+            for (int i = 0; i < allGroups.size(); i++) {
+                rankings.put(allGroups.get(i), ranked.get(i));
+            }
+            // each task writes only its own game's fields
+            games.values().parallelStream().forEach(game -> pickNeighbors(game, rankings.get(game.group)));
+        }).join();
+    }
+
+    // =============================
+    // INCREMENTAL UPDATE
+    // =============================
+
+    // Adds or changes a game; returns how many games were recomputed in full
+    public int put(int gameId, Integer developerId, Collection<Integer> genreIds) {
+        Game old = games.get(gameId);
+        if (old != null) {
+            detach(old);
+        }
+        Game game = insert(gameId, developerId, genreIds);
+
+        Set<Game> recompute = listing(gameId);
+        recompute.add(game);
+        for (Game affected : recompute) {
+            pickNeighbors(affected, rank(affected.group, needed(affected)));
+        }
+
+        // everyone else may now rank the changed game among their best
+        for (Game other : related(game)) {
+            if (!recompute.contains(other)) {
+                offer(other, game.gameId, score(other, game));
+            }
+        }
+        return recompute.size();
+    }
+
+    // Drops a game; returns how many games were recomputed in full
+    public int remove(int gameId) {
+        Game game = games.get(gameId);
+        if (game == null) {
+            return 0;
+        }
+        detach(game);
+        Set<Game> recompute = listing(gameId);
+        for (Game affected : recompute) {
+            pickNeighbors(affected, rank(affected.group, needed(affected)));
+        }
+        return recompute.size();
+    }
+
+    private Game insert(int gameId, Integer developerId, Collection<Integer> genreIds) {
+        long[] bits = bitsOf(genreIds);
+        Group group = groups.computeIfAbsent(new Signature(bits), signature -> {
+            Group created = new Group(bits);
+            forEachBit(bits, bit -> groupsByBit.computeIfAbsent(bit, b -> new HashSet<>()).add(created));
+            return created;
+        });
+        group.gameIds.add(gameId);
+        if (developerId != null) {
+            gamesByDeveloper.computeIfAbsent(developerId, id -> new HashSet<>()).add(gameId);
+        }
+        Game game = new Game(gameId, developerId, group);
+        games.put(gameId, game);
+        return game;
+    }
+
+    private void detach(Game game) {
+        games.remove(game.gameId);
+        Group group = game.group;
+        group.gameIds.remove(game.gameId);
+        if (group.gameIds.isEmpty()) {
+            groups.remove(new Signature(group.bits));
+            forEachBit(group.bits, bit -> groupsByBit.get(bit).remove(group));
+        }
+        if (game.developerId != null) {
+            Set<Integer> developerGames = gamesByDeveloper.get(game.developerId);
+            developerGames.remove(game.gameId);
+            if (developerGames.isEmpty()) {
+                gamesByDeveloper.remove(game.developerId);
+            }
+        }
+    }
+
+    // Games whose neighbor list contains gameId
+    private Set<Game> listing(int gameId) {
+        Set<Game> listing = new HashSet<>();
+        for (Game game : games.values()) {
+            for (int neighborId : game.neighborIds) {
+                if (neighborId == gameId) {
+                    listing.add(game);
+                    break;
+                }
+            }
+        }
+        return listing;
+    }
+
+    // Games sharing a genre or the developer with "game"
+    private Set<Game> related(Game game) {
+        Set<Game> related = new HashSet<>();
+        forEachBit(game.group.bits, bit -> {
+            for (Group group : groupsByBit.get(bit)) {
+                group.gameIds.forEach(id -> related.add(games.get(id)));
+            }
+        });
+        if (game.developerId != null) {
+            gamesByDeveloper.get(game.developerId).forEach(id -> related.add(games.get(id)));
+        }
+        related.remove(game);
+        return related;
+    }
+
+    // Inserts candidateId into game's list if it beats the K-th neighbor
+    private void offer(Game game, int candidateId, float score) {
+        int length = game.neighborIds.length;
+        if (score <= 0 || (length == k && !beats(score, candidateId,
+                game.neighborScores[length - 1], game.neighborIds[length - 1]))) {
+            return;
+        }
+        int at = 0;
+        while (at < length && !beats(score, candidateId, game.neighborScores[at], game.neighborIds[at])) {
+            at++;
+        }
+        int newLength = Math.min(length + 1, k);
+        int[] ids = new int[newLength];
+        float[] scores = new float[newLength];
+        System.arraycopy(game.neighborIds, 0, ids, 0, at);
+        System.arraycopy(game.neighborScores, 0, scores, 0, at);
+        ids[at] = candidateId;
+        scores[at] = score;
+        System.arraycopy(game.neighborIds, at, ids, at + 1, newLength - at - 1);
+        System.arraycopy(game.neighborScores, at, scores, at + 1, newLength - at - 1);
+        game.neighborIds = ids;
+        game.neighborScores = scores;
+    }
+
+    private static boolean beats(float score, int gameId, float otherScore, int otherGameId) {
+        return score > otherScore || (score == otherScore && gameId < otherGameId);
+    }
+
+    // =============================
+    // SCORING
+    // =============================
+
+    /*
+     * The groups sharing a genre with "group", best score first, cut off
+     * once they hold "needed" games (enough to fill K after skipping the
+     * game itself and its developer's games, which are scored separately).
+     */
+    private List<RankedGroup> rank(Group group, int needed) {
+        Ranking ranking = new Ranking(needed);
+        int reachable = 0;
+        for (int word = 0; word < group.bits.length; word++) {
+            for (long remaining = group.bits[word]; remaining != 0; remaining &= remaining - 1) {
+                reachable += groupsByBit.get(word * 64 + Long.numberOfTrailingZeros(remaining)).size();
+            }
+        }
+        if (reachable >= groups.size()) {
+            // dense catalog: one pass over every group beats visiting most of them once per genre
+            for (Group candidate : groups.values()) {
+                float score = jaccard(group.bits, candidate.bits);
+                if (score > 0) {
+                    ranking.offer(candidate, score);
+                }
+            }
+            return ranking.ranked();
+        }
+        for (int word = 0; word < group.bits.length; word++) {
+            for (long remaining = group.bits[word]; remaining != 0; remaining &= remaining - 1) {
+                int bit = word * 64 + Long.numberOfTrailingZeros(remaining);
+                for (Group candidate : groupsByBit.get(bit)) {
+                    if (lowestSharedBit(group.bits, candidate.bits) == bit) { // else seen through an earlier genre
+                        ranking.offer(candidate, jaccard(group.bits, candidate.bits));
+                    }
+                }
+            }
+        }
+        return ranking.ranked();
+    }
+
+    /*
+     * The best groups seen so far, by score, worst tier first. A tier is
+     * dropped whole once the better ones hold "needed" games, so equal
+     * scores are never cut apart (pickNeighbors breaks those ties by id).
+     */
+    private static final class Ranking {
+        final int needed;
+        final TreeMap<Float, Tier> tiers = new TreeMap<>();
+        int held;
+
+        Ranking(int needed) {
+            this.needed = needed;
+        }
+
+        void offer(Group candidate, float score) {
+            if (held >= needed && score < tiers.firstKey()) {
+                return;
+            }
+            Tier tier = tiers.computeIfAbsent(score, s -> new Tier());
+            tier.groups.add(candidate);
+            tier.games += candidate.gameIds.size();
+            held += candidate.gameIds.size();
+            while (held - tiers.firstEntry().getValue().games >= needed) {
+                held -= tiers.pollFirstEntry().getValue().games;
+            }
+        }
+
+        List<RankedGroup> ranked() {
+            List<RankedGroup> ranked = new ArrayList<>();
+            for (Map.Entry<Float, Tier> tier : tiers.descendingMap().entrySet()) {
+                for (Group group : tier.getValue().groups) {
+                    ranked.add(new RankedGroup(group, tier.getKey()));
+                }
+            }
+            ranked.sort(BEST_GROUP_FIRST);
+            return ranked;
+        }
+    }
+
+    private static int lowestSharedBit(long[] a, long[] b) {
+        for (int word = 0; word < Math.min(a.length, b.length); word++) {
+            long shared = a[word] & b[word];
+            if (shared != 0) {
+                return word * 64 + Long.numberOfTrailingZeros(shared);
+            }
+        }
+        return -1;
+    }
+
+    // Games a group's ranking must hold for every member: K, itself, the largest developer among them
+    private int needed(Group group) {
+        int largestDeveloper = 0;
+        for (Integer gameId : group.gameIds) {
+            largestDeveloper = Math.max(largestDeveloper, developerGames(games.get(gameId)).size());
+        }
+        return k + 1 + largestDeveloper;
+    }
+
+    private int needed(Game game) {
+        return k + 1 + developerGames(game).size();
+    }
+
+    private Set<Integer> developerGames(Game game) {
+        return game.developerId == null ? Set.of() : gamesByDeveloper.getOrDefault(game.developerId, Set.of());
+    }
+
+    // The K best of the developer's games and the ranked groups
+    private void pickNeighbors(Game game, List<RankedGroup> ranking) {
+        PriorityQueue<Candidate> best = new PriorityQueue<>(k + 1, BEST_FIRST.reversed());
+        Set<Integer> sameDeveloper = developerGames(game);
+        for (Integer otherId : sameDeveloper) {
+            if (otherId != game.gameId) {
+                keep(best, new Candidate(otherId, score(game, games.get(otherId))));
+            }
+        }
+        for (RankedGroup ranked : ranking) {
+            if (best.size() == k && ranked.score() < best.peek().score()) {
+                break;
+            }
+            for (Integer otherId : ranked.group().gameIds) {
+                if (otherId == game.gameId || sameDeveloper.contains(otherId)) {
+                    continue;
+                }
+                if (best.size() == k && !beats(ranked.score(), otherId, best.peek().score(), best.peek().gameId())) {
+                    break; // ids ascend, so no later game of this group gets in either
+                }
+                keep(best, new Candidate(otherId, ranked.score()));
+            }
+        }
+
+        List<Candidate> sorted = new ArrayList<>(best);
+        sorted.sort(BEST_FIRST);
+        int[] ids = new int[sorted.size()];
+        float[] scores = new float[sorted.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = sorted.get(i).gameId();
+            scores[i] = sorted.get(i).score();
+        }
+        game.neighborIds = ids;
+        game.neighborScores = scores;
+    }
+
+    private void keep(PriorityQueue<Candidate> best, Candidate candidate) {
+        if (candidate.score() <= 0) {
+            return;
+        }
+        best.add(candidate);
+        if (best.size() > k) {
+            best.poll();
+        }
+    }
+
+    private static float score(Game a, Game b) {
+        float score = jaccard(a.group.bits, b.group.bits);
+        if (a.developerId != null && a.developerId.equals(b.developerId)) {
+            score += (float) DEVELOPER_BONUS;
+        }
+        return score;
+    }
+
+    // |a AND b| / |a OR b|; 0 when both are empty
+    private static float jaccard(long[] a, long[] b) {
+        int shared = 0;
+        int union = 0;
+        for (int i = 0; i < Math.max(a.length, b.length); i++) {
+            long x = i < a.length ? a[i] : 0;
+            long y = i < b.length ? b[i] : 0;
+            shared += Long.bitCount(x & y);
+            union += Long.bitCount(x | y);
+        }
+        return union == 0 ? 0 : (float) shared / union;
+    }
+
+    // =============================
+    // GENRE BITSETS
+    // =============================
+
+    private long[] bitsOf(Collection<Integer> genreIds) {
+        long[] bits = new long[0];
+        for (Integer genreId : genreIds) {
+            int bit = genreIndex.computeIfAbsent(genreId, id -> genreIndex.size());
+            if (bit / 64 >= bits.length) {
+                bits = Arrays.copyOf(bits, bit / 64 + 1);
+            }
+            bits[bit / 64] |= 1L << (bit % 64);
+        }
+        return bits;
+    }
+
+    private interface BitConsumer {
+        void accept(int bit);
+    }
+
+    private static void forEachBit(long[] bits, BitConsumer consumer) {
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                consumer.accept(word * 64 + Long.numberOfTrailingZeros(remaining));
+                remaining &= remaining - 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package game.hub.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.GenreData;
+import game.hub.dao.GameDao;
+import game.hub.dao.GameStatsRow;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * SimilarGamesIndex
+ * ----------------------
+ * Precomputed "more like this" neighbors (SimilarGames) for
+ * GET /gamehub/game/{gameId}/similar.
+ *
+ * - Built in the background after startup from GameDao.streamAllStatsRows;
+ *   the scoring runs on its own ForkJoinPool (gamehub.similar.parallelism
+ *   threads, 0 = one per core), so it doesn't compete with the common pool
+ * - Kept current from the change events (after commit): a saved game
+ *   recomputes only its own neighborhood (see SimilarGames.put). Changes
+ *   are queued and applied on the "similar-games" thread, so a save doesn't
+ *   wait for them; more than gamehub.similar.rebuild-threshold queued at
+ *   once (large batch saves) are folded into one full rebuild,
+ *   which is cheaper than that many puts on a large catalog
+ * - A deleted genre changes the genre set of all its games at once, so it
+ *   schedules a full rebuild instead
+ * - Until the first build is done every game has no neighbors yet
+ */
+@Component
+@Slf4j
+public class SimilarGamesIndex {
+
+    @Autowired
+    private GameDao gameDao;
+
+    @Autowired
+    @Qualifier("backgroundTransactionManager")
+    private PlatformTransactionManager transactionManager; // background slots, see DatabaseAdmissionConfig
+
+    @Value("${gamehub.similar.neighbors:20}")
+    private int neighbors;
+
+    @Value("${gamehub.similar.parallelism:0}")
+    private int parallelism;
+
+    @Value("${gamehub.similar.rebuild-threshold:1000}")
+    private int rebuildThreshold;
+
+    private TransactionTemplate readOnlyTransaction;
+    private ForkJoinPool pool;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private SimilarGames similarGames;
+
+    // Committed changes not applied yet, drained by the rebuilder thread
+    private List<Consumer<SimilarGames>> pending = new ArrayList<>();
+
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "similar-games");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        similarGames = new SimilarGames(neighbors);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    // Most neighbors kept per game (the largest k a request may ask for)
+    public int maxNeighbors() {
+        return neighbors;
+    }
+
+    // =============================
+    // BUILD AND UPDATE
+    // =============================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuilder.execute(this::rebuild);
+    }
+
+    // Changes still pending afterwards are applied by the next drain();
+    // put/remove are idempotent, so one the load already saw does no harm
+    private boolean rebuild() {
+        long start = System.currentTimeMillis();
+        SimilarGames fresh;
+        try {
+            fresh = readOnlyTransaction.execute(status -> load());
+            fresh.rebuild(pool);
+        } catch (RuntimeException e) {
+            log.error("Similar games rebuild failed, keeping the current neighbors", e);
+            return false;
+        }
+
+        lock.writeLock().lock();
+        try {
+            similarGames = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Similar games built: {} games, top {} each, {} threads in {} ms",
+                fresh.size(), neighbors, pool.getParallelism(), System.currentTimeMillis() - start);
+        return true;
+    }
+
+    private SimilarGames load() {
+        SimilarGames fresh = new SimilarGames(neighbors);
+        // rows arrive ordered by game id, one per genre
+        try (Stream<GameStatsRow> rows = gameDao.streamAllStatsRows()) {
+            GameStatsRow game = null; // first row of the current game
+            List<Integer> genreIds = new ArrayList<>();
+            Iterator<GameStatsRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                GameStatsRow row = iterator.next();
+                if (game != null && !game.gameId().equals(row.gameId())) {
+                    fresh.load(game.gameId(), game.developerId(), genreIds);
+                    genreIds.clear();
+                    game = null;
+                }
+                if (game == null) {
+                    game = row;
+                }
+                if (row.genreId() != null) {
+                    genreIds.add(row.genreId());
+                }
+            }
+            if (game != null) {
+                fresh.load(game.gameId(), game.developerId(), genreIds);
+            }
+        }
+        return fresh;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameChanged(GameChangedEvent event) {
+        if (event.deleted()) {
+            apply(games -> games.remove(event.gameId()));
+        } else {
+            GameData game = event.game();
+            List<Integer> genreIds = game.getGenres() == null ? List.of()
+                    : game.getGenres().stream().map(GenreData::getGenreId).toList();
+            apply(games -> games.put(event.gameId(), game.getDeveloperId(), genreIds));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        if (!event.deletedGameIds().isEmpty()) {
+            apply(games -> event.deletedGameIds().forEach(games::remove));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGenreChanged(GenreChangedEvent event) {
+        if (event.deleted()) {
+            rebuilder.execute(this::rebuild);
+        }
+    }
+
+    private void apply(Consumer<SimilarGames> change) {
+        synchronized (this) {
+            pending.add(change);
+            if (pending.size() > 1) {
+                return; // a drain is already queued
+            }
+        }
+        rebuilder.execute(this::drain);
+    }
+
+    private void drain() {
+        List<Consumer<SimilarGames>> changes;
+        synchronized (this) {
+            changes = pending;
+            pending = new ArrayList<>();
+        }
+        if (changes.size() > rebuildThreshold) {
+            log.info("{} similar games changes queued, rebuilding instead", changes.size());
+            if (rebuild()) {
+                return;
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            for (Consumer<SimilarGames> change : changes) {
+                change.accept(similarGames);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // =============================
+    // QUERY
+    // =============================
+
+    // Up to k neighbors of the game, best first (none before the first build,
+    // or while the game's change is still queued)
+    public List<SimilarGames.Neighbor> neighbors(int gameId, int k) {
+        List<SimilarGames.Neighbor> result;
+        lock.readLock().lock();
+        try {
+            result = similarGames.neighbors(gameId, k);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (result != null) {
+            return result;
+        }
+        // unknown here doesn't mean unknown: a new game may not be applied yet
+        if (!gameDao.existsById(gameId)) {
+            throw new NoSuchElementException("Game with ID=" + gameId + " was not found.");
+        }
+        return List.of();
+    }
+}
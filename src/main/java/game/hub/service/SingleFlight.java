@@ -0,0 +1,113 @@
+package game.hub.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+ * SingleFlight
+ * ----------------------
+ * Request coalescing for reads that aren't cached (the list and page
+ * methods of GameHubService): concurrent calls with the same name and
+ * arguments share one load and its result instead of each running the
+ * same queries. Nothing is kept once the load is done.
+ *
+ * - The first caller loads on its own thread; later callers wait for its
+ *   future (parking, so virtual threads don't pin a carrier)
+ * - Coalesce before opening a transaction: a waiter holds no connection
+ * - A failed load fails every caller that joined it, with the same
+ *   exception (a burst against a broken query runs it once, not N times)
+ * - A committed change forgets the loads in flight, so a request that
+ *   starts after a save never joins a load that started before it
+ * - gamehub.singleflight.loads counts executed vs coalesced calls (tags:
+ *   name, outcome); DtoCache reports its by-id misses the same way
+ *
+ * Results are shared between requests and must not be modified.
+ */
+@Component
+public class SingleFlight {
+
+    // One in-flight load: method name plus its arguments (nulls allowed)
+    private record Key(String name, List<?> arguments) {
+    }
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @SuppressWarnings("unchecked")
+    public <V> V execute(String name, List<?> arguments, Supplier<V> loader) {
+        Key key = new Key(name, arguments);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> future = inFlight.putIfAbsent(key, mine);
+        if (future != null) {
+            recordLoad(name, true);
+            try {
+                return (V) future.join();
+            } catch (CompletionException e) {
+                throw rethrow(e.getCause());
+            }
+        }
+        recordLoad(name, false);
+        try {
+            V value = loader.get();
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return (RuntimeException) cause; // the loader is a Supplier: nothing else is thrown
+    }
+
+    // Counts one call of a coalesced read (also used by DtoCache for by-id misses)
+    void recordLoad(String name, boolean coalesced) {
+        String outcome = coalesced ? "coalesced" : "executed";
+        counters.computeIfAbsent(name + ":" + outcome, k -> Counter.builder("gamehub.singleflight.loads")
+                .description("Coalesced reads: loads run vs calls that joined a running load")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry))
+                .increment();
+    }
+
+    // =============================
+    // INVALIDATION (after commit)
+    // =============================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameChanged(GameChangedEvent event) {
+        inFlight.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        inFlight.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGenreChanged(GenreChangedEvent event) {
+        inFlight.clear();
+    }
+}
@@ -0,0 +1,88 @@
+package game.hub.service;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import game.hub.dao.TableChangeDao;
+
+/*
+ * TableChangeCounter
+ * ----------------------
+ * Keeps the modification counters (TableChange) of the list ETags.
+ *
+ * - Listens to the change events inside the writing transaction (plain
+ *   @EventListener, not after commit) and notes the tables it wrote
+ * - Just before the commit, flushes and adds 1 to the counter of each of
+ *   those tables in one statement; so the counter row is locked only for
+ *   the commit itself, and once per transaction however many rows changed
+ * - A developer delete takes its games along; a genre delete changes the
+ *   games that had it: both count as game changes too
+ */
+@Component
+public class TableChangeCounter {
+
+    @Autowired
+    private TableChangeDao tableChangeDao;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @EventListener
+    public void onGameChanged(GameChangedEvent event) {
+        changed("game");
+    }
+
+    @EventListener
+    public void onDeveloperChanged(DeveloperChangedEvent event) {
+        changed("developer");
+        if (!event.deletedGameIds().isEmpty()) {
+            changed("game");
+        }
+    }
+
+    @EventListener
+    public void onGenreChanged(GenreChangedEvent event) {
+        changed("genre");
+        if (event.deleted()) {
+            changed("game");
+        }
+    }
+
+    private void changed(String tableName) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // not published by a transaction: count it on its own
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    tableChangeDao.increment(Set.of(tableName)));
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof Increment increment) {
+                increment.tableNames.add(tableName);
+                return;
+            }
+        }
+        Increment increment = new Increment();
+        increment.tableNames.add(tableName);
+        TransactionSynchronizationManager.registerSynchronization(increment);
+    }
+
+    // The tables one transaction wrote, counted before it commits
+    private final class Increment implements TransactionSynchronization {
+
+        private final Set<String> tableNames = new TreeSet<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            tableChangeDao.flush(); // the transaction's own row locks first, the counter rows last
+            tableChangeDao.increment(tableNames);
+        }
+    }
+}
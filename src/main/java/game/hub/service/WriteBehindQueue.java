@@ -0,0 +1,308 @@
+package game.hub.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import game.hub.config.DatabaseBusyException;
+import game.hub.controller.model.DeveloperData;
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.WriteStatusData;
+import game.hub.controller.model.WriteStatusData.Status;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * WriteBehindQueue
+ * ----------------------
+ * Asynchronous game/developer saves (?async=true): the request is
+ * validated, queued and answered with 202 and a tracking id; one writer
+ * thread saves the queued writes later, many per transaction.
+ *
+ * - Bounded: a full queue answers 429 (WriteQueueFullException) instead
+ *   of letting a burst grow memory and latency without limit
+ * - Coalescing: an update of an id that is still queued replaces the
+ *   queued data in place (same queue slot); the earlier tracking id ends
+ *   as COALESCED, only the latest data is written
+ * - Batches: the writer takes up to batch-size writes per transaction
+ *   through the usual GameHubService.saveGame/saveDeveloper (same checks,
+ *   same change events after commit), on the background database slots.
+ *   If the batch fails, its writes are retried one per transaction so one
+ *   bad write only fails itself; DatabaseBusyException retries the whole
+ *   batch after Retry-After
+ * - Outcomes are kept for status-retention (GET /gamehub/writes/{id})
+ * - On shutdown the writer drains what is still queued. A writer that is
+ *   still busy after 30 s is interrupted; its unwritten writes end as
+ *   INTERRUPTED (never left QUEUED)
+ *
+ * Accepted writes live in memory only: a crash loses what is still queued.
+ */
+@Component
+@Slf4j
+public class WriteBehindQueue {
+
+    private static final String GAME = "game";
+    private static final String DEVELOPER = "developer";
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private GameHubService gameHubService;
+
+    @Autowired
+    @Qualifier("backgroundTransactionManager")
+    private PlatformTransactionManager transactionManager; // background slots, see DatabaseAdmissionConfig
+
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final int batchSize;
+    private final Duration retryAfter;
+    private final BlockingQueue<PendingWrite> queue;
+
+    // Queued writes with an id (updates), for coalescing; guarded by lock
+    private final Map<String, PendingWrite> queuedById = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock(); // not synchronized: callers run on virtual threads
+
+    private final Cache<String, WriteStatusData> outcomes;
+
+    private final Thread writer = new Thread(this::drain, "write-behind");
+    private volatile boolean running = true;
+
+    // One queued save; trackingId and data change when a later update is coalesced into it
+    private static final class PendingWrite {
+        final String entity;
+        final Integer id;
+        String trackingId;
+        Object data;
+
+        PendingWrite(String entity, Integer id, String trackingId, Object data) {
+            this.entity = entity;
+            this.id = id;
+            this.trackingId = trackingId;
+            this.data = data;
+        }
+    }
+
+    public WriteBehindQueue(
+            @Value("${gamehub.write-behind.capacity:10000}") int capacity,
+            @Value("${gamehub.write-behind.batch-size:200}") int batchSize,
+            @Value("${gamehub.write-behind.retry-after:1s}") Duration retryAfter,
+            @Value("${gamehub.write-behind.status-retention:1h}") Duration statusRetention) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.retryAfter = retryAfter;
+        this.outcomes = Caffeine.newBuilder()
+                .maximumSize(Math.max(capacity * 10L, 100_000))
+                .expireAfterWrite(statusRetention)
+                .build();
+    }
+
+    @PostConstruct
+    void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("gamehub.write.queue.size", queue, BlockingQueue::size)
+                .description("Asynchronous saves waiting for the writer")
+                .register(meterRegistry);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(SHUTDOWN_TIMEOUT.toMillis());
+        if (writer.isAlive()) {
+            // e.g. waiting out DatabaseBusyException: the writer marks the rest INTERRUPTED
+            writer.interrupt();
+            writer.join(SHUTDOWN_TIMEOUT.toMillis());
+        }
+    }
+
+    // =============================
+    // SUBMIT
+    // =============================
+
+    public WriteStatusData submitGame(GameData gameData) {
+        gameHubService.validateGame(gameData);
+        return submit(GAME, gameData.getGameId(), gameData);
+    }
+
+    public WriteStatusData submitDeveloper(DeveloperData developerData) {
+        return submit(DEVELOPER, developerData.getDeveloperId(), developerData);
+    }
+
+    private WriteStatusData submit(String entity, Integer id, Object data) {
+        if (!running) {
+            throw new WriteQueueFullException("The write queue is shutting down.", retryAfter);
+        }
+        String trackingId = UUID.randomUUID().toString();
+        WriteStatusData accepted = new WriteStatusData(trackingId, entity, Status.QUEUED, id, null,
+                Instant.now(), null);
+
+        lock.lock();
+        try {
+            PendingWrite queued = id == null ? null : queuedById.get(entity + ":" + id);
+            if (queued != null) {
+                complete(queued.trackingId, Status.COALESCED, null,
+                        "Replaced by " + trackingId + " before it was written.");
+                queued.trackingId = trackingId;
+                queued.data = data;
+            } else {
+                PendingWrite write = new PendingWrite(entity, id, trackingId, data);
+                if (!queue.offer(write)) {
+                    throw new WriteQueueFullException("The write queue is full. Please try again shortly.",
+                            retryAfter);
+                }
+                if (id != null) {
+                    queuedById.put(entity + ":" + id, write);
+                }
+            }
+            outcomes.put(trackingId, accepted);
+        } finally {
+            lock.unlock();
+        }
+        return accepted;
+    }
+
+    // Outcome of an asynchronous save (NoSuchElementException when unknown or expired)
+    public WriteStatusData status(String trackingId) {
+        WriteStatusData outcome = outcomes.getIfPresent(trackingId);
+        if (outcome == null) {
+            throw new NoSuchElementException("Write with tracking ID=" + trackingId + " was not found.");
+        }
+        return outcome;
+    }
+
+    // Outcomes are replaced, never modified: a caller may be serializing the old one
+    private void complete(String trackingId, Status status, Integer id, String message) {
+        outcomes.asMap().computeIfPresent(trackingId, (key, outcome) -> new WriteStatusData(trackingId,
+                outcome.getEntity(), status, id != null ? id : outcome.getId(), message, outcome.getAcceptedAt(),
+                Instant.now()));
+    }
+
+    // =============================
+    // WRITE
+    // =============================
+
+    private void drain() {
+        List<PendingWrite> batch = List.of();
+        try {
+            while (running || !queue.isEmpty()) {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch = new ArrayList<>(batchSize);
+                lock.lock();
+                try {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    // from here on, updates of these ids queue up as new writes
+                    for (PendingWrite write : batch) {
+                        if (write.id != null) {
+                            queuedById.remove(write.entity + ":" + write.id, write);
+                        }
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    writeBatch(batch);
+                } catch (RuntimeException e) {
+                    log.error("Write-behind batch failed", e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // what wasn't written can't be anymore: say so instead of leaving it QUEUED
+            List<PendingWrite> abandoned = new ArrayList<>(batch);
+            queue.drainTo(abandoned);
+            for (PendingWrite write : abandoned) {
+                interrupted(write);
+            }
+            log.warn("Write-behind writer interrupted, {} writes not written", abandoned.size());
+        }
+    }
+
+    private void writeBatch(List<PendingWrite> batch) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        while (true) {
+            try {
+                List<Integer> ids = transactionTemplate.execute(status -> batch.stream().map(this::write).toList());
+                for (int i = 0; i < batch.size(); i++) {
+                    written(batch.get(i), ids.get(i));
+                }
+                log.debug("Write-behind batch of {} written in {} ms", batch.size(),
+                        System.currentTimeMillis() - start);
+                return;
+            } catch (DatabaseBusyException e) {
+                Thread.sleep(e.getRetryAfter().toMillis());
+            } catch (RuntimeException e) {
+                log.warn("Write-behind batch of {} failed ({}), writing one by one", batch.size(), e.getMessage());
+                break;
+            }
+        }
+        for (PendingWrite write : batch) {
+            writeAlone(write);
+        }
+    }
+
+    private void writeAlone(PendingWrite write) throws InterruptedException {
+        while (true) {
+            try {
+                written(write, transactionTemplate.execute(status -> write(write)));
+                return;
+            } catch (DatabaseBusyException e) {
+                Thread.sleep(e.getRetryAfter().toMillis());
+            } catch (RuntimeException e) {
+                complete(write.trackingId, Status.FAILED, null, e.getMessage());
+                log.warn("Write-behind {} {} failed: {}", write.entity, write.trackingId, e.getMessage());
+                return;
+            }
+        }
+    }
+
+    // Saves one write inside the caller's transaction; returns the saved id
+    private Integer write(PendingWrite write) {
+        if (write.data instanceof GameData gameData) {
+            return gameHubService.saveGame(gameData).getGameId();
+        }
+        return gameHubService.saveDeveloper((DeveloperData) write.data).getDeveloperId();
+    }
+
+    private void written(PendingWrite write, Integer id) {
+        complete(write.trackingId, Status.WRITTEN, id, null);
+    }
+
+    // Only a write that is still QUEUED: the batch may have been written in part
+    private void interrupted(PendingWrite write) {
+        WriteStatusData outcome = outcomes.getIfPresent(write.trackingId);
+        if (outcome != null && outcome.getStatus() == Status.QUEUED) {
+            complete(write.trackingId, Status.INTERRUPTED, null, "The server stopped before it was written.");
+        }
+    }
+}
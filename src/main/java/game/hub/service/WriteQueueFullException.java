@@ -0,0 +1,24 @@
+package game.hub.service;
+
+import java.time.Duration;
+
+/*
+ * WriteQueueFullException
+ * ----------------------
+ * Thrown when an asynchronous save finds the write-behind queue full
+ * (see WriteBehindQueue). Answered with 429 and a Retry-After header by
+ * GlobalErrorHandler.
+ */
+public class WriteQueueFullException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public WriteQueueFullException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
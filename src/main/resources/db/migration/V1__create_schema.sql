@@ -0,0 +1,48 @@
+-- Game Hub schema, as the entities map it (game.hub.entity).
+-- Hibernate validates the entities against these tables on startup
+-- (ddl-auto: validate); change the schema with a new migration only.
+
+create table developer (
+    developer_id      integer      not null,
+    version           bigint,
+    developer_country varchar(255),
+    developer_name    varchar(255),
+    primary key (developer_id)
+) engine=InnoDB;
+
+create table genre (
+    genre_id   integer      not null,
+    version    bigint,
+    genre_name varchar(255),
+    primary key (genre_id)
+) engine=InnoDB;
+
+create table game (
+    game_id           integer      not null,
+    developer_id      integer,
+    game_release_date date,
+    version           bigint,
+    game_description  varchar(255),
+    game_title        varchar(255),
+    primary key (game_id),
+    constraint fk_game_developer foreign key (developer_id) references developer (developer_id)
+) engine=InnoDB;
+
+create table game_genre (
+    game_id  integer not null,
+    genre_id integer not null,
+    primary key (game_id, genre_id),
+    constraint fk_game_genre_game foreign key (game_id) references game (game_id),
+    constraint fk_game_genre_genre foreign key (genre_id) references genre (genre_id)
+) engine=InnoDB;
+
+-- Id generators (@SequenceGenerator, allocationSize 50). MySQL has no
+-- sequences, so Hibernate keeps each one as a single-row table.
+create table developer_seq (next_val bigint) engine=InnoDB;
+insert into developer_seq values (1);
+
+create table game_seq (next_val bigint) engine=InnoDB;
+insert into game_seq values (1);
+
+create table genre_seq (next_val bigint) engine=InnoDB;
+insert into genre_seq values (1);
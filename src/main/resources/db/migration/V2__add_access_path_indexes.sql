@@ -0,0 +1,18 @@
+-- Secondary indexes for the queries in game.hub.dao.
+-- Ids are appended where a query keyset-pages by (column, id).
+
+-- Games of a developer (fetch plans, bulk delete); also backs fk_game_developer
+create index idx_game_developer on game (developer_id);
+
+-- GET /gamehub/games/page?sort=gameReleaseDate and /gamehub/games/released
+create index idx_game_release_date on game (game_release_date, game_id);
+
+-- GET /gamehub/games/page?sort=gameTitle
+create index idx_game_title on game (game_title, game_id);
+
+-- Games of a genre (genre -> games, bulk delete); the primary key only
+-- covers game -> genres. Also backs fk_game_genre_genre.
+create index idx_game_genre_genre on game_genre (genre_id, game_id);
+
+-- Genre names are unique; the constraint's index also serves lookups by name
+alter table genre add constraint uk_genre_name unique (genre_name);
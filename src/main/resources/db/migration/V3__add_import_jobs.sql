@@ -0,0 +1,34 @@
+-- Bulk imports (POST /gamehub/imports, see GameImportService).
+-- A job row is updated in the same transaction as each chunk it writes,
+-- so rows_committed is always the point to resume from.
+
+create table import_job (
+    job_id             integer       not null,
+    file_name          varchar(255),
+    path               varchar(1024),
+    format             varchar(16),
+    status             varchar(16),
+    rows_committed     bigint        not null,
+    games_imported     bigint        not null,
+    rows_failed        bigint        not null,
+    developers_created integer       not null,
+    genres_created     integer       not null,
+    bytes_read         bigint        not null,
+    bytes_total        bigint        not null,
+    message            varchar(1024),
+    created_at         datetime(6),
+    updated_at         datetime(6),
+    primary key (job_id)
+) engine=InnoDB;
+
+-- Rows that could not be imported, by 1-based row number in the file
+create table import_error (
+    job_id    integer       not null,
+    row_index bigint        not null,
+    message   varchar(1024),
+    primary key (job_id, row_index),
+    constraint fk_import_error_job foreign key (job_id) references import_job (job_id)
+) engine=InnoDB;
+
+create table import_job_seq (next_val bigint) engine=InnoDB;
+insert into import_job_seq values (1);
@@ -0,0 +1,5 @@
+-- Where a resumed import seeks to (see GameImportService): the byte offset
+-- in the file just after row resume_row. 0 / 0 = the start of the file.
+
+alter table import_job add column resume_offset bigint not null default 0;
+alter table import_job add column resume_row    bigint not null default 0;
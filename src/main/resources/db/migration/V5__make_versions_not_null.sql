@@ -0,0 +1,12 @@
+-- The @Version columns were created nullable. Rows written outside
+-- Hibernate (SQL scripts, a database baselined from ddl-auto) can lack a
+-- version, which Hibernate reads as a new, never saved row and the ETags
+-- can't be built from. Start them at 0 and keep them set.
+
+update developer set version = 0 where version is null;
+update genre     set version = 0 where version is null;
+update game      set version = 0 where version is null;
+
+alter table developer modify version bigint not null default 0;
+alter table genre     modify version bigint not null default 0;
+alter table game      modify version bigint not null default 0;
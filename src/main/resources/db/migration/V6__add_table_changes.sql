@@ -0,0 +1,15 @@
+-- Modification counter per catalog table, part of the list ETags (see
+-- ETagService). Every transaction that writes to a table adds 1 to its
+-- row just before it commits (see TableChangeCounter), so any committed
+-- change moves the counter, even a delete plus an insert that leaves the
+-- row count, max id and version sum as they were.
+
+create table table_change (
+    table_name varchar(64) not null,
+    changes    bigint      not null,
+    primary key (table_name)
+) engine=InnoDB;
+
+insert into table_change values ('developer', 0);
+insert into table_change values ('game', 0);
+insert into table_change values ('genre', 0);
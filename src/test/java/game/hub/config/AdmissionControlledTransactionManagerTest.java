@@ -0,0 +1,211 @@
+package game.hub.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import game.hub.controller.error.GlobalErrorHandler;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+import jakarta.persistence.RollbackException;
+
+/*
+ * AdmissionControlledTransactionManagerTest
+ * ------------------------------------------
+ * Slot accounting of the admission controlled transaction manager, on a
+ * mocked EntityManagerFactory (no database).
+ *
+ * - Every transaction gives its slot back exactly once: commit, rollback,
+ *   failed commit and failed begin all end with every slot available
+ * - Joining a running transaction takes no slot
+ * - A transaction that finds every slot busy for queueTimeout fails with
+ *   DatabaseBusyException, answered with 503 and Retry-After
+ * - Pools are independent: busy export slots don't block requests
+ */
+class AdmissionControlledTransactionManagerTest {
+
+    private static final int SLOTS = 2;
+    private static final Duration QUEUE_TIMEOUT = Duration.ofMillis(50);
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(3);
+
+    private final EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final EntityTransaction entityTransaction = mock(EntityTransaction.class);
+
+    private AdmissionControlledTransactionManager requests;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.createEntityManager()).thenReturn(entityManager);
+        when(entityManager.getTransaction()).thenReturn(entityTransaction);
+        when(entityManager.isOpen()).thenReturn(true);
+        requests = manager("request");
+        executor = Executors.newFixedThreadPool(SLOTS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // =============================
+    // ONE RELEASE PER TRANSACTION
+    // =============================
+
+    @Test
+    void committedTransactionGivesItsSlotBack() {
+        TransactionTemplate transaction = new TransactionTemplate(requests);
+
+        int inside = transaction.execute(status -> requests.getAvailableSlots());
+
+        assertThat(inside).isEqualTo(SLOTS - 1);
+        assertThat(requests.getAvailableSlots()).isEqualTo(SLOTS);
+    }
+
+    @Test
+    void rolledBackTransactionGivesItsSlotBack() {
+        TransactionTemplate transaction = new TransactionTemplate(requests);
+
+        assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+            throw new IllegalStateException("rolled back");
+        })).hasMessage("rolled back");
+
+        assertThat(requests.getAvailableSlots()).isEqualTo(SLOTS);
+    }
+
+    @Test
+    void failedCommitGivesItsSlotBackOnce() {
+        doThrow(new RollbackException("constraint")).when(entityTransaction).commit();
+        TransactionTemplate transaction = new TransactionTemplate(requests);
+
+        assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+        })).isInstanceOf(TransactionSystemException.class);
+
+        assertThat(requests.getAvailableSlots()).isEqualTo(SLOTS);
+    }
+
+    @Test
+    void failedBeginGivesItsSlotBackOnce() {
+        doThrow(new IllegalStateException("no connection")).when(entityTransaction).begin();
+        TransactionTemplate transaction = new TransactionTemplate(requests);
+
+        for (int i = 0; i < SLOTS + 1; i++) { // more than SLOTS: a lost slot would end in DatabaseBusyException
+            assertThatThrownBy(() -> transaction.executeWithoutResult(status -> {
+            })).isInstanceOf(CannotCreateTransactionException.class)
+                    .isNotInstanceOf(DatabaseBusyException.class);
+        }
+
+        assertThat(requests.getAvailableSlots()).isEqualTo(SLOTS);
+    }
+
+    @Test
+    void joinedTransactionTakesNoSlot() {
+        TransactionTemplate transaction = new TransactionTemplate(requests);
+
+        int inner = transaction.execute(outer -> transaction.execute(status -> requests.getAvailableSlots()));
+
+        assertThat(inner).isEqualTo(SLOTS - 1);
+        assertThat(requests.getAvailableSlots()).isEqualTo(SLOTS);
+    }
+
+    // =============================
+    // BUSY
+    // =============================
+
+    @Test
+    void busySlotsAnswer503WithRetryAfter() throws Exception {
+        CountDownLatch release = hold(requests, SLOTS);
+
+        DatabaseBusyException busy = null;
+        try {
+            new TransactionTemplate(requests).executeWithoutResult(status -> {
+            });
+        } catch (DatabaseBusyException e) {
+            busy = e;
+        } finally {
+            release.countDown();
+        }
+
+        assertThat(busy).isNotNull();
+        assertThat(busy.getMessage()).isEqualTo("All 2 request database slots stayed busy for 50 ms.");
+        ResponseEntity<?> response = new GlobalErrorHandler().handleDatabaseBusyException(busy);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        awaitAvailable(requests, SLOTS);
+    }
+
+    @Test
+    void busyExportSlotsLeaveTheRequestSlotsFree() throws Exception {
+        AdmissionControlledTransactionManager exports = manager("export");
+        CountDownLatch release = hold(exports, SLOTS);
+        try {
+            assertThatThrownBy(() -> new TransactionTemplate(exports).executeWithoutResult(status -> {
+            })).isInstanceOf(DatabaseBusyException.class);
+
+            new TransactionTemplate(requests).executeWithoutResult(status -> {
+            });
+            assertThat(requests.getAvailableSlots()).isEqualTo(SLOTS);
+        } finally {
+            release.countDown();
+        }
+        awaitAvailable(exports, SLOTS);
+    }
+
+    // =============================
+    // HELPERS
+    // =============================
+
+    private AdmissionControlledTransactionManager manager(String pool) {
+        return new AdmissionControlledTransactionManager(entityManagerFactory, pool, SLOTS, QUEUE_TIMEOUT,
+                RETRY_AFTER);
+    }
+
+    // Starts "count" transactions that stay open until the returned latch is released
+    private CountDownLatch hold(AdmissionControlledTransactionManager manager, int count) throws Exception {
+        CountDownLatch started = new CountDownLatch(count);
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < count; i++) {
+            executor.execute(() -> new TransactionTemplate(manager).executeWithoutResult(status -> {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        return release;
+    }
+
+    private static void awaitAvailable(AdmissionControlledTransactionManager manager, int slots)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (manager.getAvailableSlots() != slots) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError(manager.getAvailableSlots() + " of " + slots + " slots available");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
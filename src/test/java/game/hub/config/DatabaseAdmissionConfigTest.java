@@ -0,0 +1,85 @@
+package game.hub.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import game.hub.service.AutocompleteIndex;
+import game.hub.service.CatalogSnapshotService;
+import game.hub.service.CatalogStatistics;
+import game.hub.service.GameImportService;
+import game.hub.service.SimilarGamesIndex;
+import game.hub.service.WriteBehindQueue;
+
+/*
+ * DatabaseAdmissionConfigTest
+ * ----------------------
+ * The three slot pools split the connection pool, and the app's own
+ * threads run on the background pool, not on the request slots.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DatabaseAdmissionConfigTest {
+
+    @Value("${spring.datasource.hikari.maximum-pool-size}")
+    private int poolSize;
+
+    @Autowired
+    private AdmissionControlledTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("exportTransactionManager")
+    private AdmissionControlledTransactionManager exportTransactionManager;
+
+    @Autowired
+    @Qualifier("backgroundTransactionManager")
+    private AdmissionControlledTransactionManager backgroundTransactionManager;
+
+    @Autowired
+    private CatalogStatistics catalogStatistics;
+
+    @Autowired
+    private AutocompleteIndex autocompleteIndex;
+
+    @Autowired
+    private SimilarGamesIndex similarGamesIndex;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private WriteBehindQueue writeBehindQueue;
+
+    @Autowired
+    private GameImportService gameImportService;
+
+    @Test
+    void poolsSplitTheConnectionPool() {
+        assertThat(transactionManager.getPool()).isEqualTo("request");
+        assertThat(exportTransactionManager.getPool()).isEqualTo("export");
+        assertThat(backgroundTransactionManager.getPool()).isEqualTo("background");
+        assertThat(slots(transactionManager) + slots(exportTransactionManager) + slots(backgroundTransactionManager))
+                .isEqualTo(poolSize);
+    }
+
+    @Test
+    void backgroundWorkUsesTheBackgroundSlots() {
+        for (Object job : new Object[] { catalogStatistics, autocompleteIndex, similarGamesIndex,
+                catalogSnapshotService, writeBehindQueue }) {
+            assertThat(ReflectionTestUtils.getField(job, "transactionManager"))
+                    .as(job.getClass().getSimpleName()).isSameAs(backgroundTransactionManager);
+        }
+        assertThat(ReflectionTestUtils.getField(gameImportService, "backgroundTransactionManager"))
+                .isSameAs(backgroundTransactionManager);
+    }
+
+    private static int slots(AdmissionControlledTransactionManager manager) {
+        return (Integer) ReflectionTestUtils.getField(manager, "slotCount");
+    }
+}
@@ -0,0 +1,127 @@
+package game.hub.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.GenreData;
+import game.hub.dao.GameDao;
+import game.hub.dao.VersionStamp;
+import game.hub.service.GameHubService;
+
+/*
+ * ConditionalGetTest
+ * ----------------------
+ * GET with If-None-Match: 304 while nothing the response embeds changed,
+ * 200 with a new ETag once something did.
+ *
+ * - By id: a game, changed by an update
+ * - Lists: games, changed by an insert plus a delete that leave row count,
+ *   max id and version sum as they were (only the modification counter
+ *   moves); genres, changed by a rename
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConditionalGetTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private GameHubService gameHubService;
+
+    @Autowired
+    private GameDao gameDao;
+
+    private MockMvc mockMvc;
+
+    // Built on the shared test context (a second context would register the JCache regions again)
+    @BeforeAll
+    void buildMockMvc() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void gameAnswers304UntilItIsUpdated() throws Exception {
+        GameData game = gameHubService.saveGame(game("Conditional Game"));
+        String url = "/gamehub/game/" + game.getGameId();
+        String etag = etag(url);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        game.setGameTitle("Conditional Game, renamed");
+        gameHubService.saveGame(game);
+
+        String changed = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.gameTitle").value("Conditional Game, renamed"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotNull().isNotEqualTo(etag);
+    }
+
+    @Test
+    void gameListAnswers304UntilAGameIsAddedAndRemoved() throws Exception {
+        String etag = etag("/gamehub/games");
+        VersionStamp before = gameDao.findTableVersionStamp();
+
+        mockMvc.perform(get("/gamehub/games").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        GameData added = gameHubService.saveGame(game("Here and gone"));
+        gameHubService.deleteGameById(added.getGameId());
+
+        VersionStamp after = gameDao.findTableVersionStamp();
+        assertThat(after).as("only the counter tells").usingRecursiveComparison().ignoringFields("changes")
+                .isEqualTo(before);
+        assertThat(after.changes()).isEqualTo(before.changes() + 2);
+        mockMvc.perform(get("/gamehub/games").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void genreListAnswers304UntilAGenreIsRenamed() throws Exception {
+        GenreData genre = new GenreData();
+        genre.setGenreName("Conditional Genre");
+        genre = gameHubService.saveGenre(genre);
+        String etag = etag("/gamehub/genres");
+
+        mockMvc.perform(get("/gamehub/genres").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        genre.setGenreName("Conditional Genre, renamed");
+        gameHubService.saveGenre(genre);
+
+        assertThat(etag("/gamehub/genres")).isNotEqualTo(etag);
+    }
+
+    private String etag(String url) throws Exception {
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).as("ETag of " + url).isNotNull();
+        return etag;
+    }
+
+    private static GameData game(String title) {
+        GameData game = new GameData();
+        game.setGameTitle(title);
+        return game;
+    }
+}
@@ -0,0 +1,129 @@
+package game.hub.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import game.hub.controller.model.DeveloperData;
+import game.hub.controller.model.GenreData;
+import game.hub.dao.GameDao;
+import game.hub.service.GameHubService;
+
+/*
+ * GameBatchSaveTest
+ * ----------------------
+ * POST /gamehub/games/batch with one bad game after the first chunk
+ * (GameHubService saves 500 games per transaction).
+ *
+ * - An id that doesn't exist (game, genre) fails the request before
+ *   anything is written: 404, no game saved
+ * - A game the database rejects (title longer than the column) fails
+ *   its own chunk only: 409 with the ids of the saved first chunk and
+ *   the index to resend from
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GameBatchSaveTest {
+
+    private static final int GAMES = 600;
+    private static final int BAD_GAME = 550; // in the second chunk
+    private static final int CHUNK = 500;
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private GameHubService gameHubService;
+
+    @Autowired
+    private GameDao gameDao;
+
+    private int developerId;
+    private int genreId;
+    private MockMvc mockMvc;
+
+    // Built on the shared test context (a second context would register the JCache regions again)
+    @BeforeAll
+    void seedCatalog() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+        DeveloperData developer = new DeveloperData();
+        developer.setDeveloperName("Batch Studio");
+        developerId = gameHubService.saveDeveloper(developer).getDeveloperId();
+        GenreData genre = new GenreData();
+        genre.setGenreName("Batch Genre");
+        genreId = gameHubService.saveGenre(genre).getGenreId();
+    }
+
+    @Test
+    void unknownGameIdSavesNothing() throws Exception {
+        long before = gameDao.count();
+
+        mockMvc.perform(batch(i -> i == BAD_GAME ? Map.of("gameId", Integer.MAX_VALUE, "gameTitle", "Gone")
+                : game(i, genreId)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value(
+                        "Game with ID=" + Integer.MAX_VALUE + " was not found. No game of the batch was saved."));
+
+        assertThat(gameDao.count()).isEqualTo(before);
+    }
+
+    @Test
+    void unknownGenreIdSavesNothing() throws Exception {
+        long before = gameDao.count();
+
+        mockMvc.perform(batch(i -> game(i, i == BAD_GAME ? Integer.MAX_VALUE : genreId)))
+                .andExpect(status().isNotFound());
+
+        assertThat(gameDao.count()).isEqualTo(before);
+    }
+
+    @Test
+    void rejectedGameReportsTheSavedChunks() throws Exception {
+        long before = gameDao.count();
+
+        mockMvc.perform(batch(i -> i == BAD_GAME ? Map.of("gameTitle", "x".repeat(300)) : game(i, genreId)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.firstUnsavedIndex").value(CHUNK))
+                .andExpect(jsonPath("$.savedGameIds.length()").value(CHUNK));
+
+        assertThat(gameDao.count()).isEqualTo(before + CHUNK);
+    }
+
+    private RequestBuilder batch(IntFunction<Map<String, Object>> game) throws Exception {
+        List<Map<String, Object>> games = new ArrayList<>();
+        for (int i = 0; i < GAMES; i++) {
+            games.add(game.apply(i));
+        }
+        return post("/gamehub/games/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json.writeValueAsString(games));
+    }
+
+    private Map<String, Object> game(int i, int genre) {
+        return Map.of("gameTitle", "Batch Game " + i, "developerId", developerId,
+                "genres", List.of(Map.of("genreId", genre)));
+    }
+}
@@ -0,0 +1,153 @@
+package game.hub.controller.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import game.hub.entity.Developer;
+import game.hub.entity.Game;
+import game.hub.entity.Genre;
+
+/*
+ * ExpansionTest
+ * ----------------------
+ * Parsing ?expand=&depth=, and how deep the DTOs follow an expansion.
+ *
+ * - The graph: developer 1 made game 10, which has genre 100; the game,
+ *   its developer and its genre all point back at each other, so the
+ *   DTOs only stop where the expansion does
+ */
+class ExpansionTest {
+
+    // =============================
+    // PARSING
+    // =============================
+
+    @Test
+    void expandRepeatsTheNamesDepthTimes() {
+        assertThat(Expansion.parse(null, null)).isSameAs(Expansion.NONE);
+        assertThat(Expansion.parse(" ", null)).isSameAs(Expansion.NONE);
+        assertThat(Expansion.parse("all", null)).isSameAs(Expansion.ALL);
+
+        Expansion games = Expansion.parse("games", null);
+        assertThat(games.levels()).containsExactly(Set.of("games"));
+
+        Expansion deep = Expansion.parse(" genres , games,genres", Expansion.MAX_DEPTH);
+        assertThat(deep.levels()).hasSize(3).allSatisfy(level -> assertThat(level).containsOnly("games", "genres"));
+        assertThat(deep).hasToString("games,genres/games,genres/games,genres");
+        assertThat(Expansion.ALL).hasToString("games,genres/genres");
+    }
+
+    @Test
+    void depthOutsideItsBoundsIsRejected() {
+        assertThatThrownBy(() -> Expansion.parse("games", 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("depth must be between 1 and 3.");
+        assertThatThrownBy(() -> Expansion.parse("games", Expansion.MAX_DEPTH + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Expansion.parse(null, 2))
+                .as("depth without expand")
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Expansion.parse("all", 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Expansion.parse("all,games", null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Expansion.parse("games,publisher", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Unknown expand publisher");
+    }
+
+    @Test
+    void followsOnlyTheListedLevels() {
+        Expansion expansion = Expansion.parse("games,developer", 2);
+
+        assertThat(expansion.follows(Expansion.GAMES, 0)).isTrue();
+        assertThat(expansion.follows(Expansion.DEVELOPER, 1)).isTrue();
+        assertThat(expansion.follows(Expansion.GENRES, 0)).isFalse();
+        assertThat(expansion.follows(Expansion.GAMES, 2)).as("past the depth").isFalse();
+        assertThat(Expansion.NONE.follows(Expansion.GAMES, 0)).isFalse();
+    }
+
+    @Test
+    void isWithinComparesLevelByLevel() {
+        assertThat(Expansion.NONE.isWithin(Expansion.NONE)).isTrue();
+        assertThat(Expansion.parse("genres", null).isWithin(Expansion.ALL)).isTrue();
+        assertThat(Expansion.parse("genres", 2).isWithin(Expansion.ALL)).isTrue();
+        assertThat(Expansion.parse("games", 2).isWithin(Expansion.ALL)).as("games one level down").isFalse();
+        assertThat(Expansion.parse("developer", null).isWithin(Expansion.ALL)).isFalse();
+        assertThat(Expansion.ALL.isWithin(Expansion.parse("games,genres", 3))).isTrue();
+        assertThat(Expansion.ALL.isWithin(Expansion.parse("games,genres", 1))).isFalse();
+    }
+
+    // =============================
+    // DTO DEPTH
+    // =============================
+
+    @Test
+    void dtosStopAtTheRequestedDepth() {
+        Developer developer = graph();
+        Game game = developer.getGames().iterator().next();
+
+        DeveloperData none = new DeveloperData(developer, Expansion.NONE, 0);
+        assertThat(none.getGames()).isNull();
+
+        GameData one = new GameData(game, Expansion.parse("developer,games", 1), 0);
+        assertThat(one.getDeveloper().getDeveloperId()).isEqualTo(1);
+        assertThat(one.getDeveloper().getGames()).as("level 1 not expanded").isNull();
+        assertThat(one.getGenres()).as("genres not listed").isNull();
+        assertThat(one.getDeveloperId()).isEqualTo(1);
+
+        GameData three = new GameData(game, Expansion.parse("developer,games", Expansion.MAX_DEPTH), 0);
+        DeveloperData level1 = three.getDeveloper();
+        GameData level2 = level1.getGames().iterator().next();
+        DeveloperData level3 = level2.getDeveloper();
+        assertThat(level2.getGameId()).isEqualTo(10);
+        assertThat(level3.getDeveloperId()).isEqualTo(1);
+        assertThat(level3.getGames()).as("cycle cut at depth 3").isNull();
+    }
+
+    @Test
+    void expandAllKeepsTheOriginalGraph() {
+        Developer developer = graph();
+        Genre genre = developer.getGames().iterator().next().getGenres().iterator().next();
+
+        DeveloperData byDeveloper = new DeveloperData(developer);
+        GameData game = byDeveloper.getGames().iterator().next();
+        assertThat(game.getGenres()).extracting(GenreData::getGenreId).containsExactly(100);
+        assertThat(game.getDeveloper()).isNull();
+        assertThat(game.getGenres().iterator().next().getGames()).isNull();
+
+        GenreData byGenre = new GenreData(genre, Expansion.ALL, 0);
+        assertThat(byGenre.getGames()).singleElement()
+                .satisfies(embedded -> assertThat(embedded.getGenres()).hasSize(1));
+    }
+
+    // =============================
+    // HELPERS
+    // =============================
+
+    private static Developer graph() {
+        Developer developer = new Developer();
+        developer.setDeveloperId(1);
+        developer.setDeveloperName("Valve");
+
+        Genre genre = new Genre();
+        genre.setGenreId(100);
+        genre.setGenreName("Shooter");
+
+        Game game = new Game();
+        game.setGameId(10);
+        game.setGameTitle("Half-Life");
+        game.setDeveloper(developer);
+        game.setGenres(new HashSet<>(List.of(genre)));
+
+        developer.setGames(new HashSet<>(List.of(game)));
+        genre.getGames().add(game);
+        return developer;
+    }
+}
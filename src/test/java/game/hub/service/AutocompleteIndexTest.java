@@ -0,0 +1,143 @@
+package game.hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.SuggestionData;
+import game.hub.dao.DeveloperDao;
+import game.hub.dao.GameDao;
+import game.hub.dao.NamedRelease;
+
+/*
+ * AutocompleteIndexTest
+ * ----------------------
+ * Changes are served from the delta at once, without reading the
+ * database, and survive the merge that folds them in.
+ *
+ * - GameDao and DeveloperDao are mocks; "games" and "developers" are
+ *   what the next rebuild streams
+ */
+class AutocompleteIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2010, 1, 1);
+
+    private final GameDao gameDao = mock(GameDao.class);
+    private final DeveloperDao developerDao = mock(DeveloperDao.class);
+    private final AutocompleteIndex index = new AutocompleteIndex();
+
+    private final List<NamedRelease> games = new ArrayList<>(List.of(
+            new NamedRelease(1, "Portal", DAY.plusDays(1)),
+            new NamedRelease(2, "Portal 2", DAY.plusDays(2)),
+            new NamedRelease(3, "Half-Life", DAY)));
+    private final List<NamedRelease> developers = new ArrayList<>(List.of(
+            new NamedRelease(10, "Valve", DAY.plusDays(2)),
+            new NamedRelease(11, "Valiant", DAY.plusDays(1))));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "gameDao", gameDao);
+        ReflectionTestUtils.setField(index, "developerDao", developerDao);
+        ReflectionTestUtils.setField(index, "transactionManager", mock(PlatformTransactionManager.class));
+        when(gameDao.streamAllTitles()).thenAnswer(invocation -> List.copyOf(games).stream());
+        when(developerDao.streamAllNames()).thenAnswer(invocation -> List.copyOf(developers).stream());
+        index.initReadOnlyTransaction();
+        index.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        index.shutdown();
+    }
+
+    @Test
+    void changedGameIsSuggestedWithoutARebuild() {
+        index.onGameChanged(saved(1, "Team Fortress", DAY.plusDays(5)));
+        index.onGameChanged(saved(4, "Portal Stories", DAY.plusDays(3))); // new
+        index.onGameChanged(new GameChangedEvent(3, null));
+
+        assertThat(labels("Portal")).containsExactly("Portal Stories", "Portal 2");
+        assertThat(labels("team")).containsExactly("Team Fortress");
+        assertThat(labels("Half")).isEmpty();
+        verify(gameDao, times(1)).streamAllTitles();
+    }
+
+    @Test
+    void renamedDeveloperKeepsItsWeight() {
+        index.onDeveloperChanged(new DeveloperChangedEvent(10, "Valve Software", false, Set.of()));
+
+        assertThat(labels("Val")).containsExactly("Valve Software", "Valiant");
+
+        index.onDeveloperChanged(new DeveloperChangedEvent(10, "Valve Corporation", false, Set.of()));
+        assertThat(labels("Val")).as("renamed twice").containsExactly("Valve Corporation", "Valiant");
+    }
+
+    @Test
+    void deletedDeveloperTakesItsGamesAlong() {
+        index.onDeveloperChanged(new DeveloperChangedEvent(10, null, true, Set.of(1, 2)));
+
+        assertThat(labels("Val")).containsExactly("Valiant");
+        assertThat(labels("Portal")).isEmpty();
+        assertThat(labels("H")).containsExactly("Half-Life");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void mergeKeepsChangesTheDatabaseReadMissed() {
+        index.onGameChanged(saved(1, "Portal Prelude", DAY.plusDays(1)));
+        games.set(0, new NamedRelease(1, "Portal Prelude", DAY.plusDays(1)));
+        // the merge reads the titles; meanwhile game 5 is added
+        when(gameDao.streamAllTitles()).thenAnswer(invocation -> {
+            List<NamedRelease> titles = List.copyOf(games);
+            index.onGameChanged(saved(5, "Portal Reloaded", DAY.plusDays(4)));
+            return titles.stream();
+        });
+
+        index.rebuild();
+
+        assertThat(labels("Portal")).containsExactly("Portal Reloaded", "Portal 2", "Portal Prelude");
+        Map<Long, ?> changed = (Map<Long, ?>) ReflectionTestUtils.getField(index, "changed");
+        assertThat(changed.keySet()).as("only game 5 is left in the delta").containsExactly(NameIndex.gameKey(5));
+    }
+
+    @Test
+    void fullDeltaIsMergedEarly() {
+        for (int gameId = 100; gameId < 1100; gameId++) {
+            index.onGameChanged(saved(gameId, "Game " + gameId, DAY));
+        }
+
+        verify(gameDao, timeout(10_000).times(2)).streamAllTitles();
+    }
+
+    // =============================
+    // HELPERS
+    // =============================
+
+    private List<String> labels(String prefix) {
+        return index.suggest(prefix, 10).stream().map(SuggestionData::getLabel).toList();
+    }
+
+    private static GameChangedEvent saved(int gameId, String title, LocalDate releaseDate) {
+        GameData game = new GameData();
+        game.setGameId(gameId);
+        game.setGameTitle(title);
+        game.setGameReleaseDate(releaseDate);
+        return new GameChangedEvent(gameId, game);
+    }
+}
@@ -0,0 +1,143 @@
+package game.hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import game.hub.controller.model.Expansion;
+import game.hub.dao.EntityName;
+import game.hub.dao.GameSnapshotRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * CatalogSnapshotServiceTest
+ * ----------------------
+ * A read node's staleness check: the snapshot is re-mapped when the file
+ * changed, and a missing or broken file never replaces a working one.
+ *
+ * - reload() is what the reload-interval schedule runs; the tests call it
+ *   directly and set the file's modification time explicitly
+ */
+class CatalogSnapshotServiceTest {
+
+    private static final Instant WRITTEN = Instant.parse("2025-01-01T00:00:00Z");
+
+    @TempDir
+    private Path directory;
+
+    private Path path;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CatalogSnapshotService service = new CatalogSnapshotService();
+
+    @BeforeEach
+    void setUp() {
+        path = directory.resolve("catalog.snapshot");
+        ReflectionTestUtils.setField(service, "mode", "read");
+        ReflectionTestUtils.setField(service, "path", path);
+        ReflectionTestUtils.setField(service, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void snapshotIsMappedOnceItAppears() throws IOException {
+        service.start();
+        assertThat(service.serving()).as("no file yet").isNull();
+        assertThat(meterRegistry.get("gamehub.snapshot.age").gauge().value()).isNaN();
+
+        write("Portal", WRITTEN);
+        reload();
+
+        assertThat(title(service.serving())).isEqualTo("Portal");
+        assertThat(meterRegistry.get("gamehub.snapshot.age").gauge().value()).isNotNegative();
+    }
+
+    @Test
+    void unchangedFileIsNotMappedAgain() throws IOException {
+        write("Portal", WRITTEN);
+        service.start();
+        CatalogSnapshot first = service.serving();
+
+        reload();
+
+        assertThat(service.serving()).isSameAs(first);
+    }
+
+    @Test
+    void newerFileReplacesTheMapping() throws IOException {
+        write("Portal", WRITTEN);
+        service.start();
+        CatalogSnapshot first = service.serving();
+
+        write("Portal 2", WRITTEN.plusSeconds(600));
+        reload();
+
+        assertThat(service.serving()).isNotSameAs(first);
+        assertThat(title(service.serving())).isEqualTo("Portal 2");
+        assertThat(title(first)).as("the old mapping still reads").isEqualTo("Portal");
+    }
+
+    @Test
+    void brokenOrMissingFileKeepsTheCurrentSnapshot() throws IOException {
+        write("Portal", WRITTEN);
+        service.start();
+        CatalogSnapshot first = service.serving();
+
+        Files.writeString(path, "half a file");
+        Files.setLastModifiedTime(path, FileTime.from(WRITTEN.plusSeconds(600)));
+        reload();
+        assertThat(service.serving()).isSameAs(first);
+
+        Files.delete(path);
+        reload();
+        assertThat(service.serving()).isSameAs(first);
+
+        write("Portal 2", WRITTEN.plusSeconds(600)); // same time as the broken file: tried again
+        reload();
+        assertThat(title(service.serving())).isEqualTo("Portal 2");
+    }
+
+    @Test
+    void unknownModeIsRejected() {
+        ReflectionTestUtils.setField(service, "mode", "mirror");
+
+        assertThatThrownBy(service::start).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // =============================
+    // HELPERS
+    // =============================
+
+    private void reload() {
+        ReflectionTestUtils.invokeMethod(service, "reload");
+    }
+
+    private void write(String title, Instant modified) throws IOException {
+        CatalogSnapshot.write(path, List.of(), List.<EntityName>of(),
+                Stream.of(new GameSnapshotRow(1, title, null, null, null, null)));
+        Files.setLastModifiedTime(path, FileTime.from(modified));
+    }
+
+    private static String title(CatalogSnapshot snapshot) {
+        return snapshot.game(1, Expansion.NONE).getGameTitle();
+    }
+}
@@ -0,0 +1,222 @@
+package game.hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import game.hub.controller.model.DeveloperData;
+import game.hub.controller.model.Expansion;
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.GenreData;
+import game.hub.dao.EntityName;
+import game.hub.dao.GameSnapshotRow;
+import game.hub.entity.Developer;
+
+/*
+ * CatalogSnapshotTest
+ * ----------------------
+ * The byte layout of a written snapshot, and the DTOs read back through
+ * the mapping.
+ *
+ * - The catalog: game 1 (two genres, developer 20), game 4 (no genres,
+ *   developer or release date) and game 6 (a genre the snapshot doesn't
+ *   know); developers and genres are handed over out of id order
+ */
+class CatalogSnapshotTest {
+
+    private static final LocalDate RELEASE = LocalDate.of(2007, 10, 10);
+
+    @TempDir
+    private Path directory;
+
+    // =============================
+    // LAYOUT
+    // =============================
+
+    @Test
+    void fileFollowsTheDocumentedLayout() throws IOException {
+        Path path = directory.resolve("catalog.snapshot");
+        long before = System.currentTimeMillis();
+        long bytes = write(path);
+
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(path));
+        assertThat(file.capacity()).isEqualTo(bytes);
+
+        // header
+        assertThat(new String(Arrays.copyOf(file.array(), 6), StandardCharsets.US_ASCII)).isEqualTo("GHSNAP");
+        assertThat(file.getShort(6)).as("format").isEqualTo((short) 1);
+        assertThat(file.getLong(8)).isBetween(before, System.currentTimeMillis());
+        assertThat(ints(file, 16, 4)).as("games, links, developers, genres").containsExactly(3, 2, 2, 3);
+        int strings = 40 + 4 * (5 * 3 + (3 + 1) + 2 + 3 * 2 + 2 * 3);
+        assertThat(file.getLong(32)).as("start of the strings").isEqualTo(strings);
+
+        // game columns
+        assertThat(ints(file, 40, 3)).as("game ids").containsExactly(1, 4, 6);
+        assertThat(ints(file, 40 + 4 * 9, 3)).as("release days")
+                .containsExactly((int) RELEASE.toEpochDay(), Integer.MIN_VALUE, Integer.MIN_VALUE);
+        assertThat(ints(file, 40 + 4 * 12, 3)).as("developer ids").containsExactly(20, Integer.MIN_VALUE, 3);
+        assertThat(ints(file, 40 + 4 * 15, 4)).as("genre starts").containsExactly(0, 2, 2, 2);
+        assertThat(ints(file, 40 + 4 * 19, 2)).as("genre links (indexes of 2 and 7)").containsExactly(0, 1);
+
+        // developer and genre columns, in id order; strings in the order they were added
+        assertThat(ints(file, 40 + 4 * 21, 2)).as("developer ids").containsExactly(3, 20);
+        assertThat(ints(file, 40 + 4 * 23, 2)).as("developer names").containsExactly(0, 11);
+        assertThat(ints(file, 40 + 4 * 25, 2)).as("developer countries").containsExactly(-1, 20);
+        assertThat(ints(file, 40 + 4 * 27, 3)).as("genre ids").containsExactly(2, 7, 9);
+        assertThat(file.getInt(strings)).isEqualTo(7);
+        assertThat(new String(file.array(), strings + 4, 7, StandardCharsets.UTF_8)).isEqualTo("ZeniMax");
+
+        assertThat(directory.toFile().list()).as("no temporary files left").containsExactly("catalog.snapshot");
+    }
+
+    @Test
+    void emptyCatalogStillHasOneGenreStart() throws IOException {
+        Path path = directory.resolve("empty.snapshot");
+        long bytes = CatalogSnapshot.write(path, List.of(), List.of(), Stream.empty());
+
+        assertThat(bytes).isEqualTo(40 + 4);
+        CatalogSnapshot snapshot = CatalogSnapshot.open(path);
+        assertThat(snapshot.gameCount()).isZero();
+        assertThat(snapshot.game(1, Expansion.ALL)).isNull();
+        assertThat(snapshot.genres()).isEmpty();
+    }
+
+    @Test
+    void foreignOrTruncatedFilesAreRefused() throws IOException {
+        Path foreign = Files.writeString(directory.resolve("foreign.snapshot"), "GHSNAP but not really, no");
+        assertThatThrownBy(() -> CatalogSnapshot.open(foreign))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("format 1");
+
+        Path path = directory.resolve("catalog.snapshot");
+        write(path);
+        Path truncated = Files.write(directory.resolve("truncated.snapshot"),
+                Arrays.copyOf(Files.readAllBytes(path), 100));
+        assertThatThrownBy(() -> CatalogSnapshot.open(truncated))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageStartingWith("Corrupt catalog snapshot");
+    }
+
+    // =============================
+    // READ
+    // =============================
+
+    @Test
+    void gamesReadBackWithTheRequestedAssociations() throws IOException {
+        CatalogSnapshot snapshot = CatalogSnapshot.open(writeTo("catalog.snapshot"));
+
+        GameData portal = snapshot.game(1, Expansion.ALL);
+        assertThat(portal.getGameTitle()).isEqualTo("Portal");
+        assertThat(portal.getGameDescription()).isNull();
+        assertThat(portal.getGameReleaseDate()).isEqualTo(RELEASE);
+        assertThat(portal.getDeveloperId()).isEqualTo(20);
+        assertThat(portal.getDeveloper()).as("not expanded").isNull();
+        assertThat(portal.getGenres()).extracting(GenreData::getGenreName).containsExactlyInAnyOrder("Puzzle", "Shooter");
+
+        GameData withDeveloper = snapshot.game(1, Expansion.parse("developer", null));
+        assertThat(withDeveloper.getGenres()).isNull();
+        assertThat(withDeveloper.getDeveloper().getDeveloperName()).isEqualTo("Valve");
+        assertThat(withDeveloper.getDeveloper().getDeveloperCountry()).isEqualTo("US");
+
+        GameData quake = snapshot.game(4, Expansion.ALL);
+        assertThat(quake.getGameDescription()).isEqualTo("Ünïcode ✓");
+        assertThat(quake.getGameReleaseDate()).isNull();
+        assertThat(quake.getDeveloperId()).isNull();
+        assertThat(quake.getGenres()).isEmpty();
+
+        assertThat(snapshot.game(6, Expansion.ALL).getGenres()).as("unknown genre dropped").isEmpty();
+        assertThat(snapshot.game(5, Expansion.ALL)).isNull();
+        assertThat(snapshot.game(0, Expansion.ALL)).isNull();
+        assertThat(snapshot.game(7, Expansion.ALL)).isNull();
+    }
+
+    @Test
+    void developersAndGenresReadBackInIdOrder() throws IOException {
+        CatalogSnapshot snapshot = CatalogSnapshot.open(writeTo("catalog.snapshot"));
+
+        assertThat(snapshot.developers()).extracting(DeveloperData::getDeveloperId).containsExactly(3, 20);
+        assertThat(snapshot.developer(3).getDeveloperCountry()).isNull();
+        assertThat(snapshot.developer(3).getGames()).isNull();
+        assertThat(snapshot.developer(4)).isNull();
+        assertThat(snapshot.genres()).extracting(GenreData::getGenreName).containsExactly("Puzzle", "Shooter", "Unused");
+        assertThat(snapshot.genre(9).getGenreName()).isEqualTo("Unused");
+        assertThat(snapshot.genre(99)).isNull();
+    }
+
+    @Test
+    void coverageAndETags() throws IOException {
+        CatalogSnapshot snapshot = CatalogSnapshot.open(writeTo("catalog.snapshot"));
+
+        assertThat(CatalogSnapshot.coversGame(Expansion.ALL)).isTrue();
+        assertThat(CatalogSnapshot.coversGame(Expansion.parse("developer,games", 2))).isFalse();
+        assertThat(CatalogSnapshot.coversOwnFields(Expansion.parse("genres", null))).isTrue();
+        assertThat(CatalogSnapshot.coversOwnFields(Expansion.ALL)).isFalse();
+        assertThat(snapshot.etag("game-1")).isEqualTo("W/\"snapshot-" + snapshot.createdAt() + "-game-1\"");
+    }
+
+    @Test
+    void mappingOutlivesTheFileBeingReplaced() throws IOException, InterruptedException {
+        Path path = writeTo("catalog.snapshot");
+        CatalogSnapshot old = CatalogSnapshot.open(path);
+        Thread.sleep(2); // a later createdAt
+
+        CatalogSnapshot.write(path, List.of(), List.of(new EntityName(1, "Racing")),
+                Stream.of(new GameSnapshotRow(8, "Outrun", null, null, null, 1)));
+
+        assertThat(old.game(1, Expansion.ALL).getGameTitle()).isEqualTo("Portal");
+        CatalogSnapshot fresh = CatalogSnapshot.open(path);
+        assertThat(fresh.createdAt()).isGreaterThan(old.createdAt());
+        assertThat(fresh.game(8, Expansion.ALL).getGenres()).extracting(GenreData::getGenreName)
+                .containsExactly("Racing");
+        assertThat(fresh.game(1, Expansion.ALL)).isNull();
+    }
+
+    // =============================
+    // HELPERS
+    // =============================
+
+    private Path writeTo(String name) throws IOException {
+        Path path = directory.resolve(name);
+        write(path);
+        return path;
+    }
+
+    private static long write(Path path) throws IOException {
+        return CatalogSnapshot.write(path,
+                List.of(developer(20, "Valve", "US"), developer(3, "ZeniMax", null)),
+                List.of(new EntityName(7, "Shooter"), new EntityName(2, "Puzzle"), new EntityName(9, "Unused")),
+                Stream.of(
+                        new GameSnapshotRow(1, "Portal", null, RELEASE, 20, 2),
+                        new GameSnapshotRow(1, "Portal", null, RELEASE, 20, 7),
+                        new GameSnapshotRow(4, "Quake", "Ünïcode ✓", null, null, null),
+                        new GameSnapshotRow(6, "Orphan", "", null, 3, 99)));
+    }
+
+    private static Developer developer(int id, String name, String country) {
+        Developer developer = new Developer();
+        developer.setDeveloperId(id);
+        developer.setDeveloperName(name);
+        developer.setDeveloperCountry(country);
+        return developer;
+    }
+
+    private static int[] ints(ByteBuffer file, int at, int count) {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = file.getInt(at + 4 * i);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,170 @@
+package game.hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import game.hub.controller.model.CountData;
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.GenreData;
+import game.hub.controller.model.StatsData;
+import game.hub.dao.DeveloperDao;
+import game.hub.dao.EntityName;
+import game.hub.dao.GameDao;
+import game.hub.dao.GameStatsRow;
+import game.hub.dao.GenreDao;
+
+/*
+ * CatalogStatisticsTest
+ * ----------------------
+ * The counters behind GET /gamehub/stats follow the change events, and a
+ * reconciliation rebuilds them from the database without losing the
+ * changes that arrive while it loads.
+ *
+ * - The DAOs are mocks; "database" is the list of rows the next
+ *   reconciliation streams
+ * - Changes during a reconciliation are sent from inside the row stream,
+ *   i.e. after the load has started reading
+ */
+class CatalogStatisticsTest {
+
+    private static final int ACTION = 1;
+    private static final int PUZZLE = 2;
+    private static final int STUDIO = 10;
+    private static final int OTHER_STUDIO = 11;
+
+    private final GameDao gameDao = mock(GameDao.class);
+    private final DeveloperDao developerDao = mock(DeveloperDao.class);
+    private final GenreDao genreDao = mock(GenreDao.class);
+    private final CatalogStatistics statistics = new CatalogStatistics();
+
+    private final List<GameStatsRow> database = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(statistics, "gameDao", gameDao);
+        ReflectionTestUtils.setField(statistics, "developerDao", developerDao);
+        ReflectionTestUtils.setField(statistics, "genreDao", genreDao);
+        ReflectionTestUtils.setField(statistics, "transactionManager", mock(PlatformTransactionManager.class));
+        statistics.initReadOnlyTransaction();
+
+        when(developerDao.findAllNames()).thenReturn(List.of(
+                new EntityName(STUDIO, "Studio"), new EntityName(OTHER_STUDIO, "Other Studio")));
+        when(genreDao.findAllNames()).thenReturn(List.of(
+                new EntityName(ACTION, "Action"), new EntityName(PUZZLE, "Puzzle")));
+        when(gameDao.streamAllStatsRows()).thenAnswer(invocation -> List.copyOf(database).stream());
+    }
+
+    @Test
+    void countsFollowGameChanges() {
+        statistics.reconcile();
+
+        statistics.onGameChanged(saved(1, STUDIO, 2020, ACTION, PUZZLE));
+        statistics.onGameChanged(saved(2, STUDIO, 2021, ACTION));
+        statistics.onGameChanged(saved(3, OTHER_STUDIO, null));
+        statistics.onGameChanged(saved(1, OTHER_STUDIO, 2021, PUZZLE)); // moves every count of game 1
+        statistics.onGameChanged(new GameChangedEvent(3, null));
+        statistics.onGameChanged(new GameChangedEvent(3, null)); // deleted twice counts once
+
+        StatsData stats = statistics.snapshot(1);
+        assertThat(stats.getTotalGames()).isEqualTo(2);
+        assertThat(counts(stats.getGamesPerGenre())).isEqualTo(Map.of(ACTION, 1L, PUZZLE, 1L));
+        assertThat(counts(stats.getGamesPerDeveloper())).isEqualTo(Map.of(STUDIO, 1L, OTHER_STUDIO, 1L));
+        assertThat(counts(stats.getGamesPerReleaseYear())).isEqualTo(Map.of(2021, 2L));
+        assertThat(stats.getTopDevelopers()).extracting(CountData::getId).containsExactly(STUDIO);
+        assertThat(stats.getGamesPerGenre()).extracting(CountData::getName).containsExactly("Action", "Puzzle");
+    }
+
+    @Test
+    void deletedGenreIsDroppedFromTheGamesItWasCountedFor() {
+        statistics.reconcile();
+        statistics.onGameChanged(saved(1, STUDIO, 2020, ACTION, PUZZLE));
+
+        statistics.onGenreChanged(new GenreChangedEvent(ACTION, null, true));
+        assertThat(counts(statistics.snapshot(10).getGamesPerGenre())).isEqualTo(Map.of(PUZZLE, 1L));
+
+        // a genre under the same id again: game 1 isn't counted for it, so moving the game takes nothing off it
+        statistics.onGenreChanged(new GenreChangedEvent(ACTION, "Action", false));
+        statistics.onGameChanged(saved(1, STUDIO, 2020, PUZZLE));
+        assertThat(counts(statistics.snapshot(10).getGamesPerGenre())).isEqualTo(Map.of(ACTION, 0L, PUZZLE, 1L));
+    }
+
+    @Test
+    void changesDuringAReconciliationAreReplayedOntoTheRebuiltCounters() {
+        database.add(row(1, STUDIO, 2020, ACTION));
+        database.add(row(2, STUDIO, 2020, PUZZLE));
+        statistics.reconcile();
+
+        // the load reads games 1 and 2; meanwhile game 3 is added and game 1 deleted
+        when(gameDao.streamAllStatsRows()).thenAnswer(invocation -> {
+            List<GameStatsRow> rows = List.copyOf(database);
+            statistics.onGameChanged(saved(3, OTHER_STUDIO, 2022, ACTION));
+            statistics.onGameChanged(new GameChangedEvent(1, null));
+            database.add(row(3, OTHER_STUDIO, 2022, ACTION));
+            database.remove(0);
+            return rows.stream();
+        });
+
+        assertThat(statistics.reconcile()).as("drifted counters").isZero();
+        statistics.onGameChanged(saved(4, OTHER_STUDIO, 2022, PUZZLE)); // after the swap
+
+        StatsData stats = statistics.snapshot(10);
+        assertThat(stats.getTotalGames()).isEqualTo(3);
+        assertThat(counts(stats.getGamesPerGenre())).isEqualTo(Map.of(ACTION, 1L, PUZZLE, 2L));
+        assertThat(counts(stats.getGamesPerDeveloper())).isEqualTo(Map.of(STUDIO, 1L, OTHER_STUDIO, 2L));
+        assertThat(counts(stats.getGamesPerReleaseYear())).isEqualTo(Map.of(2020, 1L, 2022, 2L));
+    }
+
+    @Test
+    void reconciliationCorrectsAndCountsDriftedCounters() {
+        database.add(row(1, STUDIO, 2020, ACTION));
+        statistics.reconcile();
+        assertThat(statistics.snapshot(10).getTotalGames()).isEqualTo(1);
+
+        // an event without a committed row: total, developer, year and genre drift
+        statistics.onGameChanged(saved(2, OTHER_STUDIO, 2021, PUZZLE));
+
+        assertThat(statistics.reconcile()).isEqualTo(4);
+        StatsData stats = statistics.snapshot(10);
+        assertThat(stats.getTotalGames()).isEqualTo(1);
+        assertThat(counts(stats.getGamesPerGenre())).isEqualTo(Map.of(ACTION, 1L, PUZZLE, 0L));
+        assertThat(counts(stats.getGamesPerReleaseYear())).isEqualTo(Map.of(2020, 1L));
+        assertThat(statistics.reconcile()).as("nothing left to correct").isZero();
+    }
+
+    private static GameChangedEvent saved(int gameId, int developerId, Integer year, int... genreIds) {
+        GameData game = new GameData();
+        game.setGameId(gameId);
+        game.setDeveloperId(developerId);
+        game.setGameReleaseDate(year == null ? null : LocalDate.of(year, 6, 1));
+        Set<GenreData> genres = new HashSet<>();
+        for (int genreId : genreIds) {
+            GenreData genre = new GenreData();
+            genre.setGenreId(genreId);
+            genres.add(genre);
+        }
+        game.setGenres(genres);
+        return new GameChangedEvent(gameId, game);
+    }
+
+    private static GameStatsRow row(int gameId, int developerId, int year, int genreId) {
+        return new GameStatsRow(gameId, developerId, LocalDate.of(year, 6, 1), genreId);
+    }
+
+    private static Map<Integer, Long> counts(List<CountData> counts) {
+        return counts.stream().collect(Collectors.toMap(CountData::getId, CountData::getGames));
+    }
+}
@@ -0,0 +1,170 @@
+package game.hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import game.hub.controller.model.DeveloperData;
+import game.hub.controller.model.Expansion;
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.GenreData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * DtoCacheTest
+ * ----------------------
+ * A change event evicts exactly the cached responses that embed the
+ * changed entity, and nothing else.
+ *
+ * - Games 1 and 2 belong to developer 10; game 1 is in genre 5, game 2
+ *   in genre 6
+ * - Each test caches a few shapes, sends one event and checks which
+ *   entries are left
+ */
+class DtoCacheTest {
+
+    private static final int STUDIO = 10;
+    private static final int ACTION = 5;
+    private static final int PUZZLE = 6;
+
+    private static final Expansion GENRES = Expansion.parse("genres", null);
+    private static final Expansion DEVELOPER = Expansion.parse("developer", null);
+    private static final Expansion GAMES = Expansion.parse("games", null);
+
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final DtoCache dtoCache = new DtoCache(100, Duration.ofMinutes(10));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(singleFlight, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(dtoCache, "singleFlight", singleFlight);
+    }
+
+    @Test
+    void genreRenameEvictsTheGamesThatEmbedIt() {
+        dtoCache.getGame(1, GENRES, id -> cached(game(id, ACTION)));
+        dtoCache.getGame(1, Expansion.NONE, id -> cached(game(id)));
+        dtoCache.getGame(2, GENRES, id -> cached(game(id, PUZZLE)));
+        dtoCache.getDeveloper(STUDIO, Expansion.ALL, id -> cached(developer(id, game(1, ACTION), game(2, PUZZLE))));
+        dtoCache.getGenre(ACTION, Expansion.NONE, id -> cached(genre(id)));
+
+        dtoCache.onGenreChanged(new GenreChangedEvent(ACTION, "Renamed", false));
+
+        assertThat(dtoCache.getGenreIfPresent(ACTION, Expansion.NONE)).isNull();
+        assertThat(dtoCache.getGameIfPresent(1, GENRES)).isNull();
+        assertThat(dtoCache.getDeveloperIfPresent(STUDIO, Expansion.ALL)).as("lists game 1 with its genres").isNull();
+        assertThat(dtoCache.getGameIfPresent(1, Expansion.NONE)).as("no genre embedded").isNotNull();
+        assertThat(dtoCache.getGameIfPresent(2, GENRES)).as("other genre").isNotNull();
+    }
+
+    @Test
+    void developerRenameEvictsTheGamesThatEmbedIt() {
+        dtoCache.getGame(1, DEVELOPER, id -> cached(withDeveloper(game(id), developer(STUDIO))));
+        dtoCache.getGame(2, Expansion.NONE, id -> cached(game(id)));
+
+        dtoCache.onDeveloperChanged(new DeveloperChangedEvent(STUDIO, "Renamed", false, Set.of()));
+
+        assertThat(dtoCache.getGameIfPresent(1, DEVELOPER)).isNull();
+        assertThat(dtoCache.getGameIfPresent(2, Expansion.NONE)).isNotNull();
+    }
+
+    @Test
+    void savedGameEvictsTheListsItJoinedOnly() {
+        dtoCache.getDeveloper(STUDIO, GAMES, id -> cached(developer(id, game(1))));
+        dtoCache.getDeveloper(STUDIO, Expansion.NONE, id -> cached(developer(id)));
+        dtoCache.getGenre(PUZZLE, GAMES, id -> cached(genre(id, game(2))));
+        dtoCache.getGenre(ACTION, GAMES, id -> cached(genre(id, game(1))));
+        dtoCache.getGame(2, Expansion.NONE, id -> cached(game(id)));
+
+        // game 3 is new: developer 10 and genre 6 didn't list it yet
+        dtoCache.onGameChanged(new GameChangedEvent(3, withDeveloperId(game(3, PUZZLE), STUDIO)));
+
+        assertThat(dtoCache.getDeveloperIfPresent(STUDIO, GAMES)).isNull();
+        assertThat(dtoCache.getGenreIfPresent(PUZZLE, GAMES)).isNull();
+        assertThat(dtoCache.getDeveloperIfPresent(STUDIO, Expansion.NONE)).as("no game list").isNotNull();
+        assertThat(dtoCache.getGenreIfPresent(ACTION, GAMES)).as("game 3 isn't in it").isNotNull();
+        assertThat(dtoCache.getGameIfPresent(2, Expansion.NONE)).isNotNull();
+    }
+
+    @Test
+    void deletedGameEvictsTheListsThatHadIt() {
+        dtoCache.getGenre(ACTION, GAMES, id -> cached(genre(id, game(1, ACTION))));
+        dtoCache.getGenre(PUZZLE, GAMES, id -> cached(genre(id, game(2, PUZZLE))));
+
+        dtoCache.onGameChanged(new GameChangedEvent(1, null));
+
+        assertThat(dtoCache.getGenreIfPresent(ACTION, GAMES)).isNull();
+        assertThat(dtoCache.getGenreIfPresent(PUZZLE, GAMES)).isNotNull();
+    }
+
+    @Test
+    void loadThatRanDuringAChangeIsNotCached() {
+        // the genre is renamed while game 1 is being read with its old name
+        CachedDto<GameData> loaded = dtoCache.getGame(1, GENRES, id -> {
+            dtoCache.onGenreChanged(new GenreChangedEvent(ACTION, "Renamed", false));
+            return cached(game(id, ACTION));
+        });
+
+        assertThat(loaded).as("the caller still gets its result").isNotNull();
+        assertThat(dtoCache.getGameIfPresent(1, GENRES)).isNull();
+
+        // a load without a change is cached, and evicted by the next rename
+        dtoCache.getGame(1, GENRES, id -> cached(game(id, ACTION)));
+        assertThat(dtoCache.getGameIfPresent(1, GENRES)).isNotNull();
+        dtoCache.onGenreChanged(new GenreChangedEvent(ACTION, "Renamed again", false));
+        assertThat(dtoCache.getGameIfPresent(1, GENRES)).isNull();
+    }
+
+    // =============================
+    // HELPERS
+    // =============================
+
+    private static <T> CachedDto<T> cached(T data) {
+        return new CachedDto<>(data, "\"test\"");
+    }
+
+    private static GameData game(int gameId, int... genreIds) {
+        GameData game = new GameData();
+        game.setGameId(gameId);
+        if (genreIds.length > 0) {
+            game.setGenres(Set.copyOf(Arrays.stream(genreIds).mapToObj(id -> genre(id)).toList()));
+        }
+        return game;
+    }
+
+    private static GameData withDeveloper(GameData game, DeveloperData developer) {
+        game.setDeveloperId(developer.getDeveloperId());
+        game.setDeveloper(developer);
+        return game;
+    }
+
+    private static GameData withDeveloperId(GameData game, int developerId) {
+        game.setDeveloperId(developerId);
+        return game;
+    }
+
+    private static DeveloperData developer(int developerId, GameData... games) {
+        DeveloperData developer = new DeveloperData();
+        developer.setDeveloperId(developerId);
+        if (games.length > 0) {
+            developer.setGames(Set.copyOf(List.of(games)));
+        }
+        return developer;
+    }
+
+    private static GenreData genre(int genreId, GameData... games) {
+        GenreData genre = new GenreData();
+        genre.setGenreId(genreId);
+        if (games.length > 0) {
+            genre.setGames(Set.copyOf(List.of(games)));
+        }
+        return genre;
+    }
+}
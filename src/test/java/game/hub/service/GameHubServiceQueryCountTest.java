@@ -0,0 +1,167 @@
+package game.hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import game.hub.config.RequestQueryCounter;
+import game.hub.controller.model.DeveloperData;
+import game.hub.controller.model.Expansion;
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.GenreData;
+import jakarta.persistence.EntityManagerFactory;
+
+/*
+ * GameHubServiceQueryCountTest
+ * ----------------------
+ * SQL statements per read, counted with RequestQueryCounter (the same
+ * counter as gamehub.request.sql.statements), for every shape of ?expand=
+ * the read methods load differently.
+ *
+ * - cold: second-level cache empty, DtoCache key not read before
+ * - The same count for a developer with two games and one with twelve
+ *   (and for a game of each): an association loaded per owner (N+1)
+ *   would add statements for the bigger one
+ * - warm: second-level cache filled by a full read first; a warm read
+ *   may save statements but never add any (cached ids of entities that
+ *   aren't cached are loaded back one query each)
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GameHubServiceQueryCountTest {
+
+    private static final int SMALL_DEVELOPER_GAMES = 2;
+    private static final int BIG_DEVELOPER_GAMES = 12;
+
+    @Autowired
+    private GameHubService gameHubService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // [0] = developer with SMALL_DEVELOPER_GAMES games, [1] and [2] = developers with BIG_DEVELOPER_GAMES games
+    private final int[] developerIds = new int[3];
+    private final int[] gameIds = new int[3]; // one game of each developer
+
+    @BeforeAll
+    void seedCatalog() {
+        List<GenreData> genres = new ArrayList<>();
+        for (String name : List.of("Action", "Puzzle", "Strategy")) {
+            GenreData genre = new GenreData();
+            genre.setGenreName(name);
+            genres.add(gameHubService.saveGenre(genre));
+        }
+        for (int d = 0; d < developerIds.length; d++) {
+            DeveloperData developer = new DeveloperData();
+            developer.setDeveloperName("Query Count Studio " + d);
+            developer.setDeveloperCountry("US");
+            developerIds[d] = gameHubService.saveDeveloper(developer).getDeveloperId();
+
+            int games = d == 0 ? SMALL_DEVELOPER_GAMES : BIG_DEVELOPER_GAMES;
+            for (int g = 0; g < games; g++) {
+                GameData game = new GameData();
+                game.setGameTitle("Query Count Game " + d + "-" + g);
+                game.setDeveloperId(developerIds[d]);
+                game.setGenres(Set.of(genreRef(genres.get(g % 3)), genreRef(genres.get((g + 1) % 3))));
+                int gameId = gameHubService.saveGame(game).getGameId();
+                if (g == 0) {
+                    gameIds[d] = gameId;
+                }
+            }
+        }
+    }
+
+    private static GenreData genreRef(GenreData genre) {
+        GenreData ref = new GenreData();
+        ref.setGenreId(genre.getGenreId());
+        return ref;
+    }
+
+    // expand, depth, then the statements of getGameById, getDeveloperById, getAllGames, getAllGenres
+    static Stream<Arguments> expansions() {
+        return Stream.of(
+                Arguments.of(null, null, 2, 2, 1, 1),
+                Arguments.of("all", null, 2, 2, 1, 1),
+                Arguments.of("genres", null, 2, 2, 1, 1),
+                Arguments.of("games", null, 2, 2, 1, 1),
+                Arguments.of("developer", null, 2, 1, 2, 1),
+                Arguments.of("games,genres", 2, 2, 1, 2, 1),
+                Arguments.of("games,genres,developer", 2, 4, 1, 4, 2),
+                Arguments.of("games,genres,developer", 3, 7, 2, 4, 3));
+    }
+
+    @ParameterizedTest(name = "expand={0} depth={1}")
+    @MethodSource("expansions")
+    void getGameByIdRunsAFixedNumberOfStatements(String expand, Integer depth,
+            long gameById, long developerById, long allGames, long allGenres) {
+        Expansion expansion = Expansion.parse(expand, depth);
+        assertFixed(gameById, index -> gameHubService.getGameById(gameIds[index], expansion));
+    }
+
+    @ParameterizedTest(name = "expand={0} depth={1}")
+    @MethodSource("expansions")
+    void getDeveloperByIdRunsAFixedNumberOfStatements(String expand, Integer depth,
+            long gameById, long developerById, long allGames, long allGenres) {
+        Expansion expansion = Expansion.parse(expand, depth);
+        assertFixed(developerById, index -> gameHubService.getDeveloperById(developerIds[index], expansion));
+    }
+
+    @ParameterizedTest(name = "expand={0} depth={1}")
+    @MethodSource("expansions")
+    void getAllGamesRunsAFixedNumberOfStatements(String expand, Integer depth,
+            long gameById, long developerById, long allGames, long allGenres) {
+        Expansion expansion = Expansion.parse(expand, depth);
+        assertFixed(allGames, index -> gameHubService.getAllGames(expansion));
+    }
+
+    @ParameterizedTest(name = "expand={0} depth={1}")
+    @MethodSource("expansions")
+    void getAllGenresRunsAFixedNumberOfStatements(String expand, Integer depth,
+            long gameById, long developerById, long allGames, long allGenres) {
+        Expansion expansion = Expansion.parse(expand, depth);
+        assertFixed(allGenres, index -> gameHubService.getAllGenres(expansion));
+    }
+
+    // read(i) reads the object of developer i (list reads ignore i)
+    private void assertFixed(long expected, IntConsumer read) {
+        evictSecondLevelCache();
+        assertThat(statements(() -> read.accept(0))).as("cold, small developer").isEqualTo(expected);
+        evictSecondLevelCache();
+        assertThat(statements(() -> read.accept(1))).as("cold, big developer").isEqualTo(expected);
+
+        evictSecondLevelCache();
+        gameHubService.getAllDevelopers(Expansion.ALL); // fills the second-level cache
+        assertThat(statements(() -> read.accept(2))).as("warm, big developer").isLessThanOrEqualTo(expected);
+    }
+
+    private void evictSecondLevelCache() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    // Statements run by the call on this thread
+    private static long statements(Runnable read) {
+        RequestQueryCounter.start();
+        try {
+            read.run();
+        } catch (RuntimeException e) {
+            RequestQueryCounter.stop();
+            throw e;
+        }
+        return RequestQueryCounter.stop().statements();
+    }
+}
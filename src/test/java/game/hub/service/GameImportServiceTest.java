@@ -0,0 +1,204 @@
+package game.hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import game.hub.controller.model.ImportErrorData;
+import game.hub.controller.model.ImportJobData;
+import game.hub.controller.model.ImportJobData.Status;
+import game.hub.dao.GameDao;
+import game.hub.dao.ImportJobDao;
+import game.hub.entity.ImportJob;
+
+/*
+ * GameImportServiceTest
+ * ----------------------
+ * Chunks, failed rows and resume of GameImportService, with CHUNK rows per
+ * transaction (set on the shared bean for the class, then restored).
+ *
+ * - A row the JSON parser can't read in the middle of a value (syntax
+ *   error) fails the job; the row is then fixed in place (same length)
+ *   and the job resumed, like after a crash
+ * - Titles with 2-, 3- and 4-byte UTF-8 chars come before the resume
+ *   offset: mapping the parser's char offset to a byte offset wrongly
+ *   would resume inside a row
+ * - Rows of the wrong shape end chunks too: they are committed without a
+ *   resume offset (rowsCommitted > resumeRow), and a resume skips them
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GameImportServiceTest {
+
+    private static final int CHUNK = 4;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final String REJECTED_TITLE = "Rejected by the database";
+
+    @Autowired
+    private GameImportService gameImportService;
+
+    @Autowired
+    private ImportJobDao importJobDao;
+
+    @Autowired
+    private GameDao gameDao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    static Path directory;
+
+    private Object originalDirectory;
+    private Object originalChunkSize;
+
+    @BeforeAll
+    void useSmallChunks() {
+        originalDirectory = ReflectionTestUtils.getField(gameImportService, "directory");
+        originalChunkSize = ReflectionTestUtils.getField(gameImportService, "chunkSize");
+        ReflectionTestUtils.setField(gameImportService, "directory", directory.toAbsolutePath().normalize());
+        ReflectionTestUtils.setField(gameImportService, "chunkSize", CHUNK);
+    }
+
+    @AfterAll
+    void restore() {
+        ReflectionTestUtils.setField(gameImportService, "directory", originalDirectory);
+        ReflectionTestUtils.setField(gameImportService, "chunkSize", originalChunkSize);
+    }
+
+    @Test
+    void resumeContinuesAfterTheLastCommittedRow() throws Exception {
+        List<String> rows = new ArrayList<>();
+        rows.add(game("Café 1")); // 2-byte char
+        rows.add(game("ゲーム 2")); // 3-byte chars
+        rows.add(game("\uD834\uDD1E 3")); // 4-byte char (a surrogate pair)
+        rows.add(game("Plain 4"));
+        for (int i = 5; i <= 12; i++) {
+            rows.add(wrongShape(i));
+        }
+        String fixed = game("Resumed 13");
+        String broken = fixed.substring(0, fixed.length() - 1) + "]"; // ']' where '}' belongs
+        rows.add(broken);
+        rows.add(game("Resumed 14"));
+        rows.add(game("Resumed 15"));
+        Path file = write("resume.json", "[\n" + String.join(",\n", rows) + "\n]\n");
+        long gamesBefore = gameDao.count();
+
+        ImportJobData failed = await(gameImportService.importLocalFile("resume.json", null).getJobId());
+
+        assertThat(failed.getStatus()).isEqualTo(Status.FAILED);
+        assertThat(failed.getMessage()).startsWith("Row 13 could not be parsed");
+        assertThat(failed.getGamesImported()).isEqualTo(4);
+        assertThat(failed.getRowsFailed()).isEqualTo(8);
+        assertThat(failed.getRowsCommitted()).as("chunks of unreadable rows committed").isEqualTo(12);
+        ImportJob job = importJobDao.findById(failed.getJobId()).orElseThrow();
+        assertThat(job.getResumeRow()).as("last row with an offset").isEqualTo(4);
+        String text = Files.readString(file);
+        String throughRow4 = text.substring(0, text.indexOf(rows.get(3)) + rows.get(3).length());
+        assertThat(job.getResumeOffset()).isEqualTo(throughRow4.getBytes(StandardCharsets.UTF_8).length);
+
+        Files.writeString(file, text.replace(broken, fixed)); // same length, the offsets still hold
+        ImportJobData resumed = await(gameImportService.resume(failed.getJobId()).getJobId());
+
+        assertThat(resumed.getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(resumed.getGamesImported()).isEqualTo(7);
+        assertThat(resumed.getRowsFailed()).isEqualTo(8);
+        assertThat(resumed.getRowsCommitted()).isEqualTo(15);
+        assertThat(gameDao.count()).as("no row imported twice").isEqualTo(gamesBefore + 7);
+        assertThat(gameImportService.errors(failed.getJobId(), null, null))
+                .extracting(ImportErrorData::getRowIndex)
+                .containsExactly(5L, 6L, 7L, 8L, 9L, 10L, 11L, 12L);
+    }
+
+    @Test
+    void longRunOfUnreadableRowsIsCommittedChunkByChunk() throws Exception {
+        List<String> rows = new ArrayList<>();
+        rows.add(game("Before the run"));
+        for (int i = 2; i <= 51; i++) {
+            rows.add(wrongShape(i));
+        }
+        rows.add("{\"gameTitle\":\"Never read\"]");
+        write("bad-run.json", String.join("\n", rows) + "\n"); // NDJSON
+
+        ImportJobData failed = await(gameImportService.importLocalFile("bad-run.json", null).getJobId());
+
+        // rows 1-48 in 12 chunks; 49-51 were still buffered when row 52 failed the job
+        assertThat(failed.getStatus()).isEqualTo(Status.FAILED);
+        assertThat(failed.getRowsCommitted()).isEqualTo(48);
+        assertThat(failed.getGamesImported()).isEqualTo(1);
+        assertThat(failed.getRowsFailed()).isEqualTo(47);
+        assertThat(importJobDao.findById(failed.getJobId()).orElseThrow().getResumeRow()).isZero();
+    }
+
+    @Test
+    void chunkTheDatabaseRejectsIsRetriedRowByRow() throws Exception {
+        jdbcTemplate.execute("alter table game add constraint ck_import_test check (game_title <> '"
+                + REJECTED_TITLE + "')");
+        try {
+            String csv = "gameTitle,gameDescription,gameReleaseDate,developerName,developerCountry,genres\n"
+                    + "Row by row 1,,,,,Row By Row\n"
+                    + "Row by row 2,,,,,Row By Row\n"
+                    + REJECTED_TITLE + ",,,,,Row By Row\n"
+                    + "Row by row 4,,,,,Row By Row\n"
+                    + "Row by row 5,,,,,Row By Row\n";
+            write("retry.csv", csv);
+            long gamesBefore = gameDao.count();
+
+            ImportJobData done = await(gameImportService.importLocalFile("retry.csv", null).getJobId());
+
+            assertThat(done.getStatus()).isEqualTo(Status.COMPLETED);
+            assertThat(done.getGamesImported()).isEqualTo(4);
+            assertThat(done.getRowsFailed()).isEqualTo(1);
+            assertThat(done.getGenresCreated()).as("created once, by the row that committed first").isEqualTo(1);
+            assertThat(gameDao.count()).isEqualTo(gamesBefore + 4);
+            List<ImportErrorData> errors = gameImportService.errors(done.getJobId(), null, null);
+            assertThat(errors).extracting(ImportErrorData::getRowIndex).containsExactly(3L);
+            assertThat(errors.get(0).getMessage()).containsIgnoringCase("ck_import_test");
+        } finally {
+            jdbcTemplate.execute("alter table game drop constraint ck_import_test");
+        }
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.writeString(directory.resolve(name), content);
+    }
+
+    private ImportJobData await(Integer jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            ImportJobData job = gameImportService.status(jobId);
+            if (job.getStatus() != Status.QUEUED && job.getStatus() != Status.RUNNING) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Import " + jobId + " did not finish within " + TIMEOUT);
+    }
+
+    private static String game(String title) {
+        return "{\"gameTitle\":\"" + title + "\",\"genres\":\"Import Test\"}";
+    }
+
+    // An object where the title belongs: the parser reads past it, the row fails on its own
+    private static String wrongShape(int row) {
+        return "{\"gameTitle\":{\"row\":" + row + "}}";
+    }
+}
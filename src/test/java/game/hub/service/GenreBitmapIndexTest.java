@@ -0,0 +1,195 @@
+package game.hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.GenreData;
+import game.hub.dao.GameDao;
+import game.hub.dao.GameGenreLink;
+import game.hub.service.GenreBitmapIndex.Match;
+
+/*
+ * GenreBitmapIndexTest
+ * ----------------------
+ * all / any / none genre filters, keyset paging and updates of the
+ * per-genre bitmaps.
+ *
+ * - The catalog: games 1-12; game n is ACTION if n is even, PUZZLE if n
+ *   is a multiple of 3, INDIE if n is a multiple of 4; games 1, 5, 7 and
+ *   11 have no genre
+ * - GameDao is a mock; "database" is the list of links the next rebuild
+ *   streams
+ */
+class GenreBitmapIndexTest {
+
+    private static final int ACTION = 1;
+    private static final int PUZZLE = 2;
+    private static final int INDIE = 3;
+    private static final int UNKNOWN = 99;
+
+    private final GameDao gameDao = mock(GameDao.class);
+    private final GenreBitmapIndex index = new GenreBitmapIndex();
+
+    private final List<GameGenreLink> database = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "gameDao", gameDao);
+        when(gameDao.streamAllGenreLinks()).thenAnswer(invocation -> List.copyOf(database).stream());
+        for (int gameId = 1; gameId <= 12; gameId++) {
+            List<Integer> genreIds = genresOf(gameId);
+            if (genreIds.isEmpty()) {
+                database.add(new GameGenreLink(gameId, null));
+            }
+            for (Integer genreId : genreIds) {
+                database.add(new GameGenreLink(gameId, genreId));
+            }
+        }
+        index.rebuild();
+    }
+
+    // =============================
+    // FILTERS
+    // =============================
+
+    @Test
+    void filtersCombine() {
+        assertThat(ids(List.of(), List.of(), List.of())).as("no filter").hasSize(12);
+        assertThat(ids(List.of(ACTION), List.of(), List.of())).containsExactly(2, 4, 6, 8, 10, 12);
+        assertThat(ids(List.of(ACTION, PUZZLE), List.of(), List.of())).containsExactly(6, 12);
+        assertThat(ids(List.of(), List.of(PUZZLE, INDIE), List.of())).containsExactly(3, 4, 6, 8, 9, 12);
+        assertThat(ids(List.of(), List.of(), List.of(ACTION, PUZZLE))).containsExactly(1, 5, 7, 11);
+        assertThat(ids(List.of(ACTION), List.of(PUZZLE, INDIE), List.of())).containsExactly(4, 6, 8, 12);
+        assertThat(ids(List.of(ACTION), List.of(PUZZLE, INDIE), List.of(INDIE))).containsExactly(6);
+        assertThat(ids(List.of(INDIE, ACTION), List.of(), List.of(PUZZLE))).containsExactly(4, 8);
+    }
+
+    @Test
+    void unknownGenreMatchesNothingAndExcludesNothing() {
+        assertThat(ids(List.of(ACTION, UNKNOWN), List.of(), List.of())).isEmpty();
+        assertThat(ids(List.of(), List.of(UNKNOWN), List.of())).isEmpty();
+        assertThat(ids(List.of(), List.of(UNKNOWN, INDIE), List.of())).containsExactly(4, 8, 12);
+        assertThat(ids(List.of(INDIE), List.of(), List.of(UNKNOWN))).containsExactly(4, 8, 12);
+    }
+
+    @Test
+    void queriesLeaveTheBitmapsUnchanged() {
+        index.find(List.of(ACTION), List.of(), List.of(PUZZLE), 0, 10); // one included bitmap, then ANDNOT
+        index.find(List.of(), List.of(), List.of(ACTION), 0, 10);       // allGames, then ANDNOT
+
+        assertThat(ids(List.of(ACTION), List.of(), List.of())).containsExactly(2, 4, 6, 8, 10, 12);
+        assertThat(ids(List.of(), List.of(), List.of())).hasSize(12);
+    }
+
+    @Test
+    void pagesContinueAfterTheLastId() {
+        Match first = index.find(List.of(ACTION), List.of(), List.of(), 0, 4);
+        assertThat(first.gameIds()).containsExactly(2, 4, 6, 8);
+        assertThat(first.count()).isEqualTo(6);
+        assertThat(first.hasMore()).isTrue();
+
+        Match second = index.find(List.of(ACTION), List.of(), List.of(), 8, 4);
+        assertThat(second.gameIds()).containsExactly(10, 12);
+        assertThat(second.count()).as("count ignores the page").isEqualTo(6);
+        assertThat(second.hasMore()).isFalse();
+
+        assertThat(index.find(List.of(ACTION), List.of(), List.of(), 12, 4).gameIds()).isEmpty();
+        assertThat(index.find(List.of(ACTION), List.of(), List.of(), 5, 2).gameIds())
+                .as("after an id that doesn't match").containsExactly(6, 8);
+    }
+
+    // =============================
+    // UPDATES
+    // =============================
+
+    @Test
+    void changedGameMovesToItsNewGenres() {
+        index.onGameChanged(saved(12, PUZZLE));   // was ACTION, PUZZLE, INDIE
+        index.onGameChanged(saved(11, INDIE));    // had no genre
+        index.onGameChanged(saved(13));           // new, no genre
+        index.onGameChanged(new GameChangedEvent(2, null));
+
+        assertThat(ids(List.of(ACTION), List.of(), List.of())).containsExactly(4, 6, 8, 10);
+        assertThat(ids(List.of(INDIE), List.of(), List.of())).containsExactly(4, 8, 11);
+        assertThat(ids(List.of(PUZZLE), List.of(), List.of())).containsExactly(3, 6, 9, 12);
+        assertThat(ids(List.of(), List.of(), List.of())).hasSize(12).contains(13).doesNotContain(2);
+    }
+
+    @Test
+    void deletedGenreAndDeveloperGamesDropOut() {
+        index.onGenreChanged(new GenreChangedEvent(INDIE, null, true));
+        index.onDeveloperChanged(new DeveloperChangedEvent(7, null, true, Set.of(3, 6)));
+
+        assertThat(ids(List.of(), List.of(INDIE), List.of())).isEmpty();
+        assertThat(ids(List.of(PUZZLE), List.of(), List.of())).containsExactly(9, 12);
+        // a game of the deleted genre changes later: only its remaining genres are touched
+        index.onGameChanged(saved(4, PUZZLE));
+        assertThat(ids(List.of(PUZZLE), List.of(), List.of())).containsExactly(4, 9, 12);
+        assertThat(ids(List.of(ACTION), List.of(), List.of())).containsExactly(2, 8, 10, 12);
+    }
+
+    @Test
+    void changesDuringARebuildAreReplayedOntoTheNewBitmaps() {
+        // the rebuild reads the links; meanwhile game 13 is added and game 2 deleted
+        when(gameDao.streamAllGenreLinks()).thenAnswer(invocation -> {
+            List<GameGenreLink> links = List.copyOf(database);
+            index.onGameChanged(saved(13, ACTION));
+            index.onGameChanged(new GameChangedEvent(2, null));
+            return links.stream();
+        });
+
+        index.rebuild();
+
+        assertThat(ids(List.of(ACTION), List.of(), List.of())).containsExactly(4, 6, 8, 10, 12, 13);
+        index.onGameChanged(saved(14, ACTION)); // after the swap
+        assertThat(ids(List.of(ACTION), List.of(), List.of())).containsExactly(4, 6, 8, 10, 12, 13, 14);
+    }
+
+    // =============================
+    // HELPERS
+    // =============================
+
+    private List<Integer> ids(List<Integer> all, List<Integer> any, List<Integer> none) {
+        Match match = index.find(all, any, none, 0, 100);
+        assertThat(match.count()).isEqualTo(match.gameIds().size());
+        return match.gameIds();
+    }
+
+    private static List<Integer> genresOf(int gameId) {
+        List<Integer> genreIds = new ArrayList<>();
+        if (gameId % 2 == 0) {
+            genreIds.add(ACTION);
+        }
+        if (gameId % 3 == 0) {
+            genreIds.add(PUZZLE);
+        }
+        if (gameId % 4 == 0) {
+            genreIds.add(INDIE);
+        }
+        return genreIds;
+    }
+
+    private static GameChangedEvent saved(int gameId, int... genreIds) {
+        GameData game = new GameData();
+        game.setGameId(gameId);
+        Set<GenreData> genres = new HashSet<>();
+        for (int genreId : genreIds) {
+            GenreData genre = new GenreData();
+            genre.setGenreId(genreId);
+            genres.add(genre);
+        }
+        game.setGenres(genres);
+        return new GameChangedEvent(gameId, game);
+    }
+}
@@ -0,0 +1,153 @@
+package game.hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import game.hub.controller.model.SuggestionData;
+import game.hub.dao.NamedRelease;
+
+/*
+ * NameIndexTest
+ * ----------------------
+ * Prefix ranges, case folding and the max-weight segment tree of the
+ * packed name index.
+ *
+ * - Weights are release dates: DAY + n days weighs n
+ */
+class NameIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2000, 1, 1);
+
+    // =============================
+    // PREFIX RANGES
+    // =============================
+
+    @Test
+    void prefixMatchesIgnoreCase() {
+        NameIndex index = NameIndex.build(
+                List.of(game(1, "Zelda", 3), game(2, "zebra", 2), game(3, "ZEN", 1), game(4, "Apple", 9)),
+                List.of(developer(5, "ZeniMax", 4)));
+
+        assertThat(labels(index.suggest("ze", 10))).containsExactly("ZeniMax", "Zelda", "zebra", "ZEN");
+        assertThat(labels(index.suggest("ZEN", 10))).containsExactly("ZeniMax", "ZEN");
+        assertThat(labels(index.suggest("zElDa", 10))).containsExactly("Zelda");
+        assertThat(index.suggest("ze", 10).get(0)).isEqualTo(new SuggestionData("developer", 5, "ZeniMax"));
+    }
+
+    @Test
+    void rangeBoundsAtBothEnds() {
+        NameIndex index = NameIndex.build(
+                List.of(game(1, "Alpha", 1), game(2, "Beta", 2), game(3, "Omega", 3)), List.of());
+
+        assertThat(labels(index.suggest("", 10))).as("empty prefix").containsExactly("Omega", "Beta", "Alpha");
+        assertThat(labels(index.suggest("Al", 10))).as("first name").containsExactly("Alpha");
+        assertThat(labels(index.suggest("Omega", 10))).as("last name, whole").containsExactly("Omega");
+        assertThat(index.suggest("Aa", 10)).as("before the first").isEmpty();
+        assertThat(index.suggest("Zz", 10)).as("after the last").isEmpty();
+        assertThat(index.suggest("Bet", 10)).hasSize(1);
+        assertThat(index.suggest("Betamax", 10)).as("longer than the name").isEmpty();
+        assertThat(index.suggest("Alpha", 0)).isEmpty();
+        assertThat(NameIndex.build(List.of(), List.of()).suggest("A", 10)).isEmpty();
+    }
+
+    // =============================
+    // WEIGHTS
+    // =============================
+
+    @Test
+    void segmentTreeFindsTheHeaviestNames() {
+        // 1000 names under one prefix (and some outside it), every weight different
+        List<Integer> days = new ArrayList<>();
+        for (int day = 0; day < 1200; day++) {
+            days.add(day);
+        }
+        Collections.shuffle(days, new Random(42));
+        List<NamedRelease> games = new ArrayList<>();
+        for (int id = 0; id < 1200; id++) {
+            games.add(game(id, (id < 1000 ? "Space " : "Time ") + id, days.get(id)));
+        }
+        NameIndex index = NameIndex.build(games, List.of());
+
+        for (int limit : new int[] { 1, 7, 50, 1000, 2000 }) {
+            List<Integer> expected = games.stream()
+                    .filter(game -> game.name().startsWith("Space "))
+                    .sorted(Comparator.comparing(NamedRelease::releaseDate).reversed())
+                    .limit(limit)
+                    .map(NamedRelease::id)
+                    .toList();
+            assertThat(ids(index.suggest("space", limit))).as("limit " + limit).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void equalWeightsComeInNameOrder() {
+        NameIndex index = NameIndex.build(
+                List.of(game(1, "Doom", 5), game(2, "Dig Dug", 5), game(3, "Dune", 5), game(4, "Diablo", 5)),
+                List.of());
+
+        assertThat(labels(index.suggest("D", 10))).containsExactly("Diablo", "Dig Dug", "Doom", "Dune");
+        assertThat(labels(index.suggest("D", 2))).containsExactly("Diablo", "Dig Dug");
+    }
+
+    @Test
+    void namesWithoutAReleaseDateComeLast() {
+        NameIndex index = NameIndex.build(
+                List.of(new NamedRelease(1, "Quake", null), game(2, "Quest", 0)),
+                List.of(new NamedRelease(3, "Quantic", null)));
+
+        assertThat(labels(index.suggest("Qu", 10))).containsExactly("Quest", "Quake", "Quantic");
+        assertThat(index.releaseDateOf(NameIndex.gameKey(2))).isEqualTo(DAY);
+        assertThat(index.releaseDateOf(NameIndex.gameKey(1))).isNull();
+        assertThat(index.releaseDateOf(NameIndex.developerKey(2))).as("no developer 2").isNull();
+        assertThat(index.releaseDateOf(NameIndex.gameKey(99))).isNull();
+    }
+
+    // =============================
+    // DELTA
+    // =============================
+
+    @Test
+    void deltaReplacesHiddenNames() {
+        NameIndex base = NameIndex.build(
+                List.of(game(1, "Portal", 7), game(2, "Portal 2", 11), game(3, "Pong", 1)), List.of());
+        NameIndex delta = NameIndex.build(
+                List.of(game(2, "Portal Two", 11), game(4, "Populous", 9)), List.of());
+        Set<Long> hidden = Set.of(NameIndex.gameKey(2), NameIndex.gameKey(3), NameIndex.gameKey(4));
+
+        assertThat(labels(NameIndex.suggest(base, hidden, delta, "Po", 10)))
+                .containsExactly("Portal Two", "Populous", "Portal");
+        assertThat(labels(NameIndex.suggest(base, hidden, delta, "Po", 2))).containsExactly("Portal Two", "Populous");
+        assertThat(labels(NameIndex.suggest(base, hidden, delta, "Pong", 10))).as("deleted").isEmpty();
+        assertThat(labels(NameIndex.suggest(base, Set.of(), NameIndex.build(List.of(game(5, "Pac", 7)), List.of()),
+                "P", 2))).as("base first on equal weights").containsExactly("Portal 2", "Portal");
+    }
+
+    // =============================
+    // HELPERS
+    // =============================
+
+    private static NamedRelease game(int id, String name, int weight) {
+        return new NamedRelease(id, name, DAY.plusDays(weight));
+    }
+
+    private static NamedRelease developer(int id, String name, int weight) {
+        return new NamedRelease(id, name, DAY.plusDays(weight));
+    }
+
+    private static List<String> labels(List<SuggestionData> suggestions) {
+        return suggestions.stream().map(SuggestionData::getLabel).toList();
+    }
+
+    private static List<Integer> ids(List<SuggestionData> suggestions) {
+        return suggestions.stream().map(SuggestionData::getId).toList();
+    }
+}
@@ -0,0 +1,106 @@
+package game.hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * PageCursorTest
+ * ----------------------
+ * The cursor token round trip, what a token looks like on the wire, and
+ * the tokens decode must refuse.
+ */
+class PageCursorTest {
+
+    // =============================
+    // ENCODING
+    // =============================
+
+    @Test
+    void tokenRoundTrips() {
+        for (PageCursor cursor : new PageCursor[] {
+                new PageCursor("gameId", 42, null),
+                new PageCursor("gameTitle", 7, "Portal 2"),
+                new PageCursor("gameTitle", 8, "Baldur's Gate | Enhanced Edition"), // the separator itself
+                new PageCursor("gameTitle", 9, "Pokémon ✨"),
+                new PageCursor("gameTitle", 10, ""),                                 // empty, not null
+                new PageCursor("gameReleaseDate", Integer.MAX_VALUE, "-25567") }) {
+            assertThat(PageCursor.decode(cursor.encode(), cursor.sort())).isEqualTo(cursor);
+        }
+    }
+
+    @Test
+    void tokenIsUnpaddedUrlSafeBase64() {
+        String token = new PageCursor("gameTitle", 1, "??>>").encode();
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(raw(token)).isEqualTo("gameTitle|1|??>>");
+        assertThat(raw(new PageCursor("genreId", 3, null).encode())).isEqualTo("genreId|3");
+    }
+
+    @Test
+    void missingTokenStartsBeforeTheFirstRow() {
+        assertThat(PageCursor.decode(null, "gameId")).isEqualTo(new PageCursor("gameId", 0, null));
+        assertThat(PageCursor.decode("  ", "genreId")).isEqualTo(PageCursor.first("genreId"));
+    }
+
+    // =============================
+    // REJECTED TOKENS
+    // =============================
+
+    @Test
+    void cursorOfAnotherSortIsRejected() {
+        String token = new PageCursor("gameTitle", 5, "Doom").encode();
+
+        assertThatThrownBy(() -> PageCursor.decode(token, "gameReleaseDate"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor was issued for sort=gameTitle, not sort=gameReleaseDate.");
+        assertThatThrownBy(() -> PageCursor.decode(new PageCursor("developerId", 5, null).encode(), "genreId"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        for (String token : new String[] {
+                "not base64!",
+                encoded("gameId"),         // no id
+                encoded("gameId|seven"),   // id not a number
+                encoded("gameId|"),
+                encoded("gameId|99999999999") }) {
+            assertThatThrownBy(() -> PageCursor.decode(token, "gameId"))
+                    .as(token)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor: " + token);
+        }
+    }
+
+    // =============================
+    // PAGE SIZE
+    // =============================
+
+    @Test
+    void pageSizeDefaultsAndIsBounded() {
+        assertThat(PageCursor.checkSize(null)).isEqualTo(PageCursor.DEFAULT_PAGE_SIZE);
+        assertThat(PageCursor.checkSize(1)).isEqualTo(1);
+        assertThat(PageCursor.checkSize(PageCursor.MAX_PAGE_SIZE)).isEqualTo(PageCursor.MAX_PAGE_SIZE);
+        assertThatThrownBy(() -> PageCursor.checkSize(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PageCursor.checkSize(PageCursor.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // =============================
+    // HELPERS
+    // =============================
+
+    private static String encoded(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String raw(String token) {
+        return new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,207 @@
+package game.hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import game.hub.controller.model.GameData;
+import game.hub.dao.GameDao;
+import game.hub.dao.GameRelease;
+import game.hub.service.ReleaseDateIndex.Page;
+
+/*
+ * ReleaseDateIndexTest
+ * ----------------------
+ * Packed keys, date ranges, keyset paging and updates of the sorted key
+ * array.
+ *
+ * - The catalog: game 1 on NEW_YEAR, games 2, 3 and 4 on the day after
+ *   (a three-way tie), game 5 the day after that, game 6 the day before
+ *   the epoch and game 7 in 1900 (negative epoch days)
+ * - GameDao is a mock; "database" is what the next rebuild streams
+ */
+class ReleaseDateIndexTest {
+
+    private static final LocalDate NEW_YEAR = LocalDate.of(2020, 1, 1);
+    private static final LocalDate TIE_DAY = NEW_YEAR.plusDays(1);
+    private static final LocalDate EPOCH = LocalDate.ofEpochDay(0);
+
+    private final GameDao gameDao = mock(GameDao.class);
+    private final ReleaseDateIndex index = new ReleaseDateIndex();
+
+    private final List<GameRelease> database = new ArrayList<>(List.of(
+            new GameRelease(1, NEW_YEAR),
+            new GameRelease(2, TIE_DAY),
+            new GameRelease(3, TIE_DAY),
+            new GameRelease(4, TIE_DAY),
+            new GameRelease(5, TIE_DAY.plusDays(1)),
+            new GameRelease(6, EPOCH.minusDays(1)),
+            new GameRelease(7, LocalDate.of(1900, 1, 1))));
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "gameDao", gameDao);
+        when(gameDao.streamAllReleaseDates()).thenAnswer(invocation -> List.copyOf(database).stream());
+        index.rebuild();
+    }
+
+    // =============================
+    // KEYS
+    // =============================
+
+    @Test
+    void keysSortByDayThenGameId() {
+        long beforeEpoch = ReleaseDateIndex.key(-1, Integer.MAX_VALUE);
+        assertThat(beforeEpoch).isLessThan(ReleaseDateIndex.key(0, 1));
+        assertThat(ReleaseDateIndex.key(-1, 1)).isLessThan(beforeEpoch);
+        assertThat(ReleaseDateIndex.key(0, Integer.MAX_VALUE)).isLessThan(ReleaseDateIndex.key(1, 0));
+
+        long key = ReleaseDateIndex.key(LocalDate.of(1900, 1, 1).toEpochDay(), 7);
+        assertThat(ReleaseDateIndex.epochDayOf(key)).isEqualTo(-25567);
+        assertThat(ReleaseDateIndex.gameIdOf(key)).isEqualTo(7);
+        assertThat(ReleaseDateIndex.epochDayOf(beforeEpoch)).isEqualTo(-1);
+        assertThat(ReleaseDateIndex.gameIdOf(beforeEpoch)).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    // =============================
+    // RANGES AND PAGING
+    // =============================
+
+    @Test
+    void rangesIncludeBothEndsAndMayBeOpen() {
+        assertThat(ids(null, null)).containsExactly(5, 4, 3, 2, 1, 6, 7);
+        assertThat(ids(TIE_DAY, null)).containsExactly(5, 4, 3, 2);
+        assertThat(ids(null, EPOCH)).containsExactly(6, 7);
+        assertThat(ids(null, EPOCH.minusDays(1))).containsExactly(6, 7);
+        assertThat(ids(null, EPOCH.minusDays(2))).containsExactly(7);
+        assertThat(ids(TIE_DAY, TIE_DAY)).containsExactly(4, 3, 2);
+        assertThat(ids(NEW_YEAR.plusYears(1), null)).isEmpty();
+        assertThat(ids(TIE_DAY, NEW_YEAR)).as("from after to").isEmpty();
+    }
+
+    @Test
+    void sameDayTiesContinueAcrossPages() {
+        Page first = index.newestFirst(null, null, Long.MAX_VALUE, 2);
+        assertThat(first.gameIds()).containsExactly(5, 4);
+        assertThat(first.lastKey()).isEqualTo(ReleaseDateIndex.key(TIE_DAY.toEpochDay(), 4));
+        assertThat(first.hasMore()).isTrue();
+
+        Page second = index.newestFirst(null, null, first.lastKey(), 2);
+        assertThat(second.gameIds()).as("rest of the tie").containsExactly(3, 2);
+
+        Page third = index.newestFirst(null, null, second.lastKey(), 2);
+        assertThat(third.gameIds()).containsExactly(1, 6);
+
+        Page last = index.newestFirst(null, null, third.lastKey(), 2);
+        assertThat(last.gameIds()).containsExactly(7);
+        assertThat(last.hasMore()).isFalse();
+
+        Page empty = index.newestFirst(null, null, last.lastKey(), 2);
+        assertThat(empty.gameIds()).isEmpty();
+        assertThat(empty.lastKey()).as("cursor stays put").isEqualTo(last.lastKey());
+        assertThat(empty.hasMore()).isFalse();
+    }
+
+    @Test
+    void pageThatEndsTheRangeHasNoMore() {
+        Page tie = index.newestFirst(TIE_DAY, TIE_DAY, Long.MAX_VALUE, 3);
+        assertThat(tie.gameIds()).containsExactly(4, 3, 2);
+        assertThat(tie.hasMore()).isFalse();
+
+        Page split = index.newestFirst(TIE_DAY, TIE_DAY, Long.MAX_VALUE, 2);
+        assertThat(split.hasMore()).isTrue();
+        assertThat(index.newestFirst(TIE_DAY, TIE_DAY, split.lastKey(), 2).gameIds()).containsExactly(2);
+    }
+
+    @Test
+    void cursorSurvivesTheRemovalOfItsGame() {
+        Page first = index.newestFirst(null, null, Long.MAX_VALUE, 2);
+
+        index.onGameChanged(new GameChangedEvent(4, null)); // the game the cursor points at
+
+        assertThat(index.newestFirst(null, null, first.lastKey(), 2).gameIds()).containsExactly(3, 2);
+    }
+
+    // =============================
+    // UPDATES
+    // =============================
+
+    @Test
+    void changedDateMovesTheGame() {
+        index.onGameChanged(saved(3, NEW_YEAR.minusYears(1)));
+        index.onGameChanged(saved(8, TIE_DAY));    // new, joins the tie
+        index.onGameChanged(saved(1, NEW_YEAR));   // unchanged
+        index.onGameChanged(saved(9, EPOCH.minusDays(1)));
+
+        assertThat(ids(null, null)).containsExactly(5, 8, 4, 2, 1, 3, 9, 6, 7);
+    }
+
+    @Test
+    void gameWithoutAReleaseDateLeavesTheIndex() {
+        index.onGameChanged(saved(4, null));
+        index.onGameChanged(saved(8, null)); // never had one
+        index.onGameChanged(new GameChangedEvent(5, null));
+        index.onDeveloperChanged(new DeveloperChangedEvent(3, null, true, Set.of(6, 99)));
+
+        assertThat(ids(null, null)).containsExactly(3, 2, 1, 7);
+
+        index.onGameChanged(saved(4, TIE_DAY)); // dated again
+        assertThat(ids(TIE_DAY, TIE_DAY)).containsExactly(4, 3, 2);
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        for (int gameId = 100; gameId < 3100; gameId++) {
+            index.onGameChanged(saved(gameId, EPOCH.plusDays(gameId % 7)));
+        }
+
+        Page all = index.newestFirst(null, null, Long.MAX_VALUE, 5000);
+        assertThat(all.gameIds()).hasSize(3007);
+        assertThat(all.gameIds().subList(0, 5)).containsExactly(5, 4, 3, 2, 1);
+        assertThat(index.newestFirst(EPOCH, EPOCH, Long.MAX_VALUE, 5000).gameIds())
+                .hasSize(428).startsWith(3094, 3087);
+    }
+
+    @Test
+    void changesDuringARebuildAreReplayedOntoTheNewKeys() {
+        // the rebuild reads the dates; meanwhile game 8 is added and game 2 deleted
+        when(gameDao.streamAllReleaseDates()).thenAnswer(invocation -> {
+            List<GameRelease> releases = List.copyOf(database);
+            index.onGameChanged(saved(8, TIE_DAY));
+            index.onGameChanged(new GameChangedEvent(2, null));
+            return releases.stream();
+        });
+
+        index.rebuild();
+
+        assertThat(ids(TIE_DAY, TIE_DAY)).containsExactly(8, 4, 3);
+        index.onGameChanged(saved(9, TIE_DAY)); // after the swap
+        assertThat(ids(TIE_DAY, TIE_DAY)).containsExactly(9, 8, 4, 3);
+    }
+
+    // =============================
+    // HELPERS
+    // =============================
+
+    private List<Integer> ids(LocalDate from, LocalDate to) {
+        Page page = index.newestFirst(from, to, Long.MAX_VALUE, 100);
+        assertThat(page.hasMore()).isFalse();
+        return page.gameIds();
+    }
+
+    private static GameChangedEvent saved(int gameId, LocalDate releaseDate) {
+        GameData game = new GameData();
+        game.setGameId(gameId);
+        game.setGameReleaseDate(releaseDate);
+        return new GameChangedEvent(gameId, game);
+    }
+}
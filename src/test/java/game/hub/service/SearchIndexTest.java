@@ -0,0 +1,174 @@
+package game.hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/*
+ * SearchIndexTest
+ * ----------------------
+ * The pruned search ranks exactly like scoring every doc, up to the cap on
+ * docs that match near-stopwords alone.
+ *
+ * - A skewed vocabulary gives long postings lists (many blocks) next to
+ *   short ones, so both kinds of pruning kick in
+ * - The first games have short descriptions, so the average length grows
+ *   long after their blocks were bounded
+ * - Checked again after removing just enough games to compact the index
+ *   (renumbered docs, rebuilt bounds, no dead docs left to skew the idf)
+ * - Expected hits come from BM25 over every doc, computed here in the
+ *   same float steps; ties may come back in either order, so the scores
+ *   of the returned games are compared, best first
+ * - The exactness checks lift the near-stopword cap; it has tests of its own
+ */
+class SearchIndexTest {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final int GAMES = 20_000;
+    private static final int REMOVED_TO_COMPACT = GAMES / 2 + 1; // dead docs > live docs
+    private static final int WORDS = 500;
+    private static final int LIMIT = 10;
+
+    private final Map<Integer, Map<String, Integer>> freqsByGameId = new HashMap<>();
+    private final Map<Integer, Integer> lengthByGameId = new HashMap<>();
+    private final Map<String, Integer> dfByTerm = new HashMap<>();
+    private long totalLength;
+
+    @Test
+    void prunedSearchRanksLikeScoringEveryDoc() {
+        Random random = new Random(7);
+        SearchIndex index = new SearchIndex(Integer.MAX_VALUE);
+        for (int gameId = 1; gameId <= GAMES; gameId++) {
+            String title = text(random, 1 + random.nextInt(4));
+            String description = text(random, gameId <= GAMES / 4 ? random.nextInt(3) : random.nextInt(30));
+            index.upsert(gameId, title, description);
+            remember(gameId, title, description);
+        }
+        assertRanksLikeScoringEveryDoc(index, random);
+
+        for (int gameId = 1; gameId <= REMOVED_TO_COMPACT; gameId++) {
+            index.remove(gameId);
+            forget(gameId);
+        }
+        assertRanksLikeScoringEveryDoc(index, random);
+    }
+
+    private void assertRanksLikeScoringEveryDoc(SearchIndex index, Random random) {
+        for (int q = 0; q < 300; q++) {
+            List<String> terms = new ArrayList<>();
+            for (int t = 1 + random.nextInt(4); t > 0; t--) {
+                String term = word(random);
+                if (!terms.contains(term)) {
+                    terms.add(term);
+                }
+            }
+
+            List<Integer> hits = index.search(terms, LIMIT);
+
+            assertThat(hits).doesNotHaveDuplicates();
+            List<Float> expected = freqsByGameId.keySet().stream()
+                    .map(gameId -> score(gameId, terms))
+                    .filter(score -> score > 0)
+                    .sorted((a, b) -> Float.compare(b, a))
+                    .limit(LIMIT)
+                    .toList();
+            assertThat(hits.stream().map(gameId -> score(gameId, terms)).toList())
+                    .as("scores of the hits for %s", terms)
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void updatedAndRemovedGamesAreSearchedByTheirCurrentText() {
+        SearchIndex index = new SearchIndex();
+        index.upsert(1, "Alpha Beta", null);
+        index.upsert(2, "Alpha Gamma", "gamma gamma");
+
+        index.upsert(1, "Delta", "no longer the first letter");
+        index.remove(2);
+
+        assertThat(index.search(List.of("alpha"), LIMIT)).isEmpty();
+        assertThat(index.search(List.of("delta", "gamma"), LIMIT)).containsExactly(1);
+        assertThat(index.liveDocs()).isEqualTo(1);
+    }
+
+    @Test
+    void stopwordOnlyQueriesScoreAtMostTheBudget() {
+        SearchIndex capped = new SearchIndex(20);
+        SearchIndex uncapped = new SearchIndex();
+        // "the" and "game" are in every game; games 51-100 repeat "the", so they rank first
+        for (int gameId = 1; gameId <= 100; gameId++) {
+            String description = (gameId > 50 ? "the the the the the " : "") + "x" + gameId;
+            capped.upsert(gameId, "The game " + gameId, description);
+            uncapped.upsert(gameId, "The game " + gameId, description);
+        }
+
+        assertThat(uncapped.search(List.of("the", "game"), LIMIT)).hasSize(LIMIT).allMatch(gameId -> gameId > 50);
+        assertThat(capped.search(List.of("the", "game"), LIMIT)).as("the first 20 docs only")
+                .hasSize(LIMIT).allMatch(gameId -> gameId <= 20);
+
+        // a rarer term is found past the budget; near-stopwords only fill the rest of the page
+        List<Integer> hits = capped.search(List.of("the", "x77"), LIMIT);
+        assertThat(hits.get(0)).isEqualTo(77);
+        assertThat(hits.subList(1, LIMIT)).allMatch(gameId -> gameId <= 20);
+        assertThat(uncapped.search(List.of("the", "x77"), LIMIT).get(0)).isEqualTo(77);
+    }
+
+    // =============================
+    // BRUTE FORCE BM25
+    // =============================
+
+    private void remember(int gameId, String title, String description) {
+        Map<String, Integer> freqs = new HashMap<>();
+        List<String> titleTerms = SearchIndex.tokenize(title);
+        List<String> descriptionTerms = SearchIndex.tokenize(description);
+        titleTerms.forEach(term -> freqs.merge(term, 2, Integer::sum));
+        descriptionTerms.forEach(term -> freqs.merge(term, 1, Integer::sum));
+        freqsByGameId.put(gameId, freqs);
+        lengthByGameId.put(gameId, 2 * titleTerms.size() + descriptionTerms.size());
+        freqs.keySet().forEach(term -> dfByTerm.merge(term, 1, Integer::sum));
+        totalLength += 2 * titleTerms.size() + descriptionTerms.size();
+    }
+
+    private void forget(int gameId) {
+        freqsByGameId.remove(gameId).keySet().forEach(term -> dfByTerm.merge(term, -1, Integer::sum));
+        totalLength -= lengthByGameId.remove(gameId);
+    }
+
+    private float score(int gameId, List<String> terms) {
+        int docs = freqsByGameId.size();
+        float avgLength = (float) totalLength / docs;
+        float score = 0;
+        for (String term : terms) {
+            Integer freq = freqsByGameId.get(gameId).get(term);
+            if (freq != null) {
+                int df = dfByTerm.get(term);
+                float idf = (float) Math.log(1 + (docs - df + 0.5) / (df + 0.5));
+                float norm = K1 * (1 - B + B * lengthByGameId.get(gameId) / avgLength);
+                score += idf * freq * (K1 + 1) / (freq + norm);
+            }
+        }
+        return score;
+    }
+
+    private static String text(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            text.append(w == 0 ? "" : " ").append(word(random));
+        }
+        return text.toString();
+    }
+
+    // Skewed towards low numbers, so a few words are in most games
+    private static String word(Random random) {
+        return "w" + random.nextInt(1 + random.nextInt(WORDS));
+    }
+}
@@ -0,0 +1,173 @@
+package game.hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import game.hub.service.SimilarGames.Neighbor;
+
+/*
+ * SimilarGamesTest
+ * ----------------------
+ * Top-K neighbors by genre Jaccard plus the developer bonus, against a
+ * brute-force ranking of every pair.
+ *
+ * - The grouping by genre set, the tiered ranking and the incremental
+ *   put/remove must all give exactly what scoring every pair gives,
+ *   ties broken by game id
+ */
+class SimilarGamesTest {
+
+    private static final int K = 5;
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    // =============================
+    // SCORES
+    // =============================
+
+    @Test
+    void jaccardPlusDeveloperBonus() {
+        SimilarGames similar = new SimilarGames(3);
+        similar.load(1, null, List.of(10, 20));
+        similar.load(2, null, List.of(10, 20));
+        similar.load(3, null, List.of(10));
+        similar.load(4, 9, List.of(30));
+        similar.load(5, 9, List.of(10, 20, 30));
+        similar.load(6, null, List.of(40));
+        similar.rebuild(pool);
+
+        assertThat(similar.neighbors(1, 10)).containsExactly(
+                new Neighbor(2, 1f), new Neighbor(5, 2f / 3), new Neighbor(3, 0.5f));
+        assertThat(similar.neighbors(4, 10)).as("one shared genre of three, same developer")
+                .containsExactly(new Neighbor(5, 1f / 3 + 0.25f));
+        assertThat(similar.neighbors(6, 10)).as("nothing in common").isEmpty();
+        assertThat(similar.neighbors(1, 2)).extracting(Neighbor::gameId).containsExactly(2, 5);
+        assertThat(similar.neighbors(7, 10)).as("unknown game").isNull();
+    }
+
+    @Test
+    void equalScoresComeInIdOrderAndAreCutAtK() {
+        SimilarGames similar = new SimilarGames(3);
+        for (int gameId = 20; gameId >= 1; gameId--) {
+            similar.load(gameId, null, List.of(1, 2));
+        }
+        similar.load(21, 7, List.of());
+        similar.load(22, 7, List.of());
+        similar.rebuild(pool);
+
+        assertThat(similar.neighbors(10, 10)).extracting(Neighbor::gameId).containsExactly(1, 2, 3);
+        assertThat(similar.neighbors(1, 10)).extracting(Neighbor::gameId).containsExactly(2, 3, 4);
+        assertThat(similar.neighbors(21, 10)).as("no genres: the developer bonus alone")
+                .containsExactly(new Neighbor(22, 0.25f));
+    }
+
+    // =============================
+    // AGAINST BRUTE FORCE
+    // =============================
+
+    @Test
+    void rebuildMatchesBruteForce() {
+        Random random = new Random(7);
+        Map<Integer, Catalogued> catalog = new HashMap<>();
+        SimilarGames similar = new SimilarGames(K);
+        for (int gameId = 1; gameId <= 400; gameId++) {
+            Catalogued game = randomGame(random);
+            catalog.put(gameId, game);
+            similar.load(gameId, game.developerId(), game.genreIds());
+        }
+        similar.rebuild(pool);
+
+        assertMatchesBruteForce(similar, catalog);
+    }
+
+    @Test
+    void incrementalUpdatesMatchBruteForce() {
+        Random random = new Random(11);
+        Map<Integer, Catalogued> catalog = new HashMap<>();
+        SimilarGames similar = new SimilarGames(K);
+        for (int gameId = 1; gameId <= 200; gameId++) {
+            Catalogued game = randomGame(random);
+            catalog.put(gameId, game);
+            similar.load(gameId, game.developerId(), game.genreIds());
+        }
+        similar.rebuild(pool);
+
+        for (int change = 0; change < 300; change++) {
+            int gameId = 1 + random.nextInt(260); // some new, some known
+            if (random.nextInt(4) == 0) {
+                catalog.remove(gameId);
+                similar.remove(gameId);
+            } else {
+                Catalogued game = randomGame(random);
+                catalog.put(gameId, game);
+                similar.put(gameId, game.developerId(), game.genreIds());
+            }
+            assertMatchesBruteForce(similar, catalog);
+        }
+    }
+
+    // =============================
+    // HELPERS
+    // =============================
+
+    private record Catalogued(Integer developerId, Set<Integer> genreIds) {
+    }
+
+    // 0-4 of 12 genres, and one of 40 developers or none: plenty of shared genre sets and ties
+    private static Catalogued randomGame(Random random) {
+        Set<Integer> genreIds = new HashSet<>();
+        for (int i = random.nextInt(5); i > 0; i--) {
+            genreIds.add(100 + random.nextInt(12));
+        }
+        Integer developerId = random.nextInt(5) == 0 ? null : random.nextInt(40);
+        return new Catalogued(developerId, genreIds);
+    }
+
+    private static void assertMatchesBruteForce(SimilarGames similar, Map<Integer, Catalogued> catalog) {
+        assertThat(similar.size()).isEqualTo(catalog.size());
+        for (Map.Entry<Integer, Catalogued> game : catalog.entrySet()) {
+            List<Neighbor> expected = new ArrayList<>();
+            for (Map.Entry<Integer, Catalogued> other : catalog.entrySet()) {
+                if (!other.getKey().equals(game.getKey())) {
+                    float score = score(game.getValue(), other.getValue());
+                    if (score > 0) {
+                        expected.add(new Neighbor(other.getKey(), score));
+                    }
+                }
+            }
+            expected.sort(Comparator.comparingDouble((Neighbor neighbor) -> -neighbor.score())
+                    .thenComparingInt(Neighbor::gameId));
+            assertThat(similar.neighbors(game.getKey(), K)).as("neighbors of " + game.getKey())
+                    .isEqualTo(expected.subList(0, Math.min(K, expected.size())));
+        }
+    }
+
+    private static float score(Catalogued a, Catalogued b) {
+        Set<Integer> shared = new HashSet<>(a.genreIds());
+        shared.retainAll(b.genreIds());
+        Set<Integer> union = new HashSet<>(a.genreIds());
+        union.addAll(b.genreIds());
+        float score = union.isEmpty() ? 0 : (float) shared.size() / union.size();
+        if (a.developerId() != null && a.developerId().equals(b.developerId())) {
+            score += (float) SimilarGames.DEVELOPER_BONUS;
+        }
+        return score;
+    }
+}
@@ -0,0 +1,225 @@
+package game.hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import game.hub.controller.model.Expansion;
+import game.hub.controller.model.GameData;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * SingleFlightTest
+ * ----------------------
+ * A burst of identical reads runs one load, for the list reads
+ * (SingleFlight) and the by-id reads (DtoCache).
+ *
+ * - THREADS callers start together on a latch; the load only finishes
+ *   once all the others have joined it (gamehub.singleflight.loads,
+ *   outcome = coalesced), so every caller is part of the same burst
+ * - A change event forgets the load in flight: a caller arriving after
+ *   it runs a load of its own
+ */
+class SingleFlightTest {
+
+    private static final int THREADS = 16;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final DtoCache dtoCache = new DtoCache(100, Duration.ofMinutes(10));
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(singleFlight, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(dtoCache, "singleFlight", singleFlight);
+        executor = Executors.newFixedThreadPool(THREADS + 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    // =============================
+    // ONE LOAD PER BURST
+    // =============================
+
+    @Test
+    void burstOfListReadsRunsOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        List<String> results = burst(() -> singleFlight.execute("games", List.of(Expansion.NONE), () -> {
+            loads.incrementAndGet();
+            awaitCoalesced("games", THREADS - 1);
+            return "games";
+        }));
+
+        assertThat(loads).hasValue(1);
+        assertThat(results).hasSize(THREADS).containsOnly("games");
+    }
+
+    @Test
+    void burstOfByIdReadsRunsOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        List<CachedDto<GameData>> results = burst(() -> dtoCache.getGame(1, Expansion.NONE, id -> {
+            loads.incrementAndGet();
+            awaitCoalesced("dto:game", THREADS - 1);
+            return cachedGame(id);
+        }));
+
+        assertThat(loads).hasValue(1);
+        assertThat(results).hasSize(THREADS).allSatisfy(result -> assertThat(result).isSameAs(results.get(0)));
+    }
+
+    @Test
+    void failedLoadFailsEveryCallerOfTheBurst() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        List<String> failures = burst(() -> {
+            try {
+                return singleFlight.execute("games", List.of(Expansion.NONE), () -> {
+                    loads.incrementAndGet();
+                    awaitCoalesced("games", THREADS - 1);
+                    throw new IllegalStateException("broken query");
+                });
+            } catch (IllegalStateException e) {
+                return e.getMessage();
+            }
+        });
+
+        assertThat(loads).hasValue(1);
+        assertThat(failures).hasSize(THREADS).containsOnly("broken query");
+    }
+
+    // =============================
+    // CHANGE EVENTS
+    // =============================
+
+    @Test
+    void changeEventForgetsTheListLoadInFlight() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> read = () -> singleFlight.execute("games", List.of(Expansion.NONE), () -> {
+            int load = loads.incrementAndGet();
+            if (load == 1) {
+                await(release); // the load that started before the change
+            }
+            return "load " + load;
+        });
+
+        Future<String> before = executor.submit(read::get);
+        awaitLoads(loads, 1);
+        singleFlight.onGameChanged(new GameChangedEvent(1, null));
+
+        assertThat(executor.submit(read::get).get(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).isEqualTo("load 2");
+        release.countDown();
+        assertThat(before.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).isEqualTo("load 1");
+    }
+
+    @Test
+    void changeEventForgetsTheByIdLoadInFlight() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<CachedDto<GameData>> read = () -> dtoCache.getGame(1, Expansion.NONE, id -> {
+            int load = loads.incrementAndGet();
+            if (load == 1) {
+                await(release);
+            }
+            return cachedGame(id);
+        });
+
+        Future<CachedDto<GameData>> before = executor.submit(read::get);
+        awaitLoads(loads, 1);
+        dtoCache.onGameChanged(new GameChangedEvent(1, null));
+
+        CachedDto<GameData> after = executor.submit(read::get).get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        assertThat(loads).hasValue(2);
+        release.countDown();
+        before.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+
+        // the load that started before the change is not what later reads get
+        assertThat(dtoCache.getGameIfPresent(1, Expansion.NONE)).isSameAs(after);
+    }
+
+    // =============================
+    // HELPERS
+    // =============================
+
+    // Runs the read on THREADS threads released together, returns every result
+    private <V> List<V> burst(Supplier<V> read) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<V>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                await(start);
+                return read.get();
+            }));
+        }
+        start.countDown();
+        List<V> results = new ArrayList<>();
+        for (Future<V> future : futures) {
+            results.add(future.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    // Waits until "count" callers joined a running load of "name"
+    private void awaitCoalesced(String name, int count) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (coalesced(name) < count) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError(name + ": only " + coalesced(name) + " of " + count + " callers joined");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private double coalesced(String name) {
+        Counter counter = meterRegistry.find("gamehub.singleflight.loads")
+                .tag("name", name).tag("outcome", "coalesced").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void awaitLoads(AtomicInteger loads, int count) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (loads.get() < count) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("load didn't start");
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+                throw new AssertionError("latch timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static CachedDto<GameData> cachedGame(Integer gameId) {
+        GameData game = new GameData();
+        game.setGameId(gameId);
+        return new CachedDto<>(game, "\"game-" + gameId + "\"");
+    }
+}
@@ -0,0 +1,224 @@
+package game.hub.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import game.hub.config.DatabaseBusyException;
+import game.hub.controller.error.GlobalErrorHandler;
+import game.hub.controller.model.GameData;
+import game.hub.controller.model.WriteStatusData;
+import game.hub.controller.model.WriteStatusData.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+ * WriteBehindQueueTest
+ * ----------------------
+ * Queueing, coalescing, batching and shutdown of ?async=true saves.
+ *
+ * - GameHubService and the transaction manager are mocks; "database" is
+ *   what saveGame was called with, in order
+ * - The writer is held inside the save of a first game (title "hold")
+ *   while the test queues more, so the next batch is known
+ */
+class WriteBehindQueueTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final GameHubService gameHubService = mock(GameHubService.class);
+    private final List<String> saved = new CopyOnWriteArrayList<>();
+    private final Map<String, RuntimeException> failures = new ConcurrentHashMap<>();
+    private final CountDownLatch holding = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private WriteBehindQueue queue;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        if (queue != null) {
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void updateOfAQueuedIdReplacesItsData() throws Exception {
+        start(10, 10);
+        hold();
+
+        WriteStatusData first = queue.submitGame(game(7, "First"));
+        WriteStatusData second = queue.submitGame(game(7, "Second"));
+        release.countDown();
+
+        assertThat(await(second).getStatus()).isEqualTo(Status.WRITTEN);
+        WriteStatusData replaced = queue.status(first.getTrackingId());
+        assertThat(replaced.getStatus()).isEqualTo(Status.COALESCED);
+        assertThat(replaced.getMessage()).isEqualTo("Replaced by " + second.getTrackingId()
+                + " before it was written.");
+        assertThat(saved).containsExactly("hold", "Second");
+    }
+
+    @Test
+    void fullQueueAnswers429() throws Exception {
+        start(2, 10);
+        hold(); // taken off the queue by the writer
+        queue.submitGame(game(null, "One"));
+        WriteStatusData queued = queue.submitGame(game(7, "Seven"));
+
+        // an update of a queued id needs no slot of its own
+        WriteStatusData update = queue.submitGame(game(7, "Seven again"));
+        assertThat(queue.status(queued.getTrackingId()).getStatus()).isEqualTo(Status.COALESCED);
+
+        assertThatThrownBy(() -> queue.submitGame(game(null, "Three")))
+                .isInstanceOf(WriteQueueFullException.class)
+                .satisfies(e -> {
+                    ResponseEntity<?> response = new GlobalErrorHandler()
+                            .handleWriteQueueFullException((WriteQueueFullException) e);
+                    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                    assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+                });
+        release.countDown();
+        assertThat(await(update).getStatus()).isEqualTo(Status.WRITTEN);
+        assertThat(saved).containsExactly("hold", "One", "Seven again");
+    }
+
+    @Test
+    void failedBatchIsWrittenOneByOne() throws Exception {
+        start(10, 10);
+        hold();
+        failures.put("Bad", new IllegalArgumentException("bad title"));
+
+        WriteStatusData good1 = queue.submitGame(game(null, "Good 1"));
+        WriteStatusData bad = queue.submitGame(game(null, "Bad"));
+        WriteStatusData good2 = queue.submitGame(game(null, "Good 2"));
+        release.countDown();
+
+        assertThat(await(good2).getStatus()).isEqualTo(Status.WRITTEN);
+        assertThat(queue.status(good1.getTrackingId()).getStatus()).isEqualTo(Status.WRITTEN);
+        WriteStatusData failed = await(bad);
+        assertThat(failed.getStatus()).isEqualTo(Status.FAILED);
+        assertThat(failed.getMessage()).isEqualTo("bad title");
+        // the batch (rolled back after "Bad"), then one transaction each
+        assertThat(saved).containsExactly("hold", "Good 1", "Bad", "Good 1", "Bad", "Good 2");
+    }
+
+    @Test
+    void shutdownDrainsTheQueue() throws Exception {
+        start(10, 2);
+        hold();
+        List<WriteStatusData> accepted = List.of(
+                queue.submitGame(game(null, "A")), queue.submitGame(game(null, "B")),
+                queue.submitGame(game(null, "C")), queue.submitGame(game(null, "D")),
+                queue.submitGame(game(null, "E")));
+
+        Thread stopping = new Thread(() -> {
+            try {
+                queue.shutdown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        stopping.start();
+        awaitCondition(() -> !(Boolean) ReflectionTestUtils.getField(queue, "running"));
+        assertThatThrownBy(() -> queue.submitGame(game(null, "Late")))
+                .isInstanceOf(WriteQueueFullException.class)
+                .hasMessage("The write queue is shutting down.");
+        release.countDown();
+        stopping.join(TIMEOUT.toMillis());
+
+        assertThat(stopping.isAlive()).isFalse();
+        assertThat(accepted).allSatisfy(write ->
+                assertThat(queue.status(write.getTrackingId()).getStatus()).isEqualTo(Status.WRITTEN));
+        assertThat(saved).containsExactly("hold", "A", "B", "C", "D", "E");
+    }
+
+    @Test
+    void interruptedWriterMarksWhatItDidNotWrite() throws Exception {
+        start(10, 10);
+        hold();
+        failures.put("Busy", new DatabaseBusyException("busy", Duration.ofMinutes(1)));
+        WriteStatusData busy = queue.submitGame(game(null, "Busy")); // retried after a minute
+        release.countDown();
+        awaitCondition(() -> saved.contains("Busy"));
+        WriteStatusData later = queue.submitGame(game(null, "Later"));
+
+        ((Thread) ReflectionTestUtils.getField(queue, "writer")).interrupt();
+
+        assertThat(await(busy).getStatus()).isEqualTo(Status.INTERRUPTED);
+        assertThat(await(later).getStatus()).as("still queued").isEqualTo(Status.INTERRUPTED);
+        assertThat(queue.status(busy.getTrackingId()).getMessage())
+                .isEqualTo("The server stopped before it was written.");
+    }
+
+    // =============================
+    // HELPERS
+    // =============================
+
+    private void start(int capacity, int batchSize) {
+        queue = new WriteBehindQueue(capacity, batchSize, Duration.ofSeconds(2), Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(queue, "gameHubService", gameHubService);
+        ReflectionTestUtils.setField(queue, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(queue, "meterRegistry", new SimpleMeterRegistry());
+        when(gameHubService.saveGame(any())).thenAnswer(invocation -> {
+            GameData game = invocation.getArgument(0);
+            saved.add(game.getGameTitle());
+            if (game.getGameTitle().equals("hold")) {
+                holding.countDown();
+                release.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+            }
+            RuntimeException failure = failures.get(game.getGameTitle());
+            if (failure != null) {
+                throw failure;
+            }
+            return game(game.getGameId() == null ? saved.size() : game.getGameId(), game.getGameTitle());
+        });
+        queue.start();
+    }
+
+    // Parks the writer inside the save of a first game until "release"
+    private void hold() throws InterruptedException {
+        queue.submitGame(game(null, "hold"));
+        assertThat(holding.await(TIMEOUT.toSeconds(), TimeUnit.SECONDS)).isTrue();
+    }
+
+    private WriteStatusData await(WriteStatusData accepted) throws InterruptedException {
+        awaitCondition(() -> queue.status(accepted.getTrackingId()).getStatus() != Status.QUEUED);
+        return queue.status(accepted.getTrackingId());
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("condition not met within " + TIMEOUT);
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static GameData game(Integer gameId, String title) {
+        GameData game = new GameData();
+        game.setGameId(gameId);
+        game.setGameTitle(title);
+        return game;
+    }
+}